@@ -15,6 +15,8 @@ dependencies {
 
     // Routing and web APIs
     implementation(libs.vertx.web)
+    implementation(libs.vertx.openapi)
+    implementation(libs.vertx.json.schema)
 
     implementation(libs.slf4j.api)
 }
@@ -2,18 +2,64 @@ package org.larpconnect.api;
 
 import com.google.inject.AbstractModule;
 import com.google.inject.Provider;
+import com.google.inject.Singleton;
 import com.google.inject.multibindings.ProvidesIntoSet;
+import org.larpconnect.common.Metric;
+import org.larpconnect.common.ShutdownParticipant;
+import org.larpconnect.common.ShutdownPhase;
+import org.larpconnect.events.VerticleDeployment;
 import org.larpconnect.events.VerticleProvider;
 
 /** Configures DI components for the api package. */
 public final class ApiModule extends AbstractModule {
   @Override
   protected void configure() {
+    bind(HttpServerConfiguration.class)
+        .toProvider(HttpServerConfigurationProvider.class)
+        .in(Singleton.class);
+    bind(ApiRouterFactory.class).in(Singleton.class);
+    bind(OpenApiContractLoader.class).in(Singleton.class);
+    bind(HttpServerDrain.class).in(Singleton.class);
+    bind(HttpMetrics.class).in(Singleton.class);
     bind(ApiVerticle.class);
   }
 
   @ProvidesIntoSet
   VerticleProvider provideApiVerticle(Provider<ApiVerticle> verticleProvider) {
-    return verticleProvider::get;
+    // One HTTP verticle per core; instances share the listening port across event loops.
+    return VerticleProvider.of(VerticleDeployment.eventLoopPerCore("api"), verticleProvider::get);
+  }
+
+  @ProvidesIntoSet
+  ShutdownParticipant provideHttpFailHealth(HttpServerDrain drain) {
+    return new ShutdownParticipant(
+        "http", ShutdownPhase.FAIL_HEALTH, timeout -> drain.failHealth());
+  }
+
+  @ProvidesIntoSet
+  ShutdownParticipant provideHttpStopAccepting(HttpServerDrain drain) {
+    return new ShutdownParticipant("http", ShutdownPhase.STOP_ACCEPTING, drain::stopAccepting);
+  }
+
+  @ProvidesIntoSet
+  ShutdownParticipant provideHttpDrain(HttpServerDrain drain) {
+    return new ShutdownParticipant("http", ShutdownPhase.DRAIN, drain::awaitDrained);
+  }
+
+  @ProvidesIntoSet
+  Metric provideHttpResponses(HttpMetrics metrics) {
+    return Metric.counters(
+        "http_responses_total",
+        "HTTP responses sent, by status class.",
+        "status",
+        metrics::responses);
+  }
+
+  @ProvidesIntoSet
+  Metric provideHttpRequestTimes(HttpMetrics metrics) {
+    return Metric.summary(
+        "http_request_seconds",
+        "Time from a request being routed to its response being written.",
+        metrics.requests);
   }
 }
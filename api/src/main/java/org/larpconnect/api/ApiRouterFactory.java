@@ -0,0 +1,132 @@
+package org.larpconnect.api;
+
+import com.google.inject.Inject;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.Router;
+import io.vertx.ext.web.RoutingContext;
+import org.larpconnect.common.MetricRegistry;
+import org.larpconnect.common.TenantRegistry;
+import org.larpconnect.events.EventLoopMonitor;
+
+/**
+ * Builds the route table for the path layout in {@code DESIGN.md}.
+ *
+ * <p>A Vert.x router tries its routes in order, so each base path gets its own sub-router and the
+ * root router only holds the mount points. Matching a request costs a handful of prefix checks at
+ * the root plus a scan of one small sub-router, however many routes the API grows.
+ */
+final class ApiRouterFactory {
+  static final String SERVER_PATH = "/api/server/v1";
+  static final String ADMIN_PATH = "/api/admin/v1";
+  static final String STUDIOS_PATH = "/api/studios/:studioId/v1";
+
+  private static final String HEALTHY = new JsonObject().put("status", "UP").encode();
+  private static final String DRAINING = new JsonObject().put("status", "DRAINING").encode();
+
+  private final TenantRegistry tenantRegistry;
+  private final HttpServerDrain drain;
+  private final EventLoopMonitor eventLoopMonitor;
+  private final MetricRegistry metricRegistry;
+  private final HttpMetrics httpMetrics;
+  private final HttpServerConfiguration configuration;
+
+  @Inject
+  ApiRouterFactory(
+      TenantRegistry tenantRegistry,
+      HttpServerDrain drain,
+      EventLoopMonitor eventLoopMonitor,
+      MetricRegistry metricRegistry,
+      HttpMetrics httpMetrics,
+      HttpServerConfiguration configuration) {
+    this.tenantRegistry = tenantRegistry;
+    this.drain = drain;
+    this.eventLoopMonitor = eventLoopMonitor;
+    this.metricRegistry = metricRegistry;
+    this.httpMetrics = httpMetrics;
+    this.configuration = configuration;
+  }
+
+  /**
+   * Creates the router. Each verticle instance creates its own, so handlers stay on its event loop.
+   *
+   * @param vertx The Vert.x instance the router belongs to.
+   * @param validators The compiled request body validators of the OpenAPI contract.
+   * @return The root router.
+   */
+  Router create(Vertx vertx, RequestBodyValidators validators) {
+    Router root = Router.router(vertx);
+    // Times the synchronous part of every route against this verticle's event loop
+    root.route().handler(eventLoopMonitor.timed(RoutingContext::next));
+    root.route().handler(this::countResponse);
+    root.route(SERVER_PATH + "/*").subRouter(serverRouter(vertx, validators));
+    if (configuration.adminEnabled()) {
+      root.route(ADMIN_PATH + "/*").subRouter(adminRouter(vertx, validators));
+    }
+    root.route(STUDIOS_PATH + "/*").subRouter(studiosRouter(vertx));
+
+    JsonErrorHandler errorHandler = new JsonErrorHandler();
+    root.route().failureHandler(errorHandler);
+    root.errorHandler(404, errorHandler);
+    root.errorHandler(405, errorHandler);
+    return root;
+  }
+
+  /** Public, tenant-independent resources under {@value #SERVER_PATH}. */
+  private Router serverRouter(Vertx vertx, RequestBodyValidators validators) {
+    Router router = Router.router(vertx);
+    validators
+        .validate(router.get("/health"), "getHealth")
+        .handler(
+            context -> {
+              // A draining server reports unhealthy so load balancers stop routing to it
+              boolean draining = drain.isDraining();
+              context
+                  .response()
+                  .setStatusCode(draining ? 503 : 200)
+                  .putHeader("Content-Type", "application/json")
+                  .end(draining ? DRAINING : HEALTHY);
+            });
+    validators
+        .validate(router.get("/metrics"), "getMetrics")
+        .handler(
+            context ->
+                context
+                    .response()
+                    .putHeader("Content-Type", MetricRegistry.CONTENT_TYPE)
+                    .end(metricRegistry.scrape()));
+    return router;
+  }
+
+  private void countResponse(RoutingContext context) {
+    long start = System.nanoTime();
+    context.addBodyEndHandler(
+        ignored ->
+            httpMetrics.completed(context.response().getStatusCode(), System.nanoTime() - start));
+    context.next();
+  }
+
+  /**
+   * Server administration under {@value #ADMIN_PATH}. Nothing here is authenticated yet, so it is
+   * only mounted when the configuration enables it and answers 404 otherwise.
+   */
+  private Router adminRouter(Vertx vertx, RequestBodyValidators validators) {
+    Router router = Router.router(vertx);
+    validators
+        .validate(router.get("/event-loops"), "getEventLoopStats")
+        .handler(
+            context ->
+                context
+                    .response()
+                    .putHeader("Content-Type", "application/json")
+                    .end(EventLoopReport.toJson(eventLoopMonitor).encode()));
+    return router;
+  }
+
+  /** Tenant resources; every request first resolves its studio through the tenant registry. */
+  private Router studiosRouter(Vertx vertx) {
+    Router router = Router.router(vertx);
+    router.route().handler(new StudioResolver(tenantRegistry));
+    return router;
+  }
+}
@@ -3,19 +3,63 @@ package org.larpconnect.api;
 import com.google.inject.Inject;
 import io.vertx.core.AbstractVerticle;
 import io.vertx.core.Promise;
+import io.vertx.core.http.HttpServer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /** Handles REST API routes and requests. */
 final class ApiVerticle extends AbstractVerticle {
   private final Logger logger = LoggerFactory.getLogger(ApiVerticle.class);
+  private final ApiRouterFactory routerFactory;
+  private final OpenApiContractLoader contractLoader;
+  private final HttpServerConfiguration configuration;
+  private final HttpServerDrain drain;
+  private volatile HttpServer server;
 
   @Inject
-  ApiVerticle() {}
+  ApiVerticle(
+      ApiRouterFactory routerFactory,
+      OpenApiContractLoader contractLoader,
+      HttpServerConfiguration configuration,
+      HttpServerDrain drain) {
+    this.routerFactory = routerFactory;
+    this.contractLoader = contractLoader;
+    this.configuration = configuration;
+    this.drain = drain;
+  }
 
   @Override
   public void start(Promise<Void> startPromise) {
-    logger.info("ApiVerticle started.");
-    startPromise.complete();
+    // The contract is compiled before the port opens, so no request is served unvalidated.
+    contractLoader
+        .load(vertx)
+        .compose(
+            validators ->
+                vertx
+                    .createHttpServer(configuration.toHttpServerOptions())
+                    .requestHandler(routerFactory.create(vertx, validators))
+                    .listen())
+        .onSuccess(
+            listening -> {
+              server = listening;
+              drain.register(listening);
+              logger.info("ApiVerticle listening on port {}.", listening.actualPort());
+              startPromise.complete();
+            })
+        .onFailure(
+            err -> {
+              logger.error("ApiVerticle failed to listen on port {}", configuration.port(), err);
+              startPromise.fail(err);
+            });
+  }
+
+  /**
+   * Returns the port the server is bound to.
+   *
+   * @return The bound port, or {@code -1} before the verticle has started.
+   */
+  int actualPort() {
+    HttpServer listening = server;
+    return listening == null ? -1 : listening.actualPort();
   }
 }
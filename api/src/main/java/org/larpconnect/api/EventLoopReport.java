@@ -0,0 +1,56 @@
+package org.larpconnect.api;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import java.util.List;
+import org.larpconnect.events.EventLoopMonitor;
+import org.larpconnect.events.LatencyStats;
+import org.larpconnect.events.SlowHandlerSample;
+
+/** Renders the state of the {@link EventLoopMonitor} as the {@code EventLoopStats} document. */
+final class EventLoopReport {
+  private EventLoopReport() {}
+
+  /**
+   * Renders the monitor's current state.
+   *
+   * @param monitor The monitor.
+   * @return The document.
+   */
+  static JsonObject toJson(EventLoopMonitor monitor) {
+    return new JsonObject()
+        .put("eventLoops", latencies(monitor.eventLoopLag()))
+        .put("verticles", latencies(monitor.verticleHandlers()))
+        .put("addresses", latencies(monitor.addressHandlers()))
+        .put("slowHandlers", samples(monitor.slowHandlers()));
+  }
+
+  private static JsonArray latencies(List<LatencyStats> stats) {
+    JsonArray array = new JsonArray();
+    for (LatencyStats stat : stats) {
+      array.add(
+          new JsonObject()
+              .put("name", stat.name())
+              .put("count", stat.count())
+              .put("p50Nanos", stat.p50Nanos())
+              .put("p99Nanos", stat.p99Nanos())
+              .put("p999Nanos", stat.p999Nanos())
+              .put("maxNanos", stat.maxNanos()));
+    }
+    return array;
+  }
+
+  private static JsonArray samples(List<SlowHandlerSample> samples) {
+    JsonArray array = new JsonArray();
+    for (SlowHandlerSample sample : samples) {
+      array.add(
+          new JsonObject()
+              .put("verticle", sample.verticle())
+              .put("thread", sample.thread())
+              .put("runningNanos", sample.runningNanos())
+              .put("sampledAt", sample.sampledAt().toString())
+              .put("stack", new JsonArray(sample.stack())));
+    }
+    return array;
+  }
+}
@@ -0,0 +1,37 @@
+package org.larpconnect.api;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.errorprone.annotations.ThreadSafe;
+import org.larpconnect.common.Counter;
+import org.larpconnect.common.LatencyHistogram;
+
+/** Counts the responses of every API verticle instance, exposed by {@link ApiModule}. */
+@ThreadSafe
+final class HttpMetrics {
+  // Indexed by the first digit of the status code; anything outside 1xx-5xx counts as "other"
+  private static final String[] CLASSES = {"other", "1xx", "2xx", "3xx", "4xx", "5xx"};
+
+  private final Counter[] responses = new Counter[CLASSES.length];
+  final LatencyHistogram requests = new LatencyHistogram();
+
+  HttpMetrics() {
+    for (int i = 0; i < responses.length; i++) {
+      responses[i] = new Counter();
+    }
+  }
+
+  void completed(int status, long elapsedNanos) {
+    int statusClass = status / 100;
+    responses[statusClass > 0 && statusClass < CLASSES.length ? statusClass : 0].increment();
+    requests.record(elapsedNanos);
+  }
+
+  /** Returns the responses sent by status class, such as {@code 2xx}. */
+  ImmutableMap<String, Long> responses() {
+    ImmutableMap.Builder<String, Long> counts = ImmutableMap.builder();
+    for (int i = 0; i < responses.length; i++) {
+      counts.put(CLASSES[i], responses[i].count());
+    }
+    return counts.buildOrThrow();
+  }
+}
@@ -0,0 +1,68 @@
+package org.larpconnect.api;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import io.vertx.core.http.HttpServerOptions;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Represents the listener configuration of the public HTTP server.
+ *
+ * @param host The address to bind.
+ * @param port The port to bind; {@code 0} picks a free port.
+ * @param acceptBacklog The length of the kernel queue of connections not yet accepted.
+ * @param idleTimeout How long a connection may stay idle before it is closed.
+ * @param compressionLevel The gzip/deflate level for responses, or {@code 0} to disable
+ *     compression.
+ * @param maxBodySize The largest request body accepted, in bytes.
+ * @param adminEnabled Whether the unauthenticated administration routes are served; they expose
+ *     thread names and stack traces, so they are off unless the listener is trusted.
+ */
+public record HttpServerConfiguration(
+    String host,
+    int port,
+    int acceptBacklog,
+    Duration idleTimeout,
+    int compressionLevel,
+    long maxBodySize,
+    boolean adminEnabled) {
+
+  public HttpServerConfiguration {
+    checkArgument(port >= 0 && port <= 65_535, "port must be between 0 and 65535: %s", port);
+    checkArgument(acceptBacklog > 0, "acceptBacklog must be positive: %s", acceptBacklog);
+    checkArgument(
+        compressionLevel >= 0 && compressionLevel <= 9,
+        "compressionLevel must be between 0 and 9: %s",
+        compressionLevel);
+    checkArgument(maxBodySize > 0, "maxBodySize must be positive: %s", maxBodySize);
+  }
+
+  /**
+   * Converts this configuration to Vert.x server options.
+   *
+   * <p>Every instance of the API verticle listens on the same port: Vert.x binds one server socket
+   * and hands its connections to the instances in turn. {@code SO_REUSEPORT} and TCP fast open only
+   * take effect with a native transport and are ignored on the JDK one. HTTP/2 is offered in clear
+   * text through both prior knowledge and the {@code h2c} upgrade.
+   *
+   * @return New server options.
+   */
+  public HttpServerOptions toHttpServerOptions() {
+    return new HttpServerOptions()
+        .setHost(host)
+        .setPort(port)
+        .setAcceptBacklog(acceptBacklog)
+        .setIdleTimeout(Math.toIntExact(idleTimeout.toMillis()))
+        .setIdleTimeoutUnit(TimeUnit.MILLISECONDS)
+        .setCompressionSupported(compressionLevel > 0)
+        .setCompressionLevel(Math.max(1, compressionLevel))
+        .setDecompressionSupported(true)
+        .setHttp2ClearTextEnabled(true)
+        .setReuseAddress(true)
+        .setReusePort(true)
+        .setTcpNoDelay(true)
+        .setTcpKeepAlive(true)
+        .setTcpFastOpen(true);
+  }
+}
@@ -0,0 +1,56 @@
+package org.larpconnect.api;
+
+import com.google.inject.Inject;
+import com.google.inject.Provider;
+import java.time.Duration;
+import org.larpconnect.common.Environment;
+
+/** Guice provider that compiles the HTTP server configuration from the {@link Environment}. */
+public final class HttpServerConfigurationProvider implements Provider<HttpServerConfiguration> {
+  private static final String DEFAULT_HOST = "0.0.0.0";
+  private static final int DEFAULT_PORT = 8080;
+  private static final int MAX_PORT = 65_535;
+  private static final int DEFAULT_ACCEPT_BACKLOG = 1_024;
+  private static final long DEFAULT_IDLE_TIMEOUT_MS = 60_000L;
+  private static final long MAX_IDLE_TIMEOUT_MS = Integer.MAX_VALUE;
+  private static final int DEFAULT_COMPRESSION_LEVEL = 6;
+  private static final long DEFAULT_MAX_BODY_BYTES = 1_048_576L;
+
+  private final Environment environment;
+
+  @Inject
+  HttpServerConfigurationProvider(Environment environment) {
+    this.environment = environment;
+  }
+
+  @Override
+  public HttpServerConfiguration get() {
+    // PORT is what most container platforms set; HTTP_PORT takes precedence when both are present.
+    int platformPort = getPort("PORT", DEFAULT_PORT);
+    return new HttpServerConfiguration(
+        environment.getOrDefault("HTTP_HOST", DEFAULT_HOST),
+        getPort("HTTP_PORT", platformPort),
+        Math.max(1, environment.getIntOrDefault("HTTP_ACCEPT_BACKLOG", DEFAULT_ACCEPT_BACKLOG)),
+        Duration.ofMillis(
+            clamp(
+                environment.getLongOrDefault("HTTP_IDLE_TIMEOUT_MS", DEFAULT_IDLE_TIMEOUT_MS),
+                0L,
+                MAX_IDLE_TIMEOUT_MS)),
+        (int)
+            clamp(
+                environment.getIntOrDefault("HTTP_COMPRESSION_LEVEL", DEFAULT_COMPRESSION_LEVEL),
+                0,
+                9),
+        Math.max(1L, environment.getLongOrDefault("HTTP_MAX_BODY_BYTES", DEFAULT_MAX_BODY_BYTES)),
+        environment.getBooleanOrDefault("HTTP_ADMIN_ENABLED", false));
+  }
+
+  private int getPort(String name, int defaultPort) {
+    int port = environment.getIntOrDefault(name, defaultPort);
+    return port >= 0 && port <= MAX_PORT ? port : defaultPort;
+  }
+
+  private static long clamp(long value, long min, long max) {
+    return Math.min(max, Math.max(min, value));
+  }
+}
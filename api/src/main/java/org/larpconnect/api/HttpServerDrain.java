@@ -0,0 +1,67 @@
+package org.larpconnect.api;
+
+import com.google.errorprone.annotations.ThreadSafe;
+import io.vertx.core.Future;
+import io.vertx.core.http.HttpServer;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Tracks the listening HTTP servers of every {@link ApiVerticle} instance so the server can stop
+ * them gracefully before Vert.x closes.
+ *
+ * <p>Once draining, health checks report {@code DRAINING}. Only later, once load balancers have had
+ * time to notice, does each server stop accepting connections while its in-flight requests run to
+ * completion; connections still open at the deadline are closed.
+ */
+@ThreadSafe
+final class HttpServerDrain {
+  private final Set<HttpServer> servers = ConcurrentHashMap.newKeySet();
+  private final Set<Future<Void>> shutdowns = ConcurrentHashMap.newKeySet();
+  private volatile boolean draining;
+
+  /** Registers a server that has started listening. */
+  void register(HttpServer server) {
+    servers.add(server);
+  }
+
+  /** Returns whether the server is draining, in which case it should report itself unhealthy. */
+  boolean isDraining() {
+    return draining;
+  }
+
+  /** Fails health checks; the servers keep accepting connections. */
+  void failHealth() {
+    draining = true;
+  }
+
+  /**
+   * Starts shutting every registered server down.
+   *
+   * @param timeout How long in-flight requests may take before their connections are closed.
+   */
+  void stopAccepting(Duration timeout) {
+    for (HttpServer server : servers) {
+      shutdowns.add(server.shutdown(timeout));
+    }
+  }
+
+  /**
+   * Waits until every server stopped by {@link #stopAccepting} has finished its requests.
+   *
+   * @param timeout How long to wait.
+   * @throws TimeoutException if a server still has open connections after the timeout.
+   */
+  void awaitDrained(Duration timeout)
+      throws InterruptedException, ExecutionException, TimeoutException {
+    Future.join(List.copyOf(shutdowns))
+        .toCompletionStage()
+        .toCompletableFuture()
+        .get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+  }
+}
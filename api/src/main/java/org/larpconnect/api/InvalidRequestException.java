@@ -0,0 +1,10 @@
+package org.larpconnect.api;
+
+/** Signals a request the API understood but rejected; its message is safe to show the client. */
+final class InvalidRequestException extends RuntimeException {
+  private static final long serialVersionUID = 1L;
+
+  InvalidRequestException(String message) {
+    super(message, null, false, false);
+  }
+}
@@ -0,0 +1,41 @@
+package org.larpconnect.api;
+
+import io.vertx.core.Handler;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.RoutingContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Writes every failed or unmatched request as a small JSON document, so clients never see the
+ * default HTML error pages and server errors never leak their cause. Only an {@link
+ * InvalidRequestException} explains itself, under {@code detail}.
+ */
+final class JsonErrorHandler implements Handler<RoutingContext> {
+  private static final Logger logger = LoggerFactory.getLogger(JsonErrorHandler.class);
+
+  @Override
+  public void handle(RoutingContext context) {
+    // A failure with a throwable and no explicit status has a status code of -1.
+    int status = context.statusCode() > 0 ? context.statusCode() : 500;
+    if (status >= 500) {
+      logger.error(
+          "Request {} {} failed",
+          context.request().method(),
+          context.normalizedPath(),
+          context.failure());
+    }
+    if (context.response().headWritten()) {
+      context.response().reset();
+      return;
+    }
+    HttpServerResponse response = context.response().setStatusCode(status);
+    JsonObject body =
+        new JsonObject().put("status", status).put("error", response.getStatusMessage());
+    if (context.failure() instanceof InvalidRequestException invalid) {
+      body.put("detail", invalid.getMessage());
+    }
+    response.putHeader("Content-Type", "application/json").end(body.encode());
+  }
+}
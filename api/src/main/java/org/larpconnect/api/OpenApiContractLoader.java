@@ -0,0 +1,60 @@
+package org.larpconnect.api;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.inject.Inject;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.openapi.contract.OpenAPIContract;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Loads the OpenAPI contract and compiles its request body validators once per process.
+ *
+ * <p>Every API verticle instance asks for the validators when it starts; the first request triggers
+ * the load and the others share its result. Compiled validators hold no per-request state, so one
+ * set serves every event loop. A failed load is forgotten so a later deployment can retry.
+ */
+final class OpenApiContractLoader {
+  static final String CONTRACT_PATH = "openapi/larpconnect.yaml";
+
+  private final String contractPath;
+  private final long bodyLimit;
+  private final AtomicReference<CompletableFuture<RequestBodyValidators>> validators =
+      new AtomicReference<>();
+
+  @Inject
+  OpenApiContractLoader(HttpServerConfiguration configuration) {
+    this(CONTRACT_PATH, configuration.maxBodySize());
+  }
+
+  @VisibleForTesting
+  OpenApiContractLoader(String contractPath, long bodyLimit) {
+    this.contractPath = contractPath;
+    this.bodyLimit = bodyLimit;
+  }
+
+  /**
+   * Returns the compiled validators, loading the contract on the first call.
+   *
+   * @param vertx The Vert.x instance to read the contract with.
+   * @return The validators, completed on the caller's context.
+   */
+  Future<RequestBodyValidators> load(Vertx vertx) {
+    CompletableFuture<RequestBodyValidators> created = new CompletableFuture<>();
+    CompletableFuture<RequestBodyValidators> existing =
+        validators.compareAndExchange(null, created);
+    if (existing == null) {
+      OpenAPIContract.from(vertx, contractPath)
+          .map(contract -> RequestBodyValidators.compile(contract, bodyLimit))
+          .onSuccess(created::complete)
+          .onFailure(
+              err -> {
+                validators.compareAndSet(created, null);
+                created.completeExceptionally(err);
+              });
+      existing = created;
+    }
+    return Future.fromCompletionStage(existing, vertx.getOrCreateContext());
+  }
+}
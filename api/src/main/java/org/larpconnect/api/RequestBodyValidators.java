@@ -0,0 +1,176 @@
+package org.larpconnect.api;
+
+import com.google.common.collect.ImmutableMap;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.DecodeException;
+import io.vertx.core.json.Json;
+import io.vertx.ext.web.Route;
+import io.vertx.ext.web.RoutingContext;
+import io.vertx.ext.web.handler.BodyHandler;
+import io.vertx.ext.web.handler.PlatformHandler;
+import io.vertx.json.schema.OutputUnit;
+import io.vertx.json.schema.SchemaRepository;
+import io.vertx.json.schema.Validator;
+import io.vertx.openapi.contract.MediaType;
+import io.vertx.openapi.contract.OpenAPIContract;
+import io.vertx.openapi.contract.Operation;
+import io.vertx.openapi.contract.RequestBody;
+
+/**
+ * The JSON request body validators of every operation in the OpenAPI contract, compiled once.
+ *
+ * <p>A validating route rejects a request before buffering it when its declared length is over the
+ * limit or its content type is not JSON, and stops reading as soon as a streamed body crosses the
+ * limit. The body is then parsed exactly once, checked against the precompiled schema, and the
+ * parsed value is handed to later handlers under {@link #VALIDATED_BODY}.
+ *
+ * <p>No operation of the published contract takes a request body yet, so no production route is
+ * validated so far; this is in place for the first operations that do.
+ */
+final class RequestBodyValidators {
+  /** The routing context key holding the validated body, as decoded by {@code Json}. */
+  static final String VALIDATED_BODY = "validatedBody";
+
+  private final ImmutableMap<String, CompiledBody> bodies;
+  private final ImmutableMap<String, Operation> operations;
+  private final long bodyLimit;
+
+  private RequestBodyValidators(
+      ImmutableMap<String, CompiledBody> bodies,
+      ImmutableMap<String, Operation> operations,
+      long bodyLimit) {
+    this.bodies = bodies;
+    this.operations = operations;
+    this.bodyLimit = bodyLimit;
+  }
+
+  /**
+   * Compiles the request body schema of every operation in a contract.
+   *
+   * @param contract The loaded contract.
+   * @param bodyLimit The largest request body accepted, in bytes.
+   * @return The compiled validators.
+   */
+  static RequestBodyValidators compile(OpenAPIContract contract, long bodyLimit) {
+    SchemaRepository repository = contract.getSchemaRepository();
+    ImmutableMap.Builder<String, CompiledBody> bodies = ImmutableMap.builder();
+    ImmutableMap.Builder<String, Operation> operations = ImmutableMap.builder();
+    for (Operation operation : contract.operations()) {
+      operations.put(operation.getOperationId(), operation);
+      RequestBody requestBody = operation.getRequestBody();
+      MediaType json =
+          requestBody == null ? null : requestBody.getContent().get(MediaType.APPLICATION_JSON);
+      if (json != null) {
+        bodies.put(
+            operation.getOperationId(),
+            new CompiledBody(requestBody.isRequired(), repository.validator(json.getSchema())));
+      }
+    }
+    return new RequestBodyValidators(bodies.buildOrThrow(), operations.buildOrThrow(), bodyLimit);
+  }
+
+  /**
+   * Returns the number of operations with a compiled body validator.
+   *
+   * @return The number of compiled validators.
+   */
+  int size() {
+    return bodies.size();
+  }
+
+  /**
+   * Adds body limiting, parsing and validation for an operation to a route. Operations without a
+   * JSON request body get nothing.
+   *
+   * @param route The route serving the operation.
+   * @param operationId The operation's id in the contract.
+   * @return The route.
+   * @throws IllegalArgumentException If the contract has no such operation.
+   */
+  Route validate(Route route, String operationId) {
+    if (!operations.containsKey(operationId)) {
+      throw new IllegalArgumentException("No operation in the contract: " + operationId);
+    }
+    CompiledBody body = bodies.get(operationId);
+    if (body == null) {
+      return route;
+    }
+    return route
+        .handler(new JsonContentType())
+        .handler(BodyHandler.create(false).setBodyLimit(bodyLimit))
+        .handler(context -> validateBody(context, body));
+  }
+
+  private static void validateBody(RoutingContext context, CompiledBody body) {
+    Buffer buffer = context.body().buffer();
+    if (buffer == null || buffer.length() == 0) {
+      if (body.required()) {
+        context.fail(400, new InvalidRequestException("A request body is required"));
+      } else {
+        context.next();
+      }
+      return;
+    }
+    if (context.request().getHeader("Content-Type") == null) {
+      context.fail(415);
+      return;
+    }
+    Object parsed;
+    try {
+      parsed = Json.decodeValue(buffer);
+    } catch (DecodeException e) {
+      context.fail(400, new InvalidRequestException("The request body is not valid JSON"));
+      return;
+    }
+    OutputUnit result = body.validator().validate(parsed);
+    if (!Boolean.TRUE.equals(result.getValid())) {
+      context.fail(400, new InvalidRequestException(describe(result)));
+      return;
+    }
+    context.put(VALIDATED_BODY, parsed);
+    context.next();
+  }
+
+  private static String describe(OutputUnit result) {
+    OutputUnit first =
+        result.getErrors() == null || result.getErrors().isEmpty()
+            ? result
+            : result.getErrors().get(0);
+    return "Invalid request body at '" + first.getInstanceLocation() + "': " + first.getError();
+  }
+
+  private record CompiledBody(boolean required, Validator validator) {}
+
+  /**
+   * Rejects non-JSON bodies from their headers alone. It is a platform handler so the router runs
+   * it ahead of the body handler, before a single byte of the body is read.
+   *
+   * <p>A request without a content type passes only if its headers do not announce a body; an
+   * HTTP/2 body may come without a length, so {@link #validateBody} checks again once it is read.
+   */
+  private static final class JsonContentType implements PlatformHandler {
+    @Override
+    public void handle(RoutingContext context) {
+      String contentType = context.request().getHeader("Content-Type");
+      boolean rejected = contentType == null ? announcesBody(context) : !isJson(contentType);
+      if (rejected) {
+        context.fail(415);
+        return;
+      }
+      context.next();
+    }
+
+    private static boolean announcesBody(RoutingContext context) {
+      String length = context.request().getHeader("Content-Length");
+      return (length != null && !length.equals("0"))
+          || context.request().getHeader("Transfer-Encoding") != null;
+    }
+
+    private static boolean isJson(String contentType) {
+      int parameters = contentType.indexOf(';');
+      String mediaType =
+          (parameters < 0 ? contentType : contentType.substring(0, parameters)).trim();
+      return mediaType.equalsIgnoreCase(MediaType.APPLICATION_JSON);
+    }
+  }
+}
@@ -0,0 +1,34 @@
+package org.larpconnect.api;
+
+import io.vertx.core.Handler;
+import io.vertx.ext.web.RoutingContext;
+import org.larpconnect.common.TenantRegistry;
+import org.larpconnect.common.TenantResolution;
+
+/**
+ * Resolves the {@code studioId} path parameter of a tenant route to its tenant, failing the request
+ * with 404 for an unknown studio and 410 for a retired one.
+ */
+final class StudioResolver implements Handler<RoutingContext> {
+  /** The routing context key holding the resolved tenant {@link java.util.UUID}. */
+  static final String TENANT_ID = "tenantId";
+
+  private final TenantRegistry tenantRegistry;
+
+  StudioResolver(TenantRegistry tenantRegistry) {
+    this.tenantRegistry = tenantRegistry;
+  }
+
+  @Override
+  public void handle(RoutingContext context) {
+    TenantResolution resolution = tenantRegistry.resolve(context.pathParam("studioId"));
+    switch (resolution.status()) {
+      case ACTIVE -> {
+        context.put(TENANT_ID, resolution.tenantId().orElseThrow());
+        context.next();
+      }
+      case RETIRED -> context.fail(410);
+      case UNKNOWN -> context.fail(404);
+    }
+  }
+}
@@ -1,16 +1,61 @@
 package org.larpconnect.api;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.mock;
 
 import com.google.inject.Guice;
 import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.google.inject.TypeLiteral;
+import java.util.Map;
+import java.util.Set;
 import org.junit.jupiter.api.Test;
+import org.larpconnect.common.Environment;
+import org.larpconnect.common.MapEnvironment;
+import org.larpconnect.common.ShutdownParticipant;
+import org.larpconnect.common.ShutdownPhase;
+import org.larpconnect.common.TenantRegistry;
+import org.larpconnect.common.TenantResolution;
+import org.larpconnect.events.EventLoopMonitor;
 
 /** Unit tests for the API layer routing setup. */
 public final class ApiModuleTest {
   @Test
   public void createInjector_withModule_isNotNull() {
-    Injector injector = Guice.createInjector(new ApiModule());
+    Injector injector = newInjector();
     assertThat(injector).isNotNull();
   }
+
+  @Test
+  public void createInjector_withModule_bindsHttpServerConfigurationAsSingleton() {
+    Injector injector = newInjector();
+    assertThat(injector.getInstance(HttpServerConfiguration.class))
+        .isSameAs(injector.getInstance(HttpServerConfiguration.class))
+        .extracting(HttpServerConfiguration::port)
+        .isEqualTo(8080);
+  }
+
+  @Test
+  public void createInjector_withModule_stopsAndDrainsHttpOnShutdown() {
+    Injector injector = newInjector();
+    assertThat(injector.getInstance(Key.get(new TypeLiteral<Set<ShutdownParticipant>>() {})))
+        .extracting(ShutdownParticipant::name, ShutdownParticipant::phase)
+        .containsExactlyInAnyOrder(
+            tuple("http", ShutdownPhase.FAIL_HEALTH),
+            tuple("http", ShutdownPhase.STOP_ACCEPTING),
+            tuple("http", ShutdownPhase.DRAIN));
+    assertThat(injector.getInstance(HttpServerDrain.class))
+        .isSameAs(injector.getInstance(HttpServerDrain.class));
+  }
+
+  private static Injector newInjector() {
+    return Guice.createInjector(
+        new ApiModule(),
+        binder -> {
+          binder.bind(Environment.class).toInstance(new MapEnvironment(Map.of()));
+          binder.bind(TenantRegistry.class).toInstance(studioId -> TenantResolution.unknown());
+          binder.bind(EventLoopMonitor.class).toInstance(mock(EventLoopMonitor.class));
+        });
+  }
 }
@@ -1,34 +1,405 @@
 package org.larpconnect.api;
 
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.assertj.core.api.Assertions.assertThat;
 
-import io.vertx.core.Promise;
+import com.google.common.collect.ImmutableList;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.google.inject.TypeLiteral;
+import com.google.inject.multibindings.Multibinder;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpClientOptions;
+import io.vertx.core.http.HttpClientResponse;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpVersion;
+import io.vertx.core.json.JsonObject;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.larpconnect.common.Environment;
+import org.larpconnect.common.MapEnvironment;
+import org.larpconnect.common.Metric;
+import org.larpconnect.common.MetricRegistry;
+import org.larpconnect.common.TenantRegistry;
+import org.larpconnect.common.TenantResolution;
+import org.larpconnect.events.EventLoopMonitor;
+import org.larpconnect.events.EventsModule;
+import org.larpconnect.events.LatencyStats;
+import org.larpconnect.events.SlowHandlerSample;
+import org.larpconnect.events.VerticleProvider;
 
 /** Unit tests for ApiVerticle. */
 public final class ApiVerticleTest {
+  private static final UUID TENANT = UUID.fromString("0190a6f2-3b4c-7d8e-9f00-112233445566");
+  private static final TenantRegistry REGISTRY =
+      studioId ->
+          switch (studioId) {
+            case "active" -> TenantResolution.active(TENANT);
+            case "retired" -> TenantResolution.retired(TENANT);
+            default -> TenantResolution.unknown();
+          };
+
+  private static final HttpServerConfiguration CONFIGURATION =
+      new HttpServerConfiguration("127.0.0.1", 0, 128, Duration.ofSeconds(30), 6, 1_024L, true);
+
+  private final HttpServerDrain drain = new HttpServerDrain();
+  private final StubEventLoopMonitor monitor = new StubEventLoopMonitor();
+  private final HttpMetrics httpMetrics = new HttpMetrics();
+  private final MetricRegistry metricRegistry =
+      Guice.createInjector(
+              binder ->
+                  Multibinder.newSetBinder(binder, Metric.class)
+                      .addBinding()
+                      .toInstance(
+                          Metric.counters(
+                              "http_responses_total",
+                              "Responses.",
+                              "status",
+                              httpMetrics::responses)))
+          .getInstance(MetricRegistry.class);
+  private Vertx vertx;
+  private ApiVerticle verticle;
+  private HttpClient client;
+
+  @BeforeEach
+  public void setUp() {
+    vertx = Vertx.vertx();
+    verticle =
+        new ApiVerticle(
+            new ApiRouterFactory(
+                REGISTRY, drain, monitor, metricRegistry, httpMetrics, CONFIGURATION),
+            new OpenApiContractLoader(CONFIGURATION),
+            CONFIGURATION,
+            drain);
+    await(vertx.deployVerticle(verticle));
+    client = vertx.createHttpClient();
+  }
+
+  @AfterEach
+  public void tearDown() {
+    await(vertx.close());
+  }
+
+  @Test
+  public void start_whenDeployed_listensOnPort() {
+    assertThat(verticle.actualPort()).isPositive();
+  }
+
+  @Test
+  public void actualPort_beforeStart_returnsMinusOne() {
+    ApiVerticle unstarted =
+        new ApiVerticle(
+            new ApiRouterFactory(
+                REGISTRY, drain, monitor, metricRegistry, httpMetrics, CONFIGURATION),
+            new OpenApiContractLoader(CONFIGURATION),
+            CONFIGURATION,
+            drain);
+
+    assertThat(unstarted.actualPort()).isEqualTo(-1);
+  }
+
+  @Test
+  public void start_portInUse_failsDeployment() throws IOException {
+    try (ServerSocket occupied = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+      ApiVerticle conflicting =
+          new ApiVerticle(
+              new ApiRouterFactory(
+                  REGISTRY, drain, monitor, metricRegistry, httpMetrics, CONFIGURATION),
+              new OpenApiContractLoader(CONFIGURATION),
+              new HttpServerConfiguration(
+                  "127.0.0.1",
+                  occupied.getLocalPort(),
+                  128,
+                  Duration.ofSeconds(30),
+                  6,
+                  1_024L,
+                  true),
+              drain);
+
+      Future<String> deployment = vertx.deployVerticle(conflicting);
+
+      assertThat(deployment.toCompletionStage().toCompletableFuture())
+          .failsWithin(Duration.ofSeconds(5));
+    }
+  }
+
+  @Test
+  public void start_missingContract_failsDeployment() {
+    ApiVerticle broken =
+        new ApiVerticle(
+            new ApiRouterFactory(
+                REGISTRY, drain, monitor, metricRegistry, httpMetrics, CONFIGURATION),
+            new OpenApiContractLoader("openapi/missing.yaml", 1_024L),
+            CONFIGURATION,
+            drain);
+
+    assertThat(vertx.deployVerticle(broken).toCompletionStage().toCompletableFuture())
+        .failsWithin(Duration.ofSeconds(5));
+  }
+
+  @Test
+  public void health_get_returnsUp() {
+    Response response = get(client, "/api/server/v1/health");
+
+    assertThat(response.status()).isEqualTo(200);
+    assertThat(response.json().getString("status")).isEqualTo("UP");
+  }
+
+  @Test
+  public void health_whileDraining_returnsServiceUnavailable() {
+    HttpServerDrain draining = new HttpServerDrain();
+    draining.failHealth();
+    verticle =
+        new ApiVerticle(
+            new ApiRouterFactory(
+                REGISTRY, draining, monitor, metricRegistry, httpMetrics, CONFIGURATION),
+            new OpenApiContractLoader(CONFIGURATION),
+            CONFIGURATION,
+            drain);
+    await(vertx.deployVerticle(verticle));
+
+    Response response = get(client, "/api/server/v1/health");
+
+    assertThat(response.status()).isEqualTo(503);
+    assertThat(response.json().getString("status")).isEqualTo("DRAINING");
+  }
+
+  @Test
+  public void failHealth_keepsAcceptingConnections() {
+    drain.failHealth();
+
+    Response response = get(client, "/api/server/v1/health");
+
+    assertThat(response.status()).isEqualTo(503);
+    assertThat(response.json().getString("status")).isEqualTo("DRAINING");
+  }
+
+  @Test
+  public void stopAccepting_thenAwaitDrained_closesTheServer() throws Exception {
+    int port = verticle.actualPort();
+    assertThat(get(client, "/api/server/v1/health").status()).isEqualTo(200);
+
+    drain.stopAccepting(Duration.ofSeconds(5));
+    drain.awaitDrained(Duration.ofSeconds(5));
+
+    assertThat(
+            vertx
+                .createHttpClient()
+                .request(HttpMethod.GET, port, "127.0.0.1", "/api/server/v1/health")
+                .compose(request -> request.send())
+                .toCompletionStage()
+                .toCompletableFuture())
+        .failsWithin(Duration.ofSeconds(5));
+  }
+
+  @Test
+  public void health_priorKnowledgeHttp2_isServedOverH2c() {
+    HttpClient h2c =
+        vertx.createHttpClient(
+            new HttpClientOptions()
+                .setProtocolVersion(HttpVersion.HTTP_2)
+                .setHttp2ClearTextUpgrade(false));
+
+    Response response = get(h2c, "/api/server/v1/health");
+
+    assertThat(response.status()).isEqualTo(200);
+    assertThat(response.version()).isEqualTo(HttpVersion.HTTP_2);
+  }
+
   @Test
-  public void start_whenInvoked_completesPromise() {
-    ApiVerticle verticle = new ApiVerticle();
-    Promise<Void> promise = Promise.promise();
-    verticle.start(promise);
-    assertThat(promise.future().succeeded()).isTrue();
+  public void studios_activeStudio_resolvesTenantThenFallsThroughToNotFound() {
+    Response response = get(client, "/api/studios/active/v1/campaigns");
+
+    assertThat(response.status()).isEqualTo(404);
+    assertThat(response.json().getInteger("status")).isEqualTo(404);
+  }
+
+  @Test
+  public void studios_retiredStudio_returnsGone() {
+    Response response = get(client, "/api/studios/retired/v1/campaigns");
+
+    assertThat(response.status()).isEqualTo(410);
+    assertThat(response.json().getString("error")).isEqualTo("Gone");
+  }
+
+  @Test
+  public void studios_unknownStudio_returnsNotFound() {
+    assertThat(get(client, "/api/studios/missing/v1/campaigns").status()).isEqualTo(404);
+  }
+
+  @Test
+  public void unmatchedPath_returnsJsonNotFound() {
+    Response response = get(client, "/nowhere");
+
+    assertThat(response.status()).isEqualTo(404);
+    assertThat(response.json().getString("error")).isEqualTo("Not Found");
+  }
+
+  @Test
+  public void metrics_get_scrapesTheRegistryAsText() {
+    get(client, "/api/server/v1/health");
+    get(client, "/nowhere");
+
+    HttpClientResponse response =
+        await(
+            client
+                .request(
+                    HttpMethod.GET, verticle.actualPort(), "127.0.0.1", "/api/server/v1/metrics")
+                .compose(request -> request.send()));
+    String body = await(response.body()).toString();
+
+    assertThat(response.statusCode()).isEqualTo(200);
+    assertThat(response.getHeader("Content-Type")).isEqualTo(MetricRegistry.CONTENT_TYPE);
+    assertThat(body)
+        .contains(
+            "# TYPE http_responses_total counter\n",
+            "http_responses_total{status=\"2xx\"} 1\n",
+            "http_responses_total{status=\"4xx\"} 1\n");
+  }
+
+  @Test
+  public void httpMetrics_unusualStatus_countsAsOther() {
+    httpMetrics.completed(99, 1_000L);
+    httpMetrics.completed(600, 1_000L);
+    httpMetrics.completed(503, 1_000L);
+
+    assertThat(httpMetrics.responses()).containsEntry("other", 2L).containsEntry("5xx", 1L);
+    assertThat(httpMetrics.requests.snapshot().count()).isEqualTo(3);
+  }
+
+  @Test
+  public void eventLoops_get_reportsTheMonitor() {
+    Response response = get(client, "/api/admin/v1/event-loops");
+
+    assertThat(response.status()).isEqualTo(200);
+    JsonObject lag = response.json().getJsonArray("eventLoops").getJsonObject(0);
+    assertThat(lag.getString("name")).isEqualTo("vert.x-eventloop-thread-0");
+    assertThat(lag.getLong("p99Nanos")).isEqualTo(3_000L);
+    assertThat(response.json().getJsonArray("verticles").getJsonObject(0).getString("name"))
+        .isEqualTo("api");
+    assertThat(response.json().getJsonArray("addresses")).isEmpty();
+    JsonObject slow = response.json().getJsonArray("slowHandlers").getJsonObject(0);
+    assertThat(slow.getLong("runningNanos")).isEqualTo(75_000_000L);
+    assertThat(slow.getString("sampledAt")).isEqualTo("2026-01-01T00:00:00Z");
+    assertThat(slow.getJsonArray("stack").getString(0)).isEqualTo("Example.handle(Example.java:1)");
+  }
+
+  @Test
+  public void eventLoops_adminDisabled_returnsNotFound() {
+    HttpServerConfiguration closed =
+        new HttpServerConfiguration("127.0.0.1", 0, 128, Duration.ofSeconds(30), 6, 1_024L, false);
+    verticle =
+        new ApiVerticle(
+            new ApiRouterFactory(REGISTRY, drain, monitor, metricRegistry, httpMetrics, closed),
+            new OpenApiContractLoader(closed),
+            closed,
+            drain);
+    await(vertx.deployVerticle(verticle));
+
+    assertThat(get(client, "/api/admin/v1/event-loops").status()).isEqualTo(404);
+  }
+
+  @Test
+  public void anyRoute_isTimedByTheMonitor() {
+    get(client, "/api/server/v1/health");
+    get(client, "/nowhere");
+
+    assertThat(monitor.timedCalls.get()).isEqualTo(2);
   }
 
   @Test
   public void testApiModule_bindings() {
-    com.google.inject.Injector injector =
-        com.google.inject.Guice.createInjector(
-            new org.larpconnect.events.EventsModule(), new ApiModule());
-    java.util.Set<org.larpconnect.events.VerticleProvider> providers =
-        injector.getInstance(
-            com.google.inject.Key.get(
-                new com.google.inject.TypeLiteral<
-                    java.util.Set<org.larpconnect.events.VerticleProvider>>() {}));
+    Injector injector =
+        Guice.createInjector(
+            new EventsModule(),
+            new ApiModule(),
+            binder -> {
+              binder.bind(TenantRegistry.class).toInstance(REGISTRY);
+              binder.bind(Environment.class).toInstance(new MapEnvironment(Map.of()));
+            });
+    Set<VerticleProvider> providers =
+        injector.getInstance(Key.get(new TypeLiteral<Set<VerticleProvider>>() {}));
     assertThat(providers).isNotEmpty();
 
-    org.larpconnect.events.VerticleProvider provider = providers.iterator().next();
-    io.vertx.core.Verticle verticle = provider.get();
-    assertThat(verticle).isInstanceOf(ApiVerticle.class);
+    VerticleProvider provider =
+        providers.stream()
+            .filter(candidate -> candidate.deployment().name().equals("api"))
+            .findFirst()
+            .orElseThrow();
+    assertThat(provider.get()).isInstanceOf(ApiVerticle.class);
+  }
+
+  private Response get(HttpClient httpClient, String path) {
+    return await(
+        httpClient
+            .request(HttpMethod.GET, verticle.actualPort(), "127.0.0.1", path)
+            .compose(request -> request.send())
+            .compose(ApiVerticleTest::read));
+  }
+
+  private static Future<Response> read(HttpClientResponse response) {
+    return response
+        .body()
+        .map(body -> new Response(response.statusCode(), response.version(), body.toJsonObject()));
+  }
+
+  private static <T> T await(Future<T> future) {
+    return future.toCompletionStage().toCompletableFuture().orTimeout(5, SECONDS).join();
+  }
+
+  private record Response(int status, HttpVersion version, JsonObject json) {}
+
+  /** Reports fixed statistics and counts the handlers it times. */
+  private static final class StubEventLoopMonitor implements EventLoopMonitor {
+    private final AtomicInteger timedCalls = new AtomicInteger();
+
+    @Override
+    public <T> Handler<T> timed(Handler<T> handler) {
+      return event -> {
+        timedCalls.incrementAndGet();
+        handler.handle(event);
+      };
+    }
+
+    @Override
+    public ImmutableList<LatencyStats> eventLoopLag() {
+      return ImmutableList.of(
+          new LatencyStats("vert.x-eventloop-thread-0", 10L, 1_000L, 3_000L, 3_000L, 3_100L));
+    }
+
+    @Override
+    public ImmutableList<LatencyStats> verticleHandlers() {
+      return ImmutableList.of(new LatencyStats("api", 2L, 500L, 900L, 900L, 900L));
+    }
+
+    @Override
+    public ImmutableList<LatencyStats> addressHandlers() {
+      return ImmutableList.of();
+    }
+
+    @Override
+    public ImmutableList<SlowHandlerSample> slowHandlers() {
+      return ImmutableList.of(
+          new SlowHandlerSample(
+              "api",
+              "vert.x-eventloop-thread-0",
+              75_000_000L,
+              Instant.parse("2026-01-01T00:00:00Z"),
+              ImmutableList.of("Example.handle(Example.java:1)")));
+    }
   }
 }
@@ -0,0 +1,121 @@
+package org.larpconnect.api;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.vertx.core.http.HttpServerOptions;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.larpconnect.common.MapEnvironment;
+
+/** Unit tests for {@link HttpServerConfigurationProvider}. */
+public final class HttpServerConfigurationProviderTest {
+  @Test
+  public void get_withDefaultEnvironment_returnsDefaultConfiguration() {
+    HttpServerConfigurationProvider provider =
+        new HttpServerConfigurationProvider(new MapEnvironment(Map.of()));
+
+    assertThat(provider.get())
+        .isEqualTo(
+            new HttpServerConfiguration(
+                "0.0.0.0", 8080, 1_024, Duration.ofMinutes(1), 6, 1_048_576L, false));
+  }
+
+  @Test
+  public void get_withCustomEnvironment_returnsCustomConfiguration() {
+    MapEnvironment environment =
+        new MapEnvironment(
+            Map.of(
+                "HTTP_HOST", "127.0.0.1",
+                "HTTP_PORT", "9090",
+                "PORT", "10000",
+                "HTTP_ACCEPT_BACKLOG", "4096",
+                "HTTP_IDLE_TIMEOUT_MS", "15000",
+                "HTTP_COMPRESSION_LEVEL", "0",
+                "HTTP_MAX_BODY_BYTES", "65536",
+                "HTTP_ADMIN_ENABLED", "true"));
+
+    assertThat(new HttpServerConfigurationProvider(environment).get())
+        .isEqualTo(
+            new HttpServerConfiguration(
+                "127.0.0.1", 9090, 4_096, Duration.ofSeconds(15), 0, 65_536L, true));
+  }
+
+  @Test
+  public void get_withPlatformPortOnly_usesPlatformPort() {
+    MapEnvironment environment = new MapEnvironment(Map.of("PORT", "10000"));
+
+    assertThat(new HttpServerConfigurationProvider(environment).get().port()).isEqualTo(10_000);
+  }
+
+  @Test
+  public void get_withOutOfRangeValues_clampsOrFallsBack() {
+    MapEnvironment environment =
+        new MapEnvironment(
+            Map.of(
+                "HTTP_PORT", "70000",
+                "PORT", "-1",
+                "HTTP_ACCEPT_BACKLOG", "0",
+                "HTTP_IDLE_TIMEOUT_MS", "99999999999",
+                "HTTP_COMPRESSION_LEVEL", "12",
+                "HTTP_MAX_BODY_BYTES", "-5"));
+
+    assertThat(new HttpServerConfigurationProvider(environment).get())
+        .isEqualTo(
+            new HttpServerConfiguration(
+                "0.0.0.0", 8080, 1, Duration.ofMillis(Integer.MAX_VALUE), 9, 1L, false));
+  }
+
+  @Test
+  public void toHttpServerOptions_appliesTuning() {
+    HttpServerOptions options =
+        new HttpServerConfiguration("127.0.0.1", 9090, 4_096, Duration.ofSeconds(15), 4, 1L, false)
+            .toHttpServerOptions();
+
+    assertThat(options.getHost()).isEqualTo("127.0.0.1");
+    assertThat(options.getPort()).isEqualTo(9090);
+    assertThat(options.getAcceptBacklog()).isEqualTo(4_096);
+    assertThat(options.getIdleTimeout()).isEqualTo(15_000);
+    assertThat(options.getIdleTimeoutUnit()).isEqualTo(TimeUnit.MILLISECONDS);
+    assertThat(options.isCompressionSupported()).isTrue();
+    assertThat(options.getCompressionLevel()).isEqualTo(4);
+    assertThat(options.isHttp2ClearTextEnabled()).isTrue();
+    assertThat(options.isReusePort()).isTrue();
+    assertThat(options.isTcpNoDelay()).isTrue();
+    assertThat(options.isTcpKeepAlive()).isTrue();
+    assertThat(options.isTcpFastOpen()).isTrue();
+  }
+
+  @Test
+  public void toHttpServerOptions_levelZero_disablesCompression() {
+    HttpServerOptions options =
+        new HttpServerConfiguration("0.0.0.0", 0, 1, Duration.ZERO, 0, 1L, false)
+            .toHttpServerOptions();
+
+    assertThat(options.isCompressionSupported()).isFalse();
+  }
+
+  @Test
+  public void constructor_invalidValues_throwsIllegalArgumentException() {
+    assertThatThrownBy(
+            () -> new HttpServerConfiguration("0.0.0.0", -1, 1, Duration.ZERO, 0, 1L, false))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(
+            () -> new HttpServerConfiguration("0.0.0.0", 65_536, 1, Duration.ZERO, 0, 1L, false))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(
+            () -> new HttpServerConfiguration("0.0.0.0", 0, 0, Duration.ZERO, 0, 1L, false))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(
+            () -> new HttpServerConfiguration("0.0.0.0", 0, 1, Duration.ZERO, 10, 1L, false))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(
+            () -> new HttpServerConfiguration("0.0.0.0", 0, 1, Duration.ZERO, -1, 1L, false))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(
+            () -> new HttpServerConfiguration("0.0.0.0", 0, 1, Duration.ZERO, 0, 0L, false))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
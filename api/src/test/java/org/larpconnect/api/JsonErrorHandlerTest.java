@@ -0,0 +1,66 @@
+package org.larpconnect.api;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.ext.web.RoutingContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+/** Unit tests for {@link JsonErrorHandler}. */
+public final class JsonErrorHandlerTest {
+  private final RoutingContext context = mock(RoutingContext.class);
+  private final HttpServerResponse response = mock(HttpServerResponse.class, Mockito.RETURNS_SELF);
+
+  @BeforeEach
+  public void setUp() {
+    HttpServerRequest request = mock(HttpServerRequest.class);
+    when(request.method()).thenReturn(HttpMethod.GET);
+    when(context.request()).thenReturn(request);
+    when(context.normalizedPath()).thenReturn("/api/server/v1/health");
+    when(context.failure()).thenReturn(new IllegalStateException("boom"));
+    when(context.response()).thenReturn(response);
+  }
+
+  @Test
+  public void handle_failureWithoutStatus_writesInternalServerError() {
+    when(context.statusCode()).thenReturn(-1);
+    when(response.getStatusMessage()).thenReturn("Internal Server Error");
+
+    new JsonErrorHandler().handle(context);
+
+    verify(response).setStatusCode(500);
+    verify(response).end("{\"status\":500,\"error\":\"Internal Server Error\"}");
+  }
+
+  @Test
+  public void handle_invalidRequest_writesDetail() {
+    when(context.statusCode()).thenReturn(400);
+    when(context.failure()).thenReturn(new InvalidRequestException("name is required"));
+    when(response.getStatusMessage()).thenReturn("Bad Request");
+
+    new JsonErrorHandler().handle(context);
+
+    verify(response).setStatusCode(400);
+    verify(response)
+        .end("{\"status\":400,\"error\":\"Bad Request\",\"detail\":\"name is required\"}");
+  }
+
+  @Test
+  public void handle_responseAlreadyStarted_resetsConnection() {
+    when(context.statusCode()).thenReturn(500);
+    when(response.headWritten()).thenReturn(true);
+
+    new JsonErrorHandler().handle(context);
+
+    verify(response).reset();
+    verify(response, never()).end(anyString());
+  }
+}
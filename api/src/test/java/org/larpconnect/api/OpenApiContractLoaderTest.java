@@ -0,0 +1,55 @@
+package org.larpconnect.api;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import java.time.Duration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for {@link OpenApiContractLoader}. */
+public final class OpenApiContractLoaderTest {
+  private Vertx vertx;
+
+  @BeforeEach
+  public void setUp() {
+    vertx = Vertx.vertx();
+  }
+
+  @AfterEach
+  public void tearDown() {
+    await(vertx.close());
+  }
+
+  @Test
+  public void load_productionContract_compiles() {
+    OpenApiContractLoader loader =
+        new OpenApiContractLoader(OpenApiContractLoader.CONTRACT_PATH, 1_024L);
+
+    assertThat(await(loader.load(vertx)).size()).isZero();
+  }
+
+  @Test
+  public void load_calledTwice_compilesOnce() {
+    OpenApiContractLoader loader = new OpenApiContractLoader("openapi/test-contract.yaml", 1_024L);
+
+    assertThat(await(loader.load(vertx))).isSameAs(await(loader.load(vertx)));
+  }
+
+  @Test
+  public void load_missingContract_failsAndAllowsRetry() {
+    OpenApiContractLoader loader = new OpenApiContractLoader("openapi/missing.yaml", 1_024L);
+
+    assertThat(loader.load(vertx).toCompletionStage().toCompletableFuture())
+        .failsWithin(Duration.ofSeconds(5));
+    assertThat(loader.load(vertx).toCompletionStage().toCompletableFuture())
+        .failsWithin(Duration.ofSeconds(5));
+  }
+
+  private static <T> T await(Future<T> future) {
+    return future.toCompletionStage().toCompletableFuture().orTimeout(5, SECONDS).join();
+  }
+}
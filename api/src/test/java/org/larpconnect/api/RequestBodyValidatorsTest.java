@@ -0,0 +1,185 @@
+package org.larpconnect.api;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpClientResponse;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpServer;
+import io.vertx.core.http.RequestOptions;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.Router;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for {@link RequestBodyValidators}. */
+public final class RequestBodyValidatorsTest {
+  private static final String CONTRACT = "openapi/test-contract.yaml";
+  private static final long BODY_LIMIT = 256L;
+
+  private Vertx vertx;
+  private RequestBodyValidators validators;
+  private HttpServer server;
+  private HttpClient client;
+
+  @BeforeEach
+  public void setUp() {
+    vertx = Vertx.vertx();
+    validators = await(new OpenApiContractLoader(CONTRACT, BODY_LIMIT).load(vertx));
+    Router router = Router.router(vertx);
+    validators
+        .validate(router.post("/entities"), "createEntity")
+        .handler(
+            context -> {
+              JsonObject body = context.get(RequestBodyValidators.VALIDATED_BODY);
+              context
+                  .response()
+                  .setStatusCode(201)
+                  .end(new JsonObject().put("echo", body).encode());
+            });
+    validators
+        .validate(router.get("/entities"), "listEntities")
+        .handler(context -> context.response().end("{}"));
+    router.route().failureHandler(new JsonErrorHandler());
+    server = await(vertx.createHttpServer().requestHandler(router).listen(0, "127.0.0.1"));
+    client = vertx.createHttpClient();
+  }
+
+  @AfterEach
+  public void tearDown() {
+    await(vertx.close());
+  }
+
+  @Test
+  public void compile_contract_compilesOnlyOperationsWithJsonBodies() {
+    assertThat(validators.size()).isEqualTo(1);
+  }
+
+  @Test
+  public void validate_unknownOperation_throwsIllegalArgumentException() {
+    Router router = Router.router(vertx);
+
+    assertThatThrownBy(() -> validators.validate(router.post("/other"), "deleteEntity"))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  public void validBody_isParsedOnceAndPassedOn() {
+    Response response = post("application/json", "{\"type\":\"Note\",\"name\":\"Prologue\"}");
+
+    assertThat(response.status()).isEqualTo(201);
+    assertThat(response.json().getJsonObject("echo").getString("name")).isEqualTo("Prologue");
+  }
+
+  @Test
+  public void bodyViolatingSchema_returnsBadRequestWithDetail() {
+    Response response = post("application/json; charset=utf-8", "{\"type\":\"Tome\"}");
+
+    assertThat(response.status()).isEqualTo(400);
+    assertThat(response.json().getString("detail")).startsWith("Invalid request body");
+  }
+
+  @Test
+  public void malformedJson_returnsBadRequest() {
+    Response response = post("application/json", "{\"type\":");
+
+    assertThat(response.status()).isEqualTo(400);
+    assertThat(response.json().getString("detail")).isEqualTo("The request body is not valid JSON");
+  }
+
+  @Test
+  public void missingRequiredBody_returnsBadRequest() {
+    Response response = post("application/json", "");
+
+    assertThat(response.status()).isEqualTo(400);
+    assertThat(response.json().getString("detail")).isEqualTo("A request body is required");
+  }
+
+  @Test
+  public void oversizedBody_returnsPayloadTooLarge() {
+    String name = "x".repeat((int) BODY_LIMIT);
+
+    Response response = post("application/json", "{\"type\":\"Note\",\"name\":\"" + name + "\"}");
+
+    assertThat(response.status()).isEqualTo(413);
+  }
+
+  @Test
+  public void nonJsonContentType_returnsUnsupportedMediaType() {
+    assertThat(post("text/plain", "{}").status()).isEqualTo(415);
+  }
+
+  @Test
+  public void missingContentType_withBody_returnsUnsupportedMediaType() {
+    Response response =
+        send(
+            new RequestOptions().setMethod(HttpMethod.POST).setURI("/entities"),
+            Buffer.buffer("{\"type\":\"Note\",\"name\":\"n\"}"));
+
+    assertThat(response.status()).isEqualTo(415);
+  }
+
+  @Test
+  public void missingContentType_chunkedBody_returnsUnsupportedMediaType() {
+    int status =
+        await(
+            client
+                .request(
+                    new RequestOptions()
+                        .setMethod(HttpMethod.POST)
+                        .setURI("/entities")
+                        .setHost("127.0.0.1")
+                        .setPort(server.actualPort()))
+                .compose(request -> request.setChunked(true).send(Buffer.buffer("{}")))
+                .map(HttpClientResponse::statusCode));
+
+    assertThat(status).isEqualTo(415);
+  }
+
+  @Test
+  public void operationWithoutBody_isNotValidated() {
+    Response response =
+        send(new RequestOptions().setMethod(HttpMethod.GET).setURI("/entities"), Buffer.buffer());
+
+    assertThat(response.status()).isEqualTo(200);
+  }
+
+  private Response post(String contentType, String body) {
+    return send(
+        new RequestOptions()
+            .setMethod(HttpMethod.POST)
+            .setURI("/entities")
+            .putHeader("Content-Type", contentType),
+        Buffer.buffer(body));
+  }
+
+  private Response send(RequestOptions options, Buffer body) {
+    return await(
+        client
+            .request(options.setHost("127.0.0.1").setPort(server.actualPort()))
+            .compose(request -> request.send(body))
+            .compose(
+                response ->
+                    response
+                        .body()
+                        .map(
+                            buffer ->
+                                new Response(
+                                    response.statusCode(),
+                                    buffer.length() == 0
+                                        ? new JsonObject()
+                                        : buffer.toJsonObject()))));
+  }
+
+  private static <T> T await(Future<T> future) {
+    return future.toCompletionStage().toCompletableFuture().orTimeout(5, SECONDS).join();
+  }
+
+  private record Response(int status, JsonObject json) {}
+}
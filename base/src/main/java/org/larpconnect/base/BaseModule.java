@@ -3,6 +3,7 @@ package org.larpconnect.base;
 import com.google.inject.AbstractModule;
 import com.google.inject.Provider;
 import com.google.inject.multibindings.ProvidesIntoSet;
+import org.larpconnect.events.VerticleDeployment;
 import org.larpconnect.events.VerticleProvider;
 
 /** Configures DI components for the base package. */
@@ -14,6 +15,6 @@ public final class BaseModule extends AbstractModule {
 
   @ProvidesIntoSet
   VerticleProvider provideBaseVerticle(Provider<BaseVerticle> verticleProvider) {
-    return verticleProvider::get;
+    return VerticleProvider.of(VerticleDeployment.eventLoop("base", 1), verticleProvider::get);
   }
 }
@@ -19,7 +19,9 @@ public final class BaseVerticleTest {
   public void testBaseModule_bindings() {
     com.google.inject.Injector injector =
         com.google.inject.Guice.createInjector(
-            new org.larpconnect.events.EventsModule(), new BaseModule());
+            new org.larpconnect.common.CommonModule(),
+            new org.larpconnect.events.EventsModule(),
+            new BaseModule());
     java.util.Set<org.larpconnect.events.VerticleProvider> providers =
         injector.getInstance(
             com.google.inject.Key.get(
@@ -27,7 +29,11 @@ public final class BaseVerticleTest {
                     java.util.Set<org.larpconnect.events.VerticleProvider>>() {}));
     assertThat(providers).isNotEmpty();
 
-    org.larpconnect.events.VerticleProvider provider = providers.iterator().next();
+    org.larpconnect.events.VerticleProvider provider =
+        providers.stream()
+            .filter(candidate -> candidate.deployment().name().equals("base"))
+            .findFirst()
+            .orElseThrow();
     io.vertx.core.Verticle verticle = provider.get();
     assertThat(verticle).isInstanceOf(BaseVerticle.class);
   }
@@ -0,0 +1,26 @@
+/*
+ * benchmarks module build script.
+ * JMH microbenchmarks for the server's hot paths; run with `./gradlew :benchmarks:jmh`.
+ * The DAO suite starts a PostgreSQL container, so it needs Docker unless DB_HOST is set.
+ */
+
+plugins {
+    id("njall.java-benchmark-conventions")
+}
+
+dependencies {
+    implementation(platform(project(":parent")))
+
+    // Code under measurement
+    implementation(project(":common"))
+    implementation(project(":events"))
+    implementation(project(":data"))
+    implementation(project(":base"))
+    implementation(project(":api"))
+
+    // Sessions opened directly, to compare against the tenant-aware ones
+    implementation(libs.hibernate.core)
+
+    implementation(libs.testcontainers)
+    implementation(libs.testcontainers.postgresql)
+}
@@ -0,0 +1,89 @@
+package org.larpconnect.benchmarks;
+
+import com.google.common.base.Strings;
+import java.math.BigInteger;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.larpconnect.common.Base36UuidCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Compares {@link Base36UuidCodec} with the straightforward {@link BigInteger} approach. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Base36UuidCodecBenchmark {
+  // A power of two, so the cursor wraps with a mask; large enough to defeat branch prediction.
+  private static final int SAMPLES = 1024;
+  private static final BigInteger TWO_TO_THE_64 = BigInteger.ONE.shiftLeft(64);
+
+  private final UUID[] uuids = new UUID[SAMPLES];
+  private final String[] encoded = new String[SAMPLES];
+  private int cursor;
+
+  /** Fills the sample arrays with a fixed set of random UUIDs. */
+  @Setup
+  public void setUp() {
+    SplittableRandom random = new SplittableRandom(36);
+    for (int i = 0; i < SAMPLES; i++) {
+      uuids[i] = new UUID(random.nextLong(), random.nextLong());
+      encoded[i] = Base36UuidCodec.encode(uuids[i]);
+    }
+  }
+
+  /** Encodes with the codec. */
+  @Benchmark
+  public String encodeCodec() {
+    return Base36UuidCodec.encode(uuids[next()]);
+  }
+
+  /** Encodes by rendering each unsigned half as a {@link BigInteger}. */
+  @Benchmark
+  public String encodeBigInteger() {
+    UUID uuid = uuids[next()];
+    return encodeHalf(uuid.getMostSignificantBits())
+        + "-"
+        + encodeHalf(uuid.getLeastSignificantBits());
+  }
+
+  /** Decodes with the codec, including its strict validation. */
+  @Benchmark
+  public UUID decodeCodec() {
+    return Base36UuidCodec.decode(encoded[next()]);
+  }
+
+  /** Decodes by splitting the string and parsing each half as a {@link BigInteger}. */
+  @Benchmark
+  public UUID decodeBigInteger() {
+    String text = encoded[next()];
+    int separator = text.indexOf('-');
+    return new UUID(
+        new BigInteger(text.substring(0, separator), 36).longValue(),
+        new BigInteger(text.substring(separator + 1), 36).longValue());
+  }
+
+  private int next() {
+    cursor = (cursor + 1) & (SAMPLES - 1);
+    return cursor;
+  }
+
+  private static String encodeHalf(long bits) {
+    BigInteger value = BigInteger.valueOf(bits);
+    if (bits < 0) {
+      value = value.add(TWO_TO_THE_64);
+    }
+    return Strings.padStart(value.toString(36), 13, '0');
+  }
+}
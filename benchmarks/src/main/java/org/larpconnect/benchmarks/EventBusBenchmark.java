@@ -0,0 +1,106 @@
+package org.larpconnect.benchmarks;
+
+import com.google.inject.Guice;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.EventBus;
+import io.vertx.core.eventbus.Message;
+import io.vertx.core.eventbus.MessageConsumer;
+import io.vertx.core.json.JsonObject;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.larpconnect.common.Environment;
+import org.larpconnect.common.MapEnvironment;
+import org.larpconnect.events.EventsModule;
+import org.larpconnect.events.TenantMessage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures local event-bus request-reply round trips, the way verticles in this server talk to one
+ * another, for a plain string, a small JSON document and the same content as a {@link
+ * TenantMessage}. Vert.x comes from the events module, so the domain codecs are registered.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventBusBenchmark {
+  private static final String ADDRESS = "benchmarks.echo";
+
+  private Vertx vertx;
+  private EventBus eventBus;
+  private MessageConsumer<Object> consumer;
+  private JsonObject document;
+  private TenantMessage tenantMessage;
+
+  /** Starts Vert.x and registers a consumer that echoes every request. */
+  @Setup
+  public void setUp() {
+    vertx =
+        Guice.createInjector(
+                new EventsModule(),
+                binder -> binder.bind(Environment.class).toInstance(new MapEnvironment(Map.of())))
+            .getInstance(Vertx.class);
+    eventBus = vertx.eventBus();
+    consumer = eventBus.localConsumer(ADDRESS, EventBusBenchmark::echo);
+    await(consumer.completion());
+    document =
+        new JsonObject()
+            .put("tenantId", UUID.randomUUID().toString())
+            .put("type", "character.updated")
+            .put("payload", new JsonObject().put("name", "Benchmark").put("level", 3));
+    tenantMessage =
+        new TenantMessage(
+            UUID.fromString(document.getString("tenantId")),
+            document.getString("type"),
+            document.getJsonObject("payload").encode());
+  }
+
+  /** Unregisters the consumer and closes Vert.x. */
+  @TearDown
+  public void tearDown() {
+    await(consumer.unregister());
+    await(vertx.close());
+  }
+
+  /** Sends a string and waits for the reply. */
+  @Benchmark
+  public Object requestReplyString() {
+    return await(eventBus.request(ADDRESS, "ping")).body();
+  }
+
+  /**
+   * Sends a JSON document and waits for the reply; local delivery copies it on the way in and out.
+   */
+  @Benchmark
+  public Object requestReplyJson() {
+    return await(eventBus.request(ADDRESS, document)).body();
+  }
+
+  /** Sends an immutable domain message, which local delivery passes by reference both ways. */
+  @Benchmark
+  public Object requestReplyTenantMessage() {
+    return await(eventBus.request(ADDRESS, tenantMessage)).body();
+  }
+
+  private static void echo(Message<Object> message) {
+    message.reply(message.body());
+  }
+
+  private static <T> T await(Future<T> future) {
+    return future.toCompletionStage().toCompletableFuture().join();
+  }
+}
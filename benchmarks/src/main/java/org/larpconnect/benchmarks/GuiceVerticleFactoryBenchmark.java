@@ -0,0 +1,63 @@
+package org.larpconnect.benchmarks;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import io.vertx.core.Deployable;
+import io.vertx.core.Promise;
+import io.vertx.core.spi.VerticleFactory;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import org.larpconnect.events.GuiceVerticleFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures how long {@link GuiceVerticleFactory} takes to turn a {@code guice:} verticle name into
+ * an instance, which Vert.x does once per deployed instance.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GuiceVerticleFactoryBenchmark {
+  private static final String BASE_VERTICLE =
+      GuiceVerticleFactory.PREFIX + ":org.larpconnect.base.BaseVerticle";
+
+  private Injector injector;
+  private GuiceVerticleFactory factory;
+  private ClassLoader classLoader;
+  private Class<?> verticleClass;
+
+  /** Builds the injector the factory resolves verticles from. */
+  @Setup
+  public void setUp() throws ClassNotFoundException {
+    injector = Guice.createInjector(VerticleModules.create());
+    factory = injector.getInstance(GuiceVerticleFactory.class);
+    classLoader = GuiceVerticleFactoryBenchmark.class.getClassLoader();
+    verticleClass = classLoader.loadClass(VerticleFactory.removePrefix(BASE_VERTICLE));
+  }
+
+  /** Resolves the name and instantiates the verticle, as a deployment does. */
+  @Benchmark
+  public Deployable createVerticle() throws Exception {
+    Promise<Callable<? extends Deployable>> promise = Promise.promise();
+    factory.createVerticle2(BASE_VERTICLE, classLoader, promise);
+    return promise.future().result().call();
+  }
+
+  /** Instantiates the verticle straight from the injector; the floor for the factory. */
+  @Benchmark
+  public Object injectorGetInstance() {
+    return injector.getInstance(verticleClass);
+  }
+}
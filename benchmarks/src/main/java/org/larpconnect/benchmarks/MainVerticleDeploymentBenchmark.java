@@ -0,0 +1,62 @@
+package org.larpconnect.benchmarks;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.google.inject.Provider;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import java.util.concurrent.TimeUnit;
+import org.larpconnect.events.MainVerticle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures a full {@link MainVerticle} deploy and undeploy cycle, including every registered child
+ * verticle, against one long-lived Vert.x instance.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MainVerticleDeploymentBenchmark {
+  private Vertx vertx;
+  private Provider<MainVerticle> mainVerticleProvider;
+
+  /** Builds the injector and starts the shared Vert.x instance. */
+  @Setup
+  public void setUp() {
+    Injector injector = Guice.createInjector(VerticleModules.create());
+    vertx = injector.getInstance(Vertx.class);
+    mainVerticleProvider = injector.getProvider(Key.get(MainVerticle.class));
+  }
+
+  /** Closes the Vert.x instance. */
+  @TearDown
+  public void tearDown() {
+    await(vertx.close());
+  }
+
+  /** Deploys a fresh {@link MainVerticle}, waits for its children, then undeploys it. */
+  @Benchmark
+  public String deployAndUndeploy() {
+    String deploymentId = await(vertx.deployVerticle(mainVerticleProvider.get()));
+    await(vertx.undeploy(deploymentId));
+    return deploymentId;
+  }
+
+  private static <T> T await(Future<T> future) {
+    return future.toCompletionStage().toCompletableFuture().join();
+  }
+}
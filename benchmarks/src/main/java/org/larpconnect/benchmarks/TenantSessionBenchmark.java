@@ -0,0 +1,127 @@
+package org.larpconnect.benchmarks;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.larpconnect.common.Environment;
+import org.larpconnect.common.MapEnvironment;
+import org.larpconnect.data.DataModule;
+import org.larpconnect.data.DatabaseMigrator;
+import org.larpconnect.data.TenantSessionFactory;
+import org.larpconnect.data.TestTable;
+import org.larpconnect.data.TestTableDao;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+/**
+ * Measures what it costs to scope a transaction to a tenant for row-level security, against a real
+ * PostgreSQL database.
+ *
+ * <p>{@code setPerTransaction} is the naive approach of setting the tenant in every transaction.
+ * The tenant session benchmarks rely on pooled connections remembering their tenant; {@code
+ * tenantSessionAlternating} switches tenants on every transaction, which is their worst case. A
+ * container is started unless {@code DB_HOST} is set, as in {@link TestTableDaoBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TenantSessionBenchmark {
+  private static final String SET_TENANT =
+      "SELECT set_config('app.current_tenant_id', :tenant, true)";
+  private static final List<UUID> TENANTS = List.of(UUID.randomUUID(), UUID.randomUUID());
+
+  private PostgreSQLContainer postgres;
+  private SessionFactory sessionFactory;
+  private TenantSessionFactory tenantSessions;
+  private final TestTable row = new TestTable(UUID.randomUUID(), "Row");
+  private int turn;
+
+  /** Connects to the database, migrates it, and seeds the row the benchmarks read. */
+  @Setup
+  public void setUp() {
+    Map<String, String> values = new HashMap<>(System.getenv());
+    if (!values.containsKey("DB_HOST")) {
+      postgres = new PostgreSQLContainer("postgres:18-alpine");
+      postgres.start();
+      values.put("DB_HOST", postgres.getHost());
+      values.put("DB_PORT", String.valueOf(postgres.getMappedPort(5432)));
+      values.put("DB_DATABASE", postgres.getDatabaseName());
+      values.put("DB_USERNAME", postgres.getUsername());
+      values.put("DB_PASSWORD", postgres.getPassword());
+    }
+    MapEnvironment environment = new MapEnvironment(values);
+
+    Injector injector =
+        Guice.createInjector(
+            new DataModule(), binder -> binder.bind(Environment.class).toInstance(environment));
+    injector.getInstance(DatabaseMigrator.class).migrate();
+    sessionFactory = injector.getInstance(SessionFactory.class);
+    tenantSessions = injector.getInstance(TenantSessionFactory.class);
+    injector.getInstance(TestTableDao.class).save(row);
+  }
+
+  /** Stops the container, if one was started. */
+  @TearDown
+  public void tearDown() {
+    if (postgres != null) {
+      postgres.stop();
+    }
+  }
+
+  /** Sets the tenant with a round trip of its own at the start of every transaction. */
+  @Benchmark
+  public TestTable setPerTransaction() {
+    try (Session session = sessionFactory.openSession()) {
+      session.beginTransaction();
+      session
+          .createNativeQuery(SET_TENANT, String.class)
+          .setParameter("tenant", TENANTS.get(0).toString())
+          .getSingleResult();
+      return read(session);
+    }
+  }
+
+  /** Opens a session for the tenant the pooled connection is already bound to. */
+  @Benchmark
+  public TestTable tenantSession() {
+    try (Session session = tenantSessions.openSession(TENANTS.get(0))) {
+      session.beginTransaction();
+      return read(session);
+    }
+  }
+
+  /** Opens sessions for two tenants in turn, so every borrow has to rebind. */
+  @Benchmark
+  public TestTable tenantSessionAlternating() {
+    turn ^= 1;
+    try (Session session = tenantSessions.openSession(TENANTS.get(turn))) {
+      session.beginTransaction();
+      return read(session);
+    }
+  }
+
+  private TestTable read(Session session) {
+    TestTable found = session.find(TestTable.class, row.getId());
+    session.getTransaction().commit();
+    return found;
+  }
+}
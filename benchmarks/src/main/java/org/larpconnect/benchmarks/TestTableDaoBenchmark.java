@@ -0,0 +1,117 @@
+package org.larpconnect.benchmarks;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.larpconnect.common.Environment;
+import org.larpconnect.common.MapEnvironment;
+import org.larpconnect.data.DataModule;
+import org.larpconnect.data.DatabaseMigrator;
+import org.larpconnect.data.TestTable;
+import org.larpconnect.data.TestTableDao;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+/**
+ * Measures {@link TestTableDao} round trips against a real PostgreSQL database.
+ *
+ * <p>A container is started unless {@code DB_HOST} is already set, in which case the {@code DB_*}
+ * variables of the environment are used as-is. The entity cache is disabled so every read reaches
+ * the database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TestTableDaoBenchmark {
+  private static final int ROWS = 1_000;
+  private static final int BATCH = 50;
+
+  private PostgreSQLContainer postgres;
+  private TestTableDao dao;
+  private final List<TestTable> rows = new ArrayList<>(ROWS);
+  private int cursor;
+  private int batchStart;
+
+  /** Connects to the database, migrates it, and seeds the rows the benchmarks read and write. */
+  @Setup
+  public void setUp() {
+    Map<String, String> values = new HashMap<>(System.getenv());
+    if (!values.containsKey("DB_HOST")) {
+      postgres = new PostgreSQLContainer("postgres:18-alpine");
+      postgres.start();
+      values.put("DB_HOST", postgres.getHost());
+      values.put("DB_PORT", String.valueOf(postgres.getMappedPort(5432)));
+      values.put("DB_DATABASE", postgres.getDatabaseName());
+      values.put("DB_USERNAME", postgres.getUsername());
+      values.put("DB_PASSWORD", postgres.getPassword());
+    }
+    values.put("DB_CACHE_MAX_SIZE", "0");
+    MapEnvironment environment = new MapEnvironment(values);
+
+    Injector injector =
+        Guice.createInjector(
+            new DataModule(), binder -> binder.bind(Environment.class).toInstance(environment));
+    injector.getInstance(DatabaseMigrator.class).migrate();
+    dao = injector.getInstance(TestTableDao.class);
+
+    for (int i = 0; i < ROWS; i++) {
+      rows.add(new TestTable(UUID.randomUUID(), "Row " + i));
+    }
+    dao.saveAll(rows);
+  }
+
+  /** Stops the container, if one was started. */
+  @TearDown
+  public void tearDown() {
+    if (postgres != null) {
+      postgres.stop();
+    }
+  }
+
+  /** Reads one existing row by primary key. */
+  @Benchmark
+  public Optional<TestTable> findById() {
+    return dao.findById(rows.get(next()).getId());
+  }
+
+  /** Upserts one existing row, which takes the update branch of the statement. */
+  @Benchmark
+  public TestTable save() {
+    TestTable row = rows.get(next());
+    dao.save(row);
+    return row;
+  }
+
+  /** Upserts one batch of existing rows in a single statement; reported per row. */
+  @Benchmark
+  @OperationsPerInvocation(BATCH)
+  public void saveAll() {
+    batchStart = (batchStart + BATCH) % ROWS;
+    dao.saveAll(rows.subList(batchStart, batchStart + BATCH));
+  }
+
+  private int next() {
+    cursor = (cursor + 1) % ROWS;
+    return cursor;
+  }
+}
@@ -0,0 +1,34 @@
+package org.larpconnect.benchmarks;
+
+import com.google.inject.Module;
+import com.google.inject.util.Modules;
+import java.util.Map;
+import org.larpconnect.api.ApiModule;
+import org.larpconnect.base.BaseModule;
+import org.larpconnect.common.Environment;
+import org.larpconnect.common.MapEnvironment;
+import org.larpconnect.common.TenantRegistry;
+import org.larpconnect.common.TenantResolution;
+import org.larpconnect.events.EventsModule;
+
+/** The verticle modules of the server, without the database behind them. */
+final class VerticleModules {
+  private VerticleModules() {}
+
+  /**
+   * Combines the events, base and api modules with an empty tenant registry and an environment that
+   * puts the HTTP server on a free port.
+   *
+   * @return The combined module.
+   */
+  static Module create() {
+    return Modules.combine(
+        new EventsModule(),
+        new BaseModule(),
+        new ApiModule(),
+        binder -> {
+          binder.bind(Environment.class).toInstance(new MapEnvironment(Map.of("HTTP_PORT", "0")));
+          binder.bind(TenantRegistry.class).toInstance(studioId -> TenantResolution.unknown());
+        });
+  }
+}
@@ -19,5 +19,6 @@ dependencies {
         api(project(":api"))
         api(project(":server"))
         api(project(":integration"))
+        api(project(":benchmarks"))
     }
 }
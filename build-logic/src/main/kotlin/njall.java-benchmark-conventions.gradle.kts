@@ -0,0 +1,37 @@
+import net.ltgt.gradle.errorprone.errorprone
+
+/*
+ * Benchmark conventions applied to JMH benchmark modules.
+ * Benchmarks live in the main source set; run them with `./gradlew <module>:jmh`.
+ */
+
+plugins {
+    id("njall.java-common-conventions")
+}
+
+val libs = the<VersionCatalogsExtension>().named("libs")
+
+dependencies {
+    "implementation"(libs.findLibrary("jmh-core").get())
+    "annotationProcessor"(libs.findLibrary("jmh-generator-annprocess").get())
+}
+
+tasks.withType<JavaCompile>().configureEach {
+    // The JMH harness is generated without @Generated, so exclude it from ErrorProne by path.
+    options.errorprone.excludedPaths.set(".*/build/generated/.*")
+}
+
+tasks.register<JavaExec>("jmh") {
+    description = "Runs the JMH benchmarks; pass a name filter or JMH options with --args."
+    group = "benchmark"
+    classpath = project.the<SourceSetContainer>()["main"].runtimeClasspath
+    mainClass.set("org.openjdk.jmh.Main")
+    val results = layout.buildDirectory.file("reports/jmh/results.json")
+    outputs.file(results)
+    // Always rerun: the results depend on the machine, not just the inputs.
+    outputs.upToDateWhen { false }
+    // Appended after any --args, so filters and overrides never drop the JSON report.
+    argumentProviders.add(CommandLineArgumentProvider {
+        listOf("-rf", "json", "-rff", results.get().asFile.absolutePath)
+    })
+}
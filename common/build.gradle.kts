@@ -16,5 +16,6 @@ dependencies {
     api(libs.mug)
 
     // Internal implementations
+    implementation(libs.errorprone.annotations)
     implementation(libs.slf4j.api)
 }
@@ -0,0 +1,215 @@
+package org.larpconnect.common;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Converts UUIDs to and from the public URI form {@code base36(upper-bits)-base36(lower-bits)}.
+ *
+ * <p>Each half is the unsigned 64-bit value written as exactly 13 lower-case base36 digits, so
+ * every encoded UUID is {@value #LENGTH} characters long and every UUID has exactly one encoding.
+ * Decoding is strict: any other length, separator, digit, case, or a half above {@code 2^64 - 1} is
+ * rejected. Parsing reads the input in place and allocates nothing but the result.
+ */
+public final class Base36UuidCodec {
+  /** The length of every encoded UUID. */
+  public static final int LENGTH = 27;
+
+  private static final int HALF_LENGTH = 13;
+  private static final char SEPARATOR = '-';
+  private static final int RADIX = 36;
+  private static final byte[] DIGITS =
+      "0123456789abcdefghijklmnopqrstuvwxyz".getBytes(StandardCharsets.US_ASCII);
+  private static final byte[] DIGIT_VALUES = new byte[128];
+
+  /** 36^12: the place value of the leading digit, and the bound on the other twelve. */
+  private static final long LEADING_PLACE = 4_738_381_338_321_616_896L;
+
+  /** The largest leading digit; 36^13 exceeds 2^64 by a factor of about 9.2. */
+  private static final int MAX_LEADING_DIGIT = 3;
+
+  /**
+   * The largest value of the last twelve digits when the leading digit is 3: {@code 2^64 - 1 - 3 *
+   * 36^12}, which is below 2^63 and so representable directly.
+   */
+  private static final long MAX_TRAILING = 4_231_600_058_744_700_927L;
+
+  private static final long INVALID = -1L;
+
+  static {
+    Arrays.fill(DIGIT_VALUES, (byte) -1);
+    for (int i = 0; i < DIGITS.length; i++) {
+      DIGIT_VALUES[DIGITS[i]] = (byte) i;
+    }
+  }
+
+  private Base36UuidCodec() {}
+
+  /**
+   * Encodes a UUID.
+   *
+   * @param uuid The UUID to encode.
+   * @return The {@value #LENGTH}-character encoding.
+   */
+  public static String encode(UUID uuid) {
+    return encode(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+  }
+
+  /**
+   * Encodes a UUID given as its two halves.
+   *
+   * @param mostSignificantBits The upper 64 bits.
+   * @param leastSignificantBits The lower 64 bits.
+   * @return The {@value #LENGTH}-character encoding.
+   */
+  public static String encode(long mostSignificantBits, long leastSignificantBits) {
+    byte[] ascii = new byte[LENGTH];
+    encodeTo(mostSignificantBits, leastSignificantBits, ascii, 0);
+    return new String(ascii, StandardCharsets.US_ASCII);
+  }
+
+  /**
+   * Writes the ASCII encoding of a UUID into an existing buffer.
+   *
+   * @param mostSignificantBits The upper 64 bits.
+   * @param leastSignificantBits The lower 64 bits.
+   * @param destination The buffer to write into.
+   * @param offset The index of the first byte to write; {@value #LENGTH} bytes are written.
+   */
+  public static void encodeTo(
+      long mostSignificantBits, long leastSignificantBits, byte[] destination, int offset) {
+    Objects.checkFromIndexSize(offset, LENGTH, destination.length);
+    encodeHalf(mostSignificantBits, destination, offset);
+    destination[offset + HALF_LENGTH] = SEPARATOR;
+    encodeHalf(leastSignificantBits, destination, offset + HALF_LENGTH + 1);
+  }
+
+  /**
+   * Returns whether the input is a valid encoding, without allocating.
+   *
+   * @param encoded The text to check.
+   * @return {@code true} if {@link #decode(CharSequence)} would succeed.
+   */
+  public static boolean isValid(CharSequence encoded) {
+    return encoded.length() == LENGTH
+        && encoded.charAt(HALF_LENGTH) == SEPARATOR
+        && isInRange(digitValue(encoded.charAt(0)), trailingDigits(encoded, 1))
+        && isInRange(
+            digitValue(encoded.charAt(HALF_LENGTH + 1)), trailingDigits(encoded, HALF_LENGTH + 2));
+  }
+
+  /**
+   * Decodes a UUID.
+   *
+   * @param encoded The {@value #LENGTH}-character encoding.
+   * @return The decoded UUID.
+   * @throws IllegalArgumentException If the input is not a valid encoding.
+   */
+  public static UUID decode(CharSequence encoded) {
+    return decode(encoded, 0, encoded.length());
+  }
+
+  /**
+   * Decodes a UUID from a region of a larger text, such as one segment of a request path.
+   *
+   * @param text The text holding the encoding.
+   * @param start The index of the first character of the encoding.
+   * @param end The index after the last character of the encoding.
+   * @return The decoded UUID.
+   * @throws IllegalArgumentException If the region is not a valid encoding.
+   */
+  public static UUID decode(CharSequence text, int start, int end) {
+    Objects.checkFromToIndex(start, end, text.length());
+    if (end - start == LENGTH && text.charAt(start + HALF_LENGTH) == SEPARATOR) {
+      int upperLeading = digitValue(text.charAt(start));
+      long upperTrailing = trailingDigits(text, start + 1);
+      int lowerLeading = digitValue(text.charAt(start + HALF_LENGTH + 1));
+      long lowerTrailing = trailingDigits(text, start + HALF_LENGTH + 2);
+      if (isInRange(upperLeading, upperTrailing) && isInRange(lowerLeading, lowerTrailing)) {
+        return new UUID(combine(upperLeading, upperTrailing), combine(lowerLeading, lowerTrailing));
+      }
+    }
+    throw new IllegalArgumentException("Invalid base36 UUID: " + text.subSequence(start, end));
+  }
+
+  /**
+   * Decodes a UUID from ASCII bytes, such as a region of a network buffer.
+   *
+   * @param ascii The bytes holding the encoding.
+   * @param offset The index of the first byte of the encoding.
+   * @param length The number of bytes in the encoding.
+   * @return The decoded UUID.
+   * @throws IllegalArgumentException If the region is not a valid encoding.
+   */
+  public static UUID decode(byte[] ascii, int offset, int length) {
+    Objects.checkFromIndexSize(offset, length, ascii.length);
+    if (length == LENGTH && ascii[offset + HALF_LENGTH] == SEPARATOR) {
+      int upperLeading = digitValue(ascii[offset]);
+      long upperTrailing = trailingDigits(ascii, offset + 1);
+      int lowerLeading = digitValue(ascii[offset + HALF_LENGTH + 1]);
+      long lowerTrailing = trailingDigits(ascii, offset + HALF_LENGTH + 2);
+      if (isInRange(upperLeading, upperTrailing) && isInRange(lowerLeading, lowerTrailing)) {
+        return new UUID(combine(upperLeading, upperTrailing), combine(lowerLeading, lowerTrailing));
+      }
+    }
+    throw new IllegalArgumentException(
+        "Invalid base36 UUID: " + new String(ascii, offset, length, StandardCharsets.US_ASCII));
+  }
+
+  private static void encodeHalf(long bits, byte[] destination, int offset) {
+    // Split off the leading digit with unsigned division; the remaining twelve digits fit in a
+    // non-negative long, so plain division and remainder do the rest.
+    long trailing = Long.remainderUnsigned(bits, LEADING_PLACE);
+    destination[offset] = DIGITS[(int) Long.divideUnsigned(bits, LEADING_PLACE)];
+    for (int i = offset + HALF_LENGTH - 1; i > offset; i--) {
+      destination[i] = DIGITS[(int) (trailing % RADIX)];
+      trailing /= RADIX;
+    }
+  }
+
+  /**
+   * Returns the value of the twelve digits after a half's leading digit, or {@link #INVALID}. They
+   * are always below 36^12, so unlike a whole half they can never legitimately be negative.
+   */
+  private static long trailingDigits(CharSequence text, int start) {
+    long value = 0;
+    for (int i = start; i < start + HALF_LENGTH - 1; i++) {
+      int digit = digitValue(text.charAt(i));
+      if (digit < 0) {
+        return INVALID;
+      }
+      value = value * RADIX + digit;
+    }
+    return value;
+  }
+
+  private static long trailingDigits(byte[] ascii, int offset) {
+    long value = 0;
+    for (int i = offset; i < offset + HALF_LENGTH - 1; i++) {
+      int digit = digitValue(ascii[i]);
+      if (digit < 0) {
+        return INVALID;
+      }
+      value = value * RADIX + digit;
+    }
+    return value;
+  }
+
+  /** Returns whether the digits form a half no larger than {@code 2^64 - 1}. */
+  private static boolean isInRange(int leading, long trailing) {
+    return leading >= 0
+        && trailing >= 0
+        && (leading < MAX_LEADING_DIGIT
+            || (leading == MAX_LEADING_DIGIT && trailing <= MAX_TRAILING));
+  }
+
+  private static long combine(int leading, long trailing) {
+    return leading * LEADING_PLACE + trailing;
+  }
+
+  private static int digitValue(int character) {
+    return character >= 0 && character < DIGIT_VALUES.length ? DIGIT_VALUES[character] : -1;
+  }
+}
@@ -2,11 +2,17 @@ package org.larpconnect.common;
 
 import com.google.inject.AbstractModule;
 import com.google.inject.Singleton;
+import com.google.inject.multibindings.Multibinder;
 
 /** Exposes the bindings for the common library. */
 public final class CommonModule extends AbstractModule {
   @Override
   protected void configure() {
     bind(Environment.class).to(SystemEnvironment.class).in(Singleton.class);
+    // Filled by every module that holds work to release when the server stops
+    Multibinder.newSetBinder(binder(), ShutdownParticipant.class);
+    // Filled by every module with something to measure
+    Multibinder.newSetBinder(binder(), Metric.class);
+    bind(MetricRegistry.class).in(Singleton.class);
   }
 }
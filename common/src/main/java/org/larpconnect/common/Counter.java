@@ -0,0 +1,37 @@
+package org.larpconnect.common;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.errorprone.annotations.ThreadSafe;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A monotonically increasing count for the metrics scrape.
+ *
+ * <p>The count is striped across cells, so threads incrementing it concurrently do not contend on
+ * one cache line; reading it sums the cells and may miss increments made meanwhile.
+ */
+@ThreadSafe
+public final class Counter {
+  private final LongAdder count = new LongAdder();
+
+  /** Adds one to the count. */
+  public void increment() {
+    count.increment();
+  }
+
+  /**
+   * Adds to the count.
+   *
+   * @param amount The amount to add, which must not be negative.
+   */
+  public void add(long amount) {
+    checkArgument(amount >= 0, "Counters only increase: %s", amount);
+    count.add(amount);
+  }
+
+  /** Returns the current count. */
+  public long count() {
+    return count.sum();
+  }
+}
@@ -22,4 +22,57 @@ public interface Environment {
   default String getOrDefault(String name, String defaultValue) {
     return get(name).orElse(defaultValue);
   }
+
+  /**
+   * Returns the environment variable parsed as an integer, or the default value if it is absent,
+   * blank, or not a valid integer.
+   *
+   * @param name The name of the environment variable.
+   * @param defaultValue The default value.
+   * @return The parsed value or default value.
+   */
+  default int getIntOrDefault(String name, int defaultValue) {
+    long value = getLongOrDefault(name, defaultValue);
+    return value == (int) value ? (int) value : defaultValue;
+  }
+
+  /**
+   * Returns the environment variable parsed as a long, or the default value if it is absent, blank,
+   * or not a valid long.
+   *
+   * @param name The name of the environment variable.
+   * @param defaultValue The default value.
+   * @return The parsed value or default value.
+   */
+  default long getLongOrDefault(String name, long defaultValue) {
+    return get(name)
+        .map(String::trim)
+        .filter(value -> !value.isEmpty())
+        .flatMap(Environment::parseLong)
+        .orElse(defaultValue);
+  }
+
+  /**
+   * Returns the environment variable parsed as a boolean, or the default value if it is absent or
+   * is neither {@code true} nor {@code false}, ignoring case and surrounding whitespace.
+   *
+   * @param name The name of the environment variable.
+   * @param defaultValue The default value.
+   * @return The parsed value or default value.
+   */
+  default boolean getBooleanOrDefault(String name, boolean defaultValue) {
+    return get(name)
+        .map(String::trim)
+        .filter(value -> value.equalsIgnoreCase("true") || value.equalsIgnoreCase("false"))
+        .map(Boolean::parseBoolean)
+        .orElse(defaultValue);
+  }
+
+  private static Optional<Long> parseLong(String value) {
+    try {
+      return Optional.of(Long.parseLong(value));
+    } catch (NumberFormatException e) {
+      return Optional.empty();
+    }
+  }
 }
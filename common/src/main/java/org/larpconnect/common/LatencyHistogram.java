@@ -0,0 +1,132 @@
+package org.larpconnect.common;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.errorprone.annotations.ThreadSafe;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free histogram of durations in nanoseconds, laid out like HdrHistogram.
+ *
+ * <p>Values are counted in log-linear buckets, {@value #SUB_BUCKETS} per power of two, so a
+ * percentile is known to within 1/{@value #SUB_BUCKETS} of its value however large it is. Recording
+ * a value is one array increment plus striped sum and maximum updates, with no allocation and no
+ * lock. Values past {@link #MAX_TRACKABLE_NANOS} (about 68 s) share the last bucket; the exact
+ * maximum is still kept.
+ */
+@ThreadSafe
+public final class LatencyHistogram {
+  /** The largest value told apart from larger ones. */
+  public static final long MAX_TRACKABLE_NANOS = (1L << 36) - 1;
+
+  private static final int SUB_BUCKET_BITS = 4;
+  private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+  private static final int BUCKETS = bucketOf(MAX_TRACKABLE_NANOS) + 1;
+
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+  private final LongAdder sum = new LongAdder();
+  private final LongAccumulator max = new LongAccumulator(Math::max, 0L);
+
+  /**
+   * Records one duration. Negative durations, as from a clock read out of order, count as zero.
+   *
+   * @param nanos The duration in nanoseconds.
+   */
+  public void record(long nanos) {
+    long value = Math.max(0L, nanos);
+    counts.incrementAndGet(bucketOf(Math.min(value, MAX_TRACKABLE_NANOS)));
+    sum.add(value);
+    max.accumulate(value);
+  }
+
+  /**
+   * Copies the current counts. Values recorded meanwhile may be partly included.
+   *
+   * @return The snapshot.
+   */
+  public Snapshot snapshot() {
+    long[] copy = new long[BUCKETS];
+    for (int i = 0; i < BUCKETS; i++) {
+      copy[i] = counts.get(i);
+    }
+    return new Snapshot(copy, sum.sum(), max.get());
+  }
+
+  static int bucketOf(long value) {
+    if (value < SUB_BUCKETS) {
+      return (int) value;
+    }
+    int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+    return (shift + 1) * SUB_BUCKETS + (int) (value >>> shift) - SUB_BUCKETS;
+  }
+
+  /** Returns the largest value counted in a bucket. */
+  static long upperBoundOf(int bucket) {
+    if (bucket < SUB_BUCKETS) {
+      return bucket;
+    }
+    int shift = bucket / SUB_BUCKETS - 1;
+    long subBucket = (long) (bucket % SUB_BUCKETS) + SUB_BUCKETS;
+    return ((subBucket + 1) << shift) - 1;
+  }
+
+  /** A point-in-time copy of a {@link LatencyHistogram}. */
+  public static final class Snapshot {
+    private final long[] counts;
+    private final long count;
+    private final long sum;
+    private final long max;
+
+    private Snapshot(long[] counts, long sum, long max) {
+      this.counts = counts;
+      long total = 0;
+      for (long bucket : counts) {
+        total += bucket;
+      }
+      this.count = total;
+      this.sum = sum;
+      this.max = max;
+    }
+
+    /** Returns the number of values recorded. */
+    public long count() {
+      return count;
+    }
+
+    /** Returns the sum of the values recorded, in nanoseconds. */
+    public long sum() {
+      return sum;
+    }
+
+    /** Returns the largest value recorded, in nanoseconds. */
+    public long max() {
+      return max;
+    }
+
+    /**
+     * Returns the value at or below which the given share of the recorded values fall.
+     *
+     * @param percentile The share, from {@code 0} to {@code 100}.
+     * @return The value in nanoseconds, rounded up to its bucket and capped at the maximum; {@code
+     *     0} when nothing was recorded.
+     */
+    public long valueAtPercentile(double percentile) {
+      checkArgument(
+          percentile >= 0 && percentile <= 100, "Percentile out of range: %s", percentile);
+      if (count == 0) {
+        return 0;
+      }
+      long rank = Math.max(1L, (long) Math.ceil(percentile / 100 * count));
+      long seen = 0;
+      for (int bucket = 0; bucket < counts.length; bucket++) {
+        seen += counts[bucket];
+        if (seen >= rank) {
+          return Math.min(upperBoundOf(bucket), max);
+        }
+      }
+      return max;
+    }
+  }
+}
@@ -0,0 +1,33 @@
+package org.larpconnect.common;
+
+import com.google.inject.Key;
+import com.google.inject.Provider;
+import com.google.inject.Scope;
+import com.google.inject.Scopes;
+import com.google.inject.Stage;
+
+/**
+ * A singleton scope that is never instantiated eagerly, even in {@link Stage#PRODUCTION}.
+ *
+ * <p>The server builds its injector in the production stage so ordinary singletons are created
+ * while it boots rather than on the first request. Singletons whose creation is itself a timed
+ * startup step, such as Vert.x and the Hibernate session factory, use this scope instead, so the
+ * server can create them concurrently once it starts.
+ */
+public final class LazySingleton implements Scope {
+  /** The scope to bind with, as in {@code bind(X.class).in(LazySingleton.SCOPE)}. */
+  public static final Scope SCOPE = new LazySingleton();
+
+  private LazySingleton() {}
+
+  @Override
+  public <T> Provider<T> scope(Key<T> key, Provider<T> unscoped) {
+    // Guice only creates its own singleton scope eagerly; delegating keeps its semantics otherwise
+    return Scopes.SINGLETON.scope(key, unscoped);
+  }
+
+  @Override
+  public String toString() {
+    return "LazySingleton.SCOPE";
+  }
+}
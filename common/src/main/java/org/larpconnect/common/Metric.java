@@ -0,0 +1,184 @@
+package org.larpconnect.common;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.common.base.CharMatcher;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * A named family of samples exposed by the {@link MetricRegistry}.
+ *
+ * <p>Modules contribute metrics to a set binding, as they do {@link ShutdownParticipant}s. A metric
+ * only says where its samples are read from, and they are read on every scrape, so recording stays
+ * a matter of updating a {@link Counter} or a {@link LatencyHistogram} on the hot path. A labelled
+ * metric has one sample per value of its single label.
+ */
+public final class Metric {
+  /** How the samples of a metric are exposed. */
+  public enum Type {
+    /** A count that only increases; its name should end in {@code _total}. */
+    COUNTER,
+    /** A value that goes up and down. */
+    GAUGE,
+    /** Percentiles, sum and count of durations, exposed in seconds. */
+    SUMMARY
+  }
+
+  private static final CharMatcher NAME_START =
+      CharMatcher.inRange('a', 'z').or(CharMatcher.inRange('A', 'Z')).or(CharMatcher.is('_'));
+  private static final CharMatcher NAME_PART = NAME_START.or(CharMatcher.inRange('0', '9'));
+
+  private final String name;
+  private final String help;
+  private final Type type;
+  private final String label;
+  private final Supplier<? extends Map<String, ?>> samples;
+
+  private Metric(
+      String name,
+      String help,
+      Type type,
+      String label,
+      Supplier<? extends Map<String, ?>> samples) {
+    checkArgument(isName(name), "Invalid metric name: %s", name);
+    checkArgument(label.isEmpty() || isName(label), "Invalid label name: %s", label);
+    this.name = name;
+    this.help = help;
+    this.type = type;
+    this.label = label;
+    this.samples = samples;
+  }
+
+  /**
+   * Creates an unlabelled counter.
+   *
+   * @param name The metric name.
+   * @param help What the metric counts.
+   * @param counter The counter to read.
+   * @return The metric.
+   */
+  public static Metric counter(String name, String help, Counter counter) {
+    return new Metric(name, help, Type.COUNTER, "", () -> Map.of("", counter.count()));
+  }
+
+  /**
+   * Creates a counter with one sample per label value.
+   *
+   * @param name The metric name.
+   * @param help What the metric counts.
+   * @param label The label name.
+   * @param counts Reads the count of every label value.
+   * @return The metric.
+   */
+  public static Metric counters(
+      String name,
+      String help,
+      String label,
+      Supplier<? extends Map<String, ? extends Number>> counts) {
+    return new Metric(name, help, Type.COUNTER, labelOf(label), counts);
+  }
+
+  /**
+   * Creates an unlabelled gauge.
+   *
+   * @param name The metric name.
+   * @param help What the metric measures.
+   * @param value Reads the current value.
+   * @return The metric.
+   */
+  public static Metric gauge(String name, String help, Supplier<? extends Number> value) {
+    return new Metric(name, help, Type.GAUGE, "", () -> Map.of("", value.get()));
+  }
+
+  /**
+   * Creates a gauge with one sample per label value.
+   *
+   * @param name The metric name.
+   * @param help What the metric measures.
+   * @param label The label name.
+   * @param values Reads the value of every label value.
+   * @return The metric.
+   */
+  public static Metric gauges(
+      String name,
+      String help,
+      String label,
+      Supplier<? extends Map<String, ? extends Number>> values) {
+    return new Metric(name, help, Type.GAUGE, labelOf(label), values);
+  }
+
+  /**
+   * Creates an unlabelled summary of the durations in a histogram.
+   *
+   * @param name The metric name, which should end in {@code _seconds}.
+   * @param help What the durations are.
+   * @param histogram The histogram to read.
+   * @return The metric.
+   */
+  public static Metric summary(String name, String help, LatencyHistogram histogram) {
+    return new Metric(name, help, Type.SUMMARY, "", () -> Map.of("", histogram.snapshot()));
+  }
+
+  /**
+   * Creates a summary of durations with one set of samples per label value.
+   *
+   * @param name The metric name, which should end in {@code _seconds}.
+   * @param help What the durations are.
+   * @param label The label name.
+   * @param snapshots Reads the histogram of every label value.
+   * @return The metric.
+   */
+  public static Metric summaries(
+      String name,
+      String help,
+      String label,
+      Supplier<? extends Map<String, LatencyHistogram.Snapshot>> snapshots) {
+    return new Metric(name, help, Type.SUMMARY, labelOf(label), snapshots);
+  }
+
+  /** Returns the metric name. */
+  public String name() {
+    return name;
+  }
+
+  /** Returns what the metric measures. */
+  public String help() {
+    return help;
+  }
+
+  /** Returns how the samples are exposed. */
+  public Type type() {
+    return type;
+  }
+
+  /** Returns the label name, or an empty string if the metric is unlabelled. */
+  public String label() {
+    return label;
+  }
+
+  /**
+   * Reads the current samples, keyed by label value; an unlabelled metric has its only sample under
+   * the empty string. Values are {@link Number}s, or {@link LatencyHistogram.Snapshot}s for a
+   * summary.
+   */
+  Map<String, ?> samples() {
+    return samples.get();
+  }
+
+  private static String labelOf(String label) {
+    checkArgument(!label.isEmpty(), "Labelled metrics need a label name");
+    return label;
+  }
+
+  private static boolean isName(String name) {
+    return !name.isEmpty()
+        && NAME_START.matches(name.charAt(0))
+        && NAME_PART.matchesAllOf(name.substring(1));
+  }
+
+  @Override
+  public String toString() {
+    return name;
+  }
+}
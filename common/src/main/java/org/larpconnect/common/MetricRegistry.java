@@ -0,0 +1,122 @@
+package org.larpconnect.common;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.common.collect.ImmutableList;
+import com.google.errorprone.annotations.ThreadSafe;
+import com.google.inject.Inject;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Every {@link Metric} bound by the server's modules, rendered in the Prometheus text exposition
+ * format.
+ *
+ * <p>Samples are read when scraped, so the registry holds no state of its own and recording never
+ * touches it.
+ */
+@ThreadSafe
+public final class MetricRegistry {
+  /** The media type of {@link #scrape()}. */
+  public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+  private static final double NANOS_PER_SECOND = 1e9;
+  private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+
+  private final ImmutableList<Metric> metrics;
+
+  @Inject
+  MetricRegistry(Set<Metric> metrics) {
+    Set<String> names = new HashSet<>();
+    for (Metric metric : metrics) {
+      checkArgument(names.add(metric.name()), "Duplicate metric: %s", metric.name());
+    }
+    this.metrics =
+        metrics.stream()
+            .sorted(Comparator.comparing(Metric::name))
+            .collect(ImmutableList.toImmutableList());
+  }
+
+  /**
+   * Returns the registered metrics.
+   *
+   * @return The metrics, ordered by name.
+   */
+  public ImmutableList<Metric> metrics() {
+    return metrics;
+  }
+
+  /**
+   * Reads every metric.
+   *
+   * @return The samples in the Prometheus text format, metrics ordered by name and samples by label
+   *     value.
+   */
+  public String scrape() {
+    StringBuilder out = new StringBuilder();
+    for (Metric metric : metrics) {
+      out.append("# HELP ").append(metric.name()).append(' ');
+      out.append(escape(metric.help(), false)).append('\n');
+      out.append("# TYPE ").append(metric.name()).append(' ');
+      out.append(metric.type().name().toLowerCase(Locale.ROOT)).append('\n');
+      for (Map.Entry<String, ?> sample : new TreeMap<>(metric.samples()).entrySet()) {
+        if (metric.type() == Metric.Type.SUMMARY) {
+          writeSummary(out, metric, sample.getKey(), (LatencyHistogram.Snapshot) sample.getValue());
+        } else {
+          writeSample(
+              out, metric.name(), labels(metric, sample.getKey(), ""), (Number) sample.getValue());
+        }
+      }
+    }
+    return out.toString();
+  }
+
+  private static void writeSummary(
+      StringBuilder out, Metric metric, String labelValue, LatencyHistogram.Snapshot snapshot) {
+    for (double quantile : QUANTILES) {
+      writeSample(
+          out,
+          metric.name(),
+          labels(metric, labelValue, "quantile=\"" + quantile + "\""),
+          snapshot.valueAtPercentile(quantile * 100) / NANOS_PER_SECOND);
+    }
+    String labels = labels(metric, labelValue, "");
+    writeSample(out, metric.name() + "_sum", labels, snapshot.sum() / NANOS_PER_SECOND);
+    writeSample(out, metric.name() + "_count", labels, snapshot.count());
+  }
+
+  private static String labels(Metric metric, String labelValue, String extra) {
+    String label =
+        metric.label().isEmpty() ? "" : metric.label() + "=\"" + escape(labelValue, true) + "\"";
+    String joined = label.isEmpty() || extra.isEmpty() ? label + extra : label + "," + extra;
+    return joined.isEmpty() ? "" : "{" + joined + "}";
+  }
+
+  private static void writeSample(StringBuilder out, String name, String labels, Number value) {
+    out.append(name).append(labels).append(' ').append(format(value)).append('\n');
+  }
+
+  private static String format(Number value) {
+    if (value instanceof Double || value instanceof Float) {
+      double number = value.doubleValue();
+      if (Double.isNaN(number)) {
+        return "NaN";
+      }
+      if (Double.isInfinite(number)) {
+        return number > 0 ? "+Inf" : "-Inf";
+      }
+      return Double.toString(number);
+    }
+    return Long.toString(value.longValue());
+  }
+
+  /** Escapes help text, or a label value, which also escapes its quotes. */
+  private static String escape(String text, boolean quoted) {
+    String escaped = text.replace("\\", "\\\\").replace("\n", "\\n");
+    return quoted ? escaped.replace("\"", "\\\"") : escaped;
+  }
+}
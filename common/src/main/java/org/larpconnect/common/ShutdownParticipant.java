@@ -0,0 +1,28 @@
+package org.larpconnect.common;
+
+import java.time.Duration;
+
+/**
+ * A part of the server that releases its work in one phase of a graceful shutdown.
+ *
+ * <p>Modules contribute participants to a set binding. The server runs the participants of a phase
+ * concurrently and starts the next phase once they have all returned or the phase timeout has
+ * passed, interrupting those still running.
+ *
+ * @param name The name the participant is logged under.
+ * @param phase The phase the participant runs in.
+ * @param action The work of the participant.
+ */
+public record ShutdownParticipant(String name, ShutdownPhase phase, Action action) {
+  /** The work of a participant. */
+  @FunctionalInterface
+  public interface Action {
+    /**
+     * Releases the participant's work, blocking until it is done.
+     *
+     * @param timeout How long the phase may take; the action is interrupted after it.
+     * @throws Exception if the work could not be released.
+     */
+    void run(Duration timeout) throws Exception;
+  }
+}
@@ -0,0 +1,26 @@
+package org.larpconnect.common;
+
+/**
+ * The ordered phases of a graceful server shutdown. Every phase ends before the next one starts, so
+ * work is only ever handed to parts of the server that are still running.
+ */
+public enum ShutdownPhase {
+  /**
+   * Health checks fail while listeners still accept connections, so load balancers see the failure
+   * and stop routing here before anything is refused. The server waits out a grace period after it.
+   */
+  FAIL_HEALTH,
+  /** Listeners stop accepting connections. */
+  STOP_ACCEPTING,
+  /** In-flight requests and event-bus messages finish. */
+  DRAIN,
+  /**
+   * Queue consumers stop, handing back to the broker what they have not started, and the outbox
+   * relay stops claiming once its current batch is relayed.
+   */
+  STOP_CONSUMING,
+  /** Pending acknowledgements, publishes and database work complete. */
+  FLUSH,
+  /** Pools, connections and the session factory close. */
+  CLOSE
+}
@@ -0,0 +1,19 @@
+package org.larpconnect.common;
+
+/**
+ * Resolves the public identifiers of a studio to its private tenant from memory, so request routing
+ * never queries the database to identify a tenant.
+ */
+public interface TenantRegistry {
+  /**
+   * Resolves an alias or a base36 {@code studio-id}.
+   *
+   * <p>Lookups of the canonical lower-case form allocate nothing; other casings are folded before a
+   * second lookup.
+   *
+   * @param studioId The alias or base36 studio id from the request path.
+   * @return The resolution, which is {@link TenantResolution#unknown()} for unrecognized or null
+   *     input.
+   */
+  TenantResolution resolve(String studioId);
+}
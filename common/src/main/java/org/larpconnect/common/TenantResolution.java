@@ -0,0 +1,65 @@
+package org.larpconnect.common;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.errorprone.annotations.Immutable;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * The outcome of resolving a public studio identifier to its private tenant.
+ *
+ * @param status Whether the studio is live, retired, or unknown.
+ * @param tenantId The private UUIDv7 tenant id. Empty exactly when the studio is unknown.
+ */
+@Immutable
+public record TenantResolution(Status status, Optional<UUID> tenantId) {
+  private static final TenantResolution UNKNOWN =
+      new TenantResolution(Status.UNKNOWN, Optional.empty());
+
+  /** The state of a resolved studio identifier. */
+  public enum Status {
+    /** The identifier names a live studio. */
+    ACTIVE,
+    /** The identifier used to name a studio but has been retired; APIs answer 410. */
+    RETIRED,
+    /** The identifier has never named a studio; APIs answer 404. */
+    UNKNOWN
+  }
+
+  public TenantResolution {
+    checkArgument(
+        tenantId.isPresent() == (status != Status.UNKNOWN),
+        "tenantId must be present unless the status is UNKNOWN: %s",
+        status);
+  }
+
+  /**
+   * Returns the resolution of an identifier that names a live studio.
+   *
+   * @param tenantId The private tenant id.
+   * @return A new resolution.
+   */
+  public static TenantResolution active(UUID tenantId) {
+    return new TenantResolution(Status.ACTIVE, Optional.of(tenantId));
+  }
+
+  /**
+   * Returns the resolution of an identifier that has been retired.
+   *
+   * @param tenantId The private id of the tenant the identifier used to name.
+   * @return A new resolution.
+   */
+  public static TenantResolution retired(UUID tenantId) {
+    return new TenantResolution(Status.RETIRED, Optional.of(tenantId));
+  }
+
+  /**
+   * Returns the shared resolution of an identifier that names no studio.
+   *
+   * @return The unknown resolution.
+   */
+  public static TenantResolution unknown() {
+    return UNKNOWN;
+  }
+}
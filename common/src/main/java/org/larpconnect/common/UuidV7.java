@@ -0,0 +1,95 @@
+package org.larpconnect.common;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Creates and inspects time-ordered UUIDv7 values (RFC 9562).
+ *
+ * <p>The top 48 bits are the Unix time in milliseconds, followed by the version, 12 bits of
+ * sequence, the variant and 62 random bits. Compared as unsigned bytes, as PostgreSQL does, ids
+ * sort by creation time, so a range of ids is a range of time. {@link #next()} uses the 12 bits as
+ * a counter within the millisecond (RFC 9562 method 1), so the ids of one process strictly
+ * increase; past 4096 ids in a millisecond it borrows the next one. The random bits come from
+ * {@link ThreadLocalRandom}: the ids are unique but not unguessable.
+ */
+public final class UuidV7 {
+  private static final long MAX_MILLIS = (1L << 48) - 1;
+  private static final long VERSION = 0x7000L;
+  private static final long VARIANT = 0x8000_0000_0000_0000L;
+  private static final long RANDOM_A_MASK = 0x0fffL;
+  private static final long RANDOM_B_MASK = 0x3fff_ffff_ffff_ffffL;
+  private static final int SEQUENCE_BITS = 12;
+
+  /**
+   * The millisecond and sequence of the last id from {@link #next()}, as {@code ms << 12 | seq}.
+   */
+  private static final AtomicLong LAST = new AtomicLong();
+
+  private UuidV7() {}
+
+  /**
+   * Creates an id for the current time, greater than every id this method returned before.
+   *
+   * @return A new UUIDv7.
+   */
+  public static UUID next() {
+    long floor = System.currentTimeMillis() << SEQUENCE_BITS;
+    long stamp = LAST.updateAndGet(last -> Math.max(last + 1, floor));
+    long epochMillis = stamp >>> SEQUENCE_BITS;
+    checkMillis(epochMillis);
+    return new UUID(
+        epochMillis << 16 | VERSION | (stamp & RANDOM_A_MASK),
+        VARIANT | (ThreadLocalRandom.current().nextLong() & RANDOM_B_MASK));
+  }
+
+  /**
+   * Creates an id for the given time, with random bits in place of the sequence.
+   *
+   * @param epochMillis The Unix time in milliseconds.
+   * @return A new UUIDv7.
+   */
+  public static UUID next(long epochMillis) {
+    checkMillis(epochMillis);
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    return new UUID(
+        epochMillis << 16 | VERSION | (random.nextLong() & RANDOM_A_MASK),
+        VARIANT | (random.nextLong() & RANDOM_B_MASK));
+  }
+
+  /**
+   * Returns the smallest UUID whose timestamp is the given instant's millisecond, for use as an
+   * inclusive lower bound of a time range of UUIDv7 ids.
+   *
+   * @param instant The instant, truncated to milliseconds.
+   * @return The bound; it has every bit below the timestamp cleared.
+   */
+  public static UUID lowerBound(Instant instant) {
+    long epochMillis = instant.toEpochMilli();
+    checkMillis(epochMillis);
+    return new UUID(epochMillis << 16, 0L);
+  }
+
+  /**
+   * Returns the time a UUIDv7 was created at.
+   *
+   * @param uuid The id.
+   * @return The instant of its timestamp.
+   * @throws IllegalArgumentException If the id is not a version 7 UUID.
+   */
+  public static Instant timestampOf(UUID uuid) {
+    checkArgument(uuid.version() == 7, "Not a UUIDv7: %s", uuid);
+    return Instant.ofEpochMilli(uuid.getMostSignificantBits() >>> 16);
+  }
+
+  private static void checkMillis(long epochMillis) {
+    checkArgument(
+        epochMillis >= 0 && epochMillis <= MAX_MILLIS,
+        "Time does not fit in 48 bits of milliseconds: %s",
+        epochMillis);
+  }
+}
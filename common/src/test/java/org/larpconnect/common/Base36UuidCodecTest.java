@@ -0,0 +1,131 @@
+package org.larpconnect.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for {@link Base36UuidCodec}. */
+public final class Base36UuidCodecTest {
+  private static final String ZERO = "0000000000000-0000000000000";
+  private static final String MAX = "3w5e11264sgsf-3w5e11264sgsf";
+  private static final UUID SAMPLE = UUID.fromString("0190a6f2-3b4c-7d8e-9f00-112233445566");
+
+  @Test
+  public void encode_boundaryValues_padsEachHalfToThirteenDigits() {
+    assertThat(Base36UuidCodec.encode(new UUID(0L, 0L))).isEqualTo(ZERO);
+    assertThat(Base36UuidCodec.encode(new UUID(-1L, -1L))).isEqualTo(MAX);
+    assertThat(Base36UuidCodec.encode(Long.MIN_VALUE, Long.MAX_VALUE))
+        .isEqualTo("1y2p0ij32e8e8-1y2p0ij32e8e7");
+  }
+
+  @Test
+  public void encode_randomUuids_matchesUnsignedBigIntegerRendering() {
+    SplittableRandom random = new SplittableRandom(36);
+    for (int i = 0; i < 1_000; i++) {
+      UUID uuid = new UUID(random.nextLong(), random.nextLong());
+
+      assertThat(Base36UuidCodec.encode(uuid))
+          .isEqualTo(
+              naiveHalf(uuid.getMostSignificantBits())
+                  + "-"
+                  + naiveHalf(uuid.getLeastSignificantBits()));
+    }
+  }
+
+  @Test
+  public void decode_roundTripsEncode() {
+    SplittableRandom random = new SplittableRandom(27);
+    for (int i = 0; i < 1_000; i++) {
+      UUID uuid = new UUID(random.nextLong(), random.nextLong());
+
+      assertThat(Base36UuidCodec.decode(Base36UuidCodec.encode(uuid))).isEqualTo(uuid);
+    }
+    assertThat(Base36UuidCodec.decode(MAX)).isEqualTo(new UUID(-1L, -1L));
+    assertThat(Base36UuidCodec.decode(ZERO)).isEqualTo(new UUID(0L, 0L));
+  }
+
+  @Test
+  public void decode_regionOfLargerText_readsInPlace() {
+    String path = "/api/studios/" + Base36UuidCodec.encode(SAMPLE) + "/v1";
+
+    assertThat(Base36UuidCodec.decode(path, 13, 13 + Base36UuidCodec.LENGTH)).isEqualTo(SAMPLE);
+  }
+
+  @Test
+  public void decode_asciiBytes_roundTripsEncodeTo() {
+    byte[] buffer = new byte[Base36UuidCodec.LENGTH + 2];
+
+    Base36UuidCodec.encodeTo(
+        SAMPLE.getMostSignificantBits(), SAMPLE.getLeastSignificantBits(), buffer, 1);
+
+    assertThat(new String(buffer, 1, Base36UuidCodec.LENGTH, StandardCharsets.US_ASCII))
+        .isEqualTo(Base36UuidCodec.encode(SAMPLE));
+    assertThat(Base36UuidCodec.decode(buffer, 1, Base36UuidCodec.LENGTH)).isEqualTo(SAMPLE);
+  }
+
+  @Test
+  public void decode_invalidInput_throwsIllegalArgumentException() {
+    for (String invalid : invalidEncodings()) {
+      assertThat(Base36UuidCodec.isValid(invalid)).as(invalid).isFalse();
+      assertThatThrownBy(() -> Base36UuidCodec.decode(invalid))
+          .as(invalid)
+          .isInstanceOf(IllegalArgumentException.class);
+      byte[] ascii = invalid.getBytes(StandardCharsets.UTF_8);
+      assertThatThrownBy(() -> Base36UuidCodec.decode(ascii, 0, ascii.length))
+          .as(invalid)
+          .isInstanceOf(IllegalArgumentException.class);
+    }
+  }
+
+  @Test
+  public void decode_nonAsciiByte_throwsIllegalArgumentException() {
+    byte[] ascii = ZERO.getBytes(StandardCharsets.US_ASCII);
+    ascii[3] = (byte) 0xE9;
+
+    assertThatThrownBy(() -> Base36UuidCodec.decode(ascii, 0, ascii.length))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  public void isValid_canonicalEncoding_returnsTrue() {
+    assertThat(Base36UuidCodec.isValid(MAX)).isTrue();
+    assertThat(Base36UuidCodec.isValid(Base36UuidCodec.encode(SAMPLE))).isTrue();
+  }
+
+  @Test
+  public void decode_regionOutsideText_throwsIndexOutOfBoundsException() {
+    assertThatThrownBy(() -> Base36UuidCodec.decode(MAX, 1, Base36UuidCodec.LENGTH + 1))
+        .isInstanceOf(IndexOutOfBoundsException.class);
+    assertThatThrownBy(() -> Base36UuidCodec.encodeTo(0L, 0L, new byte[26], 0))
+        .isInstanceOf(IndexOutOfBoundsException.class);
+  }
+
+  private static List<String> invalidEncodings() {
+    return List.of(
+        "",
+        MAX.substring(1),
+        MAX + "0",
+        "3w5e11264sgsf_3w5e11264sgsf",
+        "3w5e11264sgsg-0000000000000",
+        "0000000000000-3w5e11264sgsg",
+        "4000000000000-0000000000000",
+        "0000000000000-4000000000000",
+        "3W5E11264SGSF-3W5E11264SGSF",
+        "000000000000!-0000000000000",
+        "0000000000000-000000000000!",
+        "!000000000000-0000000000000",
+        "0000000000000-!000000000000",
+        "000000000000\u00e9-0000000000000");
+  }
+
+  private static String naiveHalf(long bits) {
+    String digits = new BigInteger(Long.toUnsignedString(bits)).toString(36);
+    return "0".repeat(13 - digits.length()) + digits;
+  }
+}
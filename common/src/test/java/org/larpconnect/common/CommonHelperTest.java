@@ -4,6 +4,9 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import com.google.inject.Guice;
 import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.google.inject.TypeLiteral;
+import java.util.Set;
 import org.junit.jupiter.api.Test;
 
 /** Unit tests for {@link CommonHelper} and {@link CommonModule}. */
@@ -19,4 +22,11 @@ public final class CommonHelperTest {
     Injector injector = Guice.createInjector(new CommonModule());
     assertThat(injector).isNotNull();
   }
+
+  @Test
+  public void createInjector_withModule_bindsAnEmptyShutdownParticipantSet() {
+    Injector injector = Guice.createInjector(new CommonModule());
+    assertThat(injector.getInstance(Key.get(new TypeLiteral<Set<ShutdownParticipant>>() {})))
+        .isEmpty();
+  }
 }
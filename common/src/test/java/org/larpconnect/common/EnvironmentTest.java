@@ -2,6 +2,7 @@ package org.larpconnect.common;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.util.List;
 import java.util.Map;
 import org.junit.jupiter.api.Test;
 
@@ -23,6 +24,57 @@ public final class EnvironmentTest {
     assertThat(environment.getOrDefault("MISSING", "DEFAULT")).isEqualTo("DEFAULT");
   }
 
+  @Test
+  public void getIntOrDefault_withValidValue_returnsParsedValue() {
+    Environment environment = new MapEnvironment(Map.of("KEY", " 42 "));
+
+    assertThat(environment.getIntOrDefault("KEY", 7)).isEqualTo(42);
+  }
+
+  @Test
+  public void getIntOrDefault_withMissingBlankOrInvalidValue_returnsDefault() {
+    Environment environment =
+        new MapEnvironment(Map.of("BLANK", "  ", "INVALID", "forty-two", "HUGE", "9999999999"));
+
+    assertThat(
+            List.of(
+                environment.getIntOrDefault("MISSING", 7),
+                environment.getIntOrDefault("BLANK", 7),
+                environment.getIntOrDefault("INVALID", 7),
+                environment.getIntOrDefault("HUGE", 7)))
+        .containsOnly(7);
+  }
+
+  @Test
+  public void getLongOrDefault_withValidValue_returnsParsedValue() {
+    Environment environment = new MapEnvironment(Map.of("KEY", "9999999999"));
+
+    assertThat(environment.getLongOrDefault("KEY", 7L)).isEqualTo(9_999_999_999L);
+  }
+
+  @Test
+  public void getLongOrDefault_withInvalidValue_returnsDefault() {
+    Environment environment = new MapEnvironment(Map.of("KEY", "12.5"));
+
+    assertThat(environment.getLongOrDefault("KEY", 7L)).isEqualTo(7L);
+  }
+
+  @Test
+  public void getBooleanOrDefault_withValidValue_returnsParsedValue() {
+    Environment environment = new MapEnvironment(Map.of("YES", " TRUE ", "NO", "false"));
+
+    assertThat(environment.getBooleanOrDefault("YES", false)).isTrue();
+    assertThat(environment.getBooleanOrDefault("NO", true)).isFalse();
+  }
+
+  @Test
+  public void getBooleanOrDefault_withMissingOrInvalidValue_returnsDefault() {
+    Environment environment = new MapEnvironment(Map.of("KEY", "yes"));
+
+    assertThat(environment.getBooleanOrDefault("KEY", true)).isTrue();
+    assertThat(environment.getBooleanOrDefault("MISSING", false)).isFalse();
+  }
+
   @Test
   public void systemEnvironment_get_works() {
     SystemEnvironment environment = new SystemEnvironment();
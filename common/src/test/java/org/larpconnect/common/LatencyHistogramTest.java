@@ -0,0 +1,104 @@
+package org.larpconnect.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for {@link LatencyHistogram}. */
+public final class LatencyHistogramTest {
+  @Test
+  public void snapshot_empty_reportsZeros() {
+    LatencyHistogram.Snapshot snapshot = new LatencyHistogram().snapshot();
+
+    assertThat(snapshot.count()).isZero();
+    assertThat(snapshot.sum()).isZero();
+    assertThat(snapshot.max()).isZero();
+    assertThat(snapshot.valueAtPercentile(99)).isZero();
+  }
+
+  @Test
+  public void valueAtPercentile_uniformValues_isWithinBucketPrecision() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    LongStream.rangeClosed(1, 10_000).forEach(i -> histogram.record(i * 1_000L));
+
+    LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+
+    assertThat(snapshot.count()).isEqualTo(10_000);
+    assertThat(snapshot.max()).isEqualTo(10_000_000L);
+    assertThat(snapshot.sum()).isEqualTo(50_005_000_000L);
+    assertThat(snapshot.valueAtPercentile(50)).isCloseTo(5_000_000L, within(5_000_000L / 16));
+    assertThat(snapshot.valueAtPercentile(99)).isCloseTo(9_900_000L, within(9_900_000L / 16));
+    assertThat(snapshot.valueAtPercentile(100)).isEqualTo(10_000_000L);
+    assertThat(snapshot.valueAtPercentile(0)).isBetween(1_000L, 1_000L + 1_000L / 16);
+  }
+
+  @Test
+  public void record_smallValues_areExact() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    histogram.record(3);
+    histogram.record(7);
+
+    assertThat(histogram.snapshot().valueAtPercentile(50)).isEqualTo(3);
+    assertThat(histogram.snapshot().valueAtPercentile(100)).isEqualTo(7);
+  }
+
+  @Test
+  public void record_outOfRangeValues_areClamped() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    histogram.record(-5);
+    histogram.record(Long.MAX_VALUE);
+
+    LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+
+    assertThat(snapshot.count()).isEqualTo(2);
+    assertThat(snapshot.valueAtPercentile(50)).isZero();
+    assertThat(snapshot.max()).isEqualTo(Long.MAX_VALUE);
+    assertThat(snapshot.valueAtPercentile(100))
+        .isGreaterThanOrEqualTo(LatencyHistogram.MAX_TRACKABLE_NANOS);
+  }
+
+  @Test
+  public void bucketOf_everyBucket_containsItsUpperBound() {
+    for (int bucket = 0;
+        bucket <= LatencyHistogram.bucketOf(LatencyHistogram.MAX_TRACKABLE_NANOS);
+        bucket++) {
+      long upper = LatencyHistogram.upperBoundOf(bucket);
+      assertThat(LatencyHistogram.bucketOf(upper)).isEqualTo(bucket);
+      assertThat(LatencyHistogram.bucketOf(upper + 1)).isEqualTo(bucket + 1);
+    }
+  }
+
+  @Test
+  public void record_concurrently_countsEveryValue() throws InterruptedException {
+    LatencyHistogram histogram = new LatencyHistogram();
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    for (int thread = 0; thread < 4; thread++) {
+      executor.execute(
+          () -> {
+            for (int i = 0; i < 25_000; i++) {
+              histogram.record(i);
+            }
+          });
+    }
+    executor.shutdown();
+    assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+    assertThat(histogram.snapshot().count()).isEqualTo(100_000);
+  }
+
+  @Test
+  public void valueAtPercentile_outOfRange_throwsIllegalArgumentException() {
+    LatencyHistogram.Snapshot snapshot = new LatencyHistogram().snapshot();
+
+    assertThatThrownBy(() -> snapshot.valueAtPercentile(101))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> snapshot.valueAtPercentile(-1))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
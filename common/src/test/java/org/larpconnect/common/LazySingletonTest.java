@@ -0,0 +1,38 @@
+package org.larpconnect.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.Stage;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for {@link LazySingleton}. */
+public final class LazySingletonTest {
+  @Test
+  public void scope_inProductionStage_createsOnceOnFirstUse() {
+    AtomicInteger created = new AtomicInteger();
+    Injector injector =
+        Guice.createInjector(
+            Stage.PRODUCTION,
+            binder ->
+                binder
+                    .bind(Object.class)
+                    .toProvider(
+                        () -> {
+                          created.incrementAndGet();
+                          return new Object();
+                        })
+                    .in(LazySingleton.SCOPE));
+
+    assertThat(created).hasValue(0);
+    assertThat(injector.getInstance(Object.class)).isSameAs(injector.getInstance(Object.class));
+    assertThat(created).hasValue(1);
+  }
+
+  @Test
+  public void toString_namesTheScope() {
+    assertThat(LazySingleton.SCOPE).hasToString("LazySingleton.SCOPE");
+  }
+}
@@ -0,0 +1,182 @@
+package org.larpconnect.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.multibindings.ProvidesIntoSet;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for {@link MetricRegistry}, {@link Metric} and {@link Counter}. */
+public final class MetricRegistryTest {
+  @Test
+  public void scrape_counter_writesHelpTypeAndValue() {
+    Counter counter = new Counter();
+    counter.increment();
+    counter.add(41);
+
+    String scrape =
+        new MetricRegistry(Set.of(Metric.counter("jobs_total", "Jobs run.", counter))).scrape();
+
+    assertThat(scrape)
+        .isEqualTo("# HELP jobs_total Jobs run.\n# TYPE jobs_total counter\njobs_total 42\n");
+  }
+
+  @Test
+  public void scrape_labelledGauges_writesOneSamplePerValueInOrderAndEscapes() {
+    Map<String, Number> values = new LinkedHashMap<>();
+    values.put("b", 2.5);
+    values.put("a\"\\\n", 1);
+
+    String scrape =
+        new MetricRegistry(
+                Set.of(Metric.gauges("pool_size", "Line\\one\nline two", "pool", () -> values)))
+            .scrape();
+
+    assertThat(scrape)
+        .isEqualTo(
+            "# HELP pool_size Line\\\\one\\nline two\n"
+                + "# TYPE pool_size gauge\n"
+                + "pool_size{pool=\"a\\\"\\\\\\n\"} 1\n"
+                + "pool_size{pool=\"b\"} 2.5\n");
+  }
+
+  @Test
+  public void scrape_specialDoubles_useThePrometheusSpelling() {
+    String scrape =
+        new MetricRegistry(
+                Set.of(
+                    Metric.gauge("a_nan", "", () -> Double.NaN),
+                    Metric.gauge("b_up", "", () -> Double.POSITIVE_INFINITY),
+                    Metric.gauge("c_down", "", () -> Float.NEGATIVE_INFINITY)))
+            .scrape();
+
+    assertThat(scrape).contains("a_nan NaN\n", "b_up +Inf\n", "c_down -Inf\n");
+  }
+
+  @Test
+  public void scrape_summary_writesQuantilesSumAndCountInSeconds() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    histogram.record(2_000_000_000L);
+
+    String scrape =
+        new MetricRegistry(Set.of(Metric.summary("call_seconds", "Calls.", histogram))).scrape();
+
+    assertThat(scrape)
+        .contains(
+            "# TYPE call_seconds summary\n",
+            "call_seconds{quantile=\"0.5\"} 2.0\n",
+            "call_seconds{quantile=\"0.999\"} 2.0\n",
+            "call_seconds_sum 2.0\n",
+            "call_seconds_count 1\n");
+  }
+
+  @Test
+  public void scrape_labelledSummaries_combineTheLabelWithTheQuantile() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    histogram.record(1_000L);
+
+    String scrape =
+        new MetricRegistry(
+                Set.of(
+                    Metric.summaries(
+                        "ack_seconds", "Acks.", "queue", () -> Map.of("q", histogram.snapshot())),
+                    Metric.counters("acks_total", "Acks.", "queue", () -> Map.of("q", 3L))))
+            .scrape();
+
+    assertThat(scrape)
+        .contains(
+            "ack_seconds{queue=\"q\",quantile=\"0.9\"} 1.0E-6\n",
+            "ack_seconds_count{queue=\"q\"} 1\n",
+            "acks_total{queue=\"q\"} 3\n");
+    assertThat(scrape.indexOf("ack_seconds")).isLessThan(scrape.indexOf("acks_total"));
+  }
+
+  @Test
+  public void newRegistry_duplicateName_isRejected() {
+    Counter counter = new Counter();
+    Set<Metric> duplicates =
+        new HashSet<>(
+            List.of(
+                Metric.counter("x_total", "", counter), Metric.counter("x_total", "", counter)));
+
+    assertThatThrownBy(() -> new MetricRegistry(duplicates))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("x_total");
+  }
+
+  @Test
+  public void metric_invalidNames_areRejected() {
+    Counter counter = new Counter();
+
+    assertThatThrownBy(() -> Metric.counter("", "", counter))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> Metric.counter("9lives", "", counter))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> Metric.counter("a-b", "", counter))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> Metric.gauges("a", "", "b c", Map::of))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> Metric.gauges("a", "", "", Map::of))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  public void metric_accessors_describeTheMetric() {
+    Metric metric = Metric.counters("Errors_total", "Errors.", "kind", Map::of);
+
+    assertThat(metric.name()).isEqualTo("Errors_total").isEqualTo(metric.toString());
+    assertThat(metric.help()).isEqualTo("Errors.");
+    assertThat(metric.type()).isEqualTo(Metric.Type.COUNTER);
+    assertThat(metric.label()).isEqualTo("kind");
+    assertThat(Metric.gauge("up", "", () -> 1).label()).isEmpty();
+  }
+
+  @Test
+  public void counter_concurrentIncrements_areAllCounted() throws InterruptedException {
+    Counter counter = new Counter();
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    for (int task = 0; task < 4; task++) {
+      executor.execute(
+          () -> {
+            for (int i = 0; i < 10_000; i++) {
+              counter.increment();
+            }
+          });
+    }
+    executor.shutdown();
+
+    assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+    assertThat(counter.count()).isEqualTo(40_000);
+    assertThatThrownBy(() -> counter.add(-1)).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  public void commonModule_collectsTheBoundMetrics() {
+    Counter counter = new Counter();
+    Injector injector =
+        Guice.createInjector(
+            new CommonModule(),
+            new AbstractModule() {
+              @ProvidesIntoSet
+              Metric provideCounter() {
+                return Metric.counter("bound_total", "Bound.", counter);
+              }
+            });
+
+    MetricRegistry registry = injector.getInstance(MetricRegistry.class);
+
+    assertThat(registry).isSameAs(injector.getInstance(MetricRegistry.class));
+    assertThat(registry.metrics()).extracting(Metric::name).containsExactly("bound_total");
+  }
+}
@@ -0,0 +1,44 @@
+package org.larpconnect.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for {@link TenantResolution}. */
+public final class TenantResolutionTest {
+  private static final UUID TENANT_ID = UUID.fromString("0190a000-0000-7000-8000-000000000001");
+
+  @Test
+  public void active_carriesTenantId() {
+    assertThat(TenantResolution.active(TENANT_ID))
+        .isEqualTo(new TenantResolution(TenantResolution.Status.ACTIVE, Optional.of(TENANT_ID)));
+  }
+
+  @Test
+  public void retired_carriesTenantId() {
+    assertThat(TenantResolution.retired(TENANT_ID))
+        .isEqualTo(new TenantResolution(TenantResolution.Status.RETIRED, Optional.of(TENANT_ID)));
+  }
+
+  @Test
+  public void unknown_isShared() {
+    assertThat(TenantResolution.unknown()).isSameAs(TenantResolution.unknown());
+    assertThat(TenantResolution.unknown().tenantId()).isEmpty();
+  }
+
+  @Test
+  public void constructor_unknownWithTenantId_throwsIllegalArgumentException() {
+    assertThatThrownBy(
+            () -> new TenantResolution(TenantResolution.Status.UNKNOWN, Optional.of(TENANT_ID)))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  public void constructor_activeWithoutTenantId_throwsIllegalArgumentException() {
+    assertThatThrownBy(() -> new TenantResolution(TenantResolution.Status.ACTIVE, Optional.empty()))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
@@ -0,0 +1,71 @@
+package org.larpconnect.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Instant;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for {@link UuidV7}. */
+public final class UuidV7Test {
+  private static final Instant INSTANT = Instant.parse("2026-10-18T12:34:56.789Z");
+
+  @Test
+  public void next_hasVersionVariantAndTimestamp() {
+    UUID uuid = UuidV7.next(INSTANT.toEpochMilli());
+
+    assertThat(uuid.version()).isEqualTo(7);
+    assertThat(uuid.variant()).isEqualTo(2);
+    assertThat(UuidV7.timestampOf(uuid)).isEqualTo(INSTANT);
+    assertThat(uuid.toString()).startsWith("01a14f02-0c95-7");
+  }
+
+  @Test
+  public void next_laterMillisecond_sortsAfterAsText() {
+    UUID earlier = UuidV7.next(INSTANT.toEpochMilli());
+    UUID later = UuidV7.next(INSTANT.toEpochMilli() + 1);
+
+    // PostgreSQL compares UUIDs as unsigned bytes, which is the order of the hex text.
+    assertThat(later.toString()).isGreaterThan(earlier.toString());
+    assertThat(later).isNotEqualTo(UuidV7.next(INSTANT.toEpochMilli() + 1));
+  }
+
+  @Test
+  public void next_sameMillisecond_strictlyIncreases() {
+    UUID previous = UuidV7.next();
+    for (int i = 0; i < 10_000; i++) {
+      UUID current = UuidV7.next();
+      assertThat(current.toString()).isGreaterThan(previous.toString());
+      previous = current;
+    }
+  }
+
+  @Test
+  public void next_currentTime_isRecent() {
+    Instant before = Instant.now().minusMillis(1);
+
+    assertThat(UuidV7.timestampOf(UuidV7.next())).isAfter(before);
+  }
+
+  @Test
+  public void lowerBound_isBelowEveryIdOfThatMillisecond() {
+    UUID bound = UuidV7.lowerBound(INSTANT);
+
+    assertThat(bound.toString())
+        .isLessThanOrEqualTo(UuidV7.next(INSTANT.toEpochMilli()).toString());
+    assertThat(bound.toString())
+        .isGreaterThan(UuidV7.next(INSTANT.toEpochMilli() - 1).toString())
+        .endsWith("-0000-0000-000000000000");
+  }
+
+  @Test
+  public void invalidInput_throws() {
+    assertThatThrownBy(() -> UuidV7.next(-1)).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> UuidV7.next(1L << 48)).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> UuidV7.lowerBound(Instant.EPOCH.minusMillis(1)))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> UuidV7.timestampOf(UUID.randomUUID()))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
@@ -16,6 +16,7 @@ dependencies {
     // Database access dependencies
     implementation(libs.hibernate.core)
     implementation(libs.postgresql)
+    implementation(libs.hikaricp)
     implementation(libs.caffeine)
     implementation(libs.flyway.core)
     implementation(libs.flyway.database.postgresql)
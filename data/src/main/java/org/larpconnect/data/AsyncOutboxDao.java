@@ -0,0 +1,44 @@
+package org.larpconnect.data;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Non-blocking view of {@link OutboxDao}. Work runs on the data executor, so it is safe to call
+ * from event-loop threads; a relay's sink runs there too and may block on the broker.
+ */
+public interface AsyncOutboxDao {
+  /**
+   * Appends messages in a transaction of their own.
+   *
+   * @param messages The messages to append.
+   * @return A stage completed once the messages are committed.
+   */
+  CompletionStage<Void> append(Collection<OutboxMessage> messages);
+
+  /**
+   * Relays a batch of messages, see {@link OutboxDao#relay}.
+   *
+   * @param limit The most messages to claim.
+   * @param sink Receives the claimed messages on the data executor.
+   * @return A stage completed with the number of messages relayed.
+   */
+  CompletionStage<Integer> relay(int limit, OutboxSink sink);
+
+  /**
+   * Creates the missing daily partitions, see {@link OutboxDao#createPartitions}.
+   *
+   * @param daysAhead How many days after today to create partitions for.
+   * @return A stage completed with the number of partitions created.
+   */
+  CompletionStage<Integer> createPartitions(int daysAhead);
+
+  /**
+   * Drops the empty daily partitions, see {@link OutboxDao#dropPartitions}.
+   *
+   * @param before The instant before which whole days are dropped.
+   * @return A stage completed with the number of partitions dropped.
+   */
+  CompletionStage<Integer> dropPartitions(Instant before);
+}
@@ -0,0 +1,36 @@
+package org.larpconnect.data;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Non-blocking view of {@link TestTableDao}. Work runs on the data executor, so it is safe to call
+ * from event-loop threads.
+ */
+public interface AsyncTestTableDao {
+  /**
+   * Inserts the given test entity, or updates the stored row if one with the same id exists.
+   *
+   * @param entity The entity to save.
+   * @return A stage completed once the entity is committed.
+   */
+  CompletionStage<Void> save(TestTable entity);
+
+  /**
+   * Inserts or updates all of the given entities in a single transaction.
+   *
+   * @param entities The entities to save.
+   * @return A stage completed once all entities are committed.
+   */
+  CompletionStage<Void> saveAll(Collection<TestTable> entities);
+
+  /**
+   * Finds a test entity by its UUID.
+   *
+   * @param id The UUID of the entity.
+   * @return A stage completed with the entity if found, otherwise empty.
+   */
+  CompletionStage<Optional<TestTable>> findById(UUID id);
+}
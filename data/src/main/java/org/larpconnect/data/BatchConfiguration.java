@@ -0,0 +1,15 @@
+package org.larpconnect.data;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Represents the JDBC batching configuration for bulk writes.
+ *
+ * @param batchSize The number of statements sent per JDBC batch. Bulk upserts also send at most
+ *     {@code batchSize} rows per multi-row {@code INSERT} statement.
+ */
+public record BatchConfiguration(int batchSize) {
+  public BatchConfiguration {
+    checkArgument(batchSize > 0, "batchSize must be positive: %s", batchSize);
+  }
+}
@@ -0,0 +1,23 @@
+package org.larpconnect.data;
+
+import com.google.inject.Inject;
+import com.google.inject.Provider;
+import org.larpconnect.common.Environment;
+
+/** Guice provider that compiles the JDBC batching configuration from the {@link Environment}. */
+public final class BatchConfigurationProvider implements Provider<BatchConfiguration> {
+  private static final int DEFAULT_BATCH_SIZE = 50;
+
+  private final Environment environment;
+
+  @Inject
+  BatchConfigurationProvider(Environment environment) {
+    this.environment = environment;
+  }
+
+  @Override
+  public BatchConfiguration get() {
+    return new BatchConfiguration(
+        Math.max(1, environment.getIntOrDefault("DB_BATCH_SIZE", DEFAULT_BATCH_SIZE)));
+  }
+}
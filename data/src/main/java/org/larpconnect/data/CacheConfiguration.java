@@ -0,0 +1,23 @@
+package org.larpconnect.data;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.time.Duration;
+
+/**
+ * Represents the sizing and expiry configuration of the read-through entity caches.
+ *
+ * @param maximumSize The number of entries each cache holds before evicting the least useful.
+ * @param expireAfterWrite How long a loaded entity is served before it is read again.
+ * @param negativeExpireAfterWrite How long a miss is remembered before the database is asked again.
+ */
+public record CacheConfiguration(
+    long maximumSize, Duration expireAfterWrite, Duration negativeExpireAfterWrite) {
+
+  public CacheConfiguration {
+    checkArgument(maximumSize >= 0, "maximumSize must not be negative: %s", maximumSize);
+    checkArgument(!expireAfterWrite.isNegative(), "expireAfterWrite must not be negative");
+    checkArgument(
+        !negativeExpireAfterWrite.isNegative(), "negativeExpireAfterWrite must not be negative");
+  }
+}
@@ -0,0 +1,32 @@
+package org.larpconnect.data;
+
+import com.google.inject.Inject;
+import com.google.inject.Provider;
+import java.time.Duration;
+import org.larpconnect.common.Environment;
+
+/** Guice provider that compiles the entity cache configuration from the {@link Environment}. */
+public final class CacheConfigurationProvider implements Provider<CacheConfiguration> {
+  private static final long DEFAULT_MAXIMUM_SIZE = 10_000L;
+  private static final long DEFAULT_TTL_MS = 300_000L;
+  private static final long DEFAULT_NEGATIVE_TTL_MS = 30_000L;
+
+  private final Environment environment;
+
+  @Inject
+  CacheConfigurationProvider(Environment environment) {
+    this.environment = environment;
+  }
+
+  @Override
+  public CacheConfiguration get() {
+    return new CacheConfiguration(
+        Math.max(0L, environment.getLongOrDefault("DB_CACHE_MAX_SIZE", DEFAULT_MAXIMUM_SIZE)),
+        getMillis("DB_CACHE_TTL_MS", DEFAULT_TTL_MS),
+        getMillis("DB_CACHE_NEGATIVE_TTL_MS", DEFAULT_NEGATIVE_TTL_MS));
+  }
+
+  private Duration getMillis(String name, long defaultMillis) {
+    return Duration.ofMillis(Math.max(0L, environment.getLongOrDefault(name, defaultMillis)));
+  }
+}
@@ -0,0 +1,55 @@
+package org.larpconnect.data;
+
+import com.google.common.collect.Iterables;
+import com.google.errorprone.annotations.ThreadSafe;
+import com.google.inject.Inject;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Implementation of {@link TestTableDao} that serves {@link #findById} from a {@link
+ * ReadThroughCache} and invalidates it on every write.
+ */
+@ThreadSafe
+final class CachingTestTableDao implements TestTableDao {
+  static final String CACHE_NAME = "test_table";
+
+  private final TestTableDao delegate;
+  private final ReadThroughCache<UUID, TestTable> cache;
+
+  @Inject
+  CachingTestTableDao(DefaultTestTableDao delegate, EntityCacheFactory cacheFactory) {
+    this.delegate = delegate;
+    this.cache = cacheFactory.create(CACHE_NAME);
+  }
+
+  @Override
+  public void save(TestTable entity) {
+    try {
+      delegate.save(entity);
+    } finally {
+      // A failed commit may still have reached the database, so never keep the old value.
+      cache.invalidate(entity.getId());
+    }
+  }
+
+  @Override
+  public void saveAll(Collection<TestTable> entities) {
+    try {
+      delegate.saveAll(entities);
+    } finally {
+      cache.invalidateAll(Iterables.transform(entities, TestTable::getId));
+    }
+  }
+
+  @Override
+  public Optional<TestTable> findById(UUID id) {
+    // Entities are mutable, so callers get their own copy and the cached one stays untouched.
+    return cache.get(id, delegate::findById).map(CachingTestTableDao::copyOf);
+  }
+
+  private static TestTable copyOf(TestTable entity) {
+    return new TestTable(entity.getId(), entity.getName());
+  }
+}
@@ -0,0 +1,32 @@
+package org.larpconnect.data;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.time.Duration;
+
+/**
+ * Represents the sizing and timeout configuration of the pooled JDBC connections.
+ *
+ * @param minimumIdle The number of idle connections the pool tries to keep ready.
+ * @param maximumPoolSize The hard upper bound on open connections.
+ * @param acquireTimeout How long a caller waits for a connection before failing.
+ * @param idleTimeout How long an idle connection above {@code minimumIdle} is kept before eviction.
+ * @param maxLifetime The maximum age of a connection before it is retired.
+ * @param validationTimeout How long a liveness check on a borrowed connection may take.
+ */
+public record ConnectionPoolConfiguration(
+    int minimumIdle,
+    int maximumPoolSize,
+    Duration acquireTimeout,
+    Duration idleTimeout,
+    Duration maxLifetime,
+    Duration validationTimeout) {
+
+  public ConnectionPoolConfiguration {
+    checkArgument(maximumPoolSize > 0, "maximumPoolSize must be positive: %s", maximumPoolSize);
+    checkArgument(
+        minimumIdle >= 0 && minimumIdle <= maximumPoolSize,
+        "minimumIdle must be between 0 and maximumPoolSize: %s",
+        minimumIdle);
+  }
+}
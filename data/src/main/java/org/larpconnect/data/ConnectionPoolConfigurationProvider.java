@@ -0,0 +1,45 @@
+package org.larpconnect.data;
+
+import com.google.inject.Inject;
+import com.google.inject.Provider;
+import java.time.Duration;
+import org.larpconnect.common.Environment;
+
+/** Guice provider that compiles the connection pool configuration from the {@link Environment}. */
+public final class ConnectionPoolConfigurationProvider
+    implements Provider<ConnectionPoolConfiguration> {
+  private static final int DEFAULT_MAXIMUM_POOL_SIZE = 10;
+  private static final int DEFAULT_MINIMUM_IDLE = 2;
+  private static final long DEFAULT_ACQUIRE_TIMEOUT_MS = 5_000L;
+  private static final long DEFAULT_IDLE_TIMEOUT_MS = 600_000L;
+  private static final long DEFAULT_MAX_LIFETIME_MS = 1_800_000L;
+  private static final long DEFAULT_VALIDATION_TIMEOUT_MS = 2_000L;
+
+  private final Environment environment;
+
+  @Inject
+  ConnectionPoolConfigurationProvider(Environment environment) {
+    this.environment = environment;
+  }
+
+  @Override
+  public ConnectionPoolConfiguration get() {
+    int maximumPoolSize =
+        Math.max(1, environment.getIntOrDefault("DB_POOL_MAX_SIZE", DEFAULT_MAXIMUM_POOL_SIZE));
+    int minimumIdle =
+        Math.min(
+            Math.max(0, environment.getIntOrDefault("DB_POOL_MIN_IDLE", DEFAULT_MINIMUM_IDLE)),
+            maximumPoolSize);
+    return new ConnectionPoolConfiguration(
+        minimumIdle,
+        maximumPoolSize,
+        getMillis("DB_POOL_ACQUIRE_TIMEOUT_MS", DEFAULT_ACQUIRE_TIMEOUT_MS),
+        getMillis("DB_POOL_IDLE_TIMEOUT_MS", DEFAULT_IDLE_TIMEOUT_MS),
+        getMillis("DB_POOL_MAX_LIFETIME_MS", DEFAULT_MAX_LIFETIME_MS),
+        getMillis("DB_POOL_VALIDATION_TIMEOUT_MS", DEFAULT_VALIDATION_TIMEOUT_MS));
+  }
+
+  private Duration getMillis(String name, long defaultMillis) {
+    return Duration.ofMillis(environment.getLongOrDefault(name, defaultMillis));
+  }
+}
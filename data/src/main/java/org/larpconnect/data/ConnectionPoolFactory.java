@@ -0,0 +1,12 @@
+package org.larpconnect.data;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
+/** Interface for isolating connection pool instantiation. */
+interface ConnectionPoolFactory {
+  HikariDataSource create(HikariConfig config);
+
+  /** Closes every pool this factory has created, waiting for borrowed connections to return. */
+  void closeAll();
+}
@@ -0,0 +1,11 @@
+package org.larpconnect.data;
+
+/** Exposes live statistics of the JDBC connection pool to the rest of the server. */
+public interface ConnectionPoolMonitor {
+  /**
+   * Returns the current state of the connection pool.
+   *
+   * @return A snapshot of the pool statistics.
+   */
+  ConnectionPoolStats stats();
+}
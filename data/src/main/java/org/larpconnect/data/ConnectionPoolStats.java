@@ -0,0 +1,11 @@
+package org.larpconnect.data;
+
+/**
+ * Point-in-time view of the JDBC connection pool.
+ *
+ * @param active Connections currently borrowed by a session.
+ * @param idle Connections open and waiting in the pool.
+ * @param total All open connections, active and idle.
+ * @param pending Threads currently waiting to acquire a connection.
+ */
+public record ConnectionPoolStats(int active, int idle, int total, int pending) {}
@@ -0,0 +1,28 @@
+package org.larpconnect.data;
+
+import java.time.Duration;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Supplier;
+
+/** Runs blocking database work off the caller's thread on a bounded executor. */
+interface DataExecutor {
+  /**
+   * Schedules the given work on the data executor.
+   *
+   * @param work The blocking work to run.
+   * @param <T> The result type.
+   * @return A stage completed with the result of the work, or failed with {@link
+   *     DataExecutorSaturatedException} if the executor cannot accept more work.
+   */
+  <T> CompletionStage<T> submit(Supplier<T> work);
+
+  /**
+   * Stops accepting work and waits for the work already accepted to finish; later submissions fail
+   * with {@link DataExecutorSaturatedException}.
+   *
+   * @param timeout How long to wait.
+   * @return Whether the accepted work finished in time.
+   * @throws InterruptedException if interrupted while waiting.
+   */
+  boolean shutDown(Duration timeout) throws InterruptedException;
+}
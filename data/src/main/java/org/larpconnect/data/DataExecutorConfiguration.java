@@ -0,0 +1,16 @@
+package org.larpconnect.data;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Represents the sizing of the executor that runs blocking database work for asynchronous callers.
+ *
+ * @param threads The number of threads running database work concurrently.
+ * @param queueCapacity The number of pending tasks accepted before callers are rejected.
+ */
+public record DataExecutorConfiguration(int threads, int queueCapacity) {
+  public DataExecutorConfiguration {
+    checkArgument(threads > 0, "threads must be positive: %s", threads);
+    checkArgument(queueCapacity > 0, "queueCapacity must be positive: %s", queueCapacity);
+  }
+}
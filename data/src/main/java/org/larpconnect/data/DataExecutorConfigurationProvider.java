@@ -0,0 +1,36 @@
+package org.larpconnect.data;
+
+import com.google.inject.Inject;
+import com.google.inject.Provider;
+import org.larpconnect.common.Environment;
+
+/**
+ * Guice provider that compiles the data executor configuration from the {@link Environment}.
+ *
+ * <p>The thread count defaults to the connection pool size: more threads than connections would
+ * only queue up inside the pool instead of in the executor, where saturation is visible.
+ */
+public final class DataExecutorConfigurationProvider
+    implements Provider<DataExecutorConfiguration> {
+  private static final int DEFAULT_QUEUE_CAPACITY = 1_000;
+
+  private final Environment environment;
+  private final Provider<ConnectionPoolConfiguration> poolConfigProvider;
+
+  @Inject
+  DataExecutorConfigurationProvider(
+      Environment environment, Provider<ConnectionPoolConfiguration> poolConfigProvider) {
+    this.environment = environment;
+    this.poolConfigProvider = poolConfigProvider;
+  }
+
+  @Override
+  public DataExecutorConfiguration get() {
+    int threads =
+        environment.getIntOrDefault(
+            "DB_EXECUTOR_THREADS", poolConfigProvider.get().maximumPoolSize());
+    int queueCapacity =
+        environment.getIntOrDefault("DB_EXECUTOR_QUEUE_CAPACITY", DEFAULT_QUEUE_CAPACITY);
+    return new DataExecutorConfiguration(Math.max(1, threads), Math.max(1, queueCapacity));
+  }
+}
@@ -0,0 +1,15 @@
+package org.larpconnect.data;
+
+/**
+ * Signals that asynchronous database work was rejected because the data executor is saturated.
+ *
+ * <p>Callers should treat this as back-pressure: shed the request (e.g., respond with {@code 503})
+ * or retry later rather than queueing more work.
+ */
+public final class DataExecutorSaturatedException extends RuntimeException {
+  private static final long serialVersionUID = 1L;
+
+  DataExecutorSaturatedException(String message, Throwable cause) {
+    super(message, cause);
+  }
+}
@@ -1,10 +1,18 @@
 package org.larpconnect.data;
 
+import com.google.common.collect.ImmutableMap;
 import com.google.inject.AbstractModule;
-import com.google.inject.Provides;
 import com.google.inject.Singleton;
-import org.flywaydb.core.Flyway;
+import com.google.inject.multibindings.ProvidesIntoSet;
+import com.zaxxer.hikari.HikariDataSource;
+import java.util.function.ToLongFunction;
+import javax.sql.DataSource;
 import org.hibernate.SessionFactory;
+import org.larpconnect.common.LazySingleton;
+import org.larpconnect.common.Metric;
+import org.larpconnect.common.ShutdownParticipant;
+import org.larpconnect.common.ShutdownPhase;
+import org.larpconnect.common.TenantRegistry;
 
 /** Exposes bindings for the database layer (Hibernate/PostgreSQL). */
 public final class DataModule extends AbstractModule {
@@ -13,21 +21,152 @@ public final class DataModule extends AbstractModule {
     bind(DatabaseConfiguration.class)
         .toProvider(DatabaseConfigurationProvider.class)
         .in(Singleton.class);
+    bind(ConnectionPoolConfiguration.class)
+        .toProvider(ConnectionPoolConfigurationProvider.class)
+        .in(Singleton.class);
 
-    bind(DatabaseMigrator.class).to(DefaultDatabaseMigrator.class).in(Singleton.class);
-    bind(FlywayMigrator.class).to(DefaultFlywayMigrator.class).in(Singleton.class);
+    bind(BatchConfiguration.class).toProvider(BatchConfigurationProvider.class).in(Singleton.class);
+    bind(CacheConfiguration.class).toProvider(CacheConfigurationProvider.class).in(Singleton.class);
+
+    bind(ConnectionPoolFactory.class).to(DefaultConnectionPoolFactory.class).in(Singleton.class);
+    bind(HikariDataSource.class).toProvider(DataSourceProvider.class).in(Singleton.class);
+    bind(DataSource.class).to(HikariDataSource.class);
+    bind(ConnectionPoolMonitor.class).to(DefaultConnectionPoolMonitor.class).in(Singleton.class);
+
+    bind(DataExecutorConfiguration.class)
+        .toProvider(DataExecutorConfigurationProvider.class)
+        .in(Singleton.class);
+    bind(DataExecutor.class).to(DefaultDataExecutor.class).in(Singleton.class);
+
+    bindMigrations();
     bind(HibernateFactory.class).to(DefaultHibernateFactory.class).in(Singleton.class);
-    bind(TestTableDao.class).to(DefaultTestTableDao.class).in(Singleton.class);
+
+    bind(DefaultEntityCacheFactory.class).in(Singleton.class);
+    bind(EntityCacheFactory.class).to(DefaultEntityCacheFactory.class);
+    bind(EntityCacheMonitor.class).to(DefaultEntityCacheFactory.class);
+
+    bind(TestTableDaoMetrics.class).in(Singleton.class);
+    bind(TestTableDao.class).to(CachingTestTableDao.class).in(Singleton.class);
+    bind(AsyncTestTableDao.class).to(DefaultAsyncTestTableDao.class).in(Singleton.class);
+
+    // The transactional outbox; relays elsewhere drain it to the queue
+    bind(OutboxDao.class).to(DefaultOutboxDao.class).in(Singleton.class);
+    bind(AsyncOutboxDao.class).to(DefaultAsyncOutboxDao.class).in(Singleton.class);
+
+    bind(TenantRegistryConfiguration.class)
+        .toProvider(TenantRegistryConfigurationProvider.class)
+        .in(Singleton.class);
+    bind(TenantRegistryDao.class).to(DefaultTenantRegistryDao.class).in(Singleton.class);
+    bind(DefaultTenantRegistry.class).in(Singleton.class);
+    bind(TenantRegistry.class).to(DefaultTenantRegistry.class);
+    bind(TenantRegistryService.class).to(DefaultTenantRegistryService.class).in(Singleton.class);
 
     // TODO: Separate DAOs from DTOs in separate packages.
-    bind(SessionFactory.class).toProvider(SessionFactoryProvider.class).in(Singleton.class);
+    bindSessions();
+  }
+
+  private void bindSessions() {
+    // Lazy even in Stage.PRODUCTION, so it is built by its own startup stage
+    bind(SessionFactory.class).toProvider(SessionFactoryProvider.class).in(LazySingleton.SCOPE);
+    bind(SessionFactoryInitializer.class)
+        .to(DefaultSessionFactoryInitializer.class)
+        .in(Singleton.class);
+    // Remembers each pooled connection's tenant, so it must be shared by every session
+    bind(TenantConnectionProvider.class).in(Singleton.class);
+    bind(TenantSessionFactory.class).to(DefaultTenantSessionFactory.class).in(Singleton.class);
+  }
+
+  private void bindMigrations() {
+    bind(MigrationConfiguration.class)
+        .toProvider(MigrationConfigurationProvider.class)
+        .in(Singleton.class);
+    bind(DatabaseMigrator.class).to(DefaultDatabaseMigrator.class).in(Singleton.class);
+    bind(FlywayMigrator.class).to(DefaultFlywayMigrator.class).in(Singleton.class);
+  }
+
+  @ProvidesIntoSet
+  ShutdownParticipant provideDataExecutorShutdown(DataExecutor executor) {
+    return new ShutdownParticipant("data-executor", ShutdownPhase.FLUSH, executor::shutDown);
+  }
+
+  @ProvidesIntoSet
+  ShutdownParticipant provideDatabaseClose(
+      SessionFactoryInitializer sessions, ConnectionPoolFactory pools) {
+    // The session factory borrows its connections from the pools, so it closes first
+    return new ShutdownParticipant(
+        "database",
+        ShutdownPhase.CLOSE,
+        timeout -> {
+          sessions.close();
+          pools.closeAll();
+        });
+  }
+
+  @ProvidesIntoSet
+  Metric provideTestTableReads(TestTableDaoMetrics metrics) {
+    return Metric.counter(
+        "data_test_table_reads_total",
+        "Test table lookups that reached the database.",
+        metrics.reads);
+  }
+
+  @ProvidesIntoSet
+  Metric provideTestTableRowsWritten(TestTableDaoMetrics metrics) {
+    return Metric.counter(
+        "data_test_table_rows_written_total", "Test table rows upserted.", metrics.rowsWritten);
+  }
+
+  @ProvidesIntoSet
+  Metric provideTestTableFailures(TestTableDaoMetrics metrics) {
+    return Metric.counter(
+        "data_test_table_transaction_failures_total",
+        "Test table transactions rolled back.",
+        metrics.failedTransactions);
+  }
+
+  @ProvidesIntoSet
+  Metric provideTestTableTransactions(TestTableDaoMetrics metrics) {
+    return Metric.summary(
+        "data_test_table_transaction_seconds",
+        "Duration of committed test table transactions.",
+        metrics.transactions);
+  }
+
+  @ProvidesIntoSet
+  Metric provideConnectionPool(ConnectionPoolMonitor monitor) {
+    return Metric.gauges(
+        "data_pool_connections",
+        "Pooled database connections by state; pending counts threads awaiting one.",
+        "state",
+        () -> {
+          ConnectionPoolStats stats = monitor.stats();
+          return ImmutableMap.of(
+              "active", stats.active(), "idle", stats.idle(), "pending", stats.pending());
+        });
+  }
+
+  @ProvidesIntoSet
+  Metric provideCacheHits(EntityCacheMonitor monitor) {
+    return Metric.counters(
+        "data_cache_hits_total",
+        "Entity cache lookups served from memory.",
+        "cache",
+        () -> cacheStats(monitor, EntityCacheStats::hits));
+  }
+
+  @ProvidesIntoSet
+  Metric provideCacheMisses(EntityCacheMonitor monitor) {
+    return Metric.counters(
+        "data_cache_misses_total",
+        "Entity cache lookups that read through to the database.",
+        "cache",
+        () -> cacheStats(monitor, EntityCacheStats::misses));
   }
 
-  @Provides
-  Flyway provideFlyway(DatabaseConfiguration config) {
-    return Flyway.configure()
-        .dataSource(config.getJdbcUrl(), config.username(), config.password())
-        .locations("classpath:db/migration")
-        .load();
+  private static ImmutableMap<String, Long> cacheStats(
+      EntityCacheMonitor monitor, ToLongFunction<EntityCacheStats> value) {
+    return monitor.stats().stream()
+        .collect(
+            ImmutableMap.toImmutableMap(EntityCacheStats::name, value::applyAsLong, Long::sum));
   }
 }
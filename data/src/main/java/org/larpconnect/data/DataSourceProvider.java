@@ -0,0 +1,53 @@
+package org.larpconnect.data;
+
+import com.google.inject.Inject;
+import com.google.inject.Provider;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
+/** Guice Provider for the bounded, pooled {@link HikariDataSource} shared by the data layer. */
+final class DataSourceProvider implements Provider<HikariDataSource> {
+  static final String POOL_NAME = "larpconnect-db";
+
+  private final DatabaseConfiguration config;
+  private final ConnectionPoolConfiguration poolConfig;
+  private final ConnectionPoolFactory poolFactory;
+
+  @Inject
+  DataSourceProvider(
+      DatabaseConfiguration config,
+      ConnectionPoolConfiguration poolConfig,
+      ConnectionPoolFactory poolFactory) {
+    this.config = config;
+    this.poolConfig = poolConfig;
+    this.poolFactory = poolFactory;
+  }
+
+  @Override
+  public HikariDataSource get() {
+    return poolFactory.create(createConfig());
+  }
+
+  HikariConfig createConfig() {
+    HikariConfig hikariConfig = new HikariConfig();
+    hikariConfig.setPoolName(POOL_NAME);
+    hikariConfig.setDriverClassName("org.postgresql.Driver");
+    hikariConfig.setJdbcUrl(config.getJdbcUrl());
+    hikariConfig.setUsername(config.username());
+    if (config.password() != null) {
+      hikariConfig.setPassword(config.password());
+    }
+    hikariConfig.setMinimumIdle(poolConfig.minimumIdle());
+    hikariConfig.setMaximumPoolSize(poolConfig.maximumPoolSize());
+    hikariConfig.setConnectionTimeout(poolConfig.acquireTimeout().toMillis());
+    hikariConfig.setIdleTimeout(poolConfig.idleTimeout().toMillis());
+    hikariConfig.setMaxLifetime(poolConfig.maxLifetime().toMillis());
+    hikariConfig.setValidationTimeout(poolConfig.validationTimeout().toMillis());
+    // Let the driver collapse batched single-row inserts into multi-row INSERT statements.
+    hikariConfig.addDataSourceProperty("reWriteBatchedInserts", "true");
+    // Start the pool without blocking on the first connection so that the server can come up
+    // while the database is still starting; connections are filled in the background.
+    hikariConfig.setInitializationFailTimeout(-1);
+    return hikariConfig;
+  }
+}
@@ -1,7 +1,13 @@
 package org.larpconnect.data;
 
+import java.util.List;
+
 /** Service interface for running database migrations. */
 public interface DatabaseMigrator {
-  /** Runs database schema migrations (using Flyway). */
-  void migrate();
+  /**
+   * Runs database schema migrations (using Flyway), migrating independent schemas concurrently.
+   *
+   * @return The outcome of every schema, in migration order.
+   */
+  List<SchemaMigrationResult> migrate();
 }
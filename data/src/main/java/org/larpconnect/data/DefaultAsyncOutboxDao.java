@@ -0,0 +1,44 @@
+package org.larpconnect.data;
+
+import com.google.errorprone.annotations.ThreadSafe;
+import com.google.inject.Inject;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.concurrent.CompletionStage;
+
+/** Implementation of {@link AsyncOutboxDao} running {@link OutboxDao} on the executor. */
+@ThreadSafe
+final class DefaultAsyncOutboxDao implements AsyncOutboxDao {
+  private final OutboxDao dao;
+  private final DataExecutor executor;
+
+  @Inject
+  DefaultAsyncOutboxDao(OutboxDao dao, DataExecutor executor) {
+    this.dao = dao;
+    this.executor = executor;
+  }
+
+  @Override
+  public CompletionStage<Void> append(Collection<OutboxMessage> messages) {
+    return executor.submit(
+        () -> {
+          dao.append(messages);
+          return null;
+        });
+  }
+
+  @Override
+  public CompletionStage<Integer> relay(int limit, OutboxSink sink) {
+    return executor.submit(() -> dao.relay(limit, sink));
+  }
+
+  @Override
+  public CompletionStage<Integer> createPartitions(int daysAhead) {
+    return executor.submit(() -> dao.createPartitions(daysAhead));
+  }
+
+  @Override
+  public CompletionStage<Integer> dropPartitions(Instant before) {
+    return executor.submit(() -> dao.dropPartitions(before));
+  }
+}
@@ -0,0 +1,44 @@
+package org.larpconnect.data;
+
+import com.google.errorprone.annotations.ThreadSafe;
+import com.google.inject.Inject;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletionStage;
+
+/** Implementation of {@link AsyncTestTableDao} running {@link TestTableDao} on the executor. */
+@ThreadSafe
+final class DefaultAsyncTestTableDao implements AsyncTestTableDao {
+  private final TestTableDao dao;
+  private final DataExecutor executor;
+
+  @Inject
+  DefaultAsyncTestTableDao(TestTableDao dao, DataExecutor executor) {
+    this.dao = dao;
+    this.executor = executor;
+  }
+
+  @Override
+  public CompletionStage<Void> save(TestTable entity) {
+    return executor.submit(
+        () -> {
+          dao.save(entity);
+          return null;
+        });
+  }
+
+  @Override
+  public CompletionStage<Void> saveAll(Collection<TestTable> entities) {
+    return executor.submit(
+        () -> {
+          dao.saveAll(entities);
+          return null;
+        });
+  }
+
+  @Override
+  public CompletionStage<Optional<TestTable>> findById(UUID id) {
+    return executor.submit(() -> dao.findById(id));
+  }
+}
@@ -0,0 +1,31 @@
+package org.larpconnect.data;
+
+import com.google.inject.Inject;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/** Default implementation of {@link ConnectionPoolFactory}. */
+final class DefaultConnectionPoolFactory implements ConnectionPoolFactory {
+  private final Set<HikariDataSource> pools = ConcurrentHashMap.newKeySet();
+
+  @Inject
+  DefaultConnectionPoolFactory() {}
+
+  @Override
+  public HikariDataSource create(HikariConfig config) {
+    HikariDataSource pool = new HikariDataSource(config);
+    pools.add(pool);
+    return pool;
+  }
+
+  @Override
+  public void closeAll() {
+    pools.removeIf(
+        pool -> {
+          pool.close();
+          return true;
+        });
+  }
+}
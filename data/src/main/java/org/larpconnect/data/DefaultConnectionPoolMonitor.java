@@ -0,0 +1,31 @@
+package org.larpconnect.data;
+
+import com.google.errorprone.annotations.ThreadSafe;
+import com.google.inject.Inject;
+import com.google.inject.Provider;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+/** Default implementation of {@link ConnectionPoolMonitor} backed by the Hikari pool MXBean. */
+@ThreadSafe
+final class DefaultConnectionPoolMonitor implements ConnectionPoolMonitor {
+  private final Provider<HikariDataSource> dataSourceProvider;
+
+  @Inject
+  DefaultConnectionPoolMonitor(Provider<HikariDataSource> dataSourceProvider) {
+    this.dataSourceProvider = dataSourceProvider;
+  }
+
+  @Override
+  public ConnectionPoolStats stats() {
+    HikariPoolMXBean pool = dataSourceProvider.get().getHikariPoolMXBean();
+    if (pool == null) {
+      return new ConnectionPoolStats(0, 0, 0, 0);
+    }
+    return new ConnectionPoolStats(
+        pool.getActiveConnections(),
+        pool.getIdleConnections(),
+        pool.getTotalConnections(),
+        pool.getThreadsAwaitingConnection());
+  }
+}
@@ -0,0 +1,66 @@
+package org.larpconnect.data;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.errorprone.annotations.ThreadSafe;
+import com.google.inject.Inject;
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Default implementation of {@link DataExecutor} backed by a fixed-size thread pool with a bounded
+ * work queue. Once the queue is full, new work is rejected instead of piling up without limit.
+ */
+@ThreadSafe
+final class DefaultDataExecutor implements DataExecutor {
+  private static final long KEEP_ALIVE_SECONDS = 60L;
+
+  private final Logger logger = LoggerFactory.getLogger(DefaultDataExecutor.class);
+  private final ThreadPoolExecutor executor;
+
+  @Inject
+  DefaultDataExecutor(DataExecutorConfiguration config) {
+    this.executor =
+        new ThreadPoolExecutor(
+            config.threads(),
+            config.threads(),
+            KEEP_ALIVE_SECONDS,
+            TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(config.queueCapacity()),
+            new ThreadFactoryBuilder().setNameFormat("data-executor-%d").setDaemon(true).build(),
+            new ThreadPoolExecutor.AbortPolicy());
+    this.executor.allowCoreThreadTimeOut(true);
+  }
+
+  @Override
+  public <T> CompletionStage<T> submit(Supplier<T> work) {
+    try {
+      return CompletableFuture.supplyAsync(work, executor);
+    } catch (RejectedExecutionException e) {
+      return CompletableFuture.failedFuture(
+          new DataExecutorSaturatedException(
+              executor.isShutdown() ? "Data executor is shut down" : "Data executor is saturated",
+              e));
+    }
+  }
+
+  @Override
+  public boolean shutDown(Duration timeout) throws InterruptedException {
+    executor.shutdown();
+    boolean terminated = executor.awaitTermination(timeout.toNanos(), TimeUnit.NANOSECONDS);
+    if (!terminated) {
+      logger.warn(
+          "Data executor still had {} tasks running and {} queued when it stopped waiting.",
+          executor.getActiveCount(),
+          executor.getQueue().size());
+    }
+    return terminated;
+  }
+}
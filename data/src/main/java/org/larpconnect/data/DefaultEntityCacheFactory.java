@@ -0,0 +1,34 @@
+package org.larpconnect.data;
+
+import static com.google.common.collect.ImmutableList.toImmutableList;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.google.errorprone.annotations.ThreadSafe;
+import com.google.inject.Inject;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/** Default implementation of {@link EntityCacheFactory} that also reports on what it created. */
+@ThreadSafe
+final class DefaultEntityCacheFactory implements EntityCacheFactory, EntityCacheMonitor {
+  private final CacheConfiguration config;
+  private final Queue<ReadThroughCache<?, ?>> caches = new ConcurrentLinkedQueue<>();
+
+  @Inject
+  DefaultEntityCacheFactory(CacheConfiguration config) {
+    this.config = config;
+  }
+
+  @Override
+  public <K, V> ReadThroughCache<K, V> create(String name) {
+    ReadThroughCache<K, V> cache = new ReadThroughCache<>(name, config, Ticker.systemTicker());
+    caches.add(cache);
+    return cache;
+  }
+
+  @Override
+  public List<EntityCacheStats> stats() {
+    return caches.stream().map(ReadThroughCache::stats).collect(toImmutableList());
+  }
+}
@@ -1,22 +1,22 @@
 package org.larpconnect.data;
 
 import com.google.errorprone.annotations.ThreadSafe;
-import com.google.inject.Inject;
-import com.google.inject.Provider;
 import org.flywaydb.core.Flyway;
 
-/** Default implementation of {@link FlywayMigrator} using Flyway. */
+/**
+ * Default implementation of {@link FlywayMigrator} using Flyway. Every schema keeps its own history
+ * table, so schemas migrated concurrently never contend for the same Flyway lock.
+ */
 @ThreadSafe
 final class DefaultFlywayMigrator implements FlywayMigrator {
-  private final Provider<Flyway> flywayProvider;
-
-  @Inject
-  DefaultFlywayMigrator(Provider<Flyway> flywayProvider) {
-    this.flywayProvider = flywayProvider;
-  }
-
   @Override
-  public void migrate(DatabaseConfiguration config) {
-    flywayProvider.get().migrate();
+  public int migrate(DatabaseConfiguration config, String schema) {
+    return Flyway.configure()
+        .dataSource(config.getJdbcUrl(), config.username(), config.password())
+        .schemas(schema)
+        .locations("classpath:" + MigrationScripts.location(schema))
+        .load()
+        .migrate()
+        .migrationsExecuted;
   }
 }
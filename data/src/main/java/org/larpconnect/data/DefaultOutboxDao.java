@@ -0,0 +1,168 @@
+package org.larpconnect.data;
+
+import com.google.common.collect.Iterables;
+import com.google.errorprone.annotations.ThreadSafe;
+import com.google.inject.Inject;
+import com.google.inject.Provider;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+import org.hibernate.SessionFactory;
+import org.hibernate.SharedSessionContract;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+import org.hibernate.query.MutationQuery;
+
+/**
+ * Hibernate-backed implementation of {@link OutboxDao}. Everything runs on stateless sessions:
+ * outbox rows are written once and read once, so there is nothing to track.
+ */
+@ThreadSafe
+final class DefaultOutboxDao implements OutboxDao {
+  private static final String INSERT_PREFIX =
+      "insert into OutboxEntry (id, tenantId, exchange, routingKey, payload) values ";
+
+  /**
+   * Deletes the oldest rows no other relay holds and returns them. Rows locked by a concurrent
+   * relay are skipped rather than waited for, and come back if that relay rolls back.
+   */
+  static final String CLAIM =
+      "DELETE FROM njall_users.outbox WHERE id IN ("
+          + "SELECT id FROM njall_users.outbox ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED)"
+          + " RETURNING id, tenant_id, exchange, routing_key, payload";
+
+  /** PostgreSQL's UUID order: unsigned, byte by byte, which is creation order for UUIDv7. */
+  private static final Comparator<OutboxMessage> ID_ORDER =
+      Comparator.comparing(
+              (OutboxMessage message) -> message.id().getMostSignificantBits(),
+              Long::compareUnsigned)
+          .thenComparing(message -> message.id().getLeastSignificantBits(), Long::compareUnsigned);
+
+  static final String CREATE_PARTITIONS = "SELECT njall_users.create_outbox_partitions(:days)";
+  static final String DROP_PARTITIONS = "SELECT njall_users.drop_outbox_partitions(:before)";
+
+  private final Provider<SessionFactory> sessionFactoryProvider;
+  private final BatchConfiguration batchConfig;
+
+  @Inject
+  DefaultOutboxDao(
+      Provider<SessionFactory> sessionFactoryProvider, BatchConfiguration batchConfig) {
+    this.sessionFactoryProvider = sessionFactoryProvider;
+    this.batchConfig = batchConfig;
+  }
+
+  /**
+   * Appends messages within the caller's transaction, so they commit or roll back with the change
+   * they announce. DAOs writing domain rows call this with their own session.
+   *
+   * @param session The session of the open transaction.
+   * @param messages The messages to append.
+   * @param batchSize The most rows per insert statement.
+   */
+  static void append(
+      SharedSessionContract session, Collection<OutboxMessage> messages, int batchSize) {
+    for (List<OutboxMessage> batch : Iterables.partition(messages, batchSize)) {
+      MutationQuery query = session.createMutationQuery(insertStatement(batch.size()));
+      int position = 0;
+      for (OutboxMessage message : batch) {
+        query.setParameter(++position, message.id());
+        query.setParameter(++position, message.tenantId());
+        query.setParameter(++position, message.exchange());
+        query.setParameter(++position, message.routingKey());
+        query.setParameter(++position, message.payload());
+      }
+      query.executeUpdate();
+    }
+  }
+
+  /** Builds the multi-row HQL insert for the given number of rows; see {@link #append}. */
+  static String insertStatement(int rows) {
+    StringBuilder statement = new StringBuilder(INSERT_PREFIX);
+    for (int row = 0; row < rows; row++) {
+      if (row > 0) {
+        statement.append(", ");
+      }
+      statement.append('(');
+      for (int column = 1; column <= 5; column++) {
+        statement.append(column > 1 ? ", ?" : "?").append(5 * row + column);
+      }
+      statement.append(')');
+    }
+    return statement.toString();
+  }
+
+  @Override
+  public void append(Collection<OutboxMessage> messages) {
+    if (messages.isEmpty()) {
+      return;
+    }
+    inTransaction(
+        session -> {
+          append(session, messages, batchConfig.batchSize());
+          return null;
+        });
+  }
+
+  @Override
+  public int relay(int limit, OutboxSink sink) {
+    return inTransaction(
+        session -> {
+          List<OutboxMessage> claimed =
+              session
+                  .createNativeQuery(CLAIM, OutboxEntry.class)
+                  .setParameter("limit", limit)
+                  .getResultList()
+                  .stream()
+                  .map(OutboxEntry::toMessage)
+                  .sorted(ID_ORDER)
+                  .toList();
+          if (!claimed.isEmpty()) {
+            sink.deliver(claimed);
+          }
+          return claimed.size();
+        });
+  }
+
+  @Override
+  public int createPartitions(int daysAhead) {
+    return inTransaction(
+        session ->
+            session
+                .createNativeQuery(CREATE_PARTITIONS, Integer.class)
+                .setParameter("days", daysAhead)
+                .getSingleResult());
+  }
+
+  @Override
+  public int dropPartitions(Instant before) {
+    return inTransaction(
+        session ->
+            session
+                .createNativeQuery(DROP_PARTITIONS, Integer.class)
+                .setParameter("before", before)
+                .getSingleResult());
+  }
+
+  private <T> T inTransaction(Function<StatelessSession, T> work) {
+    Transaction transaction = null;
+    try (StatelessSession session = sessionFactoryProvider.get().openStatelessSession()) {
+      transaction = session.beginTransaction();
+      T result = work.apply(session);
+      transaction.commit();
+      return result;
+    } catch (RuntimeException e) {
+      if (transaction != null) {
+        try {
+          if (transaction.isActive()) {
+            transaction.rollback();
+          }
+        } catch (RuntimeException rollbackEx) {
+          e.addSuppressed(rollbackEx);
+        }
+      }
+      throw e;
+    }
+  }
+}
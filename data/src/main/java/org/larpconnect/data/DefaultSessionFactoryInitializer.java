@@ -0,0 +1,43 @@
+package org.larpconnect.data;
+
+import com.google.errorprone.annotations.ThreadSafe;
+import com.google.inject.Inject;
+import com.google.inject.Provider;
+import java.util.concurrent.atomic.AtomicReference;
+import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Default implementation of {@link SessionFactoryInitializer}. The session factory is a singleton,
+ * so building it here is the same instance every DAO later uses.
+ */
+@ThreadSafe
+final class DefaultSessionFactoryInitializer implements SessionFactoryInitializer {
+  private final Logger logger = LoggerFactory.getLogger(DefaultSessionFactoryInitializer.class);
+  private final Provider<SessionFactory> sessionFactoryProvider;
+  private final AtomicReference<SessionFactory> initialized = new AtomicReference<>();
+
+  @Inject
+  DefaultSessionFactoryInitializer(Provider<SessionFactory> sessionFactoryProvider) {
+    this.sessionFactoryProvider = sessionFactoryProvider;
+  }
+
+  @Override
+  public void initialize() {
+    long start = System.nanoTime();
+    // Built once and kept by its singleton scope; remembered here only to be closed
+    initialized.set(sessionFactoryProvider.get());
+    logger.info(
+        "Hibernate session factory ready in {} ms.", (System.nanoTime() - start) / 1_000_000);
+  }
+
+  @Override
+  public void close() {
+    SessionFactory sessionFactory = initialized.getAndSet(null);
+    if (sessionFactory != null && sessionFactory.isOpen()) {
+      sessionFactory.close();
+      logger.info("Hibernate session factory closed.");
+    }
+  }
+}
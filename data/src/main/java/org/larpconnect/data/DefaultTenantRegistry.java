@@ -0,0 +1,28 @@
+package org.larpconnect.data;
+
+import com.google.errorprone.annotations.ThreadSafe;
+import com.google.inject.Inject;
+import org.larpconnect.common.TenantRegistry;
+import org.larpconnect.common.TenantResolution;
+
+/**
+ * Default implementation of {@link TenantRegistry} that answers from the latest {@link TenantIndex}
+ * published by the {@link TenantRegistryService}.
+ */
+@ThreadSafe
+final class DefaultTenantRegistry implements TenantRegistry {
+  private volatile TenantIndex index = TenantIndex.EMPTY;
+
+  @Inject
+  DefaultTenantRegistry() {}
+
+  @Override
+  public TenantResolution resolve(String studioId) {
+    return index.resolve(studioId);
+  }
+
+  /** Replaces the snapshot that all subsequent lookups are answered from. */
+  void publish(TenantIndex index) {
+    this.index = index;
+  }
+}
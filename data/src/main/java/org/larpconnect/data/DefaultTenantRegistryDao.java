@@ -0,0 +1,39 @@
+package org.larpconnect.data;
+
+import com.google.errorprone.annotations.ThreadSafe;
+import com.google.inject.Inject;
+import com.google.inject.Provider;
+import java.time.Instant;
+import java.util.List;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+
+/**
+ * Hibernate-backed implementation of {@link TenantRegistryDao}. Reads use a stateless session
+ * because the rows are copied into the registry and never written back.
+ */
+@ThreadSafe
+final class DefaultTenantRegistryDao implements TenantRegistryDao {
+  private final Provider<SessionFactory> sessionFactoryProvider;
+
+  @Inject
+  DefaultTenantRegistryDao(Provider<SessionFactory> sessionFactoryProvider) {
+    this.sessionFactoryProvider = sessionFactoryProvider;
+  }
+
+  @Override
+  public List<Studio> findStudiosUpdatedSince(Instant since) {
+    return findUpdatedSince("from Studio where updatedAt >= :since", Studio.class, since);
+  }
+
+  @Override
+  public List<StudioAlias> findAliasesUpdatedSince(Instant since) {
+    return findUpdatedSince("from StudioAlias where updatedAt >= :since", StudioAlias.class, since);
+  }
+
+  private <T> List<T> findUpdatedSince(String query, Class<T> type, Instant since) {
+    try (StatelessSession session = sessionFactoryProvider.get().openStatelessSession()) {
+      return session.createSelectionQuery(query, type).setParameter("since", since).getResultList();
+    }
+  }
+}
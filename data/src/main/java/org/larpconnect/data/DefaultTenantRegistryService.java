@@ -0,0 +1,90 @@
+package org.larpconnect.data;
+
+import com.google.common.util.concurrent.AbstractScheduledService;
+import com.google.inject.Inject;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Default implementation of {@link TenantRegistryService}. Changed rows are merged into a local
+ * copy of both tables, and a new {@link TenantIndex} is published only when something actually
+ * changed.
+ */
+final class DefaultTenantRegistryService extends AbstractScheduledService
+    implements TenantRegistryService {
+  private static final Logger logger = LoggerFactory.getLogger(DefaultTenantRegistryService.class);
+
+  private final TenantRegistryDao dao;
+  private final DefaultTenantRegistry registry;
+  private final TenantRegistryConfiguration config;
+
+  // Only touched by startUp and runOneIteration, which Guava never runs concurrently.
+  private final Map<UUID, Studio> studios = new HashMap<>();
+  private final Map<String, StudioAlias> aliases = new HashMap<>();
+  private Instant watermark = Instant.EPOCH;
+
+  @Inject
+  DefaultTenantRegistryService(
+      TenantRegistryDao dao, DefaultTenantRegistry registry, TenantRegistryConfiguration config) {
+    this.dao = dao;
+    this.registry = registry;
+    this.config = config;
+  }
+
+  @Override
+  protected void startUp() {
+    refresh();
+    logger.info(
+        "Loaded tenant registry with {} studios and {} aliases.", studios.size(), aliases.size());
+  }
+
+  @Override
+  protected void runOneIteration() {
+    try {
+      refresh();
+    } catch (RuntimeException e) {
+      // Keep serving the last snapshot; the next iteration retries from the same watermark.
+      logger.warn("Failed to refresh the tenant registry.", e);
+    }
+  }
+
+  @Override
+  protected Scheduler scheduler() {
+    return Scheduler.newFixedDelaySchedule(config.refreshInterval(), config.refreshInterval());
+  }
+
+  private void refresh() {
+    Instant since = watermark.minus(config.refreshOverlap());
+    List<Studio> changedStudios = dao.findStudiosUpdatedSince(since);
+    List<StudioAlias> changedAliases = dao.findAliasesUpdatedSince(since);
+    boolean studiosChanged =
+        merge(studios, changedStudios, Studio::getTenantId, Studio::getUpdatedAt);
+    boolean aliasesChanged =
+        merge(aliases, changedAliases, StudioAlias::getAlias, StudioAlias::getUpdatedAt);
+    if (studiosChanged || aliasesChanged) {
+      registry.publish(TenantIndex.build(studios.values(), aliases.values()));
+    }
+  }
+
+  /** Merges rows into the local copy, advancing the watermark; returns whether any row was new. */
+  private <K, V> boolean merge(
+      Map<K, V> current, List<V> rows, Function<V, K> key, Function<V, Instant> updatedAt) {
+    boolean changed = false;
+    for (V row : rows) {
+      Instant rowUpdatedAt = updatedAt.apply(row);
+      V previous = current.put(key.apply(row), row);
+      // Every update touches updated_at, so an unchanged timestamp means an unchanged row.
+      changed |= previous == null || !updatedAt.apply(previous).equals(rowUpdatedAt);
+      if (rowUpdatedAt.isAfter(watermark)) {
+        watermark = rowUpdatedAt;
+      }
+    }
+    return changed;
+  }
+}
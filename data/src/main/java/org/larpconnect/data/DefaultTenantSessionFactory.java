@@ -0,0 +1,47 @@
+package org.larpconnect.data;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.errorprone.annotations.ThreadSafe;
+import com.google.inject.Inject;
+import com.google.inject.Provider;
+import java.util.UUID;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+
+/** Opens tenant sessions through the multi-tenant {@link SessionFactory}. */
+@ThreadSafe
+final class DefaultTenantSessionFactory implements TenantSessionFactory {
+  private final Provider<SessionFactory> sessionFactoryProvider;
+
+  @Inject
+  DefaultTenantSessionFactory(Provider<SessionFactory> sessionFactoryProvider) {
+    this.sessionFactoryProvider = sessionFactoryProvider;
+  }
+
+  @Override
+  public Session openSession(UUID tenantId) {
+    checkTenant(tenantId);
+    return sessionFactoryProvider
+        .get()
+        .withOptions()
+        .tenantIdentifier((Object) tenantId)
+        .openSession();
+  }
+
+  @Override
+  public StatelessSession openStatelessSession(UUID tenantId) {
+    checkTenant(tenantId);
+    return sessionFactoryProvider
+        .get()
+        .withStatelessOptions()
+        .tenantIdentifier((Object) tenantId)
+        .openStatelessSession();
+  }
+
+  private static void checkTenant(UUID tenantId) {
+    checkArgument(
+        !TenantConnectionProvider.NO_TENANT.equals(tenantId), "The nil UUID is not a tenant");
+  }
+}
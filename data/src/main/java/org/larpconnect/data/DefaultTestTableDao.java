@@ -1,32 +1,118 @@
 package org.larpconnect.data;
 
+import com.google.common.collect.Iterables;
 import com.google.errorprone.annotations.ThreadSafe;
 import com.google.inject.Inject;
 import com.google.inject.Provider;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
 import org.hibernate.Transaction;
+import org.hibernate.query.MutationQuery;
 
 /** Hibernate-backed implementation of {@link TestTableDao}. */
 @ThreadSafe
 final class DefaultTestTableDao implements TestTableDao {
+  private static final String UPSERT_PREFIX = "insert into TestTable (id, name) values ";
+  private static final String UPSERT_SUFFIX =
+      " on conflict (id) do update set name = excluded.name";
+
   private final Provider<SessionFactory> sessionFactoryProvider;
+  private final BatchConfiguration batchConfig;
+  private final TestTableDaoMetrics metrics;
 
   @Inject
-  DefaultTestTableDao(Provider<SessionFactory> sessionFactoryProvider) {
+  DefaultTestTableDao(
+      Provider<SessionFactory> sessionFactoryProvider,
+      BatchConfiguration batchConfig,
+      TestTableDaoMetrics metrics) {
     this.sessionFactoryProvider = sessionFactoryProvider;
+    this.batchConfig = batchConfig;
+    this.metrics = metrics;
   }
 
   @Override
   public void save(TestTable entity) {
+    inTransaction(1, session -> upsert(session, List.of(entity)));
+  }
+
+  @Override
+  public void saveAll(Collection<TestTable> entities) {
+    if (entities.isEmpty()) {
+      return;
+    }
+    Collection<TestTable> rows = lastById(entities);
+    inTransaction(rows.size(), session -> upsertInBatches(session, rows));
+  }
+
+  /**
+   * Keeps the last entity saved under each id. PostgreSQL rejects an {@code ON CONFLICT DO UPDATE}
+   * that touches the same row twice, so one statement must not carry an id more than once.
+   */
+  private static Collection<TestTable> lastById(Collection<TestTable> entities) {
+    Map<UUID, TestTable> rows = new LinkedHashMap<>();
+    for (TestTable entity : entities) {
+      rows.put(entity.getId(), entity);
+    }
+    return rows.values();
+  }
+
+  @Override
+  public Optional<TestTable> findById(UUID id) {
+    metrics.read();
+    try (Session session = sessionFactoryProvider.get().openSession()) {
+      return Optional.ofNullable(session.find(TestTable.class, id));
+    }
+  }
+
+  private void upsertInBatches(Session session, Collection<TestTable> entities) {
+    for (List<TestTable> batch : Iterables.partition(entities, batchConfig.batchSize())) {
+      upsert(session, batch);
+    }
+  }
+
+  private static void upsert(Session session, List<TestTable> rows) {
+    MutationQuery query = session.createMutationQuery(upsertStatement(rows.size()));
+    int position = 0;
+    for (TestTable row : rows) {
+      query.setParameter(++position, row.getId());
+      query.setParameter(++position, row.getName());
+    }
+    query.executeUpdate();
+  }
+
+  /**
+   * Builds the HQL upsert for the given number of rows. Hibernate renders it as a native PostgreSQL
+   * {@code INSERT ... ON CONFLICT}, and caches the parsed plan per distinct string, so there are at
+   * most two plans per batch size: full batches and the remainder.
+   */
+  static String upsertStatement(int rows) {
+    StringBuilder statement = new StringBuilder(UPSERT_PREFIX);
+    for (int row = 0; row < rows; row++) {
+      if (row > 0) {
+        statement.append(", ");
+      }
+      statement.append("(?").append(2 * row + 1).append(", ?").append(2 * row + 2).append(')');
+    }
+    return statement.append(UPSERT_SUFFIX).toString();
+  }
+
+  private void inTransaction(int rows, Consumer<Session> work) {
+    long start = System.nanoTime();
     Transaction transaction = null;
     try (Session session = sessionFactoryProvider.get().openSession()) {
       transaction = session.beginTransaction();
-      session.merge(entity);
+      work.accept(session);
       transaction.commit();
+      metrics.committed(rows, System.nanoTime() - start);
     } catch (Exception e) {
+      metrics.failed();
       if (transaction != null) {
         try {
           if (transaction.isActive()) {
@@ -39,11 +125,4 @@ final class DefaultTestTableDao implements TestTableDao {
       throw e;
     }
   }
-
-  @Override
-  public Optional<TestTable> findById(UUID id) {
-    try (Session session = sessionFactoryProvider.get().openSession()) {
-      return Optional.ofNullable(session.find(TestTable.class, id));
-    }
-  }
 }
@@ -0,0 +1,12 @@
+package org.larpconnect.data;
+
+/** Creates read-through caches that are registered with the {@link EntityCacheMonitor}. */
+interface EntityCacheFactory {
+  /**
+   * Creates a new cache sized and expired according to the cache configuration.
+   *
+   * @param name The name the cache is reported under.
+   * @return The new, empty cache.
+   */
+  <K, V> ReadThroughCache<K, V> create(String name);
+}
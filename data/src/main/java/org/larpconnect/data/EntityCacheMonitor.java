@@ -0,0 +1,13 @@
+package org.larpconnect.data;
+
+import java.util.List;
+
+/** Exposes live statistics of the read-through entity caches to the rest of the server. */
+public interface EntityCacheMonitor {
+  /**
+   * Returns the current state of every registered entity cache.
+   *
+   * @return A snapshot of the statistics of each cache, in registration order.
+   */
+  List<EntityCacheStats> stats();
+}
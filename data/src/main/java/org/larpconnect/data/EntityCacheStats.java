@@ -0,0 +1,12 @@
+package org.larpconnect.data;
+
+/**
+ * Point-in-time view of one read-through entity cache.
+ *
+ * @param name The name the cache was registered under.
+ * @param hits Lookups answered from the cache, including remembered misses.
+ * @param misses Lookups that had to go to the database.
+ * @param evictions Entries dropped because of size or expiry.
+ * @param size The approximate number of entries currently held.
+ */
+public record EntityCacheStats(String name, long hits, long misses, long evictions, long size) {}
@@ -3,9 +3,11 @@ package org.larpconnect.data;
 /** Abstract capability for running Flyway migrations. */
 public interface FlywayMigrator {
   /**
-   * Runs Flyway migration using the provided database configuration.
+   * Runs the Flyway migrations of one schema using the provided database configuration.
    *
    * @param config The database configuration to connect with.
+   * @param schema The schema to migrate, which also names its migration location.
+   * @return The number of migrations applied.
    */
-  void migrate(DatabaseConfiguration config);
+  int migrate(DatabaseConfiguration config, String schema);
 }
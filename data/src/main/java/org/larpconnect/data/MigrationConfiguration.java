@@ -0,0 +1,16 @@
+package org.larpconnect.data;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Represents how database migrations run at startup.
+ *
+ * @param fastPath Whether a schema whose history already matches the bundled migrations is skipped
+ *     without running Flyway.
+ * @param parallelism The number of independent schemas migrated concurrently.
+ */
+public record MigrationConfiguration(boolean fastPath, int parallelism) {
+  public MigrationConfiguration {
+    checkArgument(parallelism > 0, "parallelism must be positive: %s", parallelism);
+  }
+}
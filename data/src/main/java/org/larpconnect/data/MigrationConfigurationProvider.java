@@ -0,0 +1,24 @@
+package org.larpconnect.data;
+
+import com.google.inject.Inject;
+import com.google.inject.Provider;
+import org.larpconnect.common.Environment;
+
+/** Guice provider that compiles the migration configuration from the {@link Environment}. */
+public final class MigrationConfigurationProvider implements Provider<MigrationConfiguration> {
+  private static final int DEFAULT_PARALLELISM = 4;
+
+  private final Environment environment;
+
+  @Inject
+  MigrationConfigurationProvider(Environment environment) {
+    this.environment = environment;
+  }
+
+  @Override
+  public MigrationConfiguration get() {
+    boolean fastPath = environment.getBooleanOrDefault("DB_MIGRATION_FAST_PATH", true);
+    int parallelism = environment.getIntOrDefault("DB_MIGRATION_PARALLELISM", DEFAULT_PARALLELISM);
+    return new MigrationConfiguration(fastPath, Math.max(1, parallelism));
+  }
+}
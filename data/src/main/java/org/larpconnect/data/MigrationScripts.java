@@ -0,0 +1,143 @@
+package org.larpconnect.data;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Lists the versioned SQL migrations of a schema on the classpath, with the version and checksum
+ * Flyway records for each in the schema history.
+ *
+ * <p>Anything this cannot account for, such as a repeatable migration or a location outside a
+ * directory or jar, makes the listing unknown, and the caller then leaves the decision to Flyway.
+ */
+final class MigrationScripts {
+  private static final String ROOT = "db/migration/";
+  private static final Pattern VERSIONED = Pattern.compile("V([0-9][0-9._]*)__.+\\.sql");
+  private static final char BYTE_ORDER_MARK = '\uFEFF';
+
+  private MigrationScripts() {}
+
+  /** Returns the classpath location of the migrations of the given schema. */
+  static String location(String schema) {
+    return ROOT + schema;
+  }
+
+  /**
+   * Lists the versioned migrations of the given schema.
+   *
+   * @param loader The class loader to look up the migrations with.
+   * @param schema The schema whose migrations to list.
+   * @return The checksum of each migration by version, or empty if the listing is unknown.
+   */
+  static Optional<Map<String, Integer>> checksums(ClassLoader loader, String schema) {
+    Map<String, Integer> checksums = new HashMap<>();
+    try {
+      Enumeration<URL> locations = loader.getResources(location(schema));
+      if (!locations.hasMoreElements()) {
+        return Optional.empty();
+      }
+      while (locations.hasMoreElements()) {
+        if (!list(locations.nextElement(), checksums)) {
+          return Optional.empty();
+        }
+      }
+    } catch (IOException | UncheckedIOException | URISyntaxException e) {
+      return Optional.empty();
+    }
+    return Optional.of(Map.copyOf(checksums));
+  }
+
+  private static boolean list(URL location, Map<String, Integer> checksums)
+      throws IOException, URISyntaxException {
+    return switch (location.getProtocol()) {
+      case "file" -> listDirectory(Path.of(location.toURI()), checksums);
+      case "jar" -> listJar((JarURLConnection) location.openConnection(), checksums);
+      default -> false;
+    };
+  }
+
+  private static boolean listDirectory(Path directory, Map<String, Integer> checksums)
+      throws IOException {
+    List<Path> scripts;
+    try (Stream<Path> paths = Files.walk(directory)) {
+      scripts = paths.filter(Files::isRegularFile).toList();
+    }
+    for (Path script : scripts) {
+      try (InputStream in = Files.newInputStream(script)) {
+        if (!add(script.toFile().getName(), in, checksums)) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  private static boolean listJar(JarURLConnection connection, Map<String, Integer> checksums)
+      throws IOException {
+    connection.setUseCaches(false);
+    String prefix = connection.getEntryName() + "/";
+    try (JarFile jar = connection.getJarFile()) {
+      for (JarEntry entry : jar.stream().toList()) {
+        if (entry.isDirectory() || !entry.getName().startsWith(prefix)) {
+          continue;
+        }
+        String name = entry.getName().substring(entry.getName().lastIndexOf('/') + 1);
+        try (InputStream in = jar.getInputStream(entry)) {
+          if (!add(name, in, checksums)) {
+            return false;
+          }
+        }
+      }
+    }
+    return true;
+  }
+
+  private static boolean add(String name, InputStream in, Map<String, Integer> checksums)
+      throws IOException {
+    Matcher matcher = VERSIONED.matcher(name);
+    if (!matcher.matches()) {
+      return false;
+    }
+    String version = matcher.group(1).replace('_', '.');
+    return checksums.putIfAbsent(version, checksum(in)) == null;
+  }
+
+  /**
+   * Computes the checksum Flyway records for a migration: a CRC32 over the UTF-8 bytes of every
+   * line without its line break, ignoring a leading byte order mark.
+   */
+  static int checksum(InputStream in) throws IOException {
+    CRC32 crc = new CRC32();
+    BufferedReader reader = new BufferedReader(new InputStreamReader(in, UTF_8));
+    String line = reader.readLine();
+    if (line != null && !line.isEmpty() && line.charAt(0) == BYTE_ORDER_MARK) {
+      line = line.substring(1);
+    }
+    while (line != null) {
+      crc.update(line.getBytes(UTF_8));
+      line = reader.readLine();
+    }
+    return (int) crc.getValue();
+  }
+}
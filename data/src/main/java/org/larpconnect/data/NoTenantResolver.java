@@ -0,0 +1,20 @@
+package org.larpconnect.data;
+
+import java.util.UUID;
+import org.hibernate.context.spi.CurrentTenantIdentifierResolver;
+
+/**
+ * Gives sessions opened without a tenant {@link TenantConnectionProvider#NO_TENANT}, so the
+ * tenant-unaware DAOs keep working on a multi-tenant session factory.
+ */
+final class NoTenantResolver implements CurrentTenantIdentifierResolver<UUID> {
+  @Override
+  public UUID resolveCurrentTenantIdentifier() {
+    return TenantConnectionProvider.NO_TENANT;
+  }
+
+  @Override
+  public boolean validateExistingCurrentSessions() {
+    return false;
+  }
+}
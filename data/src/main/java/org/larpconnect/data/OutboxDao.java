@@ -0,0 +1,47 @@
+package org.larpconnect.data;
+
+import java.time.Instant;
+import java.util.Collection;
+
+/**
+ * DAO for the transactional outbox in {@code njall_users.outbox}.
+ *
+ * <p>Messages are appended in the transaction of the change they announce and relayed to the queue
+ * afterwards, so neither can be lost without the other. Relays claim batches with {@code FOR UPDATE
+ * SKIP LOCKED}, so several of them, on one node or many, drain the outbox in parallel without
+ * waiting on each other. Delivery is at least once.
+ */
+public interface OutboxDao {
+  /**
+   * Appends messages in a transaction of their own.
+   *
+   * @param messages The messages to append.
+   */
+  void append(Collection<OutboxMessage> messages);
+
+  /**
+   * Claims up to {@code limit} of the oldest unclaimed messages, hands them to the sink and deletes
+   * them, all in one transaction.
+   *
+   * @param limit The most messages to claim.
+   * @param sink Receives the claimed messages; if it throws, they stay in the outbox.
+   * @return The number of messages relayed; below {@code limit} once the outbox is drained.
+   */
+  int relay(int limit, OutboxSink sink);
+
+  /**
+   * Creates the missing daily partitions from today up to the given number of days ahead.
+   *
+   * @param daysAhead How many days after today to create partitions for.
+   * @return The number of partitions created.
+   */
+  int createPartitions(int daysAhead);
+
+  /**
+   * Drops the empty daily partitions of days that ended before the given instant.
+   *
+   * @param before The instant before which whole days are dropped.
+   * @return The number of partitions dropped.
+   */
+  int dropPartitions(Instant before);
+}
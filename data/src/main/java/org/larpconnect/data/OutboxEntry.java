@@ -0,0 +1,43 @@
+package org.larpconnect.data;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.util.UUID;
+
+/** Entity representing a row of the {@code njall_users} transactional outbox. */
+@Entity
+@Table(name = "outbox", schema = "njall_users")
+final class OutboxEntry {
+  @Id
+  @Column(name = "id")
+  private UUID id;
+
+  @Column(name = "tenant_id", nullable = false)
+  private UUID tenantId;
+
+  @Column(name = "exchange", nullable = false)
+  private String exchange;
+
+  @Column(name = "routing_key", nullable = false)
+  private String routingKey;
+
+  @Column(name = "payload", nullable = false)
+  private String payload;
+
+  /** Required by Hibernate. */
+  OutboxEntry() {}
+
+  OutboxEntry(OutboxMessage message) {
+    this.id = message.id();
+    this.tenantId = message.tenantId();
+    this.exchange = message.exchange();
+    this.routingKey = message.routingKey();
+    this.payload = message.payload();
+  }
+
+  OutboxMessage toMessage() {
+    return new OutboxMessage(id, tenantId, exchange, routingKey, payload);
+  }
+}
@@ -0,0 +1,31 @@
+package org.larpconnect.data;
+
+import java.util.UUID;
+import org.larpconnect.common.UuidV7;
+
+/**
+ * A message to publish to the queue once the transaction that wrote it commits.
+ *
+ * @param id The UUIDv7 id; it orders and partitions the outbox and lets consumers drop duplicates.
+ * @param tenantId The tenant the message belongs to.
+ * @param exchange The exchange to publish to; empty for the default exchange.
+ * @param routingKey The routing key.
+ * @param payload The JSON message body.
+ */
+public record OutboxMessage(
+    UUID id, UUID tenantId, String exchange, String routingKey, String payload) {
+
+  /**
+   * Creates a message with a new id.
+   *
+   * @param tenantId The tenant the message belongs to.
+   * @param exchange The exchange to publish to; empty for the default exchange.
+   * @param routingKey The routing key.
+   * @param payload The JSON message body.
+   * @return The message.
+   */
+  public static OutboxMessage create(
+      UUID tenantId, String exchange, String routingKey, String payload) {
+    return new OutboxMessage(UuidV7.next(), tenantId, exchange, routingKey, payload);
+  }
+}
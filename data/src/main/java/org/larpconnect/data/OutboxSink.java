@@ -0,0 +1,15 @@
+package org.larpconnect.data;
+
+import java.util.List;
+
+/** Receives the outbox messages claimed by {@link OutboxDao#relay}. */
+@FunctionalInterface
+public interface OutboxSink {
+  /**
+   * Delivers a batch while its rows are still locked. Returning commits their removal from the
+   * outbox; throwing rolls it back, so the batch is relayed again and may be delivered twice.
+   *
+   * @param batch The claimed messages, in id order.
+   */
+  void deliver(List<OutboxMessage> batch);
+}
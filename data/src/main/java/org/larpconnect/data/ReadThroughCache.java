@@ -0,0 +1,78 @@
+package org.larpconnect.data;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Caches the result of a keyed lookup, including misses, so repeated reads skip the database.
+ *
+ * <p>Found values live for {@link CacheConfiguration#expireAfterWrite()} and misses for {@link
+ * CacheConfiguration#negativeExpireAfterWrite()}. Concurrent lookups of the same key share a single
+ * load. Writers must {@link #invalidate} a key after committing so the next read sees the change;
+ * other servers only see it once their copy expires.
+ *
+ * @param <K> The key type.
+ * @param <V> The cached value type.
+ */
+final class ReadThroughCache<K, V> {
+  private final String name;
+  private final Cache<K, Optional<V>> cache;
+
+  ReadThroughCache(String name, CacheConfiguration config, Ticker ticker) {
+    this.name = name;
+    this.cache =
+        Caffeine.newBuilder()
+            .maximumSize(config.maximumSize())
+            .expireAfter(
+                Expiry.writing(
+                    (K key, Optional<V> value) ->
+                        value.isPresent()
+                            ? config.expireAfterWrite()
+                            : config.negativeExpireAfterWrite()))
+            .ticker(ticker)
+            // Housekeeping is a few map operations; running it inline keeps it off the common pool.
+            .executor(Runnable::run)
+            .recordStats()
+            .build();
+  }
+
+  /**
+   * Returns the cached value for the key, loading and caching it on a miss.
+   *
+   * @param key The key to look up.
+   * @param loader Reads the value from the source of truth. Failures are propagated, not cached.
+   * @return The cached or freshly loaded value.
+   */
+  Optional<V> get(K key, Function<? super K, Optional<V>> loader) {
+    return cache.get(key, loader);
+  }
+
+  /**
+   * Drops the cached value for the key.
+   *
+   * @param key The key to drop.
+   */
+  void invalidate(K key) {
+    cache.invalidate(key);
+  }
+
+  /**
+   * Drops the cached values for all of the keys.
+   *
+   * @param keys The keys to drop.
+   */
+  void invalidateAll(Iterable<? extends K> keys) {
+    cache.invalidateAll(keys);
+  }
+
+  EntityCacheStats stats() {
+    CacheStats stats = cache.stats();
+    return new EntityCacheStats(
+        name, stats.hitCount(), stats.missCount(), stats.evictionCount(), cache.estimatedSize());
+  }
+}
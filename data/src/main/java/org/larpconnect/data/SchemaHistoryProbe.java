@@ -0,0 +1,108 @@
+package org.larpconnect.data;
+
+import com.google.errorprone.annotations.ThreadSafe;
+import com.google.inject.Inject;
+import com.google.inject.Provider;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Checks whether a schema's Flyway history already matches the bundled migrations, which costs a
+ * pooled connection and two queries instead of configuring Flyway and validating every script.
+ *
+ * <p>The probe only ever answers "current" when every bundled migration has been applied
+ * successfully with the same checksum and nothing else has; anything unexpected, including a
+ * failure to probe at all, leaves the schema to Flyway.
+ */
+@ThreadSafe
+final class SchemaHistoryProbe {
+  private static final String HISTORY_TABLE = "flyway_schema_history";
+  private static final String EXISTS =
+      "SELECT to_regclass(format('%I.%I', ?::TEXT, ?::TEXT)) IS NOT NULL";
+  // Flyway records the creation of the schema itself, which is not a migration
+  private static final String SCHEMA_MARKER = "SCHEMA";
+  private static final String SQL_MIGRATION = "SQL";
+
+  private final Logger logger = LoggerFactory.getLogger(SchemaHistoryProbe.class);
+  private final Provider<DataSource> dataSourceProvider;
+  private final ClassLoader loader;
+
+  @Inject
+  SchemaHistoryProbe(Provider<DataSource> dataSourceProvider) {
+    this(dataSourceProvider, SchemaHistoryProbe.class.getClassLoader());
+  }
+
+  SchemaHistoryProbe(Provider<DataSource> dataSourceProvider, ClassLoader loader) {
+    this.dataSourceProvider = dataSourceProvider;
+    this.loader = loader;
+  }
+
+  /**
+   * Returns whether the given schema's history already holds exactly its bundled migrations.
+   *
+   * @param schema The schema to probe.
+   * @return Whether migrating the schema can be skipped.
+   */
+  boolean isCurrent(String schema) {
+    Optional<Map<String, Integer>> scripts = MigrationScripts.checksums(loader, schema);
+    if (scripts.isEmpty()) {
+      logger.info("Migrations of schema {} cannot be listed; leaving them to Flyway.", schema);
+      return false;
+    }
+    try (Connection connection = dataSourceProvider.get().getConnection()) {
+      return history(connection, schema).map(scripts.get()::equals).orElse(false);
+    } catch (SQLException e) {
+      logger.warn("Could not probe the migration history of schema {}.", schema, e);
+      return false;
+    }
+  }
+
+  private Optional<Map<String, Integer>> history(Connection connection, String schema)
+      throws SQLException {
+    try (PreparedStatement exists = connection.prepareStatement(EXISTS)) {
+      exists.setString(1, schema);
+      exists.setString(2, HISTORY_TABLE);
+      try (ResultSet result = exists.executeQuery()) {
+        if (!result.next() || !result.getBoolean(1)) {
+          return Optional.empty();
+        }
+      }
+    }
+    Map<String, Integer> applied = new HashMap<>();
+    String query =
+        "SELECT version, checksum, success, type FROM " + quote(schema) + "." + HISTORY_TABLE;
+    try (PreparedStatement select = connection.prepareStatement(query);
+        ResultSet result = select.executeQuery()) {
+      while (result.next()) {
+        String type = result.getString("type");
+        if (SCHEMA_MARKER.equals(type)) {
+          continue;
+        }
+        String version = result.getString("version");
+        int checksum = result.getInt("checksum");
+        boolean hasChecksum = !result.wasNull();
+        boolean applies =
+            SQL_MIGRATION.equals(type)
+                && version != null
+                && hasChecksum
+                && result.getBoolean("success");
+        if (!applies || applied.putIfAbsent(version, checksum) != null) {
+          return Optional.empty();
+        }
+      }
+    }
+    return Optional.of(applied);
+  }
+
+  private static String quote(String identifier) {
+    return '"' + identifier.replace("\"", "\"\"") + '"';
+  }
+}
@@ -0,0 +1,14 @@
+package org.larpconnect.data;
+
+import java.time.Duration;
+
+/**
+ * Represents the outcome of migrating one schema.
+ *
+ * @param schema The migrated schema.
+ * @param applied The number of migrations applied.
+ * @param skipped Whether Flyway was skipped because the schema history was already current.
+ * @param elapsed The time spent on the schema, including the history probe.
+ */
+public record SchemaMigrationResult(
+    String schema, int applied, boolean skipped, Duration elapsed) {}
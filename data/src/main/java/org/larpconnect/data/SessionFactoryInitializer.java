@@ -0,0 +1,13 @@
+package org.larpconnect.data;
+
+/**
+ * Service interface for building the Hibernate session factory ahead of its first use, so the first
+ * request does not pay for the metadata build, and for closing it when the server stops.
+ */
+public interface SessionFactoryInitializer {
+  /** Builds the session factory, unless it has been built already. */
+  void initialize();
+
+  /** Closes the session factory if {@link #initialize()} built it; otherwise does nothing. */
+  void close();
+}
@@ -4,6 +4,7 @@ import com.google.inject.Inject;
 import com.google.inject.Provider;
 import java.util.HashMap;
 import java.util.Map;
+import javax.sql.DataSource;
 import org.hibernate.SessionFactory;
 import org.hibernate.boot.Metadata;
 import org.hibernate.boot.MetadataSources;
@@ -12,34 +13,48 @@ import org.hibernate.cfg.AvailableSettings;
 
 /** Guice Provider for Hibernate {@link SessionFactory}. */
 class SessionFactoryProvider implements Provider<SessionFactory> {
-  private final DatabaseConfiguration config;
+  private final Provider<DataSource> dataSourceProvider;
   private final HibernateFactory hibernateFactory;
+  private final BatchConfiguration batchConfig;
+  private final TenantConnectionProvider tenantConnectionProvider;
 
   @Inject
-  SessionFactoryProvider(DatabaseConfiguration config, HibernateFactory hibernateFactory) {
-    this.config = config;
+  SessionFactoryProvider(
+      Provider<DataSource> dataSourceProvider,
+      HibernateFactory hibernateFactory,
+      BatchConfiguration batchConfig,
+      TenantConnectionProvider tenantConnectionProvider) {
+    this.dataSourceProvider = dataSourceProvider;
     this.hibernateFactory = hibernateFactory;
+    this.batchConfig = batchConfig;
+    this.tenantConnectionProvider = tenantConnectionProvider;
   }
 
   @Override
   public SessionFactory get() {
     Map<String, Object> settings = new HashMap<>();
-    settings.put(AvailableSettings.JAKARTA_JDBC_DRIVER, "org.postgresql.Driver");
-    settings.put(AvailableSettings.JAKARTA_JDBC_URL, config.getJdbcUrl());
-    settings.put(AvailableSettings.JAKARTA_JDBC_USER, config.username());
-    if (config.password() != null) {
-      settings.put(AvailableSettings.JAKARTA_JDBC_PASSWORD, config.password());
-    }
+    // Sessions borrow from the shared pool rather than opening driver connections themselves.
+    settings.put(AvailableSettings.JAKARTA_NON_JTA_DATASOURCE, dataSourceProvider.get());
+    // Sessions bind their connections to their tenant for row-level security; see
+    // TenantSessionFactory. Sessions opened without a tenant are bound to none.
+    settings.put(AvailableSettings.MULTI_TENANT_CONNECTION_PROVIDER, tenantConnectionProvider);
+    settings.put(AvailableSettings.MULTI_TENANT_IDENTIFIER_RESOLVER, new NoTenantResolver());
     settings.put(AvailableSettings.DIALECT, "org.hibernate.dialect.PostgreSQLDialect");
+    // Group inserts and updates per entity so bulk writes go out as JDBC batches.
+    settings.put(AvailableSettings.STATEMENT_BATCH_SIZE, batchConfig.batchSize());
+    settings.put(AvailableSettings.ORDER_INSERTS, true);
+    settings.put(AvailableSettings.ORDER_UPDATES, true);
 
     StandardServiceRegistry registry =
         hibernateFactory.createRegistryBuilder().applySettings(settings).build();
     MetadataSources sources = hibernateFactory.createMetadataSources(registry);
     sources.addAnnotatedClass(TestTable.class);
+    sources.addAnnotatedClass(Studio.class);
+    sources.addAnnotatedClass(StudioAlias.class);
+    sources.addAnnotatedClass(OutboxEntry.class);
 
     Metadata metadata = sources.getMetadataBuilder().build();
-    // TODO: Create an initializer service that can be responsible for _closing
-    // this_ when the application shuts down.
+    // Closed on shutdown by SessionFactoryInitializer
     return metadata.getSessionFactoryBuilder().build();
   }
 }
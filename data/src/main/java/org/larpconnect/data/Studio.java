@@ -0,0 +1,54 @@
+package org.larpconnect.data;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.Instant;
+import java.util.UUID;
+
+/** Entity representing a studio in the {@code njall_admin} tenant lookup table. */
+@Entity
+@Table(name = "studios", schema = "njall_admin")
+final class Studio {
+  @Id
+  @Column(name = "tenant_id")
+  private UUID tenantId;
+
+  @Column(name = "studio_id", nullable = false)
+  private UUID studioId;
+
+  @Column(name = "retired", nullable = false)
+  private boolean retired;
+
+  @Column(name = "updated_at", nullable = false)
+  private Instant updatedAt;
+
+  /** Required by Hibernate. */
+  Studio() {}
+
+  Studio(UUID tenantId, UUID studioId, boolean retired, Instant updatedAt) {
+    this.tenantId = tenantId;
+    this.studioId = studioId;
+    this.retired = retired;
+    this.updatedAt = updatedAt;
+  }
+
+  /** Returns the private UUIDv7 tenant id. */
+  UUID getTenantId() {
+    return tenantId;
+  }
+
+  /** Returns the public UUIDv4 studio id. */
+  UUID getStudioId() {
+    return studioId;
+  }
+
+  boolean isRetired() {
+    return retired;
+  }
+
+  Instant getUpdatedAt() {
+    return updatedAt;
+  }
+}
@@ -0,0 +1,53 @@
+package org.larpconnect.data;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.Instant;
+import java.util.UUID;
+
+/** Entity representing a human-readable alias of a studio in the {@code njall_admin} schema. */
+@Entity
+@Table(name = "studio_aliases", schema = "njall_admin")
+final class StudioAlias {
+  @Id
+  @Column(name = "alias")
+  private String alias;
+
+  @Column(name = "tenant_id", nullable = false)
+  private UUID tenantId;
+
+  @Column(name = "retired", nullable = false)
+  private boolean retired;
+
+  @Column(name = "updated_at", nullable = false)
+  private Instant updatedAt;
+
+  /** Required by Hibernate. */
+  StudioAlias() {}
+
+  StudioAlias(String alias, UUID tenantId, boolean retired, Instant updatedAt) {
+    this.alias = alias;
+    this.tenantId = tenantId;
+    this.retired = retired;
+    this.updatedAt = updatedAt;
+  }
+
+  /** Returns the lower-case alias. */
+  String getAlias() {
+    return alias;
+  }
+
+  UUID getTenantId() {
+    return tenantId;
+  }
+
+  boolean isRetired() {
+    return retired;
+  }
+
+  Instant getUpdatedAt() {
+    return updatedAt;
+  }
+}
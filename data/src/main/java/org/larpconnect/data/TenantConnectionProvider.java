@@ -0,0 +1,117 @@
+package org.larpconnect.data;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.errorprone.annotations.ThreadSafe;
+import com.google.inject.Inject;
+import com.google.inject.Provider;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.UUID;
+import javax.sql.DataSource;
+import org.hibernate.engine.jdbc.connections.spi.MultiTenantConnectionProvider;
+import org.hibernate.service.UnknownUnwrapTypeException;
+
+/**
+ * Borrows pooled connections for Hibernate sessions and binds each to its session's tenant, the
+ * {@code app.current_tenant_id} setting that row-level security policies read.
+ *
+ * <p>The setting is applied for the whole database session and left in place when the connection
+ * goes back to the pool, and the tenant each physical connection is bound to is remembered. A
+ * borrow for the tenant the connection already has, the usual case because the pool hands a thread
+ * back its most recent connection, costs no round trip; any other borrow, a tenantless one
+ * included, rebinds first. A connection whose binding can no longer be trusted, because binding
+ * failed or it came back with a transaction open whose rollback could restore an older value, is
+ * forgotten and rebound on its next borrow.
+ *
+ * <p>Code that borrows from the {@link DataSource} directly bypasses this and may see the setting
+ * of whichever session used the connection last.
+ */
+@ThreadSafe
+final class TenantConnectionProvider implements MultiTenantConnectionProvider<UUID> {
+  /** The tenant of sessions opened without one; row-level security shows them no tenant's rows. */
+  static final UUID NO_TENANT = new UUID(0L, 0L);
+
+  static final String TENANT_SETTING = "app.current_tenant_id";
+  private static final long serialVersionUID = 1L;
+  private static final String BIND = "SELECT set_config('" + TENANT_SETTING + "', ?, false)";
+
+  private final transient Provider<DataSource> dataSourceProvider;
+  // Keyed by identity on the physical connection, which the pool may evict at any time.
+  private final transient Cache<Connection, UUID> bindings =
+      Caffeine.newBuilder().weakKeys().build();
+
+  @Inject
+  TenantConnectionProvider(Provider<DataSource> dataSourceProvider) {
+    this.dataSourceProvider = dataSourceProvider;
+  }
+
+  @Override
+  public Connection getAnyConnection() throws SQLException {
+    return getConnection(NO_TENANT);
+  }
+
+  @Override
+  public void releaseAnyConnection(Connection connection) throws SQLException {
+    releaseConnection(NO_TENANT, connection);
+  }
+
+  @Override
+  public Connection getConnection(UUID tenantId) throws SQLException {
+    Connection connection = dataSourceProvider.get().getConnection();
+    try {
+      bind(connection, tenantId);
+      return connection;
+    } catch (SQLException | RuntimeException e) {
+      try {
+        connection.close();
+      } catch (SQLException closeEx) {
+        e.addSuppressed(closeEx);
+      }
+      throw e;
+    }
+  }
+
+  @Override
+  public void releaseConnection(UUID tenantId, Connection connection) throws SQLException {
+    try (connection) {
+      if (!connection.getAutoCommit()) {
+        bindings.invalidate(connection.unwrap(Connection.class));
+      }
+    }
+  }
+
+  @Override
+  public boolean supportsAggressiveRelease() {
+    // Every borrow checks its binding, so releasing between statements is safe.
+    return true;
+  }
+
+  @Override
+  public boolean isUnwrappableAs(Class<?> unwrapType) {
+    return unwrapType.isInstance(this);
+  }
+
+  @Override
+  public <T> T unwrap(Class<T> unwrapType) {
+    if (!isUnwrappableAs(unwrapType)) {
+      throw new UnknownUnwrapTypeException(unwrapType);
+    }
+    return unwrapType.cast(this);
+  }
+
+  private void bind(Connection connection, UUID tenantId) throws SQLException {
+    Connection physical = connection.unwrap(Connection.class);
+    if (tenantId.equals(bindings.getIfPresent(physical))) {
+      return;
+    }
+    bindings.invalidate(physical);
+    try (PreparedStatement statement = connection.prepareStatement(BIND)) {
+      // Policies treat an empty setting as no tenant at all.
+      statement.setString(1, NO_TENANT.equals(tenantId) ? "" : tenantId.toString());
+      statement.execute();
+    }
+    bindings.put(physical, tenantId);
+  }
+}
@@ -0,0 +1,75 @@
+package org.larpconnect.data;
+
+import com.google.common.base.Ascii;
+import com.google.common.collect.ImmutableMap;
+import com.google.errorprone.annotations.Immutable;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import org.larpconnect.common.Base36UuidCodec;
+import org.larpconnect.common.TenantResolution;
+
+/**
+ * Immutable snapshot mapping every alias and base36 studio id to a precomputed {@link
+ * TenantResolution}, so a lookup is one hash probe and allocates nothing.
+ */
+@Immutable
+final class TenantIndex {
+  static final TenantIndex EMPTY = new TenantIndex(ImmutableMap.of());
+
+  private final ImmutableMap<String, TenantResolution> resolutions;
+
+  private TenantIndex(ImmutableMap<String, TenantResolution> resolutions) {
+    this.resolutions = resolutions;
+  }
+
+  /**
+   * Builds the index from the full set of known studios and aliases. Aliases whose studio is not
+   * known yet are left out until it is.
+   */
+  static TenantIndex build(Collection<Studio> studios, Collection<StudioAlias> aliases) {
+    Map<UUID, Resolutions> byTenant = new HashMap<>();
+    for (Studio studio : studios) {
+      byTenant.put(studio.getTenantId(), Resolutions.of(studio));
+    }
+    ImmutableMap.Builder<String, TenantResolution> builder =
+        ImmutableMap.builderWithExpectedSize(studios.size() + aliases.size());
+    for (StudioAlias alias : aliases) {
+      Resolutions owner = byTenant.get(alias.getTenantId());
+      if (owner != null) {
+        builder.put(alias.getAlias(), alias.isRetired() ? owner.retired() : owner.current());
+      }
+    }
+    // Studio ids go in last so they win should an alias ever collide with one.
+    for (Resolutions owner : byTenant.values()) {
+      builder.put(owner.studioId(), owner.current());
+    }
+    return new TenantIndex(builder.buildKeepingLast());
+  }
+
+  TenantResolution resolve(String studioId) {
+    if (studioId == null) {
+      return TenantResolution.unknown();
+    }
+    TenantResolution resolution = resolutions.get(studioId);
+    if (resolution != null) {
+      return resolution;
+    }
+    return resolutions.getOrDefault(Ascii.toLowerCase(studioId), TenantResolution.unknown());
+  }
+
+  int size() {
+    return resolutions.size();
+  }
+
+  /** The resolutions shared by every identifier of one studio. */
+  private record Resolutions(String studioId, TenantResolution current, TenantResolution retired) {
+    static Resolutions of(Studio studio) {
+      TenantResolution retired = TenantResolution.retired(studio.getTenantId());
+      TenantResolution current =
+          studio.isRetired() ? retired : TenantResolution.active(studio.getTenantId());
+      return new Resolutions(Base36UuidCodec.encode(studio.getStudioId()), current, retired);
+    }
+  }
+}
@@ -0,0 +1,19 @@
+package org.larpconnect.data;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.time.Duration;
+
+/**
+ * Represents how the in-memory tenant registry is kept up to date.
+ *
+ * @param refreshInterval The delay between incremental refreshes.
+ * @param refreshOverlap How far before the newest seen change each refresh reads again, so rows
+ *     from transactions that committed late are not missed.
+ */
+public record TenantRegistryConfiguration(Duration refreshInterval, Duration refreshOverlap) {
+  public TenantRegistryConfiguration {
+    checkArgument(refreshInterval.compareTo(Duration.ZERO) > 0, "refreshInterval must be positive");
+    checkArgument(!refreshOverlap.isNegative(), "refreshOverlap must not be negative");
+  }
+}
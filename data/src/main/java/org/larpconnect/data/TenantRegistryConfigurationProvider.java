@@ -0,0 +1,35 @@
+package org.larpconnect.data;
+
+import com.google.inject.Inject;
+import com.google.inject.Provider;
+import java.time.Duration;
+import org.larpconnect.common.Environment;
+
+/** Guice provider that compiles the tenant registry configuration from the {@link Environment}. */
+public final class TenantRegistryConfigurationProvider
+    implements Provider<TenantRegistryConfiguration> {
+  private static final long DEFAULT_REFRESH_INTERVAL_MS = 30_000L;
+  private static final long DEFAULT_REFRESH_OVERLAP_MS = 60_000L;
+
+  private final Environment environment;
+
+  @Inject
+  TenantRegistryConfigurationProvider(Environment environment) {
+    this.environment = environment;
+  }
+
+  @Override
+  public TenantRegistryConfiguration get() {
+    return new TenantRegistryConfiguration(
+        Duration.ofMillis(
+            Math.max(
+                1L,
+                environment.getLongOrDefault(
+                    "DB_TENANT_REFRESH_INTERVAL_MS", DEFAULT_REFRESH_INTERVAL_MS))),
+        Duration.ofMillis(
+            Math.max(
+                0L,
+                environment.getLongOrDefault(
+                    "DB_TENANT_REFRESH_OVERLAP_MS", DEFAULT_REFRESH_OVERLAP_MS))));
+  }
+}
@@ -0,0 +1,23 @@
+package org.larpconnect.data;
+
+import java.time.Instant;
+import java.util.List;
+
+/** DAO interface for reading the tenant lookup tables in the {@code njall_admin} schema. */
+interface TenantRegistryDao {
+  /**
+   * Finds every studio changed at or after the given instant.
+   *
+   * @param since The inclusive lower bound on {@code updated_at}.
+   * @return The changed studios.
+   */
+  List<Studio> findStudiosUpdatedSince(Instant since);
+
+  /**
+   * Finds every alias changed at or after the given instant.
+   *
+   * @param since The inclusive lower bound on {@code updated_at}.
+   * @return The changed aliases.
+   */
+  List<StudioAlias> findAliasesUpdatedSince(Instant since);
+}
@@ -0,0 +1,10 @@
+package org.larpconnect.data;
+
+import com.google.common.util.concurrent.Service;
+import org.larpconnect.common.TenantRegistry;
+
+/**
+ * Keeps the {@link TenantRegistry} in step with the {@code njall_admin} lookup tables. Starting the
+ * service performs the full initial load; afterwards only changed rows are read on each refresh.
+ */
+public interface TenantRegistryService extends Service {}
@@ -0,0 +1,27 @@
+package org.larpconnect.data;
+
+import java.util.UUID;
+import org.hibernate.Session;
+import org.hibernate.StatelessSession;
+
+/**
+ * Opens Hibernate sessions on behalf of a tenant. Their connections are bound to the tenant before
+ * use, so row-level security policies on {@code app.current_tenant_id} apply to every statement.
+ */
+public interface TenantSessionFactory {
+  /**
+   * Opens a session for the given tenant.
+   *
+   * @param tenantId The tenant whose rows the session may see.
+   * @return A new session, which the caller must close.
+   */
+  Session openSession(UUID tenantId);
+
+  /**
+   * Opens a stateless session for the given tenant.
+   *
+   * @param tenantId The tenant whose rows the session may see.
+   * @return A new stateless session, which the caller must close.
+   */
+  StatelessSession openStatelessSession(UUID tenantId);
+}
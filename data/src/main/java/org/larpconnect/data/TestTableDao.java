@@ -1,17 +1,28 @@
 package org.larpconnect.data;
 
+import java.util.Collection;
 import java.util.Optional;
 import java.util.UUID;
 
 /** DAO interface for managing {@link TestTable} objects. */
 public interface TestTableDao {
   /**
-   * Saves or merges the given test entity into the database.
+   * Inserts the given test entity, or updates the stored row if one with the same id exists. This
+   * is a single {@code INSERT ... ON CONFLICT} round-trip; nothing is read first.
    *
    * @param entity The entity to save.
    */
   void save(TestTable entity);
 
+  /**
+   * Inserts or updates all of the given entities in a single transaction, sending them as multi-row
+   * {@code INSERT ... ON CONFLICT} statements of at most the configured batch size.
+   *
+   * @param entities The entities to save. When several share an id, only the last of them is
+   *     saved.
+   */
+  void saveAll(Collection<TestTable> entities);
+
   /**
    * Finds a test entity by its UUID.
    *
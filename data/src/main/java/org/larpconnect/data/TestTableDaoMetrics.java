@@ -0,0 +1,27 @@
+package org.larpconnect.data;
+
+import com.google.errorprone.annotations.ThreadSafe;
+import org.larpconnect.common.Counter;
+import org.larpconnect.common.LatencyHistogram;
+
+/** Counts the database work of {@link DefaultTestTableDao}, exposed by {@link DataModule}. */
+@ThreadSafe
+final class TestTableDaoMetrics {
+  final Counter reads = new Counter();
+  final Counter rowsWritten = new Counter();
+  final Counter failedTransactions = new Counter();
+  final LatencyHistogram transactions = new LatencyHistogram();
+
+  void read() {
+    reads.increment();
+  }
+
+  void committed(int rows, long elapsedNanos) {
+    rowsWritten.add(rows);
+    transactions.record(elapsedNanos);
+  }
+
+  void failed() {
+    failedTransactions.increment();
+  }
+}
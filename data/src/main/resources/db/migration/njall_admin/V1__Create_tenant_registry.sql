@@ -0,0 +1,35 @@
+CREATE SCHEMA IF NOT EXISTS njall_admin;
+
+-- Rows are never deleted: studios and aliases are retired so that servers refreshing their
+-- in-memory registry incrementally (by updated_at) also see the removal.
+CREATE TABLE njall_admin.studios (
+    tenant_id UUID PRIMARY KEY,
+    studio_id UUID NOT NULL UNIQUE,
+    retired BOOLEAN NOT NULL DEFAULT FALSE,
+    updated_at TIMESTAMPTZ NOT NULL DEFAULT clock_timestamp()
+);
+
+CREATE TABLE njall_admin.studio_aliases (
+    alias VARCHAR(63) PRIMARY KEY CHECK (alias = lower(alias)),
+    tenant_id UUID NOT NULL REFERENCES njall_admin.studios (tenant_id),
+    retired BOOLEAN NOT NULL DEFAULT FALSE,
+    updated_at TIMESTAMPTZ NOT NULL DEFAULT clock_timestamp()
+);
+
+CREATE INDEX studios_updated_at_idx ON njall_admin.studios (updated_at);
+CREATE INDEX studio_aliases_updated_at_idx ON njall_admin.studio_aliases (updated_at);
+
+CREATE FUNCTION njall_admin.touch_updated_at() RETURNS TRIGGER AS $$
+BEGIN
+    NEW.updated_at := clock_timestamp();
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER studios_touch_updated_at
+    BEFORE UPDATE ON njall_admin.studios
+    FOR EACH ROW EXECUTE FUNCTION njall_admin.touch_updated_at();
+
+CREATE TRIGGER studio_aliases_touch_updated_at
+    BEFORE UPDATE ON njall_admin.studio_aliases
+    FOR EACH ROW EXECUTE FUNCTION njall_admin.touch_updated_at();
@@ -0,0 +1,84 @@
+CREATE SCHEMA IF NOT EXISTS njall_users;
+
+-- Messages written in the same transaction as the change they announce, and deleted by the relay
+-- once the broker has confirmed them. Ids are UUIDv7, so a range of ids is a range of time: the
+-- table is partitioned by day on the id, and drained days are dropped rather than vacuumed.
+-- The table is not under row-level security: only the relay reads it, across every tenant.
+CREATE TABLE njall_users.outbox (
+    id UUID NOT NULL,
+    tenant_id UUID NOT NULL,
+    exchange VARCHAR(255) NOT NULL,
+    routing_key VARCHAR(255) NOT NULL,
+    payload TEXT NOT NULL,
+    PRIMARY KEY (id)
+) PARTITION BY RANGE (id);
+
+-- Catches ids outside every daily partition, such as those written before a day's partition exists.
+CREATE TABLE njall_users.outbox_default PARTITION OF njall_users.outbox DEFAULT;
+
+-- The smallest UUIDv7 of the millisecond of the given instant.
+CREATE FUNCTION njall_users.uuidv7_lower_bound(at_time TIMESTAMPTZ) RETURNS UUID AS $$
+    SELECT (lpad(to_hex(floor(extract(epoch FROM at_time) * 1000)::BIGINT), 12, '0')
+        || '00000000000000000000')::UUID;
+$$ LANGUAGE sql IMMUTABLE STRICT;
+
+-- Creates the missing daily (UTC) partitions from today up to the given number of days ahead.
+-- A day whose rows already sit in the default partition is skipped; they are relayed from there.
+CREATE FUNCTION njall_users.create_outbox_partitions(days_ahead INTEGER) RETURNS INTEGER AS $$
+DECLARE
+    today DATE := (clock_timestamp() AT TIME ZONE 'UTC')::DATE;
+    day DATE;
+    partition_name TEXT;
+    created INTEGER := 0;
+BEGIN
+    FOR day_offset IN 0..days_ahead LOOP
+        day := today + day_offset;
+        partition_name := 'outbox_' || to_char(day, 'YYYYMMDD');
+        CONTINUE WHEN to_regclass('njall_users.' || partition_name) IS NOT NULL;
+        BEGIN
+            EXECUTE format(
+                'CREATE TABLE njall_users.%I PARTITION OF njall_users.outbox'
+                    || ' FOR VALUES FROM (%L) TO (%L)',
+                partition_name,
+                njall_users.uuidv7_lower_bound(day::TIMESTAMP AT TIME ZONE 'UTC'),
+                njall_users.uuidv7_lower_bound((day + 1)::TIMESTAMP AT TIME ZONE 'UTC'));
+            created := created + 1;
+        EXCEPTION
+            -- Another node created it first, or the default partition holds rows of that day.
+            WHEN duplicate_table OR check_violation THEN NULL;
+        END;
+    END LOOP;
+    RETURN created;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Drops the empty daily partitions of days that ended before the given instant.
+CREATE FUNCTION njall_users.drop_outbox_partitions(before TIMESTAMPTZ) RETURNS INTEGER AS $$
+DECLARE
+    partition_name TEXT;
+    has_rows BOOLEAN;
+    dropped INTEGER := 0;
+BEGIN
+    FOR partition_name IN
+        SELECT child.relname
+        FROM pg_inherits
+        JOIN pg_class child ON child.oid = pg_inherits.inhrelid
+        WHERE pg_inherits.inhparent = 'njall_users.outbox'::REGCLASS
+            AND child.relname ~ '^outbox_[0-9]{8}$'
+            AND to_date(substr(child.relname, 8), 'YYYYMMDD') + 1
+                <= (before AT TIME ZONE 'UTC')::DATE
+    LOOP
+        -- Lock first, so no relay or late writer can touch the partition between check and drop.
+        EXECUTE format('LOCK TABLE njall_users.%I IN ACCESS EXCLUSIVE MODE', partition_name);
+        EXECUTE format('SELECT EXISTS (SELECT 1 FROM njall_users.%I)', partition_name)
+            INTO has_rows;
+        IF NOT has_rows THEN
+            EXECUTE format('DROP TABLE njall_users.%I', partition_name);
+            dropped := dropped + 1;
+        END IF;
+    END LOOP;
+    RETURN dropped;
+END;
+$$ LANGUAGE plpgsql;
+
+SELECT njall_users.create_outbox_partitions(7);
@@ -0,0 +1,41 @@
+package org.larpconnect.data;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.larpconnect.common.MapEnvironment;
+
+/** Unit tests for {@link BatchConfigurationProvider}. */
+public final class BatchConfigurationProviderTest {
+  @Test
+  public void get_withDefaultEnvironment_returnsDefaultBatchSize() {
+    BatchConfigurationProvider provider =
+        new BatchConfigurationProvider(new MapEnvironment(Map.of()));
+
+    assertThat(provider.get()).isEqualTo(new BatchConfiguration(50));
+  }
+
+  @Test
+  public void get_withCustomEnvironment_returnsCustomBatchSize() {
+    MapEnvironment environment = new MapEnvironment(Map.of("DB_BATCH_SIZE", "200"));
+
+    assertThat(new BatchConfigurationProvider(environment).get())
+        .isEqualTo(new BatchConfiguration(200));
+  }
+
+  @Test
+  public void get_withNonPositiveBatchSize_clampsToOne() {
+    MapEnvironment environment = new MapEnvironment(Map.of("DB_BATCH_SIZE", "0"));
+
+    assertThat(new BatchConfigurationProvider(environment).get())
+        .isEqualTo(new BatchConfiguration(1));
+  }
+
+  @Test
+  public void constructor_withNonPositiveBatchSize_throwsIllegalArgumentException() {
+    assertThatThrownBy(() -> new BatchConfiguration(0))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
@@ -0,0 +1,61 @@
+package org.larpconnect.data;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.larpconnect.common.MapEnvironment;
+
+/** Unit tests for {@link CacheConfigurationProvider}. */
+public final class CacheConfigurationProviderTest {
+  @Test
+  public void get_withDefaultEnvironment_returnsDefaults() {
+    CacheConfigurationProvider provider =
+        new CacheConfigurationProvider(new MapEnvironment(Map.of()));
+
+    assertThat(provider.get())
+        .isEqualTo(new CacheConfiguration(10_000L, Duration.ofMinutes(5), Duration.ofSeconds(30)));
+  }
+
+  @Test
+  public void get_withCustomEnvironment_returnsCustomValues() {
+    MapEnvironment environment =
+        new MapEnvironment(
+            Map.of(
+                "DB_CACHE_MAX_SIZE", "500",
+                "DB_CACHE_TTL_MS", "60000",
+                "DB_CACHE_NEGATIVE_TTL_MS", "1000"));
+
+    assertThat(new CacheConfigurationProvider(environment).get())
+        .isEqualTo(new CacheConfiguration(500L, Duration.ofMinutes(1), Duration.ofSeconds(1)));
+  }
+
+  @Test
+  public void get_withNegativeValues_clampsToZero() {
+    MapEnvironment environment =
+        new MapEnvironment(
+            Map.of(
+                "DB_CACHE_MAX_SIZE", "-1",
+                "DB_CACHE_TTL_MS", "-1",
+                "DB_CACHE_NEGATIVE_TTL_MS", "-1"));
+
+    assertThat(new CacheConfigurationProvider(environment).get())
+        .isEqualTo(new CacheConfiguration(0L, Duration.ZERO, Duration.ZERO));
+  }
+
+  @Test
+  public void constructor_withNegativeMaximumSize_throwsIllegalArgumentException() {
+    assertThatThrownBy(() -> new CacheConfiguration(-1L, Duration.ZERO, Duration.ZERO))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  public void constructor_withNegativeExpiry_throwsIllegalArgumentException() {
+    assertThatThrownBy(() -> new CacheConfiguration(1L, Duration.ofMillis(-1), Duration.ZERO))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> new CacheConfiguration(1L, Duration.ZERO, Duration.ofMillis(-1)))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
@@ -0,0 +1,115 @@
+package org.larpconnect.data;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/** Unit tests for {@link CachingTestTableDao}. */
+@ExtendWith(MockitoExtension.class)
+public final class CachingTestTableDaoTest {
+  private static final UUID TEST_UUID = UUID.fromString("00000000-0000-0000-0000-000000000001");
+
+  @Mock private DefaultTestTableDao delegate;
+
+  private DefaultEntityCacheFactory cacheFactory;
+  private CachingTestTableDao dao;
+
+  @BeforeEach
+  public void setUp() {
+    cacheFactory =
+        new DefaultEntityCacheFactory(
+            new CacheConfiguration(100L, Duration.ofMinutes(5), Duration.ofSeconds(30)));
+    dao = new CachingTestTableDao(delegate, cacheFactory);
+  }
+
+  @Test
+  public void findById_repeatedLookup_readsDatabaseOnce() {
+    when(delegate.findById(TEST_UUID)).thenReturn(Optional.of(new TestTable(TEST_UUID, "Cached")));
+
+    dao.findById(TEST_UUID);
+    Optional<TestTable> result = dao.findById(TEST_UUID);
+
+    assertThat(result).hasValue(new TestTable(TEST_UUID, "Cached"));
+    verify(delegate).findById(TEST_UUID);
+    assertThat(cacheFactory.stats())
+        .containsExactly(new EntityCacheStats(CachingTestTableDao.CACHE_NAME, 1, 1, 0, 1));
+  }
+
+  @Test
+  public void findById_missingEntity_isRemembered() {
+    when(delegate.findById(TEST_UUID)).thenReturn(Optional.empty());
+
+    assertThat(dao.findById(TEST_UUID)).isEmpty();
+    assertThat(dao.findById(TEST_UUID)).isEmpty();
+
+    verify(delegate).findById(TEST_UUID);
+  }
+
+  @Test
+  public void findById_callerModifiesResult_doesNotChangeCachedEntity() {
+    when(delegate.findById(TEST_UUID)).thenReturn(Optional.of(new TestTable(TEST_UUID, "Cached")));
+
+    dao.findById(TEST_UUID).orElseThrow().setName("Modified");
+
+    assertThat(dao.findById(TEST_UUID).map(TestTable::getName)).hasValue("Cached");
+  }
+
+  @Test
+  public void save_invalidatesCachedEntity() {
+    TestTable updated = new TestTable(TEST_UUID, "Updated");
+    when(delegate.findById(TEST_UUID))
+        .thenReturn(Optional.empty())
+        .thenReturn(Optional.of(updated));
+    dao.findById(TEST_UUID);
+
+    dao.save(updated);
+
+    assertThat(dao.findById(TEST_UUID)).hasValue(updated);
+    verify(delegate).save(updated);
+  }
+
+  @Test
+  public void save_failure_stillInvalidatesCachedEntity() {
+    TestTable entity = new TestTable(TEST_UUID, "Entity");
+    when(delegate.findById(TEST_UUID)).thenReturn(Optional.empty());
+    doThrow(new RuntimeException("Commit error")).when(delegate).save(entity);
+    dao.findById(TEST_UUID);
+
+    assertThatThrownBy(() -> dao.save(entity)).hasMessage("Commit error");
+    dao.findById(TEST_UUID);
+
+    verify(delegate, times(2)).findById(TEST_UUID);
+  }
+
+  @Test
+  public void saveAll_invalidatesEveryCachedEntity() {
+    UUID otherId = UUID.randomUUID();
+    List<TestTable> entities =
+        List.of(new TestTable(TEST_UUID, "First"), new TestTable(otherId, "Second"));
+    when(delegate.findById(TEST_UUID)).thenReturn(Optional.empty());
+    when(delegate.findById(otherId)).thenReturn(Optional.empty());
+    dao.findById(TEST_UUID);
+    dao.findById(otherId);
+
+    dao.saveAll(entities);
+    dao.findById(TEST_UUID);
+    dao.findById(otherId);
+
+    verify(delegate).saveAll(entities);
+    verify(delegate, times(2)).findById(TEST_UUID);
+    verify(delegate, times(2)).findById(otherId);
+  }
+}
@@ -0,0 +1,84 @@
+package org.larpconnect.data;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.larpconnect.common.MapEnvironment;
+
+/** Unit tests for {@link ConnectionPoolConfigurationProvider}. */
+public final class ConnectionPoolConfigurationProviderTest {
+  @Test
+  public void get_withDefaultEnvironment_returnsDefaultConfiguration() {
+    ConnectionPoolConfigurationProvider provider =
+        new ConnectionPoolConfigurationProvider(new MapEnvironment(Map.of()));
+
+    assertThat(provider.get())
+        .isEqualTo(
+            new ConnectionPoolConfiguration(
+                2,
+                10,
+                Duration.ofSeconds(5),
+                Duration.ofMinutes(10),
+                Duration.ofMinutes(30),
+                Duration.ofSeconds(2)));
+  }
+
+  @Test
+  public void get_withCustomEnvironment_returnsCustomConfiguration() {
+    MapEnvironment environment =
+        new MapEnvironment(
+            Map.of(
+                "DB_POOL_MIN_IDLE", "4",
+                "DB_POOL_MAX_SIZE", "32",
+                "DB_POOL_ACQUIRE_TIMEOUT_MS", "750",
+                "DB_POOL_IDLE_TIMEOUT_MS", "60000",
+                "DB_POOL_MAX_LIFETIME_MS", "120000",
+                "DB_POOL_VALIDATION_TIMEOUT_MS", "500"));
+
+    assertThat(new ConnectionPoolConfigurationProvider(environment).get())
+        .isEqualTo(
+            new ConnectionPoolConfiguration(
+                4,
+                32,
+                Duration.ofMillis(750),
+                Duration.ofMinutes(1),
+                Duration.ofMinutes(2),
+                Duration.ofMillis(500)));
+  }
+
+  @Test
+  public void get_withOutOfRangeSizes_clampsToValidBounds() {
+    MapEnvironment environment =
+        new MapEnvironment(Map.of("DB_POOL_MIN_IDLE", "50", "DB_POOL_MAX_SIZE", "0"));
+
+    assertThat(new ConnectionPoolConfigurationProvider(environment).get())
+        .extracting(
+            ConnectionPoolConfiguration::minimumIdle, ConnectionPoolConfiguration::maximumPoolSize)
+        .containsExactly(1, 1);
+  }
+
+  @Test
+  public void get_withNegativeMinimumIdle_clampsToZero() {
+    MapEnvironment environment = new MapEnvironment(Map.of("DB_POOL_MIN_IDLE", "-3"));
+
+    assertThat(new ConnectionPoolConfigurationProvider(environment).get().minimumIdle()).isZero();
+  }
+
+  @Test
+  public void constructor_withInvalidSizes_throwsIllegalArgumentException() {
+    Duration timeout = Duration.ofSeconds(1);
+
+    assertThatThrownBy(
+            () -> new ConnectionPoolConfiguration(0, 0, timeout, timeout, timeout, timeout))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(
+            () -> new ConnectionPoolConfiguration(5, 2, timeout, timeout, timeout, timeout))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(
+            () -> new ConnectionPoolConfiguration(-1, 2, timeout, timeout, timeout, timeout))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
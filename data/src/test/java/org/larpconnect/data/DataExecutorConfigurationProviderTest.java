@@ -0,0 +1,50 @@
+package org.larpconnect.data;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.larpconnect.common.MapEnvironment;
+
+/** Unit tests for {@link DataExecutorConfigurationProvider}. */
+public final class DataExecutorConfigurationProviderTest {
+  private static final Duration TIMEOUT = Duration.ofSeconds(1);
+  private static final ConnectionPoolConfiguration POOL =
+      new ConnectionPoolConfiguration(1, 6, TIMEOUT, TIMEOUT, TIMEOUT, TIMEOUT);
+
+  @Test
+  public void get_withDefaultEnvironment_sizesThreadsToPool() {
+    DataExecutorConfigurationProvider provider =
+        new DataExecutorConfigurationProvider(new MapEnvironment(Map.of()), () -> POOL);
+
+    assertThat(provider.get()).isEqualTo(new DataExecutorConfiguration(6, 1_000));
+  }
+
+  @Test
+  public void get_withCustomEnvironment_returnsCustomConfiguration() {
+    MapEnvironment environment =
+        new MapEnvironment(Map.of("DB_EXECUTOR_THREADS", "3", "DB_EXECUTOR_QUEUE_CAPACITY", "50"));
+
+    assertThat(new DataExecutorConfigurationProvider(environment, () -> POOL).get())
+        .isEqualTo(new DataExecutorConfiguration(3, 50));
+  }
+
+  @Test
+  public void get_withNonPositiveValues_clampsToOne() {
+    MapEnvironment environment =
+        new MapEnvironment(Map.of("DB_EXECUTOR_THREADS", "0", "DB_EXECUTOR_QUEUE_CAPACITY", "-5"));
+
+    assertThat(new DataExecutorConfigurationProvider(environment, () -> POOL).get())
+        .isEqualTo(new DataExecutorConfiguration(1, 1));
+  }
+
+  @Test
+  public void constructor_withInvalidSizes_throwsIllegalArgumentException() {
+    assertThatThrownBy(() -> new DataExecutorConfiguration(0, 1))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> new DataExecutorConfiguration(1, 0))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
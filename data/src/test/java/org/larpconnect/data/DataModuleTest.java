@@ -1,16 +1,24 @@
 package org.larpconnect.data;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.google.inject.AbstractModule;
 import com.google.inject.Guice;
 import com.google.inject.Inject;
+import com.google.inject.Key;
 import com.google.inject.Provider;
+import com.google.inject.TypeLiteral;
+import com.google.inject.util.Modules;
+import java.time.Duration;
+import java.util.List;
 import java.util.Map;
-import org.flywaydb.core.Flyway;
+import java.util.Set;
+import javax.sql.DataSource;
 import org.hibernate.SessionFactory;
 import org.hibernate.boot.Metadata;
 import org.hibernate.boot.MetadataBuilder;
@@ -18,17 +26,22 @@ import org.hibernate.boot.MetadataSources;
 import org.hibernate.boot.SessionFactoryBuilder;
 import org.hibernate.boot.registry.StandardServiceRegistry;
 import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.larpconnect.common.Environment;
 import org.larpconnect.common.MapEnvironment;
+import org.larpconnect.common.MetricRegistry;
+import org.larpconnect.common.ShutdownParticipant;
+import org.larpconnect.common.ShutdownPhase;
+import org.larpconnect.common.TenantRegistry;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 /** Unit tests for the database layer configuration. */
 @ExtendWith(MockitoExtension.class)
 public final class DataModuleTest {
-  @Mock private DatabaseConfiguration config;
+  @Mock private DataSource dataSource;
   @Mock private HibernateFactory hibernateFactory;
   @Mock private StandardServiceRegistryBuilder registryBuilder;
   @Mock private StandardServiceRegistry registry;
@@ -37,13 +50,20 @@ public final class DataModuleTest {
   @Mock private Metadata metadata;
   @Mock private SessionFactoryBuilder sessionFactoryBuilder;
   @Mock private SessionFactory sessionFactoryMock;
-  @Mock private Flyway flyway;
 
   @Inject private DatabaseMigrator databaseMigrator;
   @Inject private FlywayMigrator flywayMigrator;
   @Inject private HibernateFactory factory;
   @Inject private TestTableDao testTableDao;
   @Inject private Provider<SessionFactory> sessionFactoryProvider;
+  @Inject private ConnectionPoolMonitor connectionPoolMonitor;
+  @Inject private AsyncTestTableDao asyncTestTableDao;
+  @Inject private EntityCacheMonitor entityCacheMonitor;
+  @Inject private TenantRegistry tenantRegistry;
+  @Inject private TenantRegistryService tenantRegistryService;
+  @Inject private AsyncOutboxDao asyncOutboxDao;
+  @Inject private TenantSessionFactory tenantSessionFactory;
+  @Inject private SessionFactoryInitializer sessionFactoryInitializer;
 
   @Test
   public void createInjector_withModule_resolvesBindings() {
@@ -58,18 +78,71 @@ public final class DataModuleTest {
         .injectMembers(this);
 
     assertThat(databaseMigrator).isNotNull();
-    assertThat(flywayMigrator).isNotNull();
+    assertThat(flywayMigrator).isInstanceOf(DefaultFlywayMigrator.class);
     assertThat(factory).isNotNull();
     assertThat(testTableDao).isNotNull();
     assertThat(sessionFactoryProvider).isNotNull();
+    assertThat(connectionPoolMonitor).isNotNull();
+    assertThat(asyncTestTableDao).isNotNull();
+    assertThat(testTableDao).isInstanceOf(CachingTestTableDao.class);
+    assertThat(asyncOutboxDao).isInstanceOf(DefaultAsyncOutboxDao.class);
+    assertThat(tenantSessionFactory).isInstanceOf(DefaultTenantSessionFactory.class);
+    assertThat(sessionFactoryInitializer).isInstanceOf(DefaultSessionFactoryInitializer.class);
+    assertThat(tenantRegistry).isNotNull();
+    assertThat(tenantRegistryService.isRunning()).isFalse();
+    assertThat(entityCacheMonitor.stats())
+        .extracting(EntityCacheStats::name)
+        .containsExactly(CachingTestTableDao.CACHE_NAME);
   }
 
   @Test
-  public void provideSessionFactory_configuresSettingsAndAnnotatedClasses() {
-    when(config.getJdbcUrl()).thenReturn("jdbc:postgresql://localhost:5432/db");
-    when(config.username()).thenReturn("user");
-    when(config.password()).thenReturn("pass");
+  public void createInjector_withModule_flushesAndClosesOnShutdown() throws Exception {
+    Set<ShutdownParticipant> participants =
+        Guice.createInjector(
+                new DataModule(),
+                binder -> binder.bind(Environment.class).toInstance(new MapEnvironment(Map.of())))
+            .getInstance(Key.get(new TypeLiteral<Set<ShutdownParticipant>>() {}));
+
+    assertThat(participants)
+        .extracting(ShutdownParticipant::name, ShutdownParticipant::phase)
+        .containsExactlyInAnyOrder(
+            tuple("data-executor", ShutdownPhase.FLUSH), tuple("database", ShutdownPhase.CLOSE));
+    // Nothing was built, so nothing is waited for and no pool is created just to be closed
+    for (ShutdownParticipant participant : participants) {
+      participant.action().run(Duration.ofSeconds(1));
+    }
+  }
+
+  @Test
+  public void createInjector_withModule_exposesMetrics() {
+    MetricRegistry registry =
+        Guice.createInjector(
+                Modules.override(new DataModule())
+                    .with(
+                        binder -> {
+                          binder
+                              .bind(ConnectionPoolMonitor.class)
+                              .toInstance(() -> new ConnectionPoolStats(2, 3, 5, 1));
+                          binder.bind(EntityCacheMonitor.class).toInstance(List::of);
+                        }),
+                binder -> binder.bind(Environment.class).toInstance(new MapEnvironment(Map.of())))
+            .getInstance(MetricRegistry.class);
+
+    assertThat(registry.scrape())
+        .contains(
+            "data_test_table_reads_total 0\n",
+            "data_test_table_rows_written_total 0\n",
+            "data_test_table_transaction_failures_total 0\n",
+            "data_test_table_transaction_seconds_count 0\n",
+            "data_pool_connections{state=\"active\"} 2\n",
+            "data_pool_connections{state=\"idle\"} 3\n",
+            "data_pool_connections{state=\"pending\"} 1\n",
+            "# TYPE data_cache_hits_total counter\n",
+            "# TYPE data_cache_misses_total counter\n");
+  }
 
+  @Test
+  public void provideSessionFactory_configuresSettingsAndAnnotatedClasses() {
     when(hibernateFactory.createRegistryBuilder()).thenReturn(registryBuilder);
     when(registryBuilder.applySettings(anyMap())).thenReturn(registryBuilder);
     when(registryBuilder.build()).thenReturn(registry);
@@ -79,16 +152,29 @@ public final class DataModuleTest {
     when(metadata.getSessionFactoryBuilder()).thenReturn(sessionFactoryBuilder);
     when(sessionFactoryBuilder.build()).thenReturn(sessionFactoryMock);
 
-    SessionFactoryProvider provider = new SessionFactoryProvider(config, hibernateFactory);
+    SessionFactoryProvider provider =
+        new SessionFactoryProvider(
+            () -> dataSource,
+            hibernateFactory,
+            new BatchConfiguration(25),
+            new TenantConnectionProvider(() -> dataSource));
     SessionFactory sessionFactory = provider.get();
 
     assertThat(sessionFactory).isSameAs(sessionFactoryMock);
     verify(metadataSources).addAnnotatedClass(TestTable.class);
-  }
-
-  @Test
-  public void defaultFlywayMigrator_canBeInstantiated() {
-    DefaultFlywayMigrator migrator = new DefaultFlywayMigrator(() -> flyway);
-    assertThat(migrator).isNotNull();
+    verify(metadataSources).addAnnotatedClass(Studio.class);
+    verify(metadataSources).addAnnotatedClass(StudioAlias.class);
+    verify(metadataSources).addAnnotatedClass(OutboxEntry.class);
+    verify(registryBuilder)
+        .applySettings(
+            argThat(
+                (Map<String, Object> settings) ->
+                    settings.get(AvailableSettings.JAKARTA_NON_JTA_DATASOURCE) == dataSource
+                        && settings.get(AvailableSettings.STATEMENT_BATCH_SIZE).equals(25)
+                        && settings.get(AvailableSettings.ORDER_INSERTS).equals(true)
+                        && settings.get(AvailableSettings.MULTI_TENANT_CONNECTION_PROVIDER)
+                            instanceof TenantConnectionProvider
+                        && settings.get(AvailableSettings.MULTI_TENANT_IDENTIFIER_RESOLVER)
+                            instanceof NoTenantResolver));
   }
 }
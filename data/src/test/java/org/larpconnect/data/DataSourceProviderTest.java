@@ -0,0 +1,83 @@
+package org.larpconnect.data;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/** Unit tests for {@link DataSourceProvider}. */
+@ExtendWith(MockitoExtension.class)
+public final class DataSourceProviderTest {
+  private static final DatabaseConfiguration DATABASE =
+      new DatabaseConfiguration("db-host", 5433, "db", "user", "secret");
+  private static final ConnectionPoolConfiguration POOL =
+      new ConnectionPoolConfiguration(
+          3,
+          12,
+          Duration.ofMillis(800),
+          Duration.ofSeconds(90),
+          Duration.ofMinutes(20),
+          Duration.ofMillis(400));
+
+  @Mock private ConnectionPoolFactory poolFactory;
+  @Mock private HikariDataSource dataSource;
+
+  @Test
+  public void createConfig_mapsDatabaseAndPoolSettings() {
+    HikariConfig config = new DataSourceProvider(DATABASE, POOL, poolFactory).createConfig();
+
+    assertThat(config)
+        .extracting(
+            HikariConfig::getPoolName,
+            HikariConfig::getJdbcUrl,
+            HikariConfig::getUsername,
+            HikariConfig::getPassword,
+            HikariConfig::getMinimumIdle,
+            HikariConfig::getMaximumPoolSize,
+            HikariConfig::getConnectionTimeout,
+            HikariConfig::getIdleTimeout,
+            HikariConfig::getMaxLifetime,
+            HikariConfig::getValidationTimeout)
+        .containsExactly(
+            DataSourceProvider.POOL_NAME,
+            "jdbc:postgresql://db-host:5433/db",
+            "user",
+            "secret",
+            3,
+            12,
+            800L,
+            90_000L,
+            1_200_000L,
+            400L);
+  }
+
+  @Test
+  public void createConfig_enablesDriverBatchRewriting() {
+    HikariConfig config = new DataSourceProvider(DATABASE, POOL, poolFactory).createConfig();
+
+    assertThat(config.getDataSourceProperties()).containsEntry("reWriteBatchedInserts", "true");
+  }
+
+  @Test
+  public void createConfig_withNullPassword_leavesPasswordUnset() {
+    DatabaseConfiguration noPassword = new DatabaseConfiguration("h", 1, "d", "u", null);
+
+    HikariConfig config = new DataSourceProvider(noPassword, POOL, poolFactory).createConfig();
+
+    assertThat(config.getPassword()).isNull();
+  }
+
+  @Test
+  public void get_createsPoolThroughFactory() {
+    when(poolFactory.create(any(HikariConfig.class))).thenReturn(dataSource);
+
+    assertThat(new DataSourceProvider(DATABASE, POOL, poolFactory).get()).isSameAs(dataSource);
+  }
+}
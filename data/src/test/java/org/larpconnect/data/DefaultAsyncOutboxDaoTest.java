@@ -0,0 +1,71 @@
+package org.larpconnect.data;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/** Unit tests for {@link DefaultAsyncOutboxDao}. */
+@ExtendWith(MockitoExtension.class)
+public final class DefaultAsyncOutboxDaoTest {
+  @Mock private OutboxDao dao;
+
+  private DefaultAsyncOutboxDao asyncDao;
+
+  @BeforeEach
+  public void setUp() {
+    asyncDao =
+        new DefaultAsyncOutboxDao(
+            dao, new DefaultDataExecutor(new DataExecutorConfiguration(1, 10)));
+  }
+
+  @Test
+  public void append_delegatesToDao() {
+    List<OutboxMessage> messages =
+        List.of(OutboxMessage.create(UUID.randomUUID(), "", "outbox", "{}"));
+
+    asyncDao.append(messages).toCompletableFuture().orTimeout(5, TimeUnit.SECONDS).join();
+
+    verify(dao).append(messages);
+  }
+
+  @Test
+  public void relay_completesWithDaoResult() {
+    OutboxSink sink = batch -> {};
+    when(dao.relay(10, sink)).thenReturn(4);
+
+    assertThat(asyncDao.relay(10, sink).toCompletableFuture().orTimeout(5, TimeUnit.SECONDS).join())
+        .isEqualTo(4);
+  }
+
+  @Test
+  public void partitionMaintenance_completesWithDaoResults() {
+    Instant before = Instant.parse("2026-10-16T00:00:00Z");
+    when(dao.createPartitions(7)).thenReturn(1);
+    when(dao.dropPartitions(before)).thenReturn(2);
+
+    assertThat(
+            asyncDao
+                .createPartitions(7)
+                .toCompletableFuture()
+                .orTimeout(5, TimeUnit.SECONDS)
+                .join())
+        .isEqualTo(1);
+    assertThat(
+            asyncDao
+                .dropPartitions(before)
+                .toCompletableFuture()
+                .orTimeout(5, TimeUnit.SECONDS)
+                .join())
+        .isEqualTo(2);
+  }
+}
@@ -0,0 +1,61 @@
+package org.larpconnect.data;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/** Unit tests for {@link DefaultAsyncTestTableDao}. */
+@ExtendWith(MockitoExtension.class)
+public final class DefaultAsyncTestTableDaoTest {
+  private static final UUID TEST_UUID = UUID.fromString("00000000-0000-0000-0000-000000000001");
+
+  @Mock private TestTableDao dao;
+
+  private DefaultAsyncTestTableDao asyncDao;
+
+  @BeforeEach
+  public void setUp() {
+    asyncDao =
+        new DefaultAsyncTestTableDao(
+            dao, new DefaultDataExecutor(new DataExecutorConfiguration(1, 10)));
+  }
+
+  @Test
+  public void save_delegatesToDao() {
+    TestTable entity = new TestTable(TEST_UUID, "Async Entity");
+
+    asyncDao.save(entity).toCompletableFuture().orTimeout(5, TimeUnit.SECONDS).join();
+
+    verify(dao).save(entity);
+  }
+
+  @Test
+  public void saveAll_delegatesToDao() {
+    List<TestTable> entities = List.of(new TestTable(TEST_UUID, "Async Entity"));
+
+    asyncDao.saveAll(entities).toCompletableFuture().orTimeout(5, TimeUnit.SECONDS).join();
+
+    verify(dao).saveAll(entities);
+  }
+
+  @Test
+  public void findById_completesWithDaoResult() {
+    TestTable entity = new TestTable(TEST_UUID, "Async Entity");
+    when(dao.findById(TEST_UUID)).thenReturn(Optional.of(entity));
+
+    Optional<TestTable> result =
+        asyncDao.findById(TEST_UUID).toCompletableFuture().orTimeout(5, TimeUnit.SECONDS).join();
+
+    assertThat(result).hasValue(entity);
+  }
+}
@@ -0,0 +1,44 @@
+package org.larpconnect.data;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for {@link DefaultConnectionPoolFactory}. */
+public final class DefaultConnectionPoolFactoryTest {
+  @Test
+  public void create_withLazyConfig_returnsNamedPool() {
+    HikariConfig config = new HikariConfig();
+    config.setPoolName("factory-test");
+    config.setJdbcUrl("jdbc:postgresql://localhost:1/unused");
+    config.setMinimumIdle(0);
+    config.setInitializationFailTimeout(-1);
+
+    try (HikariDataSource dataSource = new DefaultConnectionPoolFactory().create(config)) {
+      assertThat(dataSource.getPoolName()).isEqualTo("factory-test");
+    }
+  }
+
+  @Test
+  public void closeAll_closesEveryCreatedPool() {
+    DefaultConnectionPoolFactory factory = new DefaultConnectionPoolFactory();
+    HikariDataSource first = factory.create(lazyConfig("factory-first"));
+    HikariDataSource second = factory.create(lazyConfig("factory-second"));
+
+    factory.closeAll();
+
+    assertThat(first.isClosed()).isTrue();
+    assertThat(second.isClosed()).isTrue();
+  }
+
+  private static HikariConfig lazyConfig(String poolName) {
+    HikariConfig config = new HikariConfig();
+    config.setPoolName(poolName);
+    config.setJdbcUrl("jdbc:postgresql://localhost:1/unused");
+    config.setMinimumIdle(0);
+    config.setInitializationFailTimeout(-1);
+    return config;
+  }
+}
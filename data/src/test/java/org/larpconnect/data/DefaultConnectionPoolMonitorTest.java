@@ -0,0 +1,38 @@
+package org.larpconnect.data;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/** Unit tests for {@link DefaultConnectionPoolMonitor}. */
+@ExtendWith(MockitoExtension.class)
+public final class DefaultConnectionPoolMonitorTest {
+  @Mock private HikariDataSource dataSource;
+  @Mock private HikariPoolMXBean pool;
+
+  @Test
+  public void stats_withRunningPool_returnsPoolCounts() {
+    when(dataSource.getHikariPoolMXBean()).thenReturn(pool);
+    when(pool.getActiveConnections()).thenReturn(3);
+    when(pool.getIdleConnections()).thenReturn(2);
+    when(pool.getTotalConnections()).thenReturn(5);
+    when(pool.getThreadsAwaitingConnection()).thenReturn(7);
+
+    assertThat(new DefaultConnectionPoolMonitor(() -> dataSource).stats())
+        .isEqualTo(new ConnectionPoolStats(3, 2, 5, 7));
+  }
+
+  @Test
+  public void stats_withoutPool_returnsEmptyStats() {
+    when(dataSource.getHikariPoolMXBean()).thenReturn(null);
+
+    assertThat(new DefaultConnectionPoolMonitor(() -> dataSource).stats())
+        .isEqualTo(new ConnectionPoolStats(0, 0, 0, 0));
+  }
+}
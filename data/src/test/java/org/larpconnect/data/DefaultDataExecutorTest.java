@@ -0,0 +1,100 @@
+package org.larpconnect.data;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for {@link DefaultDataExecutor}. */
+public final class DefaultDataExecutorTest {
+  @Test
+  public void submit_runsWorkOffCallerThread() {
+    DefaultDataExecutor executor = new DefaultDataExecutor(new DataExecutorConfiguration(1, 1));
+
+    CompletionStage<String> result = executor.submit(() -> Thread.currentThread().getName());
+
+    assertThat(result.toCompletableFuture().orTimeout(5, TimeUnit.SECONDS).join())
+        .startsWith("data-executor-");
+  }
+
+  @Test
+  public void submit_whenSaturated_failsWithSaturatedException() throws InterruptedException {
+    DefaultDataExecutor executor = new DefaultDataExecutor(new DataExecutorConfiguration(1, 1));
+    CountDownLatch release = new CountDownLatch(1);
+    CountDownLatch running = new CountDownLatch(1);
+    try {
+      executor.submit(() -> awaitRelease(running, release));
+      assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+      executor.submit(() -> "queued");
+
+      CompletableFuture<String> rejected = executor.submit(() -> "rejected").toCompletableFuture();
+
+      assertThat(rejected)
+          .isCompletedExceptionally()
+          .failsWithin(0, TimeUnit.SECONDS)
+          .withThrowableOfType(Exception.class)
+          .withCauseInstanceOf(DataExecutorSaturatedException.class);
+    } finally {
+      release.countDown();
+    }
+  }
+
+  @Test
+  public void shutDown_waitsForAcceptedWorkAndRejectsNewWork() throws InterruptedException {
+    DefaultDataExecutor executor = new DefaultDataExecutor(new DataExecutorConfiguration(1, 1));
+    CompletableFuture<String> accepted =
+        executor
+            .submit(
+                () -> {
+                  sleep(50);
+                  return "done";
+                })
+            .toCompletableFuture();
+
+    assertThat(executor.shutDown(Duration.ofSeconds(5))).isTrue();
+
+    assertThat(accepted).isCompletedWithValue("done");
+    assertThat(executor.submit(() -> "late").toCompletableFuture())
+        .failsWithin(0, TimeUnit.SECONDS)
+        .withThrowableOfType(Exception.class)
+        .withCauseInstanceOf(DataExecutorSaturatedException.class)
+        .withMessageContaining("shut down");
+  }
+
+  @Test
+  public void shutDown_pastTimeout_returnsFalse() throws InterruptedException {
+    DefaultDataExecutor executor = new DefaultDataExecutor(new DataExecutorConfiguration(1, 1));
+    CountDownLatch release = new CountDownLatch(1);
+    CountDownLatch running = new CountDownLatch(1);
+    try {
+      executor.submit(() -> awaitRelease(running, release));
+      assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+
+      assertThat(executor.shutDown(Duration.ofMillis(10))).isFalse();
+    } finally {
+      release.countDown();
+    }
+  }
+
+  private static void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static String awaitRelease(CountDownLatch running, CountDownLatch release) {
+    running.countDown();
+    try {
+      release.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    return "released";
+  }
+}
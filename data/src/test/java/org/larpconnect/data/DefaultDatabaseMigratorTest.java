@@ -1,8 +1,18 @@
 package org.larpconnect.data;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
-import org.junit.jupiter.api.BeforeEach;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
@@ -13,17 +23,98 @@ import org.mockito.junit.jupiter.MockitoExtension;
 public final class DefaultDatabaseMigratorTest {
   @Mock private DatabaseConfiguration config;
   @Mock private FlywayMigrator migrator;
+  @Mock private SchemaHistoryProbe probe;
 
-  private DefaultDatabaseMigrator databaseMigrator;
+  @Test
+  public void migrate_withStaleHistory_migratesEverySchemaInOrder() {
+    when(migrator.migrate(eq(config), anyString())).thenReturn(2);
+
+    assertThat(migrator(new MigrationConfiguration(true, 4)).migrate())
+        .allSatisfy(
+            result -> {
+              assertThat(result.applied()).isEqualTo(2);
+              assertThat(result.skipped()).isFalse();
+              assertThat(result.elapsed()).isGreaterThanOrEqualTo(Duration.ZERO);
+            })
+        .extracting(SchemaMigrationResult::schema)
+        .containsExactlyElementsOf(DefaultDatabaseMigrator.SCHEMAS.keySet());
+  }
+
+  @Test
+  public void migrate_withCurrentHistory_skipsFlyway() {
+    when(probe.isCurrent(anyString()))
+        .thenAnswer(invocation -> invocation.getArgument(0).equals("njall_admin"));
+
+    assertThat(migrator(new MigrationConfiguration(true, 1)).migrate())
+        .filteredOn(SchemaMigrationResult::skipped)
+        .extracting(SchemaMigrationResult::schema)
+        .containsExactly("njall_admin");
+    verify(migrator, never()).migrate(config, "njall_admin");
+    verify(migrator).migrate(config, "public");
+    verify(migrator).migrate(config, "njall_users");
+  }
+
+  @Test
+  public void migrate_withFastPathDisabled_neverProbes() {
+    assertThat(migrator(new MigrationConfiguration(false, 1)).migrate())
+        .noneMatch(SchemaMigrationResult::skipped);
+    verify(probe, never()).isCurrent(anyString());
+  }
+
+  @Test
+  public void migrate_withParallelism_migratesIndependentSchemasConcurrently() {
+    int schemas = DefaultDatabaseMigrator.SCHEMAS.size();
+    CountDownLatch allStarted = new CountDownLatch(schemas);
+    Set<String> concurrent = ConcurrentHashMap.newKeySet();
+    when(migrator.migrate(eq(config), anyString()))
+        .thenAnswer(
+            invocation -> {
+              allStarted.countDown();
+              if (allStarted.await(5, TimeUnit.SECONDS)) {
+                concurrent.add(invocation.getArgument(1));
+              }
+              return 0;
+            });
+
+    migrator(new MigrationConfiguration(false, schemas)).migrate();
+
+    assertThat(concurrent)
+        .containsExactlyInAnyOrderElementsOf(DefaultDatabaseMigrator.SCHEMAS.keySet());
+  }
+
+  @Test
+  public void migrate_whenASchemaFails_waitsForTheOthersAndRethrows() {
+    IllegalStateException failure = new IllegalStateException("broken migration");
+    failOn("public", failure);
 
-  @BeforeEach
-  public void setUp() {
-    databaseMigrator = new DefaultDatabaseMigrator(config, migrator);
+    assertThatThrownBy(() -> migrator(new MigrationConfiguration(false, 4)).migrate())
+        .isSameAs(failure);
+    verify(migrator).migrate(config, "njall_admin");
+    verify(migrator).migrate(config, "njall_users");
   }
 
   @Test
-  public void migrate_callsMigrator() {
-    databaseMigrator.migrate();
-    verify(migrator).migrate(config);
+  public void migrate_whenASchemaFailsWithAnError_wrapsIt() {
+    AssertionError failure = new AssertionError("broken migration");
+    failOn("njall_users", failure);
+
+    assertThatThrownBy(() -> migrator(new MigrationConfiguration(false, 1)).migrate())
+        .isInstanceOf(IllegalStateException.class)
+        .hasCause(failure);
+  }
+
+  private DefaultDatabaseMigrator migrator(MigrationConfiguration migrationConfig) {
+    return new DefaultDatabaseMigrator(config, migrator, probe, migrationConfig);
+  }
+
+  private void failOn(String schema, Throwable failure) {
+    when(migrator.migrate(eq(config), anyString()))
+        .thenAnswer(
+            invocation -> {
+              if (invocation.getArgument(1).equals(schema)) {
+                throw failure;
+              }
+              return 0;
+            });
   }
 }
@@ -0,0 +1,32 @@
+package org.larpconnect.data;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for {@link DefaultEntityCacheFactory}. */
+public final class DefaultEntityCacheFactoryTest {
+  private final DefaultEntityCacheFactory factory =
+      new DefaultEntityCacheFactory(
+          new CacheConfiguration(10L, Duration.ofMinutes(1), Duration.ofSeconds(1)));
+
+  @Test
+  public void stats_withoutCaches_isEmpty() {
+    assertThat(factory.stats()).isEmpty();
+  }
+
+  @Test
+  public void stats_reportsEveryCreatedCacheInOrder() {
+    ReadThroughCache<Integer, String> first = factory.create("first");
+    factory.create("second");
+
+    first.get(1, key -> Optional.of("one"));
+    first.get(1, key -> Optional.of("one"));
+
+    assertThat(factory.stats())
+        .containsExactly(
+            new EntityCacheStats("first", 1, 1, 0, 1), new EntityCacheStats("second", 0, 0, 0, 0));
+  }
+}
@@ -0,0 +1,189 @@
+package org.larpconnect.data;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.google.inject.Provider;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+import org.hibernate.query.MutationQuery;
+import org.hibernate.query.NativeQuery;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/** Unit tests for {@link DefaultOutboxDao}. */
+@ExtendWith(MockitoExtension.class)
+public final class DefaultOutboxDaoTest {
+  private static final UUID TENANT = UUID.fromString("0190a6f2-3b4c-7d8e-9f00-112233445566");
+  private static final OutboxMessage FIRST =
+      new OutboxMessage(
+          UUID.fromString("01a14f02-0c95-7000-8000-000000000001"), TENANT, "", "outbox", "{}");
+  private static final OutboxMessage SECOND =
+      new OutboxMessage(
+          UUID.fromString("01a14f02-0c95-7001-8000-000000000002"), TENANT, "", "outbox", "{}");
+  private static final OutboxMessage THIRD =
+      new OutboxMessage(
+          UUID.fromString("81a14f02-0c95-7000-8000-000000000003"), TENANT, "", "outbox", "{}");
+
+  @Mock private Provider<SessionFactory> sessionFactoryProvider;
+  @Mock private SessionFactory sessionFactory;
+  @Mock private StatelessSession session;
+  @Mock private Transaction transaction;
+  @Mock private MutationQuery insert;
+  @Mock private NativeQuery<OutboxEntry> claim;
+  @Mock private NativeQuery<Integer> maintenance;
+
+  private DefaultOutboxDao dao;
+
+  @BeforeEach
+  public void setUp() {
+    lenient().when(sessionFactoryProvider.get()).thenReturn(sessionFactory);
+    lenient().when(sessionFactory.openStatelessSession()).thenReturn(session);
+    lenient().when(session.beginTransaction()).thenReturn(transaction);
+    lenient().when(session.createMutationQuery(anyString())).thenReturn(insert);
+    lenient()
+        .when(session.createNativeQuery(DefaultOutboxDao.CLAIM, OutboxEntry.class))
+        .thenReturn(claim);
+    lenient().when(claim.setParameter("limit", 10)).thenReturn(claim);
+    dao = new DefaultOutboxDao(sessionFactoryProvider, new BatchConfiguration(2));
+  }
+
+  @Test
+  public void insertStatement_bindsFiveColumnsPerRow() {
+    assertThat(DefaultOutboxDao.insertStatement(2))
+        .isEqualTo(
+            "insert into OutboxEntry (id, tenantId, exchange, routingKey, payload) values "
+                + "(?1, ?2, ?3, ?4, ?5), (?6, ?7, ?8, ?9, ?10)");
+  }
+
+  @Test
+  public void append_sendsOneStatementPerBatchInOneTransaction() {
+    MutationQuery remainder = org.mockito.Mockito.mock(MutationQuery.class);
+    when(session.createMutationQuery(DefaultOutboxDao.insertStatement(1))).thenReturn(remainder);
+
+    dao.append(List.of(FIRST, SECOND, THIRD));
+
+    verify(session).createMutationQuery(DefaultOutboxDao.insertStatement(2));
+    verify(insert).setParameter(1, FIRST.id());
+    verify(insert).setParameter(6, SECOND.id());
+    verify(insert).setParameter(10, "{}");
+    verify(insert).executeUpdate();
+    verify(remainder).setParameter(1, THIRD.id());
+    verify(remainder).setParameter(2, TENANT);
+    verify(remainder).executeUpdate();
+    verify(transaction).commit();
+  }
+
+  @Test
+  public void append_empty_doesNotOpenSession() {
+    dao.append(List.of());
+
+    verifyNoInteractions(sessionFactoryProvider);
+  }
+
+  @Test
+  public void relay_claimedRows_deliversThemInIdOrderThenCommits() {
+    when(claim.getResultList())
+        .thenReturn(
+            List.of(new OutboxEntry(THIRD), new OutboxEntry(SECOND), new OutboxEntry(FIRST)));
+    List<OutboxMessage> delivered = new ArrayList<>();
+
+    assertThat(dao.relay(10, delivered::addAll)).isEqualTo(3);
+
+    // Unsigned order, as in PostgreSQL: THIRD's high bit makes it the largest.
+    assertThat(delivered).containsExactly(FIRST, SECOND, THIRD);
+    verify(transaction).commit();
+  }
+
+  @Test
+  public void relay_nothingClaimed_skipsSink() {
+    when(claim.getResultList()).thenReturn(List.of());
+
+    assertThat(dao.relay(10, batch -> assertThat(batch).isNotNull())).isZero();
+
+    verify(transaction).commit();
+  }
+
+  @Test
+  public void relay_sinkFails_rollsBackTheClaim() {
+    when(claim.getResultList()).thenReturn(List.of(new OutboxEntry(FIRST)));
+    when(transaction.isActive()).thenReturn(true);
+
+    assertThatThrownBy(
+            () ->
+                dao.relay(
+                    10,
+                    batch -> {
+                      throw new IllegalStateException("broker down");
+                    }))
+        .hasMessage("broker down");
+
+    verify(transaction).rollback();
+    verify(transaction, never()).commit();
+  }
+
+  @Test
+  public void relay_rollbackFails_suppressesException() {
+    when(claim.getResultList()).thenThrow(new IllegalStateException("claim failed"));
+    when(transaction.isActive()).thenReturn(true);
+    doThrow(new IllegalStateException("rollback failed")).when(transaction).rollback();
+
+    assertThatThrownBy(() -> dao.relay(10, batch -> {}))
+        .hasMessage("claim failed")
+        .satisfies(e -> assertThat(e.getSuppressed()).hasSize(1));
+  }
+
+  @Test
+  public void relay_inactiveTransaction_doesNotRollBack() {
+    when(claim.getResultList()).thenThrow(new IllegalStateException("claim failed"));
+    when(transaction.isActive()).thenReturn(false);
+
+    assertThatThrownBy(() -> dao.relay(10, batch -> {})).hasMessage("claim failed");
+
+    verify(transaction, never()).rollback();
+  }
+
+  @Test
+  public void relay_noTransaction_propagatesFailure() {
+    when(session.beginTransaction()).thenThrow(new IllegalStateException("no connection"));
+
+    assertThatThrownBy(() -> dao.relay(10, batch -> {})).hasMessage("no connection");
+  }
+
+  @Test
+  public void createPartitions_callsMaintenanceFunction() {
+    when(session.createNativeQuery(DefaultOutboxDao.CREATE_PARTITIONS, Integer.class))
+        .thenReturn(maintenance);
+    when(maintenance.setParameter("days", 7)).thenReturn(maintenance);
+    when(maintenance.getSingleResult()).thenReturn(2);
+
+    assertThat(dao.createPartitions(7)).isEqualTo(2);
+    verify(transaction).commit();
+  }
+
+  @Test
+  public void dropPartitions_callsMaintenanceFunction() {
+    Instant before = Instant.parse("2026-10-16T00:00:00Z");
+    when(session.createNativeQuery(DefaultOutboxDao.DROP_PARTITIONS, Integer.class))
+        .thenReturn(maintenance);
+    when(maintenance.setParameter("before", before)).thenReturn(maintenance);
+    when(maintenance.getSingleResult()).thenReturn(1);
+
+    assertThat(dao.dropPartitions(before)).isEqualTo(1);
+  }
+}
@@ -0,0 +1,63 @@
+package org.larpconnect.data;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/** Unit tests for {@link DefaultSessionFactoryInitializer}. */
+@ExtendWith(MockitoExtension.class)
+public final class DefaultSessionFactoryInitializerTest {
+  @Mock private SessionFactory sessionFactory;
+
+  @Test
+  public void initialize_buildsTheSessionFactory() {
+    AtomicInteger builds = new AtomicInteger();
+    DefaultSessionFactoryInitializer initializer =
+        new DefaultSessionFactoryInitializer(
+            () -> {
+              builds.incrementAndGet();
+              return sessionFactory;
+            });
+
+    initializer.initialize();
+
+    assertThat(builds).hasValue(1);
+  }
+
+  @Test
+  public void close_afterInitialize_closesTheSessionFactoryOnce() {
+    when(sessionFactory.isOpen()).thenReturn(true);
+    DefaultSessionFactoryInitializer initializer =
+        new DefaultSessionFactoryInitializer(() -> sessionFactory);
+    initializer.initialize();
+
+    initializer.close();
+    initializer.close();
+
+    verify(sessionFactory).close();
+  }
+
+  @Test
+  public void close_withoutInitialize_doesNotBuildTheSessionFactory() {
+    AtomicInteger builds = new AtomicInteger();
+    DefaultSessionFactoryInitializer initializer =
+        new DefaultSessionFactoryInitializer(
+            () -> {
+              builds.incrementAndGet();
+              return sessionFactory;
+            });
+
+    initializer.close();
+
+    assertThat(builds).hasValue(0);
+    verify(sessionFactory, never()).close();
+  }
+}
@@ -0,0 +1,61 @@
+package org.larpconnect.data;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.query.SelectionQuery;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/** Unit tests for {@link DefaultTenantRegistryDao}. */
+@ExtendWith(MockitoExtension.class)
+public final class DefaultTenantRegistryDaoTest {
+  private static final Instant SINCE = Instant.parse("2026-01-01T00:00:00Z");
+
+  @Mock private SessionFactory sessionFactory;
+  @Mock private StatelessSession session;
+  @Mock private SelectionQuery<Studio> studioQuery;
+  @Mock private SelectionQuery<StudioAlias> aliasQuery;
+
+  private DefaultTenantRegistryDao dao;
+
+  @BeforeEach
+  public void setUp() {
+    when(sessionFactory.openStatelessSession()).thenReturn(session);
+    dao = new DefaultTenantRegistryDao(() -> sessionFactory);
+  }
+
+  @Test
+  public void findStudiosUpdatedSince_returnsQueryResultsAndClosesSession() {
+    Studio studio = new Studio(UUID.randomUUID(), UUID.randomUUID(), false, SINCE);
+    when(session.createSelectionQuery("from Studio where updatedAt >= :since", Studio.class))
+        .thenReturn(studioQuery);
+    when(studioQuery.setParameter("since", SINCE)).thenReturn(studioQuery);
+    when(studioQuery.getResultList()).thenReturn(List.of(studio));
+
+    assertThat(dao.findStudiosUpdatedSince(SINCE)).containsExactly(studio);
+    verify(session).close();
+  }
+
+  @Test
+  public void findAliasesUpdatedSince_returnsQueryResultsAndClosesSession() {
+    StudioAlias alias = new StudioAlias("larp-co", UUID.randomUUID(), false, SINCE);
+    when(session.createSelectionQuery(
+            "from StudioAlias where updatedAt >= :since", StudioAlias.class))
+        .thenReturn(aliasQuery);
+    when(aliasQuery.setParameter("since", SINCE)).thenReturn(aliasQuery);
+    when(aliasQuery.getResultList()).thenReturn(List.of(alias));
+
+    assertThat(dao.findAliasesUpdatedSince(SINCE)).containsExactly(alias);
+    verify(session).close();
+  }
+}
@@ -0,0 +1,101 @@
+package org.larpconnect.data;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.larpconnect.common.Base36UuidCodec;
+import org.larpconnect.common.TenantResolution;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/** Unit tests for {@link DefaultTenantRegistryService}. */
+@ExtendWith(MockitoExtension.class)
+public final class DefaultTenantRegistryServiceTest {
+  private static final Duration OVERLAP = Duration.ofMinutes(1);
+  private static final Instant FIRST_LOAD = Instant.parse("2026-01-01T00:00:00Z");
+  private static final UUID TENANT_ID = UUID.fromString("0190a000-0000-7000-8000-000000000001");
+
+  @Mock private TenantRegistryDao dao;
+
+  private DefaultTenantRegistry registry;
+  private DefaultTenantRegistryService service;
+
+  @BeforeEach
+  public void setUp() {
+    registry = new DefaultTenantRegistry();
+    service =
+        new DefaultTenantRegistryService(
+            dao, registry, new TenantRegistryConfiguration(Duration.ofSeconds(30), OVERLAP));
+  }
+
+  @Test
+  public void startUp_loadsEverythingAndPublishes() {
+    Instant since = Instant.EPOCH.minus(OVERLAP);
+    when(dao.findStudiosUpdatedSince(since))
+        .thenReturn(List.of(new Studio(TENANT_ID, UUID.randomUUID(), false, FIRST_LOAD)));
+    when(dao.findAliasesUpdatedSince(since))
+        .thenReturn(List.of(new StudioAlias("larp-co", TENANT_ID, false, FIRST_LOAD)));
+
+    service.startUp();
+
+    assertThat(registry.resolve("larp-co")).isEqualTo(TenantResolution.active(TENANT_ID));
+  }
+
+  @Test
+  public void runOneIteration_readsFromWatermarkMinusOverlapAndAppliesChanges() {
+    Instant later = FIRST_LOAD.plusSeconds(10);
+    when(dao.findStudiosUpdatedSince(any()))
+        .thenReturn(List.of(new Studio(TENANT_ID, UUID.randomUUID(), false, FIRST_LOAD)));
+    when(dao.findAliasesUpdatedSince(any()))
+        .thenReturn(List.of(new StudioAlias("larp-co", TENANT_ID, false, FIRST_LOAD)))
+        .thenReturn(List.of(new StudioAlias("larp-co", TENANT_ID, true, later)));
+    service.startUp();
+
+    service.runOneIteration();
+
+    verify(dao).findAliasesUpdatedSince(FIRST_LOAD.minus(OVERLAP));
+    assertThat(registry.resolve("larp-co")).isEqualTo(TenantResolution.retired(TENANT_ID));
+  }
+
+  @Test
+  public void runOneIteration_nothingChanged_keepsPublishedIndex() {
+    Studio studio = new Studio(TENANT_ID, UUID.randomUUID(), false, FIRST_LOAD);
+    when(dao.findStudiosUpdatedSince(any())).thenReturn(List.of(studio));
+    when(dao.findAliasesUpdatedSince(any())).thenReturn(List.of());
+    service.startUp();
+    String key = Base36UuidCodec.encode(studio.getStudioId());
+    TenantResolution before = registry.resolve(key);
+
+    service.runOneIteration();
+
+    assertThat(registry.resolve(key)).isSameAs(before);
+  }
+
+  @Test
+  public void runOneIteration_daoFails_keepsServingLastSnapshot() {
+    when(dao.findStudiosUpdatedSince(any()))
+        .thenReturn(List.of(new Studio(TENANT_ID, UUID.randomUUID(), false, FIRST_LOAD)))
+        .thenThrow(new IllegalStateException("Database error"));
+    when(dao.findAliasesUpdatedSince(any()))
+        .thenReturn(List.of(new StudioAlias("larp-co", TENANT_ID, false, FIRST_LOAD)));
+    service.startUp();
+
+    service.runOneIteration();
+
+    assertThat(registry.resolve("larp-co")).isEqualTo(TenantResolution.active(TENANT_ID));
+  }
+
+  @Test
+  public void scheduler_isConfigured() {
+    assertThat(service.scheduler()).isNotNull();
+  }
+}
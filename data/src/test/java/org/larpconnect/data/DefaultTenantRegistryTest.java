@@ -0,0 +1,30 @@
+package org.larpconnect.data;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.larpconnect.common.TenantResolution;
+
+/** Unit tests for {@link DefaultTenantRegistry}. */
+public final class DefaultTenantRegistryTest {
+  @Test
+  public void resolve_beforePublish_returnsUnknown() {
+    assertThat(new DefaultTenantRegistry().resolve("larp-co")).isSameAs(TenantResolution.unknown());
+  }
+
+  @Test
+  public void resolve_afterPublish_answersFromNewIndex() {
+    UUID tenantId = UUID.randomUUID();
+    DefaultTenantRegistry registry = new DefaultTenantRegistry();
+
+    registry.publish(
+        TenantIndex.build(
+            List.of(new Studio(tenantId, UUID.randomUUID(), false, Instant.EPOCH)),
+            List.of(new StudioAlias("larp-co", tenantId, false, Instant.EPOCH))));
+
+    assertThat(registry.resolve("larp-co")).isEqualTo(TenantResolution.active(tenantId));
+  }
+}
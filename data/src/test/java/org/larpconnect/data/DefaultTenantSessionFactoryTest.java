@@ -0,0 +1,67 @@
+package org.larpconnect.data;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.UUID;
+import org.hibernate.Session;
+import org.hibernate.SessionBuilder;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.StatelessSessionBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/** Unit tests for {@link DefaultTenantSessionFactory}. */
+@ExtendWith(MockitoExtension.class)
+public final class DefaultTenantSessionFactoryTest {
+  private static final UUID TENANT = UUID.fromString("0190a6f2-3b4c-7d8e-9f00-112233445566");
+
+  @Mock private SessionFactory sessionFactory;
+  @Mock private SessionBuilder sessionBuilder;
+  @Mock private StatelessSessionBuilder statelessSessionBuilder;
+  @Mock private Session session;
+  @Mock private StatelessSession statelessSession;
+
+  private DefaultTenantSessionFactory factory;
+
+  @BeforeEach
+  public void setUp() {
+    factory = new DefaultTenantSessionFactory(() -> sessionFactory);
+  }
+
+  @Test
+  public void openSession_forTenant_setsTheTenantIdentifier() {
+    when(sessionFactory.withOptions()).thenReturn(sessionBuilder);
+    when(sessionBuilder.tenantIdentifier((Object) TENANT)).thenReturn(sessionBuilder);
+    when(sessionBuilder.openSession()).thenReturn(session);
+
+    assertThat(factory.openSession(TENANT)).isSameAs(session);
+    verify(sessionBuilder).tenantIdentifier((Object) TENANT);
+  }
+
+  @Test
+  public void openStatelessSession_forTenant_setsTheTenantIdentifier() {
+    when(sessionFactory.withStatelessOptions()).thenReturn(statelessSessionBuilder);
+    when(statelessSessionBuilder.tenantIdentifier((Object) TENANT))
+        .thenReturn(statelessSessionBuilder);
+    when(statelessSessionBuilder.openStatelessSession()).thenReturn(statelessSession);
+
+    assertThat(factory.openStatelessSession(TENANT)).isSameAs(statelessSession);
+  }
+
+  @Test
+  public void openSession_nilTenant_throwsIllegalArgumentException() {
+    assertThatThrownBy(() -> factory.openSession(TenantConnectionProvider.NO_TENANT))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> factory.openStatelessSession(TenantConnectionProvider.NO_TENANT))
+        .isInstanceOf(IllegalArgumentException.class);
+    verifyNoInteractions(sessionFactory);
+  }
+}
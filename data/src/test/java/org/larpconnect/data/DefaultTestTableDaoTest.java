@@ -2,21 +2,27 @@ package org.larpconnect.data;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
-import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import com.google.inject.Provider;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
 import org.hibernate.Transaction;
+import org.hibernate.query.MutationQuery;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -29,14 +35,18 @@ public final class DefaultTestTableDaoTest {
   @Mock private SessionFactory sessionFactory;
   @Mock private Session session;
   @Mock private Transaction transaction;
+  @Mock private MutationQuery query;
+  @Mock private MutationQuery remainder;
 
+  private final TestTableDaoMetrics metrics = new TestTableDaoMetrics();
   private DefaultTestTableDao dao;
 
   @BeforeEach
   public void setUp() {
-    when(sessionFactoryProvider.get()).thenReturn(sessionFactory);
-    when(sessionFactory.openSession()).thenReturn(session);
-    dao = new DefaultTestTableDao(sessionFactoryProvider);
+    lenient().when(sessionFactoryProvider.get()).thenReturn(sessionFactory);
+    lenient().when(sessionFactory.openSession()).thenReturn(session);
+    lenient().when(session.createMutationQuery(anyString())).thenReturn(query);
+    dao = new DefaultTestTableDao(sessionFactoryProvider, new BatchConfiguration(2), metrics);
   }
 
   @Test
@@ -50,27 +60,34 @@ public final class DefaultTestTableDaoTest {
     verify(sessionFactoryProvider).get();
     verify(sessionFactory).openSession();
     verify(session).beginTransaction();
-    verify(session).merge(entity);
+    verify(session).createMutationQuery(DefaultTestTableDao.upsertStatement(1));
+    verify(query).setParameter(1, TEST_UUID);
+    verify(query).setParameter(2, "Test Entity");
+    verify(query).executeUpdate();
     verify(transaction).commit();
+    assertThat(metrics.rowsWritten.count()).isEqualTo(1);
+    assertThat(metrics.transactions.snapshot().count()).isEqualTo(1);
   }
 
   @Test
   public void save_failure_rollsBackTransaction() {
     TestTable entity = new TestTable(TEST_UUID, "Test Entity");
     when(session.beginTransaction()).thenReturn(transaction);
-    doThrow(new RuntimeException("Database error")).when(session).merge(any());
+    doThrow(new RuntimeException("Database error")).when(query).executeUpdate();
     when(transaction.isActive()).thenReturn(true);
 
     assertThatThrownBy(() -> dao.save(entity)).isInstanceOf(RuntimeException.class);
 
     verify(transaction).rollback();
+    assertThat(metrics.failedTransactions.count()).isEqualTo(1);
+    assertThat(metrics.rowsWritten.count()).isZero();
   }
 
   @Test
   public void save_transactionInactive_doesNotRollback() {
     TestTable entity = new TestTable(TEST_UUID, "Test Entity");
     when(session.beginTransaction()).thenReturn(transaction);
-    doThrow(new RuntimeException("Database error")).when(session).merge(any());
+    doThrow(new RuntimeException("Database error")).when(query).executeUpdate();
     when(transaction.isActive()).thenReturn(false);
 
     assertThatThrownBy(() -> dao.save(entity)).isInstanceOf(RuntimeException.class);
@@ -90,7 +107,7 @@ public final class DefaultTestTableDaoTest {
   public void save_rollbackFails_suppressesException() {
     TestTable entity = new TestTable(TEST_UUID, "Test Entity");
     when(session.beginTransaction()).thenReturn(transaction);
-    doThrow(new RuntimeException("Database error")).when(session).merge(any());
+    doThrow(new RuntimeException("Database error")).when(query).executeUpdate();
     when(transaction.isActive()).thenReturn(true);
     doThrow(new RuntimeException("Rollback error")).when(transaction).rollback();
 
@@ -104,6 +121,82 @@ public final class DefaultTestTableDaoTest {
             });
   }
 
+  @Test
+  public void saveAll_sendsOneStatementPerBatchInOneTransaction() {
+    UUID secondId = UUID.randomUUID();
+    UUID thirdId = UUID.randomUUID();
+    when(session.beginTransaction()).thenReturn(transaction);
+    when(session.createMutationQuery(DefaultTestTableDao.upsertStatement(1))).thenReturn(remainder);
+
+    dao.saveAll(
+        List.of(
+            new TestTable(TEST_UUID, "First"),
+            new TestTable(secondId, "Second"),
+            new TestTable(thirdId, "Third")));
+
+    InOrder inOrder = inOrder(session, query, remainder, transaction);
+    inOrder.verify(session).beginTransaction();
+    inOrder.verify(session).createMutationQuery(DefaultTestTableDao.upsertStatement(2));
+    inOrder.verify(query).setParameter(1, TEST_UUID);
+    inOrder.verify(query).setParameter(2, "First");
+    inOrder.verify(query).setParameter(3, secondId);
+    inOrder.verify(query).setParameter(4, "Second");
+    inOrder.verify(query).executeUpdate();
+    inOrder.verify(remainder).setParameter(1, thirdId);
+    inOrder.verify(remainder).setParameter(2, "Third");
+    inOrder.verify(remainder).executeUpdate();
+    inOrder.verify(transaction).commit();
+    assertThat(metrics.rowsWritten.count()).isEqualTo(3);
+  }
+
+  @Test
+  public void saveAll_duplicateId_upsertsTheLastOccurrenceOnce() {
+    UUID secondId = UUID.randomUUID();
+    when(session.beginTransaction()).thenReturn(transaction);
+
+    dao.saveAll(
+        List.of(
+            new TestTable(TEST_UUID, "Stale"),
+            new TestTable(secondId, "Second"),
+            new TestTable(TEST_UUID, "Fresh")));
+
+    verify(session).createMutationQuery(DefaultTestTableDao.upsertStatement(2));
+    verify(query).setParameter(1, TEST_UUID);
+    verify(query).setParameter(2, "Fresh");
+    verify(query).setParameter(3, secondId);
+    verify(query).setParameter(4, "Second");
+    verify(query, never()).setParameter(2, "Stale");
+    verify(transaction).commit();
+    assertThat(metrics.rowsWritten.count()).isEqualTo(2);
+  }
+
+  @Test
+  public void saveAll_failure_rollsBackTransaction() {
+    when(session.beginTransaction()).thenReturn(transaction);
+    doThrow(new RuntimeException("Database error")).when(query).executeUpdate();
+    when(transaction.isActive()).thenReturn(true);
+
+    assertThatThrownBy(() -> dao.saveAll(List.of(new TestTable(TEST_UUID, "Entity"))))
+        .isInstanceOf(RuntimeException.class);
+
+    verify(transaction).rollback();
+  }
+
+  @Test
+  public void saveAll_emptyCollection_doesNotOpenSession() {
+    dao.saveAll(List.of());
+
+    verifyNoInteractions(sessionFactory);
+  }
+
+  @Test
+  public void upsertStatement_multipleRows_numbersParametersPerRow() {
+    assertThat(DefaultTestTableDao.upsertStatement(2))
+        .isEqualTo(
+            "insert into TestTable (id, name) values (?1, ?2), (?3, ?4)"
+                + " on conflict (id) do update set name = excluded.name");
+  }
+
   @Test
   public void findById_returnsExpectedEntity() {
     TestTable entity = new TestTable(TEST_UUID, "Found Entity");
@@ -115,5 +208,6 @@ public final class DefaultTestTableDaoTest {
     verify(sessionFactoryProvider).get();
     verify(sessionFactory).openSession();
     verify(session).find(TestTable.class, TEST_UUID);
+    assertThat(metrics.reads.count()).isEqualTo(1);
   }
 }
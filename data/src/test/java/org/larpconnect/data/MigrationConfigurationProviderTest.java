@@ -0,0 +1,42 @@
+package org.larpconnect.data;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.larpconnect.common.MapEnvironment;
+
+/** Unit tests for {@link MigrationConfigurationProvider}. */
+public final class MigrationConfigurationProviderTest {
+  @Test
+  public void get_withDefaultEnvironment_returnsDefaults() {
+    MigrationConfigurationProvider provider =
+        new MigrationConfigurationProvider(new MapEnvironment(Map.of()));
+
+    assertThat(provider.get()).isEqualTo(new MigrationConfiguration(true, 4));
+  }
+
+  @Test
+  public void get_withCustomEnvironment_returnsCustomConfiguration() {
+    MapEnvironment environment =
+        new MapEnvironment(
+            Map.of("DB_MIGRATION_FAST_PATH", "false", "DB_MIGRATION_PARALLELISM", "2"));
+
+    assertThat(new MigrationConfigurationProvider(environment).get())
+        .isEqualTo(new MigrationConfiguration(false, 2));
+  }
+
+  @Test
+  public void get_withNonPositiveParallelism_clampsToOne() {
+    MapEnvironment environment = new MapEnvironment(Map.of("DB_MIGRATION_PARALLELISM", "0"));
+
+    assertThat(new MigrationConfigurationProvider(environment).get().parallelism()).isEqualTo(1);
+  }
+
+  @Test
+  public void constructor_withInvalidParallelism_throwsIllegalArgumentException() {
+    assertThatThrownBy(() -> new MigrationConfiguration(true, 0))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
@@ -0,0 +1,128 @@
+package org.larpconnect.data;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** Unit tests for {@link MigrationScripts}. */
+public final class MigrationScriptsTest {
+  private static final ClassLoader LOADER = MigrationScriptsTest.class.getClassLoader();
+
+  @TempDir private Path directory;
+
+  @Test
+  public void checksums_ofBundledMigrations_matchFlywayChecksums() {
+    assertThat(MigrationScripts.checksums(LOADER, "public")).hasValue(Map.of("1", -423486360));
+    assertThat(MigrationScripts.checksums(LOADER, "njall_admin")).hasValue(Map.of("1", 339325446));
+    assertThat(MigrationScripts.checksums(LOADER, "njall_users")).hasValue(Map.of("1", 736070493));
+  }
+
+  @Test
+  public void checksums_withoutLocation_isUnknown() {
+    assertThat(MigrationScripts.checksums(LOADER, "missing_schema")).isEmpty();
+  }
+
+  @Test
+  public void checksums_inJar_listsNestedVersions() throws IOException {
+    Path jar =
+        jar(
+            Map.of(
+                "db/migration/tenant/V1__Create.sql", "CREATE TABLE a ();",
+                "db/migration/tenant/nested/V1_1__Alter.sql", "ALTER TABLE a;",
+                "db/migration/other/R__View.sql", "CREATE VIEW v AS SELECT 1;"));
+
+    try (URLClassLoader loader = new URLClassLoader(new URL[] {jar.toUri().toURL()}, null)) {
+      assertThat(MigrationScripts.checksums(loader, "tenant"))
+          .hasValue(
+              Map.of(
+                  "1", checksum("CREATE TABLE a ();"),
+                  "1.1", checksum("ALTER TABLE a;")));
+      assertThat(MigrationScripts.checksums(loader, "other")).isEmpty();
+    }
+  }
+
+  @Test
+  public void checksums_inDirectoryWithRepeatableMigration_isUnknown() throws IOException {
+    Path location = Files.createDirectories(directory.resolve("db/migration/tenant"));
+    Files.writeString(location.resolve("V1__Create.sql"), "CREATE TABLE a ();");
+    Files.writeString(location.resolve("R__View.sql"), "CREATE VIEW v AS SELECT 1;");
+
+    try (URLClassLoader loader = new URLClassLoader(new URL[] {directory.toUri().toURL()}, null)) {
+      assertThat(MigrationScripts.checksums(loader, "tenant")).isEmpty();
+    }
+  }
+
+  @Test
+  public void checksums_withDuplicateVersion_isUnknown() throws IOException {
+    Path location = Files.createDirectories(directory.resolve("db/migration/tenant"));
+    Files.writeString(location.resolve("V1__Create.sql"), "CREATE TABLE a ();");
+    Files.writeString(location.resolve("V1__Create_again.sql"), "CREATE TABLE b ();");
+
+    try (URLClassLoader loader = new URLClassLoader(new URL[] {directory.toUri().toURL()}, null)) {
+      assertThat(MigrationScripts.checksums(loader, "tenant")).isEmpty();
+    }
+  }
+
+  @Test
+  public void checksums_atUnsupportedLocation_isUnknown() {
+    ClassLoader loader =
+        new ClassLoader(null) {
+          @Override
+          public Enumeration<URL> getResources(String name) throws IOException {
+            return Collections.enumeration(
+                List.of(URI.create("http://example.invalid/" + name).toURL()));
+          }
+        };
+
+    assertThat(MigrationScripts.checksums(loader, "tenant")).isEmpty();
+  }
+
+  @Test
+  public void checksum_ignoresLineBreaksAndByteOrderMark() throws IOException {
+    assertThat(checksum("\uFEFFSELECT 1;\r\nSELECT 2;\n"))
+        .isEqualTo(checksum("SELECT 1;\nSELECT 2;"));
+  }
+
+  private Path jar(Map<String, String> entries) throws IOException {
+    Path jar = directory.resolve("migrations.jar");
+    try (OutputStream out = Files.newOutputStream(jar);
+        JarOutputStream jarOut = new JarOutputStream(out)) {
+      Set<String> directories = new HashSet<>();
+      for (Map.Entry<String, String> entry : entries.entrySet()) {
+        String name = entry.getKey();
+        for (int slash = name.indexOf('/'); slash > 0; slash = name.indexOf('/', slash + 1)) {
+          if (directories.add(name.substring(0, slash + 1))) {
+            jarOut.putNextEntry(new JarEntry(name.substring(0, slash + 1)));
+            jarOut.closeEntry();
+          }
+        }
+        jarOut.putNextEntry(new JarEntry(entry.getKey()));
+        jarOut.write(entry.getValue().getBytes(UTF_8));
+        jarOut.closeEntry();
+      }
+    }
+    return jar;
+  }
+
+  private static int checksum(String script) throws IOException {
+    return MigrationScripts.checksum(new ByteArrayInputStream(script.getBytes(UTF_8)));
+  }
+}
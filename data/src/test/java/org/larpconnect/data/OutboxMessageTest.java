@@ -0,0 +1,31 @@
+package org.larpconnect.data;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.larpconnect.common.UuidV7;
+
+/** Unit tests for {@link OutboxMessage} and {@link OutboxEntry}. */
+public final class OutboxMessageTest {
+  @Test
+  public void create_assignsIncreasingUuidV7Ids() {
+    UUID tenant = UUID.randomUUID();
+
+    OutboxMessage first = OutboxMessage.create(tenant, "", "outbox", "{}");
+    OutboxMessage second = OutboxMessage.create(tenant, "", "outbox", "{}");
+
+    assertThat(first.id().version()).isEqualTo(7);
+    assertThat(second.id().toString()).isGreaterThan(first.id().toString());
+    assertThat(UuidV7.timestampOf(first.id())).isNotNull();
+  }
+
+  @Test
+  public void entry_roundTripsMessage() {
+    OutboxMessage message =
+        OutboxMessage.create(UUID.randomUUID(), "events", "studio.created", "{}");
+
+    assertThat(new OutboxEntry(message).toMessage()).isEqualTo(message);
+    assertThat(new OutboxEntry().toMessage().id()).isNull();
+  }
+}
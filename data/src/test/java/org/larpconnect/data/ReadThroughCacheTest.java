@@ -0,0 +1,116 @@
+package org.larpconnect.data;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for {@link ReadThroughCache}. */
+public final class ReadThroughCacheTest {
+  private static final CacheConfiguration CONFIG =
+      new CacheConfiguration(2L, Duration.ofMinutes(5), Duration.ofSeconds(30));
+
+  private final AtomicLong nanos = new AtomicLong();
+  private final AtomicInteger loads = new AtomicInteger();
+  private ReadThroughCache<String, String> cache;
+
+  @BeforeEach
+  public void setUp() {
+    cache = new ReadThroughCache<>("names", CONFIG, nanos::get);
+  }
+
+  @Test
+  public void get_repeatedLookup_loadsOnce() {
+    assertThat(cache.get("a", loader("A"))).hasValue("A");
+    assertThat(cache.get("a", loader("other"))).hasValue("A");
+
+    assertThat(loads).hasValue(1);
+    assertThat(cache.stats()).isEqualTo(new EntityCacheStats("names", 1, 1, 0, 1));
+  }
+
+  @Test
+  public void get_miss_isCachedUntilNegativeExpiry() {
+    cache.get("a", loader(null));
+    advance(Duration.ofSeconds(29));
+    assertThat(cache.get("a", loader("A"))).isEmpty();
+
+    advance(Duration.ofSeconds(1));
+
+    assertThat(cache.get("a", loader("A"))).hasValue("A");
+    assertThat(loads).hasValue(2);
+  }
+
+  @Test
+  public void get_hit_isCachedUntilExpiry() {
+    cache.get("a", loader("A"));
+    advance(Duration.ofMinutes(5).minusNanos(1));
+    assertThat(cache.get("a", loader("B"))).hasValue("A");
+
+    advance(Duration.ofNanos(1));
+
+    assertThat(cache.get("a", loader("B"))).hasValue("B");
+    assertThat(cache.stats().evictions()).isEqualTo(1);
+  }
+
+  @Test
+  public void get_loaderFails_propagatesAndCachesNothing() {
+    assertThatThrownBy(
+            () ->
+                cache.get(
+                    "a",
+                    key -> {
+                      throw new IllegalStateException("Database error");
+                    }))
+        .isInstanceOf(IllegalStateException.class);
+
+    assertThat(cache.get("a", loader("A"))).hasValue("A");
+  }
+
+  @Test
+  public void get_beyondMaximumSize_evicts() {
+    cache.get("a", loader("A"));
+    cache.get("b", loader("B"));
+    cache.get("c", loader("C"));
+
+    assertThat(cache.stats().size()).isEqualTo(2);
+    assertThat(cache.stats().evictions()).isEqualTo(1);
+  }
+
+  @Test
+  public void invalidate_forcesReload() {
+    cache.get("a", loader("A"));
+
+    cache.invalidate("a");
+
+    assertThat(cache.get("a", loader("B"))).hasValue("B");
+  }
+
+  @Test
+  public void invalidateAll_forcesReloadOfEveryKey() {
+    cache.get("a", loader("A"));
+    cache.get("b", loader("B"));
+
+    cache.invalidateAll(List.of("a", "b"));
+
+    assertThat(cache.stats().size()).isZero();
+    assertThat(cache.get("b", loader("C"))).hasValue("C");
+  }
+
+  private Function<String, Optional<String>> loader(String value) {
+    return key -> {
+      loads.incrementAndGet();
+      return Optional.ofNullable(value);
+    };
+  }
+
+  private void advance(Duration duration) {
+    nanos.addAndGet(duration.toNanos());
+  }
+}
@@ -0,0 +1,194 @@
+package org.larpconnect.data;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.RETURNS_DEFAULTS;
+import static org.mockito.Mockito.mock;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for {@link SchemaHistoryProbe}. */
+public final class SchemaHistoryProbeTest {
+  private static final String SCHEMA = "njall_admin";
+  private static final int CHECKSUM = 339325446;
+
+  // Answers rather than stubs, so no JDBC resource is ever opened in the test's own code.
+  private final List<String> prepared = new ArrayList<>();
+  private final Deque<List<Map<String, Object>>> results = new ConcurrentLinkedDeque<>();
+  private final Connection connection =
+      mock(
+          Connection.class,
+          invocation -> {
+            if (invocation.getMethod().getName().equals("prepareStatement")) {
+              prepared.add(invocation.getArgument(0));
+              return statement(results.poll());
+            }
+            return RETURNS_DEFAULTS.answer(invocation);
+          });
+  private SQLException connectFailure;
+  private final DataSource dataSource =
+      mock(
+          DataSource.class,
+          invocation -> {
+            if (!invocation.getMethod().getName().equals("getConnection")) {
+              return RETURNS_DEFAULTS.answer(invocation);
+            }
+            if (connectFailure != null) {
+              throw connectFailure;
+            }
+            return connection;
+          });
+
+  private final SchemaHistoryProbe probe = new SchemaHistoryProbe(() -> dataSource);
+
+  @Test
+  public void isCurrent_withMatchingHistory_returnsTrue() {
+    historyExists(true);
+    history(List.of(row("1", CHECKSUM, true, "SQL")));
+
+    assertThat(probe.isCurrent(SCHEMA)).isTrue();
+    assertThat(prepared.get(1))
+        .isEqualTo(
+            "SELECT version, checksum, success, type FROM"
+                + " \"njall_admin\".flyway_schema_history");
+  }
+
+  @Test
+  public void isCurrent_ignoresTheSchemaMarker() {
+    historyExists(true);
+    history(List.of(row(null, null, true, "SCHEMA"), row("1", CHECKSUM, true, "SQL")));
+
+    assertThat(probe.isCurrent(SCHEMA)).isTrue();
+  }
+
+  @Test
+  public void isCurrent_withoutHistoryTable_returnsFalse() {
+    historyExists(false);
+
+    assertThat(probe.isCurrent(SCHEMA)).isFalse();
+    assertThat(prepared).hasSize(1);
+  }
+
+  @Test
+  public void isCurrent_withPendingMigration_returnsFalse() {
+    historyExists(true);
+    history(List.of());
+
+    assertThat(probe.isCurrent(SCHEMA)).isFalse();
+  }
+
+  @Test
+  public void isCurrent_withChangedChecksum_returnsFalse() {
+    historyExists(true);
+    history(List.of(row("1", CHECKSUM + 1, true, "SQL")));
+
+    assertThat(probe.isCurrent(SCHEMA)).isFalse();
+  }
+
+  @Test
+  public void isCurrent_withUnknownAppliedMigration_returnsFalse() {
+    historyExists(true);
+    history(List.of(row("1", CHECKSUM, true, "SQL"), row("2", 7, true, "SQL")));
+
+    assertThat(probe.isCurrent(SCHEMA)).isFalse();
+  }
+
+  @Test
+  public void isCurrent_withUnexpectedRows_returnsFalse() {
+    List<Map<String, Object>> unexpected =
+        List.of(
+            row("1", CHECKSUM, false, "SQL"),
+            row("1", CHECKSUM, true, "BASELINE"),
+            row(null, CHECKSUM, true, "SQL"),
+            row("1", null, true, "SQL"));
+    for (Map<String, Object> row : unexpected) {
+      historyExists(true);
+      history(List.of(row));
+
+      assertThat(probe.isCurrent(SCHEMA)).as("%s", row).isFalse();
+    }
+  }
+
+  @Test
+  public void isCurrent_withDuplicateVersion_returnsFalse() {
+    historyExists(true);
+    history(List.of(row("1", CHECKSUM, true, "SQL"), row("1", CHECKSUM, true, "SQL")));
+
+    assertThat(probe.isCurrent(SCHEMA)).isFalse();
+  }
+
+  @Test
+  public void isCurrent_whenTheDatabaseFails_returnsFalse() {
+    connectFailure = new SQLException("unreachable");
+
+    assertThat(probe.isCurrent(SCHEMA)).isFalse();
+  }
+
+  @Test
+  public void isCurrent_withUnlistableMigrations_neverConnects() {
+    assertThat(probe.isCurrent("missing_schema")).isFalse();
+    assertThat(prepared).isEmpty();
+  }
+
+  private void historyExists(boolean exists) {
+    Map<String, Object> row = new HashMap<>();
+    row.put("1", exists);
+    results.add(List.of(row));
+  }
+
+  private void history(List<Map<String, Object>> rows) {
+    results.add(rows);
+  }
+
+  private static Map<String, Object> row(
+      String version, Integer checksum, boolean success, String type) {
+    Map<String, Object> row = new HashMap<>();
+    row.put("version", version);
+    row.put("checksum", checksum);
+    row.put("success", success);
+    row.put("type", type);
+    return row;
+  }
+
+  private static PreparedStatement statement(List<Map<String, Object>> rows) {
+    ResultSet resultSet = resultSet(rows);
+    return mock(
+        PreparedStatement.class,
+        invocation ->
+            invocation.getMethod().getName().equals("executeQuery")
+                ? resultSet
+                : RETURNS_DEFAULTS.answer(invocation));
+  }
+
+  private static ResultSet resultSet(List<Map<String, Object>> rows) {
+    int[] cursor = {-1};
+    Object[] last = {null};
+    return mock(
+        ResultSet.class,
+        invocation -> {
+          String method = invocation.getMethod().getName();
+          if (method.equals("next")) {
+            return ++cursor[0] < rows.size();
+          }
+          if (method.equals("wasNull")) {
+            return last[0] == null;
+          }
+          if (method.startsWith("get")) {
+            Object column = invocation.getArgument(0);
+            last[0] = rows.get(cursor[0]).get(String.valueOf(column));
+            return last[0] == null ? RETURNS_DEFAULTS.answer(invocation) : last[0];
+          }
+          return RETURNS_DEFAULTS.answer(invocation);
+        });
+  }
+}
@@ -0,0 +1,194 @@
+package org.larpconnect.data;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.RETURNS_DEFAULTS;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import javax.sql.DataSource;
+import org.hibernate.engine.jdbc.connections.spi.MultiTenantConnectionProvider;
+import org.hibernate.service.UnknownUnwrapTypeException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/** Unit tests for {@link TenantConnectionProvider}. */
+@ExtendWith(MockitoExtension.class)
+public final class TenantConnectionProviderTest {
+  private static final UUID TENANT_A = UUID.fromString("0190a6f2-3b4c-7d8e-9f00-112233445566");
+  private static final UUID TENANT_B = UUID.fromString("0190a6f2-3b4c-7d8e-9f00-665544332211");
+
+  // Answers rather than stubs, so no JDBC resource is ever opened in the test's own code.
+  private final List<String> prepared = new ArrayList<>();
+  private final Deque<Connection> pool = new ArrayDeque<>();
+  private final PreparedStatement statement = mock(PreparedStatement.class);
+  private final Connection pooled = pooledConnection(statement);
+  private final DataSource dataSource =
+      mock(
+          DataSource.class,
+          invocation ->
+              invocation.getMethod().getName().equals("getConnection")
+                  ? Objects.requireNonNullElse(pool.poll(), pooled)
+                  : RETURNS_DEFAULTS.answer(invocation));
+  private boolean autoCommit = true;
+
+  private TenantConnectionProvider provider;
+
+  @BeforeEach
+  public void setUp() {
+    provider = new TenantConnectionProvider(() -> dataSource);
+  }
+
+  @Test
+  public void getConnection_firstBorrow_bindsTheTenant() throws SQLException {
+    try (Connection connection = provider.getConnection(TENANT_A)) {
+      assertThat(connection).isSameAs(pooled);
+    }
+
+    assertThat(prepared).containsExactly("SELECT set_config('app.current_tenant_id', ?, false)");
+    verify(statement).setString(1, TENANT_A.toString());
+    verify(statement).execute();
+    verify(statement).close();
+  }
+
+  @Test
+  public void getConnection_sameTenantAgain_skipsTheRoundTrip() throws SQLException {
+    borrow(TENANT_A);
+    borrow(TENANT_A);
+
+    verify(statement, times(1)).execute();
+  }
+
+  @Test
+  public void getConnection_otherTenant_rebinds() throws SQLException {
+    borrow(TENANT_A);
+    borrow(TENANT_B);
+
+    verify(statement).setString(1, TENANT_A.toString());
+    verify(statement).setString(1, TENANT_B.toString());
+  }
+
+  @Test
+  public void getAnyConnection_afterTenant_clearsTheSettingOnce() throws SQLException {
+    borrow(TENANT_A);
+    try (Connection connection = provider.getAnyConnection()) {
+      assertThat(connection).isSameAs(pooled);
+    }
+    try (Connection connection = provider.getAnyConnection()) {
+      assertThat(connection).isSameAs(pooled);
+    }
+
+    verify(statement).setString(1, "");
+    verify(statement, times(2)).execute();
+  }
+
+  @Test
+  public void getConnection_otherPhysicalConnection_bindsItSeparately() throws SQLException {
+    PreparedStatement otherStatement = mock(PreparedStatement.class);
+    pool.add(pooled);
+    pool.add(pooledConnection(otherStatement));
+
+    borrow(TENANT_A);
+    borrow(TENANT_A);
+
+    verify(statement).execute();
+    verify(otherStatement).execute();
+  }
+
+  @Test
+  public void getConnection_bindFails_closesAndRebindsNextTime() throws SQLException {
+    when(statement.execute()).thenThrow(new SQLException("gone")).thenReturn(true);
+
+    assertThatThrownBy(() -> borrow(TENANT_A)).isInstanceOf(SQLException.class);
+    verify(pooled).close();
+
+    borrow(TENANT_A);
+    verify(statement, times(2)).execute();
+  }
+
+  @Test
+  public void getConnection_bindAndCloseFail_suppressesTheCloseFailure() throws SQLException {
+    when(statement.execute()).thenThrow(new SQLException("gone"));
+    doThrow(new SQLException("broken")).when(pooled).close();
+
+    assertThatThrownBy(() -> borrow(TENANT_A))
+        .isInstanceOf(SQLException.class)
+        .hasMessage("gone")
+        .satisfies(e -> assertThat(e.getSuppressed()).hasSize(1));
+  }
+
+  @Test
+  public void releaseConnection_whenCalled_returnsTheConnectionToThePool() throws SQLException {
+    provider.releaseConnection(TENANT_A, pooled);
+    provider.releaseAnyConnection(pooled);
+
+    verify(pooled, times(2)).close();
+  }
+
+  @Test
+  public void releaseConnection_transactionLeftOpen_forgetsTheBinding() throws SQLException {
+    borrow(TENANT_A);
+    autoCommit = false;
+    provider.releaseConnection(TENANT_A, pooled);
+    autoCommit = true;
+
+    borrow(TENANT_A);
+
+    verify(statement, times(2)).execute();
+  }
+
+  @Test
+  public void unwrap_supportedTypes_returnsProvider() {
+    assertThat(provider.isUnwrappableAs(MultiTenantConnectionProvider.class)).isTrue();
+    assertThat(provider.unwrap(TenantConnectionProvider.class)).isSameAs(provider);
+    assertThat(provider.supportsAggressiveRelease()).isTrue();
+    assertThatThrownBy(() -> provider.unwrap(DataSource.class))
+        .isInstanceOf(UnknownUnwrapTypeException.class);
+  }
+
+  @Test
+  public void resolver_sessionsWithoutTenant_getNoTenant() {
+    NoTenantResolver resolver = new NoTenantResolver();
+
+    assertThat(resolver.resolveCurrentTenantIdentifier())
+        .isEqualTo(TenantConnectionProvider.NO_TENANT);
+    assertThat(resolver.validateExistingCurrentSessions()).isFalse();
+  }
+
+  /** A pooled connection wrapping a physical connection of its own. */
+  private Connection pooledConnection(PreparedStatement prepares) {
+    Connection physical = mock(Connection.class);
+    return mock(
+        Connection.class,
+        invocation ->
+            switch (invocation.getMethod().getName()) {
+              case "unwrap" -> physical;
+              case "getAutoCommit" -> autoCommit;
+              case "prepareStatement" -> {
+                prepared.add(invocation.getArgument(0));
+                yield prepares;
+              }
+              default -> RETURNS_DEFAULTS.answer(invocation);
+            });
+  }
+
+  private void borrow(UUID tenantId) throws SQLException {
+    try (Connection connection = provider.getConnection(tenantId)) {
+      assertThat(connection).isNotNull();
+    }
+  }
+}
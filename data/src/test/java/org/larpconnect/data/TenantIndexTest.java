@@ -0,0 +1,97 @@
+package org.larpconnect.data;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.larpconnect.common.TenantResolution;
+
+/** Unit tests for {@link TenantIndex}. */
+public final class TenantIndexTest {
+  private static final Instant UPDATED_AT = Instant.parse("2026-01-01T00:00:00Z");
+  private static final UUID TENANT_ID = UUID.fromString("0190a000-0000-7000-8000-000000000001");
+  private static final UUID STUDIO_ID = new UUID(0L, 1L);
+  private static final String STUDIO_KEY = "0000000000000-0000000000001";
+
+  @Test
+  public void resolve_studioIdAndAlias_returnSharedActiveResolution() {
+    TenantIndex index =
+        TenantIndex.build(
+            List.of(new Studio(TENANT_ID, STUDIO_ID, false, UPDATED_AT)),
+            List.of(new StudioAlias("larp-co", TENANT_ID, false, UPDATED_AT)));
+
+    TenantResolution resolution = index.resolve(STUDIO_KEY);
+
+    assertThat(resolution).isEqualTo(TenantResolution.active(TENANT_ID));
+    assertThat(index.resolve("larp-co")).isSameAs(resolution);
+    assertThat(index.resolve(STUDIO_KEY)).isSameAs(resolution);
+    assertThat(index.size()).isEqualTo(2);
+  }
+
+  @Test
+  public void resolve_retiredAlias_returnsRetired() {
+    TenantIndex index =
+        TenantIndex.build(
+            List.of(new Studio(TENANT_ID, STUDIO_ID, false, UPDATED_AT)),
+            List.of(new StudioAlias("old-name", TENANT_ID, true, UPDATED_AT)));
+
+    assertThat(index.resolve("old-name")).isEqualTo(TenantResolution.retired(TENANT_ID));
+    assertThat(index.resolve(STUDIO_KEY)).isEqualTo(TenantResolution.active(TENANT_ID));
+  }
+
+  @Test
+  public void resolve_retiredStudio_retiresEveryIdentifier() {
+    TenantIndex index =
+        TenantIndex.build(
+            List.of(new Studio(TENANT_ID, STUDIO_ID, true, UPDATED_AT)),
+            List.of(new StudioAlias("larp-co", TENANT_ID, false, UPDATED_AT)));
+
+    assertThat(index.resolve(STUDIO_KEY)).isEqualTo(TenantResolution.retired(TENANT_ID));
+    assertThat(index.resolve("larp-co")).isSameAs(index.resolve(STUDIO_KEY));
+  }
+
+  @Test
+  public void resolve_differentCase_foldsToLowerCase() {
+    TenantIndex index =
+        TenantIndex.build(
+            List.of(new Studio(TENANT_ID, STUDIO_ID, false, UPDATED_AT)),
+            List.of(new StudioAlias("larp-co", TENANT_ID, false, UPDATED_AT)));
+
+    assertThat(index.resolve("LARP-Co")).isEqualTo(TenantResolution.active(TENANT_ID));
+  }
+
+  @Test
+  public void resolve_unknownIdentifier_returnsUnknown() {
+    assertThat(TenantIndex.EMPTY.resolve("nobody")).isSameAs(TenantResolution.unknown());
+  }
+
+  @Test
+  public void resolve_null_returnsUnknown() {
+    assertThat(TenantIndex.EMPTY.resolve(null)).isSameAs(TenantResolution.unknown());
+  }
+
+  @Test
+  public void build_aliasOfUnknownStudio_isLeftOut() {
+    TenantIndex index =
+        TenantIndex.build(
+            List.of(), List.of(new StudioAlias("orphan", TENANT_ID, false, UPDATED_AT)));
+
+    assertThat(index.resolve("orphan")).isSameAs(TenantResolution.unknown());
+    assertThat(index.size()).isZero();
+  }
+
+  @Test
+  public void build_aliasCollidingWithStudioId_prefersStudio() {
+    UUID otherTenant = UUID.randomUUID();
+    TenantIndex index =
+        TenantIndex.build(
+            List.of(
+                new Studio(TENANT_ID, STUDIO_ID, false, UPDATED_AT),
+                new Studio(otherTenant, UUID.randomUUID(), false, UPDATED_AT)),
+            List.of(new StudioAlias(STUDIO_KEY, otherTenant, false, UPDATED_AT)));
+
+    assertThat(index.resolve(STUDIO_KEY)).isEqualTo(TenantResolution.active(TENANT_ID));
+  }
+}
@@ -0,0 +1,54 @@
+package org.larpconnect.data;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.larpconnect.common.MapEnvironment;
+
+/** Unit tests for {@link TenantRegistryConfigurationProvider}. */
+public final class TenantRegistryConfigurationProviderTest {
+  @Test
+  public void get_withDefaultEnvironment_returnsDefaults() {
+    TenantRegistryConfigurationProvider provider =
+        new TenantRegistryConfigurationProvider(new MapEnvironment(Map.of()));
+
+    assertThat(provider.get())
+        .isEqualTo(new TenantRegistryConfiguration(Duration.ofSeconds(30), Duration.ofMinutes(1)));
+  }
+
+  @Test
+  public void get_withCustomEnvironment_returnsCustomValues() {
+    MapEnvironment environment =
+        new MapEnvironment(
+            Map.of(
+                "DB_TENANT_REFRESH_INTERVAL_MS", "5000",
+                "DB_TENANT_REFRESH_OVERLAP_MS", "10000"));
+
+    assertThat(new TenantRegistryConfigurationProvider(environment).get())
+        .isEqualTo(new TenantRegistryConfiguration(Duration.ofSeconds(5), Duration.ofSeconds(10)));
+  }
+
+  @Test
+  public void get_withOutOfRangeValues_clamps() {
+    MapEnvironment environment =
+        new MapEnvironment(
+            Map.of(
+                "DB_TENANT_REFRESH_INTERVAL_MS", "0",
+                "DB_TENANT_REFRESH_OVERLAP_MS", "-1"));
+
+    assertThat(new TenantRegistryConfigurationProvider(environment).get())
+        .isEqualTo(new TenantRegistryConfiguration(Duration.ofMillis(1), Duration.ZERO));
+  }
+
+  @Test
+  public void constructor_withInvalidDurations_throwsIllegalArgumentException() {
+    assertThatThrownBy(() -> new TenantRegistryConfiguration(Duration.ZERO, Duration.ZERO))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(
+            () -> new TenantRegistryConfiguration(Duration.ofSeconds(1), Duration.ofMillis(-1)))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
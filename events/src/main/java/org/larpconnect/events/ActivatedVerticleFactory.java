@@ -0,0 +1,22 @@
+package org.larpconnect.events;
+
+import io.vertx.core.Verticle;
+
+/**
+ * Creates the verticles of one kind that the {@link VerticleActivator} deploys on demand.
+ *
+ * <p>Factories are bound with a {@code MapBinder<String, ActivatedVerticleFactory>} keyed by {@link
+ * ActivationKey#kind()}.
+ */
+@FunctionalInterface
+public interface ActivatedVerticleFactory {
+  /**
+   * Creates the verticle for one activation. It must consume {@link TenantMessage}s on the given
+   * local address before its start completes, and reply to each.
+   *
+   * @param key The tenant or actor the verticle works for.
+   * @param address The event-bus address, unique to this activation.
+   * @return A new verticle.
+   */
+  Verticle create(ActivationKey key, String address);
+}
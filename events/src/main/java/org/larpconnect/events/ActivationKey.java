@@ -0,0 +1,26 @@
+package org.larpconnect.events;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.common.base.CharMatcher;
+import java.util.UUID;
+
+/**
+ * Identifies a verticle activated on demand by the {@link VerticleActivator}, such as the verticle
+ * of one studio or of one actor's outbox.
+ *
+ * @param kind The kind of verticle, matching an {@link ActivatedVerticleFactory} binding;
+ *     lower-case letters, digits and underscores.
+ * @param id The tenant or actor the verticle works for.
+ */
+public record ActivationKey(String kind, UUID id) {
+  private static final CharMatcher KIND_CHARACTERS =
+      CharMatcher.inRange('a', 'z').or(CharMatcher.inRange('0', '9')).or(CharMatcher.is('_'));
+
+  public ActivationKey {
+    checkArgument(
+        !kind.isEmpty() && KIND_CHARACTERS.matchesAllOf(kind),
+        "Activation kind must be lower-case letters, digits and underscores: %s",
+        kind);
+  }
+}
@@ -0,0 +1,99 @@
+package org.larpconnect.events;
+
+import com.google.common.collect.ImmutableList;
+import com.google.errorprone.annotations.ThreadSafe;
+import io.vertx.core.eventbus.DeliveryContext;
+import io.vertx.core.eventbus.EventBus;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Default implementation of {@link EventBusMonitor} fed by event-bus interceptors.
+ *
+ * <p>Replies travel on one-off addresses and are left out. Past {@link #MAX_ADDRESSES} distinct
+ * addresses, traffic is counted under {@link EventBusMonitor#OTHER_ADDRESSES} so per-tenant
+ * addresses cannot grow the table without bound.
+ */
+@ThreadSafe
+final class DefaultEventBusMonitor implements EventBusMonitor {
+  static final int MAX_ADDRESSES = 1_000;
+  private static final String INTERNAL_PREFIX = "__vertx.";
+
+  private final Map<String, Counters> counters = new ConcurrentHashMap<>();
+
+  /**
+   * Starts counting the traffic of an event bus.
+   *
+   * @param eventBus The event bus to intercept.
+   */
+  void attach(EventBus eventBus) {
+    eventBus.addOutboundInterceptor(this::onOutbound);
+    eventBus.addInboundInterceptor(this::onInbound);
+  }
+
+  @Override
+  public ImmutableList<EventBusAddressStats> stats() {
+    return counters.entrySet().stream()
+        .map(entry -> entry.getValue().snapshot(entry.getKey()))
+        .sorted(Comparator.comparing(EventBusAddressStats::address))
+        .collect(ImmutableList.toImmutableList());
+  }
+
+  private <T> void onOutbound(DeliveryContext<T> context) {
+    String address = context.message().address();
+    if (!address.startsWith(INTERNAL_PREFIX)) {
+      Counters tracked = countersFor(address);
+      (context.message().isSend() ? tracked.sent : tracked.published).increment();
+    }
+    context.next();
+  }
+
+  private <T> void onInbound(DeliveryContext<T> context) {
+    String address = context.message().address();
+    if (address.startsWith(INTERNAL_PREFIX)) {
+      context.next();
+      return;
+    }
+    Counters tracked = countersFor(address);
+    long start = System.nanoTime();
+    try {
+      // Dispatches to the consumer's handler on this thread.
+      context.next();
+    } finally {
+      long elapsed = System.nanoTime() - start;
+      tracked.delivered.increment();
+      tracked.handlingNanos.add(elapsed);
+      tracked.maxHandlingNanos.accumulate(elapsed);
+    }
+  }
+
+  private Counters countersFor(String address) {
+    Counters existing = counters.get(address);
+    if (existing != null) {
+      return existing;
+    }
+    String key = counters.size() < MAX_ADDRESSES ? address : OTHER_ADDRESSES;
+    return counters.computeIfAbsent(key, unused -> new Counters());
+  }
+
+  private static final class Counters {
+    final LongAdder sent = new LongAdder();
+    final LongAdder published = new LongAdder();
+    final LongAdder delivered = new LongAdder();
+    final LongAdder handlingNanos = new LongAdder();
+    final LongAccumulator maxHandlingNanos = new LongAccumulator(Math::max, 0L);
+
+    EventBusAddressStats snapshot(String address) {
+      return new EventBusAddressStats(
+          address,
+          sent.sum(),
+          published.sum(),
+          delivered.sum(),
+          handlingNanos.sum(),
+          maxHandlingNanos.get());
+    }
+  }
+}
@@ -0,0 +1,351 @@
+package org.larpconnect.events;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.inject.Inject;
+import io.vertx.core.Context;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.DeliveryContext;
+import io.vertx.core.eventbus.EventBus;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import org.larpconnect.common.LatencyHistogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Default implementation of {@link EventLoopMonitor}.
+ *
+ * <p>Handlers are attributed to verticles through their context's deployment id, which the
+ * deployers register here under a name. A watchdog thread, running while any probe verticle is
+ * deployed, scans the handlers in progress every half threshold, so any handler running past one
+ * and a half thresholds is sampled, and logs a report every report interval. Past {@link
+ * #MAX_ADDRESSES} distinct addresses, handlers are recorded under {@link #OTHER_ADDRESSES}.
+ */
+final class DefaultEventLoopMonitor implements EventLoopMonitor {
+  static final int MAX_ADDRESSES = 256;
+  private static final String INTERNAL_PREFIX = "__vertx.";
+  private static final int MAX_STACK_FRAMES = 32;
+
+  private final Logger logger = LoggerFactory.getLogger(DefaultEventLoopMonitor.class);
+  private final EventLoopMonitorConfiguration configuration;
+  private final Map<String, String> deployments = new ConcurrentHashMap<>();
+  private final Map<String, LatencyHistogram> lag = new ConcurrentHashMap<>();
+  private final Map<String, LatencyHistogram> verticles = new ConcurrentHashMap<>();
+  private final Map<String, LatencyHistogram> addresses = new ConcurrentHashMap<>();
+  private final Set<Running> running = ConcurrentHashMap.newKeySet();
+  private final ThreadLocal<Running> current = ThreadLocal.withInitial(this::newRunning);
+  private final Deque<SlowHandlerSample> samples = new ConcurrentLinkedDeque<>();
+  private final Object lifecycle = new Object();
+  private final Set<String> probedLoops = ConcurrentHashMap.newKeySet();
+  private ScheduledExecutorService watchdog;
+  private List<ScheduledFuture<?>> tasks = List.of();
+
+  @Inject
+  DefaultEventLoopMonitor(EventLoopMonitorConfiguration configuration) {
+    this.configuration = configuration;
+  }
+
+  @Override
+  public <T> Handler<T> timed(Handler<T> handler) {
+    return event -> {
+      long start = begin();
+      try {
+        handler.handle(event);
+      } finally {
+        end(start, null);
+      }
+    };
+  }
+
+  @Override
+  public ImmutableList<LatencyStats> eventLoopLag() {
+    return stats(lag);
+  }
+
+  @Override
+  public ImmutableList<LatencyStats> verticleHandlers() {
+    return stats(verticles);
+  }
+
+  @Override
+  public ImmutableList<LatencyStats> addressHandlers() {
+    return stats(addresses);
+  }
+
+  @Override
+  public ImmutableList<SlowHandlerSample> slowHandlers() {
+    return ImmutableList.copyOf(samples);
+  }
+
+  /**
+   * Starts timing the handlers of every consumer of an event bus.
+   *
+   * @param eventBus The event bus to intercept.
+   */
+  void attach(EventBus eventBus) {
+    eventBus.addInboundInterceptor(this::onInbound);
+  }
+
+  /**
+   * Names a deployment, so its handlers are recorded under that name.
+   *
+   * @param deploymentId The deployment id.
+   * @param verticle The name to record under.
+   */
+  void deployed(String deploymentId, String verticle) {
+    deployments.put(deploymentId, verticle);
+  }
+
+  /**
+   * Forgets an undeployed deployment.
+   *
+   * @param deploymentId The deployment id.
+   */
+  void undeployed(String deploymentId) {
+    deployments.remove(deploymentId);
+  }
+
+  /**
+   * Records how late a probe fired on an event loop.
+   *
+   * @param eventLoop The event-loop thread name.
+   * @param nanos The lag in nanoseconds.
+   */
+  void recordLag(String eventLoop, long nanos) {
+    lag.computeIfAbsent(eventLoop, unused -> new LatencyHistogram()).record(nanos);
+  }
+
+  /**
+   * Claims an event loop for a probe verticle, starting the watchdog with the first one.
+   *
+   * @param eventLoop The event-loop thread name.
+   * @return Whether the loop was claimed; {@code false} if another probe runs on it.
+   */
+  boolean probeStarted(String eventLoop) {
+    synchronized (lifecycle) {
+      if (!probedLoops.add(eventLoop)) {
+        return false;
+      }
+      if (probedLoops.size() == 1) {
+        watchdog =
+            Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder()
+                    .setNameFormat("event-loop-watchdog-%d")
+                    .setDaemon(true)
+                    .build());
+        long scan = Math.max(1L, configuration.slowHandlerThreshold().toMillis() / 2);
+        long report = configuration.reportInterval().toMillis();
+        tasks =
+            List.of(
+                watchdog.scheduleWithFixedDelay(
+                    this::sampleSlowHandlers, scan, scan, TimeUnit.MILLISECONDS),
+                watchdog.scheduleWithFixedDelay(
+                    this::report, report, report, TimeUnit.MILLISECONDS));
+      }
+      return true;
+    }
+  }
+
+  /**
+   * Releases an event loop's probe, stopping the watchdog with the last one.
+   *
+   * @param eventLoop The event-loop thread name.
+   */
+  void probeStopped(String eventLoop) {
+    synchronized (lifecycle) {
+      if (probedLoops.remove(eventLoop) && probedLoops.isEmpty()) {
+        tasks.forEach(task -> task.cancel(false));
+        watchdog.shutdownNow();
+        watchdog = null;
+      }
+    }
+  }
+
+  private <T> void onInbound(DeliveryContext<T> context) {
+    String address = context.message().address();
+    long start = begin();
+    try {
+      // Dispatches to the consumer's handler on this thread.
+      context.next();
+    } finally {
+      // Replies are still the verticle's time, but their one-off addresses are not worth a row
+      end(start, address.startsWith(INTERNAL_PREFIX) ? null : address);
+    }
+  }
+
+  private long begin() {
+    Running handler = current.get();
+    long start = System.nanoTime();
+    if (handler.depth++ == 0) {
+      handler.deploymentId = deploymentId();
+      handler.start = start;
+    }
+    return start;
+  }
+
+  private void end(long start, String address) {
+    long elapsed = System.nanoTime() - start;
+    Running handler = current.get();
+    if (--handler.depth == 0) {
+      handler.start = 0;
+    }
+    histogram(verticles, verticleOf(deploymentId())).record(elapsed);
+    if (address != null) {
+      String key =
+          addresses.containsKey(address) || addresses.size() < MAX_ADDRESSES
+              ? address
+              : OTHER_ADDRESSES;
+      histogram(addresses, key).record(elapsed);
+    }
+  }
+
+  private Running newRunning() {
+    Running handler = new Running(Thread.currentThread());
+    running.add(handler);
+    return handler;
+  }
+
+  private void sampleSlowHandlers() {
+    long threshold = configuration.slowHandlerThreshold().toNanos();
+    // Threads come and go, as with virtual threads; only live ones can be running a handler
+    running.removeIf(handler -> !handler.thread.isAlive());
+    for (Running handler : running) {
+      long start = handler.start;
+      if (start == 0 || start == handler.sampledStart) {
+        continue;
+      }
+      long runningNanos = System.nanoTime() - start;
+      if (runningNanos < threshold) {
+        continue;
+      }
+      StackTraceElement[] stack = handler.thread.getStackTrace();
+      // Only keep the stack if it still belongs to the same handler
+      if (handler.start != start) {
+        continue;
+      }
+      handler.sampledStart = start;
+      SlowHandlerSample sample =
+          new SlowHandlerSample(
+              verticleOf(handler.deploymentId),
+              handler.thread.getName(),
+              runningNanos,
+              Instant.now(),
+              Arrays.stream(stack)
+                  .limit(MAX_STACK_FRAMES)
+                  .map(StackTraceElement::toString)
+                  .collect(ImmutableList.toImmutableList()));
+      samples.addFirst(sample);
+      while (samples.size() > configuration.maxSlowHandlerSamples()) {
+        samples.pollLast();
+      }
+      logger
+          .atWarn()
+          .setMessage("Slow handler on {}")
+          .addArgument(sample.thread())
+          .addKeyValue("verticle", sample.verticle())
+          .addKeyValue("runningMs", TimeUnit.NANOSECONDS.toMillis(runningNanos))
+          .addKeyValue("at", sample.stack().isEmpty() ? "" : sample.stack().get(0))
+          .log();
+    }
+  }
+
+  private void report() {
+    eventLoopLag().forEach(stats -> log("Event loop lag", "eventLoop", stats));
+    verticleHandlers().forEach(stats -> log("Handler execution time", "verticle", stats));
+  }
+
+  private void log(String message, String kind, LatencyStats stats) {
+    logger
+        .atInfo()
+        .setMessage(message)
+        .addKeyValue(kind, stats.name())
+        .addKeyValue("count", stats.count())
+        .addKeyValue("p50Us", TimeUnit.NANOSECONDS.toMicros(stats.p50Nanos()))
+        .addKeyValue("p99Us", TimeUnit.NANOSECONDS.toMicros(stats.p99Nanos()))
+        .addKeyValue("p999Us", TimeUnit.NANOSECONDS.toMicros(stats.p999Nanos()))
+        .addKeyValue("maxUs", TimeUnit.NANOSECONDS.toMicros(stats.maxNanos()))
+        .log();
+  }
+
+  private String verticleOf(String deploymentId) {
+    return deploymentId == null
+        ? UNATTRIBUTED
+        : deployments.getOrDefault(deploymentId, UNATTRIBUTED);
+  }
+
+  private static String deploymentId() {
+    Context context = Vertx.currentContext();
+    return context == null ? null : context.deploymentID();
+  }
+
+  private static LatencyHistogram histogram(Map<String, LatencyHistogram> histograms, String key) {
+    LatencyHistogram existing = histograms.get(key);
+    return existing != null
+        ? existing
+        : histograms.computeIfAbsent(key, unused -> new LatencyHistogram());
+  }
+
+  /**
+   * Returns the event loops that have a probe.
+   *
+   * @return The event-loop thread names.
+   */
+  ImmutableSet<String> probedLoops() {
+    return ImmutableSet.copyOf(probedLoops);
+  }
+
+  /** Returns the lag histogram of every event loop, for the metrics scrape. */
+  ImmutableMap<String, LatencyHistogram.Snapshot> lagSnapshots() {
+    return snapshots(lag);
+  }
+
+  /** Returns the handler histogram of every verticle, for the metrics scrape. */
+  ImmutableMap<String, LatencyHistogram.Snapshot> verticleSnapshots() {
+    return snapshots(verticles);
+  }
+
+  private static ImmutableMap<String, LatencyHistogram.Snapshot> snapshots(
+      Map<String, LatencyHistogram> histograms) {
+    return histograms.entrySet().stream()
+        .collect(
+            ImmutableMap.toImmutableMap(Map.Entry::getKey, entry -> entry.getValue().snapshot()));
+  }
+
+  private static ImmutableList<LatencyStats> stats(Map<String, LatencyHistogram> histograms) {
+    return histograms.entrySet().stream()
+        .map(entry -> LatencyStats.of(entry.getKey(), entry.getValue()))
+        .sorted(Comparator.comparing(LatencyStats::name))
+        .collect(ImmutableList.toImmutableList());
+  }
+
+  /** The handler in progress on one thread; written by that thread, read by the watchdog. */
+  private static final class Running {
+    final Thread thread;
+    // Only touched by the owning thread
+    int depth;
+    volatile String deploymentId;
+    // 0 while no handler runs; written last, so the watchdog sees the matching deployment id
+    volatile long start;
+    // Only touched by the watchdog
+    long sampledStart;
+
+    Running(Thread thread) {
+      this.thread = thread;
+    }
+  }
+}
@@ -0,0 +1,24 @@
+package org.larpconnect.events;
+
+import com.google.errorprone.annotations.ThreadSafe;
+import com.google.inject.Inject;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import java.util.concurrent.CompletionStage;
+
+/** Default implementation of {@link FutureAdapter}. */
+@ThreadSafe
+final class DefaultFutureAdapter implements FutureAdapter {
+  @Inject
+  DefaultFutureAdapter() {}
+
+  @Override
+  public <T> Future<T> adapt(CompletionStage<T> stage) {
+    Context context = Vertx.currentContext();
+    if (context == null) {
+      return Future.fromCompletionStage(stage);
+    }
+    return Future.fromCompletionStage(stage, context);
+  }
+}
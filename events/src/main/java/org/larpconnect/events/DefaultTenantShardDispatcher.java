@@ -0,0 +1,361 @@
+package org.larpconnect.events;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.hash.Hashing;
+import com.google.inject.Inject;
+import com.google.inject.Provider;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.Message;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Default implementation of {@link TenantShardDispatcher}.
+ *
+ * <p>Tenants are mapped with Guava's jump consistent hash, which needs no ring or virtual nodes and
+ * spreads tenants evenly over shards numbered {@code 0} to {@code n - 1}. Each shard is its own
+ * verticle, and Vert.x assigns successive deployments to successive event loops, so the pool is
+ * spread across event loops rather than stacked on one.
+ */
+final class DefaultTenantShardDispatcher implements TenantShardDispatcher {
+  static final String ADDRESS_PREFIX = "tenants.shard.";
+  static final String VERTICLE = "tenant_shard";
+  private static final long DRAIN_POLL_MS = 10L;
+
+  private final Logger logger = LoggerFactory.getLogger(DefaultTenantShardDispatcher.class);
+  private final Provider<Vertx> vertxProvider;
+  private final ImmutableMap<String, TenantMessageHandler> handlers;
+  private final TenantShardConfiguration configuration;
+  private final DefaultEventLoopMonitor eventLoopMonitor;
+  private final Object resizeLock = new Object();
+  private final List<Consumer<ImmutableList<Shard>>> parked = new ArrayList<>();
+  private Future<Void> lastResize = Future.succeededFuture();
+  private Future<Context> deployContext;
+  private volatile Routing routing = Routing.stable(ImmutableList.of());
+
+  @Inject
+  DefaultTenantShardDispatcher(
+      Provider<Vertx> vertxProvider,
+      Map<String, TenantMessageHandler> handlers,
+      TenantShardConfiguration configuration,
+      DefaultEventLoopMonitor eventLoopMonitor) {
+    this.vertxProvider = vertxProvider;
+    this.handlers = ImmutableMap.copyOf(handlers);
+    this.configuration = configuration;
+    this.eventLoopMonitor = eventLoopMonitor;
+  }
+
+  @Override
+  public <T> Future<Message<T>> request(TenantMessage message) {
+    while (true) {
+      Routing current = routing;
+      if (current.moves(message.tenantId())) {
+        Future<Message<T>> parked = park(current, message);
+        if (parked != null) {
+          return parked;
+        }
+        continue;
+      }
+      if (current.shards.isEmpty()) {
+        return Future.failedFuture(new IllegalStateException("No tenant shards are running"));
+      }
+      Shard shard = current.shards.get(shardOf(message.tenantId(), current.shards.size()));
+      AtomicLong sent = shard.sent;
+      sent.incrementAndGet();
+      // A resize that began meanwhile may have stopped counting on this batch; route again.
+      if (routing != current) {
+        sent.decrementAndGet();
+        continue;
+      }
+      return send(shard, sent, message);
+    }
+  }
+
+  @Override
+  public int shardOf(UUID tenantId) {
+    int count = routing.shards.size();
+    return count == 0 ? -1 : shardOf(tenantId, count);
+  }
+
+  @Override
+  public Future<Void> resize(int count) {
+    checkArgument(count >= 0, "Shard count must not be negative: %s", count);
+    synchronized (resizeLock) {
+      lastResize = lastResize.transform(ignored -> applyResize(count));
+      return lastResize;
+    }
+  }
+
+  @Override
+  public Future<Void> awaitIdle(Duration timeout) {
+    ImmutableList<Shard> current = routing.shards;
+    if (current.isEmpty()) {
+      return Future.succeededFuture();
+    }
+    Vertx vertx = vertxProvider.get();
+    List<Future<Void>> idle =
+        current.stream().map(shard -> drain(vertx, shard, shard.queueDepth, timeout)).toList();
+    return Future.all(idle).mapEmpty();
+  }
+
+  @Override
+  public ImmutableList<TenantShardStats> stats() {
+    return routing.shards.stream()
+        .map(
+            shard ->
+                new TenantShardStats(
+                    shard.index, shard.address, shard.queueDepth.get(), shard.dispatched.sum()))
+        .collect(ImmutableList.toImmutableList());
+  }
+
+  @VisibleForTesting
+  boolean moving() {
+    return routing.moving;
+  }
+
+  static int shardOf(UUID tenantId, int count) {
+    // The low half of a UUIDv7 is random and the high half starts with a timestamp; mixing them
+    // keeps tenants created in the same millisecond apart.
+    return Hashing.consistentHash(
+        tenantId.getMostSignificantBits() ^ tenantId.getLeastSignificantBits(), count);
+  }
+
+  private <T> Future<Message<T>> park(Routing current, TenantMessage message) {
+    synchronized (parked) {
+      if (routing != current) {
+        return null;
+      }
+      Promise<Message<T>> promise = Promise.promise();
+      parked.add(next -> this.<T>dispatch(next, message).onComplete(promise));
+      return promise.future();
+    }
+  }
+
+  private <T> Future<Message<T>> dispatch(ImmutableList<Shard> current, TenantMessage message) {
+    if (current.isEmpty()) {
+      return Future.failedFuture(new IllegalStateException("No tenant shards are running"));
+    }
+    Shard shard = current.get(shardOf(message.tenantId(), current.size()));
+    AtomicLong sent = shard.sent;
+    sent.incrementAndGet();
+    return send(shard, sent, message);
+  }
+
+  private <T> Future<Message<T>> send(Shard shard, AtomicLong sent, TenantMessage message) {
+    shard.queueDepth.incrementAndGet();
+    shard.dispatched.increment();
+    return vertxProvider
+        .get()
+        .eventBus()
+        .<T>request(shard.address, message)
+        .andThen(
+            ignored -> {
+              shard.queueDepth.decrementAndGet();
+              sent.decrementAndGet();
+            });
+  }
+
+  private Future<Void> applyResize(int count) {
+    ImmutableList<Shard> current = routing.shards;
+    if (count > current.size()) {
+      return grow(current, count);
+    }
+    if (count < current.size()) {
+      return shrink(current, count);
+    }
+    return Future.succeededFuture();
+  }
+
+  private Future<Void> grow(ImmutableList<Shard> current, int count) {
+    Vertx vertx = vertxProvider.get();
+    List<Future<Shard>> started =
+        IntStream.range(current.size(), count).mapToObj(index -> start(vertx, index)).toList();
+    return Future.all(started)
+        .compose(
+            all -> {
+              ImmutableList.Builder<Shard> grown = ImmutableList.<Shard>builder().addAll(current);
+              started.forEach(shard -> grown.add(shard.result()));
+              // Jump hashing moves tenants onto the new shards from every old one.
+              return move(vertx, current, grown.build(), current);
+            })
+        .onSuccess(
+            ignored -> logger.info("Tenant shards grown from {} to {}", current.size(), count));
+  }
+
+  private Future<Shard> start(Vertx vertx, int index) {
+    String address = ADDRESS_PREFIX + index;
+    Promise<String> deployed = Promise.promise();
+    // Deployed from a context outside any deployment so that a shard is not the child of the
+    // verticle that resized the pool: Vert.x undeploys children first, and a verticle stopping the
+    // pool must still find its shards running to drain them.
+    deployContext(vertx)
+        .onFailure(deployed::fail)
+        .onSuccess(
+            context ->
+                context.runOnContext(
+                    ignored ->
+                        vertx
+                            .deployVerticle(new TenantShardVerticle(address, handlers))
+                            .onComplete(deployed)));
+    return deployed
+        .future()
+        .map(
+            deploymentId -> {
+              eventLoopMonitor.deployed(deploymentId, VERTICLE);
+              return new Shard(index, address, deploymentId);
+            });
+  }
+
+  private Future<Context> deployContext(Vertx vertx) {
+    // Resizes run one at a time, each after the previous one completed.
+    if (deployContext == null) {
+      // Called off a Vert.x thread, getOrCreateContext creates a context of no deployment.
+      deployContext =
+          Future.fromCompletionStage(CompletableFuture.supplyAsync(vertx::getOrCreateContext));
+    }
+    return deployContext;
+  }
+
+  private Future<Void> shrink(ImmutableList<Shard> current, int count) {
+    Vertx vertx = vertxProvider.get();
+    ImmutableList<Shard> removed = current.subList(count, current.size());
+    return move(vertx, current, current.subList(0, count), removed)
+        .compose(
+            ignored -> {
+              logger.info("Tenant shards shrunk from {} to {}", current.size(), count);
+              return Future.all(removed.stream().map(shard -> undeploy(vertx, shard)).toList());
+            })
+        .mapEmpty();
+  }
+
+  /**
+   * Moves the routing from {@code current} to {@code next} without reordering any tenant's
+   * messages. Messages of tenants that change shard are held back, the shards they leave answer
+   * what was sent to them before, and only then are the held messages sent on to the new shards, in
+   * the order they came, ahead of the new mapping being published.
+   */
+  private Future<Void> move(
+      Vertx vertx, ImmutableList<Shard> current, ImmutableList<Shard> next, List<Shard> left) {
+    if (current.isEmpty()) {
+      routing = Routing.stable(next);
+      return Future.succeededFuture();
+    }
+    routing = new Routing(current, next);
+    // Messages sent from here on count against a fresh batch, so a busy shard still drains.
+    List<Future<Void>> drained =
+        left.stream()
+            .map(
+                shard -> {
+                  AtomicLong before = shard.sent;
+                  shard.sent = new AtomicLong();
+                  return drain(vertx, shard, before, configuration.drainTimeout());
+                })
+            .toList();
+    return Future.all(drained)
+        .map(
+            ignored -> {
+              synchronized (parked) {
+                parked.forEach(message -> message.accept(next));
+                parked.clear();
+                routing = Routing.stable(next);
+              }
+              return null;
+            });
+  }
+
+  private Future<Void> undeploy(Vertx vertx, Shard shard) {
+    eventLoopMonitor.undeployed(shard.deploymentId);
+    // The shard is already gone when Vert.x itself is closing.
+    return vertx
+        .undeploy(shard.deploymentId)
+        .recover(
+            err -> {
+              logger.debug("Tenant shard {} was already undeployed", shard.index, err);
+              return Future.succeededFuture();
+            });
+  }
+
+  private Future<Void> drain(Vertx vertx, Shard shard, AtomicLong pending, Duration timeout) {
+    Promise<Void> drained = Promise.promise();
+    long deadline = System.nanoTime() + timeout.toNanos();
+    pollDrained(vertx, shard, pending, deadline, drained);
+    return drained.future();
+  }
+
+  private void pollDrained(
+      Vertx vertx, Shard shard, AtomicLong pending, long deadline, Promise<Void> drained) {
+    long depth = pending.get();
+    if (depth == 0) {
+      drained.complete();
+    } else if (System.nanoTime() - deadline >= 0) {
+      logger.warn("Tenant shard {} drained with {} messages unanswered", shard.index, depth);
+      drained.complete();
+    } else {
+      vertx.setTimer(DRAIN_POLL_MS, id -> pollDrained(vertx, shard, pending, deadline, drained));
+    }
+  }
+
+  /**
+   * The shards messages are routed to. While a resize moves tenants, {@code next} is the pool being
+   * moved to and the messages of tenants whose shard changes are held back.
+   */
+  private static final class Routing {
+    final ImmutableList<Shard> shards;
+    final ImmutableList<Shard> next;
+    final boolean moving;
+
+    Routing(ImmutableList<Shard> shards, ImmutableList<Shard> next) {
+      this(shards, next, true);
+    }
+
+    private Routing(ImmutableList<Shard> shards, ImmutableList<Shard> next, boolean moving) {
+      this.shards = shards;
+      this.next = next;
+      this.moving = moving;
+    }
+
+    static Routing stable(ImmutableList<Shard> shards) {
+      return new Routing(shards, shards, false);
+    }
+
+    boolean moves(UUID tenantId) {
+      if (!moving) {
+        return false;
+      }
+      return next.isEmpty() || shardOf(tenantId, shards.size()) != shardOf(tenantId, next.size());
+    }
+  }
+
+  private static final class Shard {
+    final int index;
+    final String address;
+    final String deploymentId;
+    final AtomicLong queueDepth = new AtomicLong();
+    final LongAdder dispatched = new LongAdder();
+    // Unanswered messages sent since the last resize that moved tenants off this shard.
+    volatile AtomicLong sent = new AtomicLong();
+
+    Shard(int index, String address, String deploymentId) {
+      this.index = index;
+      this.address = address;
+      this.deploymentId = deploymentId;
+    }
+  }
+}
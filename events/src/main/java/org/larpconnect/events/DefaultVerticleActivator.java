@@ -0,0 +1,338 @@
+package org.larpconnect.events;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.inject.Inject;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+import io.vertx.core.Verticle;
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.Message;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Default implementation of {@link VerticleActivator}.
+ *
+ * <p>Every state change of a key's activation happens inside a compute of the activations map, so a
+ * message either joins an activation before the sweeper checks it for idleness or finds it
+ * passivating and starts a new one. A new activation is deployed only after the one it replaces has
+ * stopped, and on an address of its own, so the two never consume side by side.
+ *
+ * <p>Messages that arrive while a verticle is being deployed wait in a buffer of its activation, up
+ * to the configured maximum; until that buffer has drained, later messages queue behind them, so a
+ * key's messages are sent in the order they arrived.
+ *
+ * <p>Verticles are deployed from the context of {@link VerticleActivationsVerticle}, which makes
+ * them its children; replies still complete on the context of the caller. Unlike tenant shards,
+ * which must outlive the verticle stopping them to drain, an activated verticle has nothing to
+ * finish when its owner stops, since {@link #detach} undeploys busy ones too. Being children means
+ * Vert.x undeploys them with their owner even when it is undeployed without a detach, so none is
+ * left running with nothing to passivate it; passivation still undeploys them one by one.
+ */
+final class DefaultVerticleActivator implements VerticleActivator {
+  static final String ADDRESS_PREFIX = "activated.";
+
+  private final Logger logger = LoggerFactory.getLogger(DefaultVerticleActivator.class);
+  private final ImmutableMap<String, ActivatedVerticleFactory> factories;
+  private final ImmutableMap<String, Counters> counters;
+  private final VerticleActivationConfiguration configuration;
+  private final DefaultVerticleInstantiationMonitor monitor;
+  private final DefaultEventLoopMonitor eventLoopMonitor;
+  private final Map<ActivationKey, Activation> activations = new ConcurrentHashMap<>();
+  private final AtomicLong generation = new AtomicLong();
+  private volatile Context owner;
+
+  @Inject
+  DefaultVerticleActivator(
+      Map<String, ActivatedVerticleFactory> factories,
+      VerticleActivationConfiguration configuration,
+      DefaultVerticleInstantiationMonitor monitor,
+      DefaultEventLoopMonitor eventLoopMonitor) {
+    this.factories = ImmutableMap.copyOf(factories);
+    this.counters =
+        this.factories.keySet().stream()
+            .collect(ImmutableMap.toImmutableMap(kind -> kind, kind -> new Counters()));
+    this.configuration = configuration;
+    this.monitor = monitor;
+    this.eventLoopMonitor = eventLoopMonitor;
+  }
+
+  @Override
+  public <T> Future<Message<T>> request(ActivationKey key, TenantMessage message) {
+    ActivatedVerticleFactory factory = factories.get(key.kind());
+    if (factory == null) {
+      return Future.failedFuture(
+          new IllegalArgumentException("No verticle factory for kind " + key.kind()));
+    }
+    Context context = owner;
+    if (context == null) {
+      return Future.failedFuture(new IllegalStateException("Verticle activation is not running"));
+    }
+    Activation activation = activations.compute(key, this::acquire);
+    if (activation.starting.compareAndSet(false, true)) {
+      activate(context, factory, activation);
+    }
+    Vertx vertx = context.owner();
+    if (!activation.drained) {
+      synchronized (activation) {
+        if (!activation.drained) {
+          return buffer(vertx, activation, message);
+        }
+      }
+    }
+    Future<Void> deployed = activation.deployed.future();
+    if (deployed.failed()) {
+      release(activation);
+      return Future.failedFuture(deployed.cause());
+    }
+    return send(vertx, activation, message);
+  }
+
+  private <T> Future<Message<T>> buffer(Vertx vertx, Activation activation, TenantMessage message) {
+    // Only the buffer is bounded; messages already sent to a running verticle do not count.
+    if (activation.waiting.size() >= configuration.maxPending()) {
+      release(activation);
+      return Future.failedFuture(
+          new IllegalStateException(
+              "Too many messages wait for the activation of " + activation.key));
+    }
+    // Sent in arrival order from the deploying context once the verticle is deployed; the reply is
+    // handed back on the caller's
+    Context caller = vertx.getOrCreateContext();
+    Promise<Message<T>> reply = Promise.promise();
+    activation.waiting.add(
+        result -> {
+          if (result.succeeded()) {
+            this.<T>send(vertx, activation, message)
+                .onComplete(sent -> caller.runOnContext(v -> reply.handle(sent)));
+          } else {
+            release(activation);
+            caller.runOnContext(v -> reply.fail(result.cause()));
+          }
+        });
+    return reply.future();
+  }
+
+  @Override
+  public ImmutableList<VerticleActivationStats> stats() {
+    return counters.entrySet().stream()
+        .sorted(Map.Entry.comparingByKey())
+        .map(entry -> entry.getValue().snapshot(entry.getKey()))
+        .collect(ImmutableList.toImmutableList());
+  }
+
+  /**
+   * Starts activating verticles as children of the given context.
+   *
+   * @param context The context of the owning verticle.
+   */
+  void attach(Context context) {
+    owner = context;
+  }
+
+  /**
+   * Stops activating verticles and undeploys every live one, busy or not.
+   *
+   * @return A future completed once they are undeployed.
+   */
+  Future<Void> detach() {
+    Context context = owner;
+    owner = null;
+    if (context == null) {
+      return Future.succeededFuture();
+    }
+    List<Activation> live = mark(activation -> true);
+    return Future.all(live.stream().map(a -> passivate(context.owner(), a)).toList()).mapEmpty();
+  }
+
+  /** Undeploys every verticle that has answered its messages and stayed idle past the timeout. */
+  void passivateIdle() {
+    Context context = owner;
+    if (context == null) {
+      return;
+    }
+    long idleSince = System.nanoTime() - configuration.idleTimeout().toNanos();
+    mark(activation -> activation.inFlight.get() == 0 && activation.lastUsed - idleSince <= 0)
+        .forEach(activation -> passivate(context.owner(), activation));
+  }
+
+  private Activation acquire(ActivationKey key, Activation existing) {
+    Activation current = existing;
+    if (current == null || current.passivating) {
+      current =
+          new Activation(
+              key,
+              ADDRESS_PREFIX + key.kind() + "." + key.id() + "." + generation.incrementAndGet(),
+              current == null ? Future.succeededFuture() : current.stopped.future());
+    }
+    current.lastUsed = System.nanoTime();
+    current.inFlight.incrementAndGet();
+    return current;
+  }
+
+  private void release(Activation activation) {
+    // Before the decrement, so a sweeper that sees no messages in flight also sees this use
+    activation.lastUsed = System.nanoTime();
+    activation.inFlight.decrementAndGet();
+  }
+
+  private <T> Future<Message<T>> send(Vertx vertx, Activation activation, TenantMessage message) {
+    return vertx
+        .eventBus()
+        .<T>request(activation.address, message)
+        .andThen(ignored -> release(activation));
+  }
+
+  private void flush(Activation activation, AsyncResult<Void> result) {
+    // Messages arriving meanwhile queue up behind the buffered ones until the buffer has drained
+    synchronized (activation) {
+      activation.waiting.forEach(waiting -> waiting.handle(result));
+      activation.waiting.clear();
+      activation.drained = true;
+    }
+  }
+
+  private void activate(Context context, ActivatedVerticleFactory factory, Activation activation) {
+    activation.deployed.future().onComplete(result -> flush(activation, result));
+    long start = System.nanoTime();
+    String kind = activation.key.kind();
+    activation.previous.onComplete(
+        ignored ->
+            context.runOnContext(
+                v -> {
+                  Verticle verticle;
+                  try {
+                    verticle =
+                        monitor.instantiate(
+                            kind, () -> factory.create(activation.key, activation.address));
+                  } catch (RuntimeException e) {
+                    failed(activation, e);
+                    return;
+                  }
+                  context
+                      .owner()
+                      .deployVerticle(verticle)
+                      .onSuccess(id -> activated(activation, id, System.nanoTime() - start))
+                      .onFailure(err -> failed(activation, err));
+                }));
+  }
+
+  private void activated(Activation activation, String deploymentId, long elapsed) {
+    activation.deploymentId = deploymentId;
+    eventLoopMonitor.deployed(deploymentId, activation.key.kind());
+    counters.get(activation.key.kind()).activated(elapsed);
+    logger.debug("Activated {} in {} ms", activation.key, elapsed / 1_000_000L);
+    activation.deployed.complete();
+  }
+
+  private void failed(Activation activation, Throwable cause) {
+    logger.warn("Could not activate {}", activation.key, cause);
+    activations.remove(activation.key, activation);
+    activation.deployed.fail(cause);
+    activation.stopped.complete();
+  }
+
+  private List<Activation> mark(Predicate<Activation> passivate) {
+    List<Activation> marked = new ArrayList<>();
+    for (ActivationKey key : activations.keySet()) {
+      activations.computeIfPresent(
+          key,
+          (k, current) -> {
+            if (!current.passivating
+                && current.deployed.future().succeeded()
+                && passivate.test(current)) {
+              current.passivating = true;
+              marked.add(current);
+            }
+            return current;
+          });
+    }
+    return marked;
+  }
+
+  private Future<Void> passivate(Vertx vertx, Activation activation) {
+    eventLoopMonitor.undeployed(activation.deploymentId);
+    // Activated verticles are children of the owner and may already be gone with it.
+    return vertx
+        .undeploy(activation.deploymentId)
+        .recover(
+            err -> {
+              logger.debug("{} was already undeployed", activation.key, err);
+              return Future.succeededFuture();
+            })
+        .andThen(
+            ignored -> {
+              activations.remove(activation.key, activation);
+              counters.get(activation.key.kind()).passivated();
+              logger.debug("Passivated {}", activation.key);
+              activation.stopped.complete();
+            });
+  }
+
+  private static final class Activation {
+    final ActivationKey key;
+    final String address;
+    // Completed once the activation this one replaces has stopped
+    final Future<Void> previous;
+    final AtomicBoolean starting = new AtomicBoolean();
+    final Promise<Void> deployed = Promise.promise();
+    final Promise<Void> stopped = Promise.promise();
+    final AtomicLong inFlight = new AtomicLong();
+    // Both guarded by the activation; callers send directly only once the buffer has drained
+    final List<Handler<AsyncResult<Void>>> waiting = new ArrayList<>();
+    volatile boolean drained;
+    volatile long lastUsed;
+    volatile String deploymentId;
+    // Only changed inside a compute of the activations map
+    boolean passivating;
+
+    Activation(ActivationKey key, String address, Future<Void> previous) {
+      this.key = key;
+      this.address = address;
+      this.previous = previous;
+    }
+  }
+
+  private static final class Counters {
+    final AtomicLong live = new AtomicLong();
+    final LongAdder activations = new LongAdder();
+    final LongAdder passivations = new LongAdder();
+    final LongAdder activationNanos = new LongAdder();
+    final LongAccumulator maxActivationNanos = new LongAccumulator(Math::max, 0L);
+
+    void activated(long elapsed) {
+      live.incrementAndGet();
+      activations.increment();
+      activationNanos.add(elapsed);
+      maxActivationNanos.accumulate(elapsed);
+    }
+
+    void passivated() {
+      live.decrementAndGet();
+      passivations.increment();
+    }
+
+    VerticleActivationStats snapshot(String kind) {
+      return new VerticleActivationStats(
+          kind,
+          live.get(),
+          activations.sum(),
+          passivations.sum(),
+          activationNanos.sum(),
+          maxActivationNanos.get());
+    }
+  }
+}
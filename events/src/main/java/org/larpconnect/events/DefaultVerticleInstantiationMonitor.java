@@ -0,0 +1,57 @@
+package org.larpconnect.events;
+
+import com.google.common.collect.ImmutableList;
+import com.google.errorprone.annotations.ThreadSafe;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Default implementation of {@link VerticleInstantiationMonitor}, timing the instantiations that
+ * {@link MainVerticle} and {@link GuiceVerticleFactory} perform.
+ */
+@ThreadSafe
+final class DefaultVerticleInstantiationMonitor implements VerticleInstantiationMonitor {
+  private final Map<String, Counters> counters = new ConcurrentHashMap<>();
+
+  /**
+   * Creates a verticle instance and counts how long it took.
+   *
+   * @param verticle The name the instance is counted under.
+   * @param factory Creates the instance.
+   * @param <T> The instance type.
+   * @return The instance.
+   */
+  <T> T instantiate(String verticle, Supplier<T> factory) {
+    long start = System.nanoTime();
+    T instance = factory.get();
+    long elapsed = System.nanoTime() - start;
+    Counters tracked = counters.computeIfAbsent(verticle, unused -> new Counters());
+    tracked.instances.increment();
+    tracked.instantiationNanos.add(elapsed);
+    tracked.maxInstantiationNanos.accumulate(elapsed);
+    return instance;
+  }
+
+  @Override
+  public ImmutableList<VerticleInstantiationStats> stats() {
+    return counters.entrySet().stream()
+        .map(entry -> entry.getValue().snapshot(entry.getKey()))
+        .sorted(Comparator.comparing(VerticleInstantiationStats::verticle))
+        .collect(ImmutableList.toImmutableList());
+  }
+
+  private static final class Counters {
+    final LongAdder instances = new LongAdder();
+    final LongAdder instantiationNanos = new LongAdder();
+    final LongAccumulator maxInstantiationNanos = new LongAccumulator(Math::max, 0L);
+
+    VerticleInstantiationStats snapshot(String verticle) {
+      return new VerticleInstantiationStats(
+          verticle, instances.sum(), instantiationNanos.sum(), maxInstantiationNanos.get());
+    }
+  }
+}
@@ -0,0 +1,80 @@
+package org.larpconnect.events;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.eventbus.MessageCodec;
+
+/**
+ * Base class for the event-bus codecs of immutable domain messages.
+ *
+ * <p>Every codec bound into the {@code Set<DomainMessageCodec<?>>} multibinding is registered as
+ * the default codec of its type when Vert.x is built, so senders pass domain objects to the event
+ * bus directly. A local consumer receives the very object that was sent, with no serialisation and
+ * no copy; this is only safe because domain messages are immutable. The binary encoding is used
+ * only when a message has to leave this node.
+ *
+ * @param <T> The immutable message type.
+ */
+public abstract class DomainMessageCodec<T> implements MessageCodec<T, T> {
+  private final Class<T> type;
+
+  /**
+   * Creates a codec for a message type.
+   *
+   * @param type The message class; its name is the codec name.
+   */
+  protected DomainMessageCodec(Class<T> type) {
+    this.type = type;
+  }
+
+  /**
+   * Returns the message type this codec handles.
+   *
+   * @return The message class.
+   */
+  public final Class<T> type() {
+    return type;
+  }
+
+  /**
+   * Appends the binary form of a message to a buffer.
+   *
+   * @param buffer The buffer to append to.
+   * @param message The message.
+   */
+  protected abstract void encode(Buffer buffer, T message);
+
+  /**
+   * Reads a message from its binary form.
+   *
+   * @param buffer The buffer holding the message.
+   * @param position The position of the first byte written by {@link #encode}.
+   * @return The message.
+   */
+  protected abstract T decode(Buffer buffer, int position);
+
+  @Override
+  public final void encodeToWire(Buffer buffer, T message) {
+    encode(buffer, message);
+  }
+
+  @Override
+  public final T decodeFromWire(int position, Buffer buffer) {
+    return decode(buffer, position);
+  }
+
+  @Override
+  public final T transform(T message) {
+    // Immutable, so local consumers can share the sender's instance.
+    return message;
+  }
+
+  @Override
+  public final String name() {
+    return type.getName();
+  }
+
+  @Override
+  public final byte systemCodecID() {
+    return -1;
+  }
+}
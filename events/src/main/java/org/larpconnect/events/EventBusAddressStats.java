@@ -0,0 +1,30 @@
+package org.larpconnect.events;
+
+/**
+ * Cumulative view of the traffic on one event-bus address.
+ *
+ * @param address The address, or {@link EventBusMonitor#OTHER_ADDRESSES} for traffic past the
+ *     tracking limit.
+ * @param sent Point-to-point messages and requests sent to the address.
+ * @param published Messages published to every consumer of the address.
+ * @param delivered Messages handed to a consumer on this node.
+ * @param handlingNanos Total time consumers spent in their handlers.
+ * @param maxHandlingNanos The longest single handler invocation.
+ */
+public record EventBusAddressStats(
+    String address,
+    long sent,
+    long published,
+    long delivered,
+    long handlingNanos,
+    long maxHandlingNanos) {
+
+  /**
+   * Returns the mean time a consumer spent handling one message.
+   *
+   * @return The mean handling time in nanoseconds, or {@code 0} before any delivery.
+   */
+  public long meanHandlingNanos() {
+    return delivered == 0 ? 0 : handlingNanos / delivered;
+  }
+}
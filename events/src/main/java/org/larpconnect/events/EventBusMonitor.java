@@ -0,0 +1,16 @@
+package org.larpconnect.events;
+
+import com.google.common.collect.ImmutableList;
+
+/** Exposes per-address event-bus throughput and handler latency to the rest of the server. */
+public interface EventBusMonitor {
+  /** The address under which traffic past the tracking limit is counted. */
+  String OTHER_ADDRESSES = "<other>";
+
+  /**
+   * Returns the counters of every tracked address.
+   *
+   * @return A snapshot per address, sorted by address.
+   */
+  ImmutableList<EventBusAddressStats> stats();
+}
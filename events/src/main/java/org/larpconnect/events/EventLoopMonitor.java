@@ -0,0 +1,57 @@
+package org.larpconnect.events;
+
+import com.google.common.collect.ImmutableList;
+import io.vertx.core.Handler;
+
+/**
+ * Exposes how long event loops wait behind busy handlers, and which handlers keep them busy.
+ *
+ * <p>A timer probe on every event loop measures how late it fires, which is the latency every task
+ * on that loop suffers. Handler execution time is recorded per verticle and per event-bus address,
+ * and handlers running past the slow-handler threshold have their stack sampled while they still
+ * run.
+ */
+public interface EventLoopMonitor {
+  /** The verticle under which handlers running outside any known deployment are recorded. */
+  String UNATTRIBUTED = "<unattributed>";
+
+  /** The address under which handlers past the address tracking limit are recorded. */
+  String OTHER_ADDRESSES = EventBusMonitor.OTHER_ADDRESSES;
+
+  /**
+   * Wraps a handler so its execution time is recorded against the verticle running it.
+   *
+   * @param handler The handler.
+   * @param <T> The event type.
+   * @return The timed handler.
+   */
+  <T> Handler<T> timed(Handler<T> handler);
+
+  /**
+   * Returns how late the timer probe fired on each event loop.
+   *
+   * @return Lag per event-loop thread, sorted by thread name.
+   */
+  ImmutableList<LatencyStats> eventLoopLag();
+
+  /**
+   * Returns handler execution time per verticle, as named by its deployment.
+   *
+   * @return Execution time per verticle, sorted by name.
+   */
+  ImmutableList<LatencyStats> verticleHandlers();
+
+  /**
+   * Returns handler execution time per event-bus address, replies excluded.
+   *
+   * @return Execution time per address, sorted by address.
+   */
+  ImmutableList<LatencyStats> addressHandlers();
+
+  /**
+   * Returns the most recent slow handler samples.
+   *
+   * @return The samples, newest first.
+   */
+  ImmutableList<SlowHandlerSample> slowHandlers();
+}
@@ -0,0 +1,34 @@
+package org.larpconnect.events;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.time.Duration;
+
+/**
+ * Represents how event loops and their handlers are watched.
+ *
+ * @param probeInterval How often the timer probe fires on each event loop.
+ * @param slowHandlerThreshold How long a handler may run before its stack is sampled.
+ * @param maxSlowHandlerSamples How many slow handler samples are kept.
+ * @param reportInterval How often lag and handler times are logged.
+ */
+public record EventLoopMonitorConfiguration(
+    Duration probeInterval,
+    Duration slowHandlerThreshold,
+    int maxSlowHandlerSamples,
+    Duration reportInterval) {
+  public EventLoopMonitorConfiguration {
+    checkArgument(
+        probeInterval.toMillis() > 0, "probeInterval must be at least 1 ms: %s", probeInterval);
+    checkArgument(
+        slowHandlerThreshold.toMillis() > 0,
+        "slowHandlerThreshold must be at least 1 ms: %s",
+        slowHandlerThreshold);
+    checkArgument(
+        maxSlowHandlerSamples > 0,
+        "maxSlowHandlerSamples must be positive: %s",
+        maxSlowHandlerSamples);
+    checkArgument(
+        reportInterval.toMillis() > 0, "reportInterval must be at least 1 ms: %s", reportInterval);
+  }
+}
@@ -0,0 +1,38 @@
+package org.larpconnect.events;
+
+import com.google.inject.Inject;
+import com.google.inject.Provider;
+import java.time.Duration;
+import org.larpconnect.common.Environment;
+
+/**
+ * Guice provider that compiles the event-loop monitor configuration from the {@link Environment}.
+ */
+public final class EventLoopMonitorConfigurationProvider
+    implements Provider<EventLoopMonitorConfiguration> {
+  private static final long DEFAULT_PROBE_INTERVAL_MS = 100L;
+  private static final long DEFAULT_SLOW_HANDLER_THRESHOLD_MS = 50L;
+  private static final int DEFAULT_SLOW_HANDLER_SAMPLES = 32;
+  private static final long DEFAULT_REPORT_INTERVAL_MS = 60_000L;
+
+  private final Environment environment;
+
+  @Inject
+  EventLoopMonitorConfigurationProvider(Environment environment) {
+    this.environment = environment;
+  }
+
+  @Override
+  public EventLoopMonitorConfiguration get() {
+    return new EventLoopMonitorConfiguration(
+        millis("EVENT_LOOP_PROBE_INTERVAL_MS", DEFAULT_PROBE_INTERVAL_MS),
+        millis("SLOW_HANDLER_THRESHOLD_MS", DEFAULT_SLOW_HANDLER_THRESHOLD_MS),
+        Math.max(
+            1, environment.getIntOrDefault("SLOW_HANDLER_SAMPLES", DEFAULT_SLOW_HANDLER_SAMPLES)),
+        millis("EVENT_LOOP_REPORT_INTERVAL_MS", DEFAULT_REPORT_INTERVAL_MS));
+  }
+
+  private Duration millis(String name, long defaultValue) {
+    return Duration.ofMillis(Math.max(1L, environment.getLongOrDefault(name, defaultValue)));
+  }
+}
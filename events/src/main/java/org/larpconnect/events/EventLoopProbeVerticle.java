@@ -0,0 +1,53 @@
+package org.larpconnect.events;
+
+import com.google.inject.Inject;
+import io.vertx.core.AbstractVerticle;
+import io.vertx.core.Promise;
+
+/**
+ * Measures the lag of the event loop it runs on: each firing of its timer records how much later
+ * than scheduled it ran, which is how long the loop was busy with other work. It refuses to start
+ * on a loop that already has a probe, so no loop is measured twice.
+ */
+final class EventLoopProbeVerticle extends AbstractVerticle {
+  private final DefaultEventLoopMonitor monitor;
+  private final EventLoopMonitorConfiguration configuration;
+  private String eventLoop;
+  private long timer = -1;
+
+  @Inject
+  EventLoopProbeVerticle(
+      DefaultEventLoopMonitor monitor, EventLoopMonitorConfiguration configuration) {
+    this.monitor = monitor;
+    this.configuration = configuration;
+  }
+
+  @Override
+  public void start(Promise<Void> startPromise) {
+    eventLoop = Thread.currentThread().getName();
+    if (!monitor.probeStarted(eventLoop)) {
+      startPromise.fail(new IllegalStateException(eventLoop + " already has a probe"));
+      return;
+    }
+    schedule();
+    startPromise.complete();
+  }
+
+  @Override
+  public void stop() {
+    vertx.cancelTimer(timer);
+    monitor.probeStopped(eventLoop);
+  }
+
+  private void schedule() {
+    long interval = configuration.probeInterval().toNanos();
+    long expected = System.nanoTime() + interval;
+    timer =
+        vertx.setTimer(
+            configuration.probeInterval().toMillis(),
+            id -> {
+              monitor.recordLag(eventLoop, System.nanoTime() - expected);
+              schedule();
+            });
+  }
+}
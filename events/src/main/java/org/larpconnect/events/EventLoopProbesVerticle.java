@@ -0,0 +1,70 @@
+package org.larpconnect.events;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.inject.Inject;
+import com.google.inject.Provider;
+import io.vertx.core.AbstractVerticle;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Puts one {@link EventLoopProbeVerticle} on every event loop.
+ *
+ * <p>Vert.x hands event loops to new contexts in turn across every deployment, and the other
+ * verticles deploy at the same time, so deploying one probe per loop at once may stack two on one
+ * loop and leave another unprobed. The probes are therefore deployed one at a time; one that lands
+ * on a loop already probed refuses to start and another is deployed, until every loop has its probe
+ * or the attempts run out.
+ */
+final class EventLoopProbesVerticle extends AbstractVerticle {
+  static final String VERTICLE = "event_loop_probe";
+  private static final int ATTEMPTS_PER_LOOP = 4;
+
+  private final Logger logger = LoggerFactory.getLogger(EventLoopProbesVerticle.class);
+  private final Provider<EventLoopProbeVerticle> probes;
+  private final DefaultEventLoopMonitor monitor;
+  private final int eventLoops;
+
+  @Inject
+  EventLoopProbesVerticle(
+      Provider<EventLoopProbeVerticle> probes,
+      DefaultEventLoopMonitor monitor,
+      VertxConfiguration configuration) {
+    this(probes, monitor, configuration.eventLoopPoolSize());
+  }
+
+  @VisibleForTesting
+  EventLoopProbesVerticle(
+      Provider<EventLoopProbeVerticle> probes, DefaultEventLoopMonitor monitor, int eventLoops) {
+    this.probes = probes;
+    this.monitor = monitor;
+    this.eventLoops = eventLoops;
+  }
+
+  @Override
+  public void start(Promise<Void> startPromise) {
+    deploy(0, 0).onComplete(startPromise);
+  }
+
+  private Future<Void> deploy(int probed, int attempts) {
+    if (probed == eventLoops) {
+      return Future.succeededFuture();
+    }
+    if (attempts == eventLoops * ATTEMPTS_PER_LOOP) {
+      logger.warn("Probing only {} of {} event loops for lag", probed, eventLoops);
+      return Future.succeededFuture();
+    }
+    return vertx
+        .deployVerticle(probes.get())
+        .transform(
+            deployed -> {
+              if (deployed.failed()) {
+                return deploy(probed, attempts + 1);
+              }
+              monitor.deployed(deployed.result(), VERTICLE);
+              return deploy(probed + 1, attempts + 1);
+            });
+  }
+}
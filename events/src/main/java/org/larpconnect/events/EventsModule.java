@@ -1,21 +1,176 @@
 package org.larpconnect.events;
 
+import com.google.common.collect.ImmutableMap;
 import com.google.inject.AbstractModule;
+import com.google.inject.Provider;
 import com.google.inject.Singleton;
+import com.google.inject.TypeLiteral;
+import com.google.inject.multibindings.MapBinder;
 import com.google.inject.multibindings.Multibinder;
+import com.google.inject.multibindings.ProvidesIntoSet;
 import io.vertx.core.Vertx;
+import java.util.function.ToLongFunction;
+import org.larpconnect.common.LazySingleton;
+import org.larpconnect.common.Metric;
+import org.larpconnect.common.ShutdownParticipant;
+import org.larpconnect.common.ShutdownPhase;
 
 /** Configures DI components for the events package. */
 public final class EventsModule extends AbstractModule {
   @Override
   protected void configure() {
     Multibinder.newSetBinder(binder(), VerticleProvider.class);
+    // Immutable domain messages travel by reference locally and in binary across nodes
+    Multibinder.newSetBinder(binder(), new TypeLiteral<DomainMessageCodec<?>>() {})
+        .addBinding()
+        .to(TenantMessageCodec.class);
 
+    bind(VertxConfiguration.class).toProvider(VertxConfigurationProvider.class).in(Singleton.class);
     // Bind VertxProvider as a Singleton
     bind(VertxProvider.class).in(Singleton.class);
     // Bind Vertx class to be resolved via VertxProvider
-    bind(Vertx.class).toProvider(VertxProvider.class).in(Singleton.class);
-    // Bind GuiceVerticleFactory
+    // Lazy even in Stage.PRODUCTION, so the server starts it alongside its other startup work
+    bind(Vertx.class).toProvider(VertxProvider.class).in(LazySingleton.SCOPE);
+    // Bind GuiceVerticleFactory; it caches a provider per verticle class
     bind(GuiceVerticleFactory.class).in(Singleton.class);
+    // Time every verticle instantiation, whether from a VerticleProvider or a guice: name
+    bind(DefaultVerticleInstantiationMonitor.class).in(Singleton.class);
+    bind(VerticleInstantiationMonitor.class).to(DefaultVerticleInstantiationMonitor.class);
+    bind(VerticleDeploymentMetrics.class).in(Singleton.class);
+    // Bridge CompletionStage-based services (e.g. asynchronous DAOs) into Vert.x futures
+    bind(FutureAdapter.class).to(DefaultFutureAdapter.class).in(Singleton.class);
+    // Count per-address event-bus traffic; VertxProvider attaches the interceptors
+    bind(DefaultEventBusMonitor.class).in(Singleton.class);
+    bind(EventBusMonitor.class).to(DefaultEventBusMonitor.class);
+    // Probe event-loop lag and time handlers per verticle and address
+    bind(EventLoopMonitorConfiguration.class)
+        .toProvider(EventLoopMonitorConfigurationProvider.class)
+        .in(Singleton.class);
+    bind(DefaultEventLoopMonitor.class).in(Singleton.class);
+    bind(EventLoopMonitor.class).to(DefaultEventLoopMonitor.class);
+
+    // Tenant messages are spread over a pool of shard verticles; handlers are keyed by type
+    MapBinder.newMapBinder(binder(), String.class, TenantMessageHandler.class);
+    bind(TenantShardConfiguration.class)
+        .toProvider(TenantShardConfigurationProvider.class)
+        .in(Singleton.class);
+    bind(TenantShardDispatcher.class).to(DefaultTenantShardDispatcher.class).in(Singleton.class);
+
+    // Per-tenant and per-actor verticles are deployed on first use; factories are keyed by kind
+    MapBinder.newMapBinder(binder(), String.class, ActivatedVerticleFactory.class);
+    bind(VerticleActivationConfiguration.class)
+        .toProvider(VerticleActivationConfigurationProvider.class)
+        .in(Singleton.class);
+    bind(DefaultVerticleActivator.class).in(Singleton.class);
+    bind(VerticleActivator.class).to(DefaultVerticleActivator.class);
+  }
+
+  @ProvidesIntoSet
+  VerticleProvider provideTenantShardsVerticle(Provider<TenantShardsVerticle> verticleProvider) {
+    // A single instance owns the pool; the shards themselves are deployed one per event loop.
+    return VerticleProvider.of(
+        VerticleDeployment.eventLoop("tenant_shards", 1), verticleProvider::get);
+  }
+
+  @ProvidesIntoSet
+  VerticleProvider provideEventLoopProbesVerticle(
+      Provider<EventLoopProbesVerticle> verticleProvider) {
+    // A single instance deploys the probes one at a time until each event loop has exactly one.
+    return VerticleProvider.of(
+        VerticleDeployment.eventLoop(EventLoopProbesVerticle.VERTICLE, 1), verticleProvider::get);
+  }
+
+  @ProvidesIntoSet
+  VerticleProvider provideVerticleActivationsVerticle(
+      Provider<VerticleActivationsVerticle> verticleProvider) {
+    // A single instance owns every activated verticle and sweeps them for idleness.
+    return VerticleProvider.of(
+        VerticleDeployment.eventLoop("verticle_activations", 1), verticleProvider::get);
+  }
+
+  @ProvidesIntoSet
+  ShutdownParticipant provideTenantShardsDrain(TenantShardDispatcher dispatcher) {
+    // Let the shards answer what the event bus already carries before the consumers stop
+    return new ShutdownParticipant(
+        "tenant-shards",
+        ShutdownPhase.DRAIN,
+        timeout -> dispatcher.awaitIdle(timeout).toCompletionStage().toCompletableFuture().get());
+  }
+
+  @ProvidesIntoSet
+  Metric provideDeployedInstances(VerticleDeploymentMetrics metrics) {
+    return Metric.counters(
+        "verticle_instances_deployed_total",
+        "Verticle instances deployed at startup.",
+        "verticle",
+        metrics::instances);
+  }
+
+  @ProvidesIntoSet
+  Metric provideDeploymentFailures(VerticleDeploymentMetrics metrics) {
+    return Metric.counters(
+        "verticle_deployment_failures_total",
+        "Verticle deployments that failed at startup.",
+        "verticle",
+        metrics::failures);
+  }
+
+  @ProvidesIntoSet
+  Metric provideDeploymentTimes(VerticleDeploymentMetrics metrics) {
+    return Metric.summary(
+        "verticle_deployment_seconds",
+        "Time to deploy every instance of a verticle.",
+        metrics.deployments);
+  }
+
+  @ProvidesIntoSet
+  Metric provideEventLoopLag(DefaultEventLoopMonitor monitor) {
+    return Metric.summaries(
+        "vertx_event_loop_lag_seconds",
+        "How late a timer fires on each event loop.",
+        "event_loop",
+        monitor::lagSnapshots);
+  }
+
+  @ProvidesIntoSet
+  Metric provideHandlerTimes(DefaultEventLoopMonitor monitor) {
+    return Metric.summaries(
+        "vertx_handler_seconds",
+        "Time spent in event-loop handlers, by verticle.",
+        "verticle",
+        monitor::verticleSnapshots);
+  }
+
+  @ProvidesIntoSet
+  Metric provideLiveActivations(VerticleActivator activator) {
+    return Metric.gauges(
+        "verticle_activations_live",
+        "Activated verticles currently deployed, by kind.",
+        "kind",
+        () -> activationStats(activator, VerticleActivationStats::live));
+  }
+
+  @ProvidesIntoSet
+  Metric provideActivations(VerticleActivator activator) {
+    return Metric.counters(
+        "verticle_activations_total",
+        "Verticles activated on demand, by kind.",
+        "kind",
+        () -> activationStats(activator, VerticleActivationStats::activations));
+  }
+
+  @ProvidesIntoSet
+  Metric providePassivations(VerticleActivator activator) {
+    return Metric.counters(
+        "verticle_passivations_total",
+        "Idle activated verticles undeployed, by kind.",
+        "kind",
+        () -> activationStats(activator, VerticleActivationStats::passivations));
+  }
+
+  private static ImmutableMap<String, Long> activationStats(
+      VerticleActivator activator, ToLongFunction<VerticleActivationStats> value) {
+    return activator.stats().stream()
+        .collect(ImmutableMap.toImmutableMap(VerticleActivationStats::kind, value::applyAsLong));
   }
 }
@@ -0,0 +1,22 @@
+package org.larpconnect.events;
+
+import io.vertx.core.Future;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Bridges {@link CompletionStage}-based APIs (such as the asynchronous DAOs, which may not depend
+ * on Vert.x) into Vert.x {@link Future}s.
+ */
+public interface FutureAdapter {
+  /**
+   * Adapts the given stage into a Vert.x future.
+   *
+   * <p>When called from a Vert.x context, callbacks registered on the returned future run back on
+   * that context rather than on the thread that completed the stage.
+   *
+   * @param stage The stage to adapt.
+   * @param <T> The result type.
+   * @return A future completed with the outcome of the stage.
+   */
+  <T> Future<T> adapt(CompletionStage<T> stage);
+}
@@ -6,17 +6,30 @@ import com.google.inject.Provider;
 import io.vertx.core.Deployable;
 import io.vertx.core.Promise;
 import io.vertx.core.spi.VerticleFactory;
+import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
 
-/** A VerticleFactory that uses Guice Injector to instantiate verticles. */
+/**
+ * A VerticleFactory that uses Guice Injector to instantiate verticles.
+ *
+ * <p>Each verticle class is loaded and resolved to its Guice provider once; later deployments of
+ * the same name only call the cached provider. Every instantiation is counted by the {@link
+ * VerticleInstantiationMonitor}.
+ */
 public final class GuiceVerticleFactory implements VerticleFactory {
   public static final String PREFIX = "guice";
 
   private final Provider<Injector> injectorProvider;
+  private final DefaultVerticleInstantiationMonitor monitor;
+  // Keyed by name alone, as every verticle class comes from the application class loader
+  private final Map<String, Provider<?>> providers = new ConcurrentHashMap<>();
 
   @Inject
-  public GuiceVerticleFactory(Provider<Injector> injectorProvider) {
+  GuiceVerticleFactory(
+      Provider<Injector> injectorProvider, DefaultVerticleInstantiationMonitor monitor) {
     this.injectorProvider = injectorProvider;
+    this.monitor = monitor;
   }
 
   @Override
@@ -30,11 +43,19 @@ public final class GuiceVerticleFactory implements VerticleFactory {
       ClassLoader classLoader,
       Promise<Callable<? extends Deployable>> promise) {
     String className = VerticleFactory.removePrefix(verticleName);
-    try {
-      Class<?> clazz = classLoader.loadClass(className);
-      promise.complete(() -> (Deployable) injectorProvider.get().getInstance(clazz));
-    } catch (Exception e) {
-      promise.fail(e);
+    Provider<?> provider = providers.get(className);
+    if (provider == null) {
+      try {
+        Class<?> verticleClass = classLoader.loadClass(className);
+        provider = injectorProvider.get().getProvider(verticleClass);
+      } catch (Exception e) {
+        promise.fail(e);
+        return;
+      }
+      Provider<?> raced = providers.putIfAbsent(className, provider);
+      provider = raced == null ? provider : raced;
     }
+    Provider<?> resolved = provider;
+    promise.complete(() -> (Deployable) monitor.instantiate(className, resolved::get));
   }
 }
@@ -0,0 +1,28 @@
+package org.larpconnect.events;
+
+import org.larpconnect.common.LatencyHistogram;
+
+/**
+ * Percentiles of the durations recorded for one event loop, verticle or address.
+ *
+ * @param name What the durations were recorded for.
+ * @param count Durations recorded.
+ * @param p50Nanos The median.
+ * @param p99Nanos The 99th percentile.
+ * @param p999Nanos The 99.9th percentile.
+ * @param maxNanos The longest duration.
+ */
+public record LatencyStats(
+    String name, long count, long p50Nanos, long p99Nanos, long p999Nanos, long maxNanos) {
+
+  static LatencyStats of(String name, LatencyHistogram histogram) {
+    LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+    return new LatencyStats(
+        name,
+        snapshot.count(),
+        snapshot.valueAtPercentile(50),
+        snapshot.valueAtPercentile(99),
+        snapshot.valueAtPercentile(99.9),
+        snapshot.max());
+  }
+}
@@ -3,13 +3,13 @@ package org.larpconnect.events;
 import com.google.inject.Inject;
 import com.google.inject.Provider;
 import io.vertx.core.AbstractVerticle;
-import io.vertx.core.DeploymentOptions;
 import io.vertx.core.Future;
 import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
+import org.larpconnect.common.Environment;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -18,11 +18,25 @@ public final class MainVerticle extends AbstractVerticle {
   private final Logger logger = LoggerFactory.getLogger(MainVerticle.class);
   private final Set<VerticleProvider> verticleProviders;
   private final Provider<Vertx> vertxProvider;
+  private final Environment environment;
+  private final DefaultVerticleInstantiationMonitor monitor;
+  private final DefaultEventLoopMonitor eventLoopMonitor;
+  private final VerticleDeploymentMetrics deploymentMetrics;
 
   @Inject
-  MainVerticle(Set<VerticleProvider> verticleProviders, Provider<Vertx> vertxProvider) {
+  MainVerticle(
+      Set<VerticleProvider> verticleProviders,
+      Provider<Vertx> vertxProvider,
+      Environment environment,
+      DefaultVerticleInstantiationMonitor monitor,
+      DefaultEventLoopMonitor eventLoopMonitor,
+      VerticleDeploymentMetrics deploymentMetrics) {
     this.verticleProviders = verticleProviders;
     this.vertxProvider = vertxProvider;
+    this.environment = environment;
+    this.monitor = monitor;
+    this.eventLoopMonitor = eventLoopMonitor;
+    this.deploymentMetrics = deploymentMetrics;
   }
 
   @Override
@@ -31,7 +45,7 @@ public final class MainVerticle extends AbstractVerticle {
     Vertx vertxInstance = vertxProvider.get();
     List<Future<String>> deployments =
         verticleProviders.stream()
-            .map(provider -> vertxInstance.deployVerticle(provider, new DeploymentOptions()))
+            .map(provider -> deploy(vertxInstance, provider))
             .collect(Collectors.toList());
 
     Future.all(deployments)
@@ -46,4 +60,26 @@ public final class MainVerticle extends AbstractVerticle {
               startPromise.fail(err);
             });
   }
+
+  private Future<String> deploy(Vertx vertxInstance, VerticleProvider provider) {
+    VerticleDeployment deployment = provider.deployment().withOverrides(environment);
+    logger.info(
+        "Deploying {}: {} instance(s), {} threading, worker pool {}",
+        deployment.name(),
+        deployment.instances(),
+        deployment.threadingModel(),
+        deployment.workerPoolName().orElse("(shared)"));
+    long start = System.nanoTime();
+    return vertxInstance
+        .deployVerticle(
+            () -> monitor.instantiate(deployment.name(), provider),
+            deployment.toDeploymentOptions())
+        .onSuccess(
+            id -> {
+              eventLoopMonitor.deployed(id, deployment.name());
+              deploymentMetrics.deployed(
+                  deployment.name(), deployment.instances(), System.nanoTime() - start);
+            })
+        .onFailure(err -> deploymentMetrics.failed(deployment.name()));
+  }
 }
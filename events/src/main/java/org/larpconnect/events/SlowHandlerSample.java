@@ -0,0 +1,20 @@
+package org.larpconnect.events;
+
+import com.google.common.collect.ImmutableList;
+import java.time.Instant;
+
+/**
+ * The stack of a handler caught running past the slow-handler threshold.
+ *
+ * @param verticle The verticle the handler belongs to, or {@link EventLoopMonitor#UNATTRIBUTED}.
+ * @param thread The thread running it.
+ * @param runningNanos How long it had been running when sampled.
+ * @param sampledAt When it was sampled.
+ * @param stack The stack frames, innermost first.
+ */
+public record SlowHandlerSample(
+    String verticle,
+    String thread,
+    long runningNanos,
+    Instant sampledAt,
+    ImmutableList<String> stack) {}
@@ -0,0 +1,18 @@
+package org.larpconnect.events;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.UUID;
+
+/**
+ * A request routed over the event bus to a verticle working for one tenant.
+ *
+ * @param tenantId The tenant the message belongs to.
+ * @param type The kind of message, e.g. {@code outbox.create}.
+ * @param payload The JSON document the message carries, already validated by the API layer.
+ */
+public record TenantMessage(UUID tenantId, String type, String payload) {
+  public TenantMessage {
+    checkArgument(!type.isEmpty(), "type is empty");
+  }
+}
@@ -0,0 +1,43 @@
+package org.larpconnect.events;
+
+import io.vertx.core.buffer.Buffer;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Encodes a {@link TenantMessage} as the two halves of the tenant id followed by the
+ * length-prefixed UTF-8 type and payload.
+ */
+final class TenantMessageCodec extends DomainMessageCodec<TenantMessage> {
+  TenantMessageCodec() {
+    super(TenantMessage.class);
+  }
+
+  @Override
+  protected void encode(Buffer buffer, TenantMessage message) {
+    buffer
+        .appendLong(message.tenantId().getMostSignificantBits())
+        .appendLong(message.tenantId().getLeastSignificantBits());
+    appendString(buffer, message.type());
+    appendString(buffer, message.payload());
+  }
+
+  @Override
+  protected TenantMessage decode(Buffer buffer, int position) {
+    UUID tenantId = new UUID(buffer.getLong(position), buffer.getLong(position + Long.BYTES));
+    int typeStart = position + 2 * Long.BYTES;
+    int payloadStart = typeStart + Integer.BYTES + buffer.getInt(typeStart);
+    return new TenantMessage(
+        tenantId, getString(buffer, typeStart), getString(buffer, payloadStart));
+  }
+
+  private static void appendString(Buffer buffer, String value) {
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    buffer.appendInt(bytes.length).appendBytes(bytes);
+  }
+
+  private static String getString(Buffer buffer, int start) {
+    int from = start + Integer.BYTES;
+    return buffer.getString(from, from + buffer.getInt(start), StandardCharsets.UTF_8.name());
+  }
+}
@@ -0,0 +1,21 @@
+package org.larpconnect.events;
+
+import io.vertx.core.Future;
+
+/**
+ * Handles one type of {@link TenantMessage} on a tenant shard.
+ *
+ * <p>Handlers are bound with a {@code MapBinder<String, TenantMessageHandler>} keyed by message
+ * type. They run on the event loop of the tenant's shard, so every message of a tenant is handled
+ * in order on one thread and must not block it.
+ */
+@FunctionalInterface
+public interface TenantMessageHandler {
+  /**
+   * Handles a message.
+   *
+   * @param message The message.
+   * @return The reply body, or a failure to report to the sender.
+   */
+  Future<?> handle(TenantMessage message);
+}
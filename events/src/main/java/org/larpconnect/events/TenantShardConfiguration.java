@@ -0,0 +1,17 @@
+package org.larpconnect.events;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.time.Duration;
+
+/**
+ * Represents the size of the tenant shard pool.
+ *
+ * @param shards The number of shard verticles tenants are spread across.
+ * @param drainTimeout How long a shard being removed may take to finish its queued messages.
+ */
+public record TenantShardConfiguration(int shards, Duration drainTimeout) {
+  public TenantShardConfiguration {
+    checkArgument(shards > 0, "shards must be positive: %s", shards);
+  }
+}
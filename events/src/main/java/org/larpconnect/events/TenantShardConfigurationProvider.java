@@ -0,0 +1,33 @@
+package org.larpconnect.events;
+
+import com.google.inject.Inject;
+import com.google.inject.Provider;
+import java.time.Duration;
+import org.larpconnect.common.Environment;
+
+/** Guice provider that compiles the tenant shard configuration from the {@link Environment}. */
+public final class TenantShardConfigurationProvider implements Provider<TenantShardConfiguration> {
+  private static final long DEFAULT_DRAIN_TIMEOUT_MS = 30_000L;
+
+  private final Environment environment;
+
+  @Inject
+  TenantShardConfigurationProvider(Environment environment) {
+    this.environment = environment;
+  }
+
+  @Override
+  public TenantShardConfiguration get() {
+    // One shard per core keeps every event loop busy without stacking shards on any of them.
+    return new TenantShardConfiguration(
+        Math.max(
+            1,
+            environment.getIntOrDefault(
+                "TENANT_SHARDS", Runtime.getRuntime().availableProcessors())),
+        Duration.ofMillis(
+            Math.max(
+                0L,
+                environment.getLongOrDefault(
+                    "TENANT_SHARD_DRAIN_TIMEOUT_MS", DEFAULT_DRAIN_TIMEOUT_MS))));
+  }
+}
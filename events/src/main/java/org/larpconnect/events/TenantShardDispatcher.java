@@ -0,0 +1,60 @@
+package org.larpconnect.events;
+
+import com.google.common.collect.ImmutableList;
+import io.vertx.core.Future;
+import io.vertx.core.eventbus.Message;
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Routes {@link TenantMessage}s to a fixed pool of shard verticles.
+ *
+ * <p>Tenants are mapped onto shards with consistent hashing, so a tenant always lands on the same
+ * shard and growing the pool from {@code n} to {@code n + 1} shards moves only about {@code 1 / (n
+ * + 1)} of the tenants.
+ */
+public interface TenantShardDispatcher {
+  /**
+   * Sends a message to its tenant's shard and waits for the reply.
+   *
+   * @param message The message.
+   * @param <T> The reply body type.
+   * @return The reply, or a failure if no shard is running or the handler failed.
+   */
+  <T> Future<Message<T>> request(TenantMessage message);
+
+  /**
+   * Returns the shard a tenant is currently mapped to.
+   *
+   * @param tenantId The tenant.
+   * @return The shard index, or {@code -1} when no shard is running.
+   */
+  int shardOf(UUID tenantId);
+
+  /**
+   * Grows or shrinks the shard pool. Added shards are started before any tenant moves to them.
+   * Messages of tenants that change shard are held until the shards they leave have answered what
+   * was already sent there, so each tenant's messages keep their order; removed shards are then
+   * undeployed. Resizes run one at a time, in call order.
+   *
+   * @param shards The new number of shards; {@code 0} stops them all.
+   * @return A future completed once the pool has the new size.
+   */
+  Future<Void> resize(int shards);
+
+  /**
+   * Waits until every running shard has answered the messages already dispatched to it, as when the
+   * server drains before it stops. Messages sent meanwhile are waited for too.
+   *
+   * @param timeout How long to wait; shards still busy after it are logged and left to finish.
+   * @return A future completed once the shards are idle or the timeout has passed.
+   */
+  Future<Void> awaitIdle(Duration timeout);
+
+  /**
+   * Returns the state of every running shard.
+   *
+   * @return A snapshot per shard, in shard order.
+   */
+  ImmutableList<TenantShardStats> stats();
+}
@@ -0,0 +1,11 @@
+package org.larpconnect.events;
+
+/**
+ * Point-in-time view of one tenant shard.
+ *
+ * @param shard The shard index.
+ * @param address The event-bus address the shard consumes.
+ * @param queueDepth Messages dispatched to the shard and not yet answered.
+ * @param dispatched Messages dispatched to the shard since it started.
+ */
+public record TenantShardStats(int shard, String address, long queueDepth, long dispatched) {}
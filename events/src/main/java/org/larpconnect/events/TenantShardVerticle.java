@@ -0,0 +1,44 @@
+package org.larpconnect.events;
+
+import com.google.common.collect.ImmutableMap;
+import io.vertx.core.AbstractVerticle;
+import io.vertx.core.Promise;
+import io.vertx.core.eventbus.Message;
+import io.vertx.core.eventbus.MessageConsumer;
+
+/** Consumes the messages of the tenants mapped to one shard and hands them to their handlers. */
+final class TenantShardVerticle extends AbstractVerticle {
+  /** The failure code sent back when no handler is bound for a message type. */
+  static final int NO_HANDLER = 404;
+
+  /** The failure code sent back when a handler fails. */
+  static final int HANDLER_FAILED = 500;
+
+  private final String address;
+  private final ImmutableMap<String, TenantMessageHandler> handlers;
+  private MessageConsumer<TenantMessage> consumer;
+
+  TenantShardVerticle(String address, ImmutableMap<String, TenantMessageHandler> handlers) {
+    this.address = address;
+    this.handlers = handlers;
+  }
+
+  @Override
+  public void start(Promise<Void> startPromise) {
+    consumer = vertx.eventBus().localConsumer(address, this::handle);
+    consumer.completion().onComplete(startPromise);
+  }
+
+  private void handle(Message<TenantMessage> message) {
+    TenantMessage body = message.body();
+    TenantMessageHandler handler = handlers.get(body.type());
+    if (handler == null) {
+      message.fail(NO_HANDLER, "No handler for message type " + body.type());
+      return;
+    }
+    handler
+        .handle(body)
+        .onSuccess(message::reply)
+        .onFailure(err -> message.fail(HANDLER_FAILED, String.valueOf(err.getMessage())));
+  }
+}
@@ -0,0 +1,27 @@
+package org.larpconnect.events;
+
+import com.google.inject.Inject;
+import io.vertx.core.AbstractVerticle;
+import io.vertx.core.Promise;
+
+/** Starts the tenant shard pool with the configured size and stops it on undeploy. */
+final class TenantShardsVerticle extends AbstractVerticle {
+  private final TenantShardDispatcher dispatcher;
+  private final TenantShardConfiguration configuration;
+
+  @Inject
+  TenantShardsVerticle(TenantShardDispatcher dispatcher, TenantShardConfiguration configuration) {
+    this.dispatcher = dispatcher;
+    this.configuration = configuration;
+  }
+
+  @Override
+  public void start(Promise<Void> startPromise) {
+    dispatcher.resize(configuration.shards()).onComplete(startPromise);
+  }
+
+  @Override
+  public void stop(Promise<Void> stopPromise) {
+    dispatcher.resize(0).onComplete(stopPromise);
+  }
+}
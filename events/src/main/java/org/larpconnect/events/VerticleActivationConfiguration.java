@@ -0,0 +1,22 @@
+package org.larpconnect.events;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.time.Duration;
+
+/**
+ * Represents how verticles activated on demand are kept.
+ *
+ * @param idleTimeout How long a verticle may go without messages before it is undeployed.
+ * @param sweepInterval How often idle verticles are looked for.
+ * @param maxPending How many messages may wait for one verticle's activation before further ones
+ *     are refused.
+ */
+public record VerticleActivationConfiguration(
+    Duration idleTimeout, Duration sweepInterval, int maxPending) {
+  public VerticleActivationConfiguration {
+    checkArgument(
+        sweepInterval.toMillis() > 0, "sweepInterval must be at least 1 ms: %s", sweepInterval);
+    checkArgument(maxPending > 0, "maxPending must be positive: %s", maxPending);
+  }
+}
@@ -0,0 +1,39 @@
+package org.larpconnect.events;
+
+import com.google.inject.Inject;
+import com.google.inject.Provider;
+import java.time.Duration;
+import org.larpconnect.common.Environment;
+
+/**
+ * Guice provider that compiles the on-demand verticle configuration from the {@link Environment}.
+ */
+public final class VerticleActivationConfigurationProvider
+    implements Provider<VerticleActivationConfiguration> {
+  private static final long DEFAULT_IDLE_TIMEOUT_MS = 600_000L;
+  private static final long DEFAULT_SWEEP_INTERVAL_MS = 30_000L;
+  private static final int DEFAULT_MAX_PENDING = 1_000;
+
+  private final Environment environment;
+
+  @Inject
+  VerticleActivationConfigurationProvider(Environment environment) {
+    this.environment = environment;
+  }
+
+  @Override
+  public VerticleActivationConfiguration get() {
+    return new VerticleActivationConfiguration(
+        Duration.ofMillis(
+            Math.max(
+                0L,
+                environment.getLongOrDefault(
+                    "ACTIVATION_IDLE_TIMEOUT_MS", DEFAULT_IDLE_TIMEOUT_MS))),
+        Duration.ofMillis(
+            Math.max(
+                1L,
+                environment.getLongOrDefault(
+                    "ACTIVATION_SWEEP_INTERVAL_MS", DEFAULT_SWEEP_INTERVAL_MS))),
+        Math.max(1, environment.getIntOrDefault("ACTIVATION_MAX_PENDING", DEFAULT_MAX_PENDING)));
+  }
+}
@@ -0,0 +1,30 @@
+package org.larpconnect.events;
+
+/**
+ * Cumulative view of the verticles of one kind activated on demand.
+ *
+ * @param kind The kind of verticle.
+ * @param live Verticles currently deployed.
+ * @param activations Verticles deployed since startup.
+ * @param passivations Verticles undeployed since startup, mostly for being idle.
+ * @param activationNanos Total time from the first message of an activation to its verticle being
+ *     deployed.
+ * @param maxActivationNanos The longest single activation.
+ */
+public record VerticleActivationStats(
+    String kind,
+    long live,
+    long activations,
+    long passivations,
+    long activationNanos,
+    long maxActivationNanos) {
+
+  /**
+   * Returns the mean time to activate one verticle.
+   *
+   * @return The mean activation time in nanoseconds, or {@code 0} before any activation.
+   */
+  public long meanActivationNanos() {
+    return activations == 0 ? 0 : activationNanos / activations;
+  }
+}
@@ -0,0 +1,36 @@
+package org.larpconnect.events;
+
+import com.google.inject.Inject;
+import io.vertx.core.AbstractVerticle;
+import io.vertx.core.Promise;
+
+/**
+ * Owns the verticles the {@link VerticleActivator} deploys on demand: they are deployed as its
+ * children, swept for idleness on its timer and undeployed with it.
+ */
+final class VerticleActivationsVerticle extends AbstractVerticle {
+  private final DefaultVerticleActivator activator;
+  private final VerticleActivationConfiguration configuration;
+  private long sweepTimer = -1;
+
+  @Inject
+  VerticleActivationsVerticle(
+      DefaultVerticleActivator activator, VerticleActivationConfiguration configuration) {
+    this.activator = activator;
+    this.configuration = configuration;
+  }
+
+  @Override
+  public void start() {
+    activator.attach(context);
+    sweepTimer =
+        vertx.setPeriodic(
+            configuration.sweepInterval().toMillis(), id -> activator.passivateIdle());
+  }
+
+  @Override
+  public void stop(Promise<Void> stopPromise) {
+    vertx.cancelTimer(sweepTimer);
+    activator.detach().onComplete(stopPromise);
+  }
+}
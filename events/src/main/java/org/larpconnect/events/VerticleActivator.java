@@ -0,0 +1,34 @@
+package org.larpconnect.events;
+
+import com.google.common.collect.ImmutableList;
+import io.vertx.core.Future;
+import io.vertx.core.eventbus.Message;
+
+/**
+ * Routes {@link TenantMessage}s to verticles that are deployed only while in use, one per tenant or
+ * actor.
+ *
+ * <p>The first message addressed to a key deploys its verticle; messages arriving meanwhile wait
+ * for the deployment and are then sent in order. A verticle that has answered everything and stayed
+ * idle past the configured timeout is undeployed, and the next message activates it again.
+ */
+public interface VerticleActivator {
+  /**
+   * Sends a message to the verticle of a key, activating it first if needed, and waits for the
+   * reply.
+   *
+   * @param key The verticle to send to.
+   * @param message The message.
+   * @param <T> The reply body type.
+   * @return The reply, or a failure if the kind is unknown, the verticle could not be activated,
+   *     too many messages already wait for its activation, or the handler failed.
+   */
+  <T> Future<Message<T>> request(ActivationKey key, TenantMessage message);
+
+  /**
+   * Returns the activation counters of every bound kind.
+   *
+   * @return A snapshot per kind, sorted by kind.
+   */
+  ImmutableList<VerticleActivationStats> stats();
+}
@@ -0,0 +1,104 @@
+package org.larpconnect.events;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.common.base.Ascii;
+import com.google.common.base.CharMatcher;
+import com.google.common.base.Enums;
+import io.vertx.core.DeploymentOptions;
+import io.vertx.core.ThreadingModel;
+import java.util.Optional;
+import org.larpconnect.common.Environment;
+
+/**
+ * How {@link MainVerticle} deploys the verticles of one {@link VerticleProvider}.
+ *
+ * <p>Every setting can be overridden through the {@link Environment} with variables named after the
+ * deployment: {@code VERTICLE_<NAME>_INSTANCES}, {@code VERTICLE_<NAME>_THREADING_MODEL} (one of
+ * {@code EVENT_LOOP}, {@code WORKER} or {@code VIRTUAL_THREAD}) and {@code
+ * VERTICLE_<NAME>_WORKER_POOL}. Absent or invalid values keep the declared setting.
+ *
+ * @param name The lower-case name, used in logs and to derive the override variables.
+ * @param instances The number of verticle instances; each is bound to its own context.
+ * @param threadingModel The threading model the instances run on; never {@code EXTERNAL}.
+ * @param workerPoolName The named worker pool for blocking work, or empty for the shared pool.
+ */
+public record VerticleDeployment(
+    String name, int instances, ThreadingModel threadingModel, Optional<String> workerPoolName) {
+  private static final CharMatcher NAME_CHARACTERS =
+      CharMatcher.inRange('a', 'z').or(CharMatcher.inRange('0', '9')).or(CharMatcher.is('_'));
+
+  public VerticleDeployment {
+    checkArgument(
+        !name.isEmpty() && NAME_CHARACTERS.matchesAllOf(name),
+        "Deployment name must be lower-case letters, digits and underscores: %s",
+        name);
+    checkArgument(instances > 0, "Instances must be positive: %s", instances);
+    checkArgument(
+        threadingModel != ThreadingModel.EXTERNAL, "External threading cannot be deployed");
+    checkArgument(
+        workerPoolName.map(pool -> !pool.isBlank()).orElse(true), "Worker pool name is blank");
+  }
+
+  /**
+   * Creates a deployment on event loops with the shared worker pool.
+   *
+   * @param name The deployment name.
+   * @param instances The number of instances.
+   * @return The deployment.
+   */
+  public static VerticleDeployment eventLoop(String name, int instances) {
+    return new VerticleDeployment(name, instances, ThreadingModel.EVENT_LOOP, Optional.empty());
+  }
+
+  /**
+   * Creates a deployment on event loops with one instance per available processor.
+   *
+   * @param name The deployment name.
+   * @return The deployment.
+   */
+  public static VerticleDeployment eventLoopPerCore(String name) {
+    return eventLoop(name, Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * Returns this deployment with any {@code VERTICLE_<NAME>_*} overrides applied.
+   *
+   * @param environment The environment to read the overrides from.
+   * @return The effective deployment.
+   */
+  public VerticleDeployment withOverrides(Environment environment) {
+    String prefix = "VERTICLE_" + Ascii.toUpperCase(name) + "_";
+    int effectiveInstances = environment.getIntOrDefault(prefix + "INSTANCES", instances);
+    ThreadingModel effectiveModel =
+        environment
+            .get(prefix + "THREADING_MODEL")
+            .map(value -> Ascii.toUpperCase(value.trim()))
+            .flatMap(value -> Enums.getIfPresent(ThreadingModel.class, value).toJavaUtil())
+            .filter(model -> model != ThreadingModel.EXTERNAL)
+            .orElse(threadingModel);
+    Optional<String> effectivePool =
+        environment
+            .get(prefix + "WORKER_POOL")
+            .map(String::trim)
+            .filter(pool -> !pool.isEmpty())
+            .or(() -> workerPoolName);
+    return new VerticleDeployment(
+        name,
+        effectiveInstances > 0 ? effectiveInstances : instances,
+        effectiveModel,
+        effectivePool);
+  }
+
+  /**
+   * Converts this deployment to Vert.x deployment options.
+   *
+   * @return New deployment options.
+   */
+  public DeploymentOptions toDeploymentOptions() {
+    DeploymentOptions options =
+        new DeploymentOptions().setInstances(instances).setThreadingModel(threadingModel);
+    workerPoolName.ifPresent(options::setWorkerPoolName);
+    return options;
+  }
+}
@@ -0,0 +1,45 @@
+package org.larpconnect.events;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.errorprone.annotations.ThreadSafe;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.larpconnect.common.Counter;
+import org.larpconnect.common.LatencyHistogram;
+
+/** Counts the verticle deployments of {@link MainVerticle}, exposed by {@link EventsModule}. */
+@ThreadSafe
+final class VerticleDeploymentMetrics {
+  private final Map<String, Counter> instances = new ConcurrentHashMap<>();
+  private final Map<String, Counter> failures = new ConcurrentHashMap<>();
+  final LatencyHistogram deployments = new LatencyHistogram();
+
+  void deployed(String verticle, int count, long elapsedNanos) {
+    counter(instances, verticle).add(count);
+    deployments.record(elapsedNanos);
+  }
+
+  void failed(String verticle) {
+    counter(failures, verticle).increment();
+  }
+
+  /** Returns the instances deployed of every verticle. */
+  ImmutableMap<String, Long> instances() {
+    return counts(instances);
+  }
+
+  /** Returns the failed deployments of every verticle. */
+  ImmutableMap<String, Long> failures() {
+    return counts(failures);
+  }
+
+  private static Counter counter(Map<String, Counter> counters, String verticle) {
+    // Verticles come from the bound providers, so the tables stay small.
+    return counters.computeIfAbsent(verticle, unused -> new Counter());
+  }
+
+  private static ImmutableMap<String, Long> counts(Map<String, Counter> counters) {
+    return counters.entrySet().stream()
+        .collect(ImmutableMap.toImmutableMap(Map.Entry::getKey, entry -> entry.getValue().count()));
+  }
+}
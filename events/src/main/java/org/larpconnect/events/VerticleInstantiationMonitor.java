@@ -0,0 +1,13 @@
+package org.larpconnect.events;
+
+import com.google.common.collect.ImmutableList;
+
+/** Exposes how long the server takes to create verticle instances, per verticle. */
+public interface VerticleInstantiationMonitor {
+  /**
+   * Returns the instantiation counters of every verticle created so far.
+   *
+   * @return A snapshot per verticle, sorted by verticle name.
+   */
+  ImmutableList<VerticleInstantiationStats> stats();
+}
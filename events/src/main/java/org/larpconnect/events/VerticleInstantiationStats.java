@@ -0,0 +1,22 @@
+package org.larpconnect.events;
+
+/**
+ * Cumulative view of the instances created of one verticle.
+ *
+ * @param verticle The deployment name, or the class name for {@code guice:} verticle names.
+ * @param instances Instances created.
+ * @param instantiationNanos Total time spent creating them, injection included.
+ * @param maxInstantiationNanos The longest single instantiation.
+ */
+public record VerticleInstantiationStats(
+    String verticle, long instances, long instantiationNanos, long maxInstantiationNanos) {
+
+  /**
+   * Returns the mean time to create one instance.
+   *
+   * @return The mean instantiation time in nanoseconds, or {@code 0} before any instance.
+   */
+  public long meanInstantiationNanos() {
+    return instances == 0 ? 0 : instantiationNanos / instances;
+  }
+}
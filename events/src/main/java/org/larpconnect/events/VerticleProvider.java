@@ -3,5 +3,39 @@ package org.larpconnect.events;
 import io.vertx.core.Verticle;
 import java.util.function.Supplier;
 
-/** Provider interface for dynamically registering Vert.x Verticles. */
-public interface VerticleProvider extends Supplier<Verticle> {}
+/**
+ * Provider interface for dynamically registering Vert.x Verticles.
+ *
+ * <p>{@link #get()} is called once per deployed instance, so it must return a new verticle each
+ * time.
+ */
+public interface VerticleProvider extends Supplier<Verticle> {
+  /**
+   * Returns how the verticles should be deployed, before any environment overrides.
+   *
+   * @return The declared deployment.
+   */
+  VerticleDeployment deployment();
+
+  /**
+   * Creates a provider from a deployment and a verticle supplier.
+   *
+   * @param deployment The declared deployment.
+   * @param verticles Supplies a new verticle on every call.
+   * @return The provider.
+   */
+  static VerticleProvider of(
+      VerticleDeployment deployment, Supplier<? extends Verticle> verticles) {
+    return new VerticleProvider() {
+      @Override
+      public Verticle get() {
+        return verticles.get();
+      }
+
+      @Override
+      public VerticleDeployment deployment() {
+        return deployment;
+      }
+    };
+  }
+}
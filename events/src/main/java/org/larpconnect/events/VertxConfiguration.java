@@ -0,0 +1,94 @@
+package org.larpconnect.events;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import io.vertx.core.VertxOptions;
+import io.vertx.core.transport.Transport;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Represents the thread pool, blocked-thread checker and transport configuration of the Vert.x
+ * instance.
+ *
+ * @param eventLoopPoolSize The number of event-loop threads.
+ * @param workerPoolSize The number of threads in the shared worker pool.
+ * @param internalBlockingPoolSize The number of threads Vert.x uses for its own blocking work.
+ * @param blockedThreadCheckInterval How often the checker looks for blocked threads.
+ * @param maxEventLoopExecuteTime How long an event-loop task may run before a warning is logged.
+ * @param maxWorkerExecuteTime How long a worker task may run before a warning is logged.
+ * @param transport Which network transport to ask for.
+ * @param preferNativeTransport Whether to use the platform's native transport when {@code
+ *     transport} is {@link TransportPreference#AUTO} or unavailable.
+ */
+public record VertxConfiguration(
+    int eventLoopPoolSize,
+    int workerPoolSize,
+    int internalBlockingPoolSize,
+    Duration blockedThreadCheckInterval,
+    Duration maxEventLoopExecuteTime,
+    Duration maxWorkerExecuteTime,
+    TransportPreference transport,
+    boolean preferNativeTransport) {
+
+  /** The network transport to request from Vert.x. */
+  public enum TransportPreference {
+    /** Let Vert.x choose, honouring {@code preferNativeTransport}. */
+    AUTO,
+    /** Linux epoll. */
+    EPOLL,
+    /** Linux io_uring. */
+    IO_URING,
+    /** BSD and macOS kqueue. */
+    KQUEUE,
+    /** The portable JDK NIO transport. */
+    NIO;
+
+    /**
+     * Returns the Vert.x transport for this preference.
+     *
+     * @return The transport, or empty for {@link #AUTO} or when its classes are not on the class
+     *     path.
+     */
+    public Optional<Transport> toTransport() {
+      return switch (this) {
+        case AUTO -> Optional.empty();
+        case EPOLL -> Optional.ofNullable(Transport.EPOLL);
+        case IO_URING -> Optional.ofNullable(Transport.IO_URING);
+        case KQUEUE -> Optional.ofNullable(Transport.KQUEUE);
+        case NIO -> Optional.of(Transport.NIO);
+      };
+    }
+  }
+
+  public VertxConfiguration {
+    checkArgument(
+        eventLoopPoolSize > 0, "eventLoopPoolSize must be positive: %s", eventLoopPoolSize);
+    checkArgument(workerPoolSize > 0, "workerPoolSize must be positive: %s", workerPoolSize);
+    checkArgument(
+        internalBlockingPoolSize > 0,
+        "internalBlockingPoolSize must be positive: %s",
+        internalBlockingPoolSize);
+  }
+
+  /**
+   * Converts this configuration to Vert.x options. The transport is not part of the options and is
+   * applied to the builder instead.
+   *
+   * @return New Vert.x options.
+   */
+  public VertxOptions toVertxOptions() {
+    return new VertxOptions()
+        .setEventLoopPoolSize(eventLoopPoolSize)
+        .setWorkerPoolSize(workerPoolSize)
+        .setInternalBlockingPoolSize(internalBlockingPoolSize)
+        .setBlockedThreadCheckInterval(blockedThreadCheckInterval.toMillis())
+        .setBlockedThreadCheckIntervalUnit(TimeUnit.MILLISECONDS)
+        .setMaxEventLoopExecuteTime(maxEventLoopExecuteTime.toMillis())
+        .setMaxEventLoopExecuteTimeUnit(TimeUnit.MILLISECONDS)
+        .setMaxWorkerExecuteTime(maxWorkerExecuteTime.toMillis())
+        .setMaxWorkerExecuteTimeUnit(TimeUnit.MILLISECONDS)
+        .setPreferNativeTransport(preferNativeTransport);
+  }
+}
@@ -0,0 +1,52 @@
+package org.larpconnect.events;
+
+import com.google.common.base.Ascii;
+import com.google.common.base.Enums;
+import com.google.inject.Inject;
+import com.google.inject.Provider;
+import io.vertx.core.VertxOptions;
+import java.time.Duration;
+import org.larpconnect.common.Environment;
+import org.larpconnect.events.VertxConfiguration.TransportPreference;
+
+/** Guice provider that compiles the Vert.x configuration from the {@link Environment}. */
+public final class VertxConfigurationProvider implements Provider<VertxConfiguration> {
+  private static final int DEFAULT_WORKER_POOL_SIZE = 20;
+  private static final int DEFAULT_INTERNAL_BLOCKING_POOL_SIZE = 20;
+  private static final long DEFAULT_BLOCKED_THREAD_CHECK_INTERVAL_MS = 1_000L;
+  private static final long DEFAULT_MAX_EVENT_LOOP_EXECUTE_TIME_MS = 2_000L;
+  private static final long DEFAULT_MAX_WORKER_EXECUTE_TIME_MS = 60_000L;
+
+  private final Environment environment;
+
+  @Inject
+  VertxConfigurationProvider(Environment environment) {
+    this.environment = environment;
+  }
+
+  @Override
+  public VertxConfiguration get() {
+    return new VertxConfiguration(
+        getSize("VERTX_EVENT_LOOP_POOL_SIZE", VertxOptions.DEFAULT_EVENT_LOOP_POOL_SIZE),
+        getSize("VERTX_WORKER_POOL_SIZE", DEFAULT_WORKER_POOL_SIZE),
+        getSize("VERTX_INTERNAL_BLOCKING_POOL_SIZE", DEFAULT_INTERNAL_BLOCKING_POOL_SIZE),
+        getMillis(
+            "VERTX_BLOCKED_THREAD_CHECK_INTERVAL_MS", DEFAULT_BLOCKED_THREAD_CHECK_INTERVAL_MS),
+        getMillis("VERTX_MAX_EVENT_LOOP_EXECUTE_TIME_MS", DEFAULT_MAX_EVENT_LOOP_EXECUTE_TIME_MS),
+        getMillis("VERTX_MAX_WORKER_EXECUTE_TIME_MS", DEFAULT_MAX_WORKER_EXECUTE_TIME_MS),
+        environment
+            .get("VERTX_TRANSPORT")
+            .map(value -> Ascii.toUpperCase(value.trim()))
+            .flatMap(value -> Enums.getIfPresent(TransportPreference.class, value).toJavaUtil())
+            .orElse(TransportPreference.AUTO),
+        environment.getBooleanOrDefault("VERTX_PREFER_NATIVE_TRANSPORT", true));
+  }
+
+  private int getSize(String name, int defaultSize) {
+    return Math.max(1, environment.getIntOrDefault(name, defaultSize));
+  }
+
+  private Duration getMillis(String name, long defaultMillis) {
+    return Duration.ofMillis(Math.max(1L, environment.getLongOrDefault(name, defaultMillis)));
+  }
+}
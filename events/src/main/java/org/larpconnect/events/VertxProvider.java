@@ -1,17 +1,40 @@
 package org.larpconnect.events;
 
+import com.google.common.collect.ImmutableSet;
 import com.google.inject.Inject;
 import com.google.inject.Provider;
 import io.vertx.core.Vertx;
+import io.vertx.core.VertxBuilder;
+import io.vertx.core.eventbus.EventBus;
+import io.vertx.core.transport.Transport;
+import java.util.Optional;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /** Provides a thread-safe Singleton Vert.x instance. */
 public final class VertxProvider implements Provider<Vertx> {
+  private static final Logger logger = LoggerFactory.getLogger(VertxProvider.class);
+
   private final Provider<GuiceVerticleFactory> factoryProvider;
+  private final VertxConfiguration configuration;
+  private final ImmutableSet<DomainMessageCodec<?>> codecs;
+  private final DefaultEventBusMonitor eventBusMonitor;
+  private final DefaultEventLoopMonitor eventLoopMonitor;
   private volatile Vertx vertx;
 
   @Inject
-  public VertxProvider(Provider<GuiceVerticleFactory> factoryProvider) {
+  VertxProvider(
+      Provider<GuiceVerticleFactory> factoryProvider,
+      VertxConfiguration configuration,
+      Set<DomainMessageCodec<?>> codecs,
+      DefaultEventBusMonitor eventBusMonitor,
+      DefaultEventLoopMonitor eventLoopMonitor) {
     this.factoryProvider = factoryProvider;
+    this.configuration = configuration;
+    this.codecs = ImmutableSet.copyOf(codecs);
+    this.eventBusMonitor = eventBusMonitor;
+    this.eventLoopMonitor = eventLoopMonitor;
   }
 
   @Override
@@ -21,12 +44,60 @@ public final class VertxProvider implements Provider<Vertx> {
       synchronized (this) {
         localRef = vertx;
         if (localRef == null) {
-          localRef = Vertx.vertx();
+          localRef = build();
           localRef.registerVerticleFactory(factoryProvider.get());
+          configureEventBus(localRef.eventBus());
           vertx = localRef;
         }
       }
     }
     return localRef;
   }
+
+  private void configureEventBus(EventBus eventBus) {
+    for (DomainMessageCodec<?> codec : codecs) {
+      registerDefaultCodec(eventBus, codec);
+    }
+    eventBusMonitor.attach(eventBus);
+    eventLoopMonitor.attach(eventBus);
+    logger.info("Registered {} domain message codecs", codecs.size());
+  }
+
+  private static <T> void registerDefaultCodec(EventBus eventBus, DomainMessageCodec<T> codec) {
+    eventBus.registerDefaultCodec(codec.type(), codec);
+  }
+
+  private Vertx build() {
+    VertxBuilder builder = Vertx.builder().with(configuration.toVertxOptions());
+    if (configuration.transport() != VertxConfiguration.TransportPreference.AUTO) {
+      Optional<Transport> transport =
+          configuration.transport().toTransport().filter(Transport::available);
+      if (transport.isPresent()) {
+        builder.withTransport(transport.get());
+      } else {
+        // An explicit transport that is unavailable would fail the build; fall back instead.
+        logger.warn(
+            "Transport {} is unavailable, falling back to the default", configuration.transport());
+      }
+    }
+    Vertx built = builder.build();
+    logger.info(
+        "Vert.x started: {} event loops, {} workers, {} internal blocking threads, blocked-thread"
+            + " check every {} ms, max execute {} ms (event loop) / {} ms (worker), transport {},"
+            + " native transport {}",
+        configuration.eventLoopPoolSize(),
+        configuration.workerPoolSize(),
+        configuration.internalBlockingPoolSize(),
+        configuration.blockedThreadCheckInterval().toMillis(),
+        configuration.maxEventLoopExecuteTime().toMillis(),
+        configuration.maxWorkerExecuteTime().toMillis(),
+        configuration.transport(),
+        built.isNativeTransportEnabled() ? "enabled" : "disabled");
+    if (configuration.preferNativeTransport()
+        && configuration.transport() != VertxConfiguration.TransportPreference.NIO
+        && !built.isNativeTransportEnabled()) {
+      logger.info("Native transport unavailable: {}", built.unavailableNativeTransportCause());
+    }
+    return built;
+  }
 }
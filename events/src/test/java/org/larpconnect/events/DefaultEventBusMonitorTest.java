@@ -0,0 +1,128 @@
+package org.larpconnect.events;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.EventBus;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for {@link DefaultEventBusMonitor}. */
+public final class DefaultEventBusMonitorTest {
+  private Vertx vertx;
+  private EventBus eventBus;
+  private DefaultEventBusMonitor monitor;
+
+  @BeforeEach
+  public void setUp() {
+    vertx = Vertx.vertx();
+    eventBus = vertx.eventBus();
+    monitor = new DefaultEventBusMonitor();
+    monitor.attach(eventBus);
+  }
+
+  @AfterEach
+  public void tearDown() {
+    await(vertx.close());
+  }
+
+  @Test
+  public void stats_beforeTraffic_isEmpty() {
+    assertThat(monitor.stats()).isEmpty();
+  }
+
+  @Test
+  public void stats_requestReply_countsRequestButNotReply() {
+    await(eventBus.<String>localConsumer("echo", message -> message.reply("pong")).completion());
+
+    await(eventBus.request("echo", "ping"));
+    awaitDelivered("echo", 1);
+
+    assertThat(monitor.stats())
+        .singleElement()
+        .extracting(EventBusAddressStats::sent)
+        .isEqualTo(1L);
+  }
+
+  @Test
+  public void stats_publish_countsPublishAndEveryDelivery() {
+    await(eventBus.localConsumer("fanout", message -> {}).completion());
+    await(eventBus.localConsumer("fanout", message -> {}).completion());
+
+    eventBus.publish("fanout", "hello");
+    awaitDelivered("fanout", 2);
+
+    EventBusAddressStats stats = statsFor("fanout");
+    assertThat(stats.published()).isEqualTo(1);
+    assertThat(stats.sent()).isZero();
+    assertThat(stats.delivered()).isEqualTo(2);
+  }
+
+  @Test
+  public void stats_slowHandler_recordsHandlingTime() {
+    await(
+        eventBus
+            .<String>localConsumer(
+                "slow",
+                message -> {
+                  sleep(20);
+                  message.reply("done");
+                })
+            .completion());
+
+    await(eventBus.request("slow", "work"));
+    awaitDelivered("slow", 1);
+
+    EventBusAddressStats stats = statsFor("slow");
+    assertThat(stats.maxHandlingNanos()).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(20));
+    assertThat(stats.meanHandlingNanos()).isEqualTo(stats.handlingNanos());
+  }
+
+  @Test
+  public void stats_pastAddressLimit_countsUnderOther() {
+    for (int i = 0; i <= DefaultEventBusMonitor.MAX_ADDRESSES; i++) {
+      eventBus.send("unheard." + i, "lost");
+    }
+
+    assertThat(monitor.stats()).hasSize(DefaultEventBusMonitor.MAX_ADDRESSES + 1);
+    assertThat(statsFor(EventBusMonitor.OTHER_ADDRESSES).sent()).isEqualTo(1);
+  }
+
+  @Test
+  public void meanHandlingNanos_beforeDelivery_isZero() {
+    assertThat(new EventBusAddressStats("idle", 1, 0, 0, 0, 0).meanHandlingNanos()).isZero();
+  }
+
+  private EventBusAddressStats statsFor(String address) {
+    return monitor.stats().stream()
+        .filter(stats -> stats.address().equals(address))
+        .findFirst()
+        .orElseThrow();
+  }
+
+  private void awaitDelivered(String address, long delivered) {
+    long deadline = System.nanoTime() + SECONDS.toNanos(5);
+    // The counters are updated once the handler returns, which may be after its reply arrived.
+    while (monitor.stats().stream()
+        .noneMatch(stats -> stats.address().equals(address) && stats.delivered() >= delivered)) {
+      assertThat(System.nanoTime()).isLessThan(deadline);
+      sleep(1);
+    }
+  }
+
+  private static void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static <T> T await(Future<T> future) {
+    return future.toCompletionStage().toCompletableFuture().orTimeout(5, SECONDS).join();
+  }
+}
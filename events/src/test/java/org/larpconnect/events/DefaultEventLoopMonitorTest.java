@@ -0,0 +1,224 @@
+package org.larpconnect.events;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.vertx.core.AbstractVerticle;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.VertxOptions;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for {@link DefaultEventLoopMonitor}. */
+public final class DefaultEventLoopMonitorTest {
+  private static final EventLoopMonitorConfiguration CONFIGURATION =
+      new EventLoopMonitorConfiguration(
+          Duration.ofMillis(5), Duration.ofMillis(20), 2, Duration.ofMillis(10));
+
+  private final DefaultEventLoopMonitor monitor = new DefaultEventLoopMonitor(CONFIGURATION);
+  private Vertx vertx;
+
+  @BeforeEach
+  public void setUp() {
+    vertx = Vertx.vertx();
+    monitor.attach(vertx.eventBus());
+  }
+
+  @AfterEach
+  public void tearDown() {
+    await(vertx.close());
+  }
+
+  @Test
+  public void stats_beforeAnything_areEmpty() {
+    assertThat(monitor.eventLoopLag()).isEmpty();
+    assertThat(monitor.verticleHandlers()).isEmpty();
+    assertThat(monitor.addressHandlers()).isEmpty();
+    assertThat(monitor.slowHandlers()).isEmpty();
+  }
+
+  @Test
+  public void timed_outsideVertx_isUnattributed() {
+    AtomicInteger calls = new AtomicInteger();
+    Handler<String> outer =
+        monitor.timed(event -> monitor.timed(e -> calls.incrementAndGet()).handle(event));
+
+    outer.handle("event");
+
+    assertThat(calls).hasValue(1);
+    assertThat(monitor.verticleHandlers())
+        .singleElement()
+        .satisfies(
+            stats -> {
+              assertThat(stats.name()).isEqualTo(EventLoopMonitor.UNATTRIBUTED);
+              assertThat(stats.count()).isEqualTo(2);
+            });
+  }
+
+  @Test
+  public void eventBusHandler_inNamedDeployment_isRecordedPerVerticleAndAddress() {
+    String deploymentId = await(vertx.deployVerticle(new EchoVerticle("echo")));
+    monitor.deployed(deploymentId, "echo_verticle");
+
+    await(vertx.eventBus().request("echo", "ping"));
+
+    awaitTrue(() -> !monitor.addressHandlers().isEmpty());
+    assertThat(monitor.addressHandlers())
+        .singleElement()
+        .satisfies(
+            stats -> {
+              assertThat(stats.name()).isEqualTo("echo");
+              assertThat(stats.count()).isEqualTo(1);
+              assertThat(stats.maxNanos()).isGreaterThanOrEqualTo(stats.p50Nanos());
+            });
+    assertThat(monitor.verticleHandlers()).extracting(LatencyStats::name).contains("echo_verticle");
+
+    monitor.undeployed(deploymentId);
+    await(vertx.eventBus().request("echo", "ping"));
+    awaitTrue(
+        () ->
+            monitor.verticleHandlers().stream()
+                .anyMatch(stats -> stats.name().equals(EventLoopMonitor.UNATTRIBUTED)));
+  }
+
+  @Test
+  public void eventBusHandler_pastAddressLimit_isRecordedUnderOther() {
+    int addresses = DefaultEventLoopMonitor.MAX_ADDRESSES + 4;
+    await(
+        vertx.deployVerticle(
+            new AbstractVerticle() {
+              @Override
+              public void start() {
+                IntStream.range(0, addresses)
+                    .forEach(i -> vertx.eventBus().localConsumer("a" + i, message -> {}));
+              }
+            }));
+
+    IntStream.range(0, addresses).forEach(i -> vertx.eventBus().send("a" + i, "hello"));
+
+    awaitTrue(
+        () -> monitor.addressHandlers().stream().mapToLong(LatencyStats::count).sum() == addresses);
+    assertThat(monitor.addressHandlers())
+        .hasSize(DefaultEventLoopMonitor.MAX_ADDRESSES + 1)
+        .extracting(LatencyStats::name)
+        .contains(EventLoopMonitor.OTHER_ADDRESSES);
+  }
+
+  @Test
+  public void probe_recordsLagAndSamplesSlowHandlers() {
+    String probe = await(vertx.deployVerticle(probes(2)));
+    String deploymentId = await(vertx.deployVerticle(new EchoVerticle("slow")));
+    monitor.deployed(deploymentId, "slow_verticle");
+
+    await(vertx.eventBus().request("slow", "sleep"));
+
+    awaitTrue(() -> monitor.eventLoopLag().size() == 2);
+    assertThat(monitor.eventLoopLag())
+        .allSatisfy(stats -> assertThat(stats.name()).startsWith("vert.x-eventloop-thread-"));
+    awaitTrue(() -> !monitor.slowHandlers().isEmpty());
+    SlowHandlerSample sample = monitor.slowHandlers().get(0);
+    assertThat(sample.verticle()).isEqualTo("slow_verticle");
+    assertThat(sample.thread()).startsWith("vert.x-eventloop-thread-");
+    assertThat(sample.runningNanos()).isGreaterThanOrEqualTo(Duration.ofMillis(20).toNanos());
+    assertThat(sample.stack()).anyMatch(frame -> frame.contains("sleep"));
+
+    for (int i = 0; i < 3; i++) {
+      await(vertx.eventBus().request("slow", "sleep"));
+    }
+    awaitTrue(() -> monitor.slowHandlers().size() == CONFIGURATION.maxSlowHandlerSamples());
+    await(vertx.undeploy(probe));
+    assertThat(monitor.probedLoops()).isEmpty();
+    monitor.probeStopped("vert.x-eventloop-thread-0");
+  }
+
+  @Test
+  public void probes_whileOthersDeploy_landOnDistinctLoops() {
+    Vertx fourLoops = Vertx.vertx(new VertxOptions().setEventLoopPoolSize(4));
+    try {
+      // Other deployments take event loops from the same rotation at the same time
+      CompletableFuture<Void> others =
+          CompletableFuture.runAsync(
+              () ->
+                  IntStream.range(0, 256)
+                      .forEach(i -> fourLoops.deployVerticle(new EchoVerticle("other" + i))));
+      await(fourLoops.deployVerticle(probes(4)));
+      others.join();
+
+      assertThat(monitor.probedLoops()).hasSize(4);
+      awaitTrue(() -> monitor.eventLoopLag().size() == 4);
+      assertThat(monitor.eventLoopLag())
+          .extracting(LatencyStats::name)
+          .containsExactlyInAnyOrderElementsOf(monitor.probedLoops());
+    } finally {
+      await(fourLoops.close());
+    }
+    assertThat(monitor.probedLoops()).isEmpty();
+  }
+
+  @Test
+  public void probes_moreThanLoops_giveUpAfterTheAttempts() {
+    Vertx oneLoop = Vertx.vertx(new VertxOptions().setEventLoopPoolSize(1));
+    try {
+      await(oneLoop.deployVerticle(probes(2)));
+
+      assertThat(monitor.probedLoops()).hasSize(1);
+    } finally {
+      await(oneLoop.close());
+    }
+  }
+
+  private EventLoopProbesVerticle probes(int eventLoops) {
+    return new EventLoopProbesVerticle(
+        () -> new EventLoopProbeVerticle(monitor, CONFIGURATION), monitor, eventLoops);
+  }
+
+  private static void awaitTrue(BooleanSupplier condition) {
+    long deadline = System.nanoTime() + SECONDS.toNanos(5);
+    while (!condition.getAsBoolean()) {
+      assertThat(System.nanoTime()).isLessThan(deadline);
+      Thread.onSpinWait();
+    }
+  }
+
+  private static <T> T await(Future<T> future) {
+    return future.toCompletionStage().toCompletableFuture().orTimeout(5, SECONDS).join();
+  }
+
+  private static final class EchoVerticle extends AbstractVerticle {
+    private final String address;
+
+    EchoVerticle(String address) {
+      this.address = address;
+    }
+
+    @Override
+    public void start() {
+      vertx
+          .eventBus()
+          .<String>localConsumer(
+              address,
+              message -> {
+                if (message.body().equals("sleep")) {
+                  sleep();
+                }
+                message.reply(message.body());
+              });
+    }
+
+    private static void sleep() {
+      try {
+        Thread.sleep(100);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+}
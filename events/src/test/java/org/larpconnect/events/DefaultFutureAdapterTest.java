@@ -0,0 +1,42 @@
+package org.larpconnect.events;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for {@link DefaultFutureAdapter}. */
+public final class DefaultFutureAdapterTest {
+  @Test
+  public void adapt_outsideContext_completesWithStageResult() {
+    Future<String> future =
+        new DefaultFutureAdapter().adapt(CompletableFuture.completedFuture("done"));
+
+    assertThat(future.result()).isEqualTo("done");
+  }
+
+  @Test
+  public void adapt_onContext_dispatchesCallbacksToContext() {
+    Vertx vertx = Vertx.vertx();
+    try {
+      Context context = vertx.getOrCreateContext();
+      CompletableFuture<String> stage = new CompletableFuture<>();
+      CompletableFuture<Boolean> onContext = new CompletableFuture<>();
+      context.runOnContext(
+          v ->
+              new DefaultFutureAdapter()
+                  .adapt(stage)
+                  .onComplete(ar -> onContext.complete(Vertx.currentContext() == context)));
+
+      stage.complete("done");
+
+      assertThat(onContext.orTimeout(5, TimeUnit.SECONDS).join()).isTrue();
+    } finally {
+      vertx.close();
+    }
+  }
+}
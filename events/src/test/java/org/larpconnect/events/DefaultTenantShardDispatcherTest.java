@@ -0,0 +1,366 @@
+package org.larpconnect.events;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.VertxOptions;
+import io.vertx.core.eventbus.Message;
+import io.vertx.core.eventbus.ReplyException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for {@link DefaultTenantShardDispatcher}. */
+public final class DefaultTenantShardDispatcherTest {
+  private static final TenantShardConfiguration CONFIGURATION =
+      new TenantShardConfiguration(4, Duration.ofSeconds(5));
+  private static final List<UUID> TENANTS =
+      IntStream.range(0, 1_000).mapToObj(i -> UUID.randomUUID()).toList();
+
+  private final Set<String> threads = ConcurrentHashMap.newKeySet();
+  private final Map<UUID, Promise<Object>> held = new ConcurrentHashMap<>();
+  private final List<String> handled = new CopyOnWriteArrayList<>();
+  private Vertx vertx;
+  private DefaultTenantShardDispatcher dispatcher;
+
+  @BeforeEach
+  public void setUp() {
+    vertx = Vertx.vertx();
+    vertx.eventBus().registerDefaultCodec(TenantMessage.class, new TenantMessageCodec());
+    Map<String, TenantMessageHandler> handlers =
+        Map.of(
+            "echo",
+            message -> {
+              threads.add(Thread.currentThread().getName());
+              return Future.succeededFuture(message.payload());
+            },
+            "hold",
+            message -> {
+              Promise<Object> promise = Promise.promise();
+              held.put(message.tenantId(), promise);
+              return promise.future().andThen(ignored -> handled.add("hold"));
+            },
+            "record",
+            message -> {
+              handled.add("record");
+              return Future.succeededFuture(message.payload());
+            },
+            "fail",
+            message -> Future.failedFuture(new IllegalStateException("refused")));
+    dispatcher =
+        new DefaultTenantShardDispatcher(
+            () -> vertx,
+            handlers,
+            CONFIGURATION,
+            new DefaultEventLoopMonitor(EventLoopMonitorConfigurationProviderTest.DEFAULTS));
+  }
+
+  @AfterEach
+  public void tearDown() {
+    await(vertx.close());
+  }
+
+  @Test
+  public void request_beforeResize_fails() {
+    assertThat(dispatcher.shardOf(TENANTS.get(0))).isEqualTo(-1);
+    assertThatThrownBy(() -> await(dispatcher.request(message(TENANTS.get(0), "echo"))))
+        .hasCauseInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  public void request_afterResize_repliesFromHandler() {
+    await(dispatcher.resize(4));
+
+    Message<String> reply = await(dispatcher.request(message(TENANTS.get(0), "echo")));
+
+    assertThat(reply.body()).isEqualTo("payload");
+  }
+
+  @Test
+  public void request_manyTenants_spreadsShardsAcrossEventLoops() {
+    await(dispatcher.resize(4));
+
+    for (UUID tenant : TENANTS) {
+      await(dispatcher.request(message(tenant, "echo")));
+    }
+
+    // Successive deployments take successive event loops.
+    assertThat(threads).hasSize(Math.min(4, VertxOptions.DEFAULT_EVENT_LOOP_POOL_SIZE));
+    assertThat(dispatcher.stats())
+        .allSatisfy(stats -> assertThat(stats.dispatched()).isBetween(150L, 350L));
+  }
+
+  @Test
+  public void resize_grow_movesOnlyTenantsOfNewShard() {
+    await(dispatcher.resize(4));
+    Map<UUID, Integer> before = shards();
+
+    await(dispatcher.resize(5));
+    Map<UUID, Integer> after = shards();
+
+    long moved = TENANTS.stream().filter(t -> !before.get(t).equals(after.get(t))).count();
+    assertThat(moved).isBetween(100L, 300L);
+    assertThat(
+            TENANTS.stream()
+                .filter(t -> !before.get(t).equals(after.get(t)))
+                .allMatch(t -> after.get(t) == 4))
+        .isTrue();
+  }
+
+  @Test
+  public void resize_shrink_drainsRemovedShardBeforeUndeploying() {
+    await(dispatcher.resize(2));
+    UUID tenant = tenantOn(1, 2);
+    Future<Message<String>> pending = dispatcher.request(message(tenant, "hold"));
+    awaitHeld(tenant);
+    assertThat(dispatcher.stats().get(1).queueDepth()).isEqualTo(1);
+
+    Future<Void> shrunk = dispatcher.resize(1);
+    assertThat(shrunk.isComplete()).isFalse();
+
+    held.get(tenant).complete("released");
+
+    assertThat(await(pending).body()).isEqualTo("released");
+    await(shrunk);
+    assertThat(dispatcher.shardOf(tenant)).isZero();
+    assertThat(dispatcher.stats()).hasSize(1);
+    assertThat(vertx.deploymentIDs()).hasSize(1);
+  }
+
+  @Test
+  public void resize_shrink_holdsMovedTenantUntilRemovedShardAnswers() {
+    await(dispatcher.resize(2));
+    UUID tenant = tenantOn(1, 2);
+    Future<Message<String>> pending = dispatcher.request(message(tenant, "hold"));
+    awaitHeld(tenant);
+
+    Future<Void> shrunk = dispatcher.resize(1);
+    Future<Message<String>> moved = dispatcher.request(message(tenant, "record"));
+    assertThat(moved.isComplete()).isFalse();
+    assertThat(handled).isEmpty();
+
+    held.get(tenant).complete("released");
+
+    await(pending);
+    assertThat(await(moved).body()).isEqualTo("payload");
+    await(shrunk);
+    assertThat(handled).containsExactly("hold", "record");
+  }
+
+  @Test
+  public void resize_grow_holdsMovedTenantUntilOldShardAnswers() {
+    await(dispatcher.resize(1));
+    UUID tenant = tenantOn(1, 2);
+    Future<Message<String>> pending = dispatcher.request(message(tenant, "hold"));
+    awaitHeld(tenant);
+
+    Future<Void> grown = dispatcher.resize(2);
+    awaitMoving();
+    Future<Message<String>> moved = dispatcher.request(message(tenant, "record"));
+    assertThat(moved.isComplete()).isFalse();
+
+    held.get(tenant).complete("released");
+
+    await(pending);
+    await(moved);
+    await(grown);
+    assertThat(handled).containsExactly("hold", "record");
+    assertThat(dispatcher.shardOf(tenant)).isEqualTo(1);
+    assertThat(dispatcher.stats().get(1).dispatched()).isEqualTo(1);
+  }
+
+  @Test
+  public void resize_grow_keepsServingTenantsThatStay() {
+    await(dispatcher.resize(1));
+    UUID tenant = tenantOn(1, 2);
+    dispatcher.request(message(tenant, "hold"));
+    awaitHeld(tenant);
+
+    Future<Void> grown = dispatcher.resize(2);
+    awaitMoving();
+
+    assertThat(await(dispatcher.request(message(tenantOn(0, 2), "echo"))).body())
+        .isEqualTo("payload");
+    assertThat(grown.isComplete()).isFalse();
+    held.get(tenant).complete("released");
+    await(grown);
+  }
+
+  @Test
+  public void resize_toZero_failsHeldMessages() {
+    await(dispatcher.resize(1));
+    UUID tenant = TENANTS.get(0);
+    dispatcher.request(message(tenant, "hold"));
+    awaitHeld(tenant);
+
+    Future<Void> stopped = dispatcher.resize(0);
+    Future<Message<String>> refused = dispatcher.request(message(tenant, "echo"));
+    held.get(tenant).complete("released");
+    await(stopped);
+
+    assertThatThrownBy(() -> await(refused)).hasCauseInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  public void awaitIdle_withHeldMessage_completesOnceAnswered() {
+    await(dispatcher.resize(2));
+    UUID tenant = TENANTS.get(0);
+    Future<Message<String>> pending = dispatcher.request(message(tenant, "hold"));
+    awaitHeld(tenant);
+
+    Future<Void> idle = dispatcher.awaitIdle(Duration.ofSeconds(5));
+    assertThat(idle.isComplete()).isFalse();
+
+    held.get(tenant).complete("released");
+
+    assertThat(await(pending).body()).isEqualTo("released");
+    await(idle);
+    assertThat(dispatcher.stats()).hasSize(2);
+  }
+
+  @Test
+  public void awaitIdle_pastTimeout_completesWithMessagesUnanswered() {
+    await(dispatcher.resize(1));
+    UUID tenant = TENANTS.get(0);
+    dispatcher.request(message(tenant, "hold"));
+    awaitHeld(tenant);
+
+    await(dispatcher.awaitIdle(Duration.ofMillis(50)));
+
+    assertThat(dispatcher.stats().get(0).queueDepth()).isEqualTo(1);
+  }
+
+  @Test
+  public void awaitIdle_withoutShards_completesAtOnce() {
+    assertThat(dispatcher.awaitIdle(Duration.ofSeconds(5)).succeeded()).isTrue();
+  }
+
+  @Test
+  public void resize_toZero_stopsAllShards() {
+    await(dispatcher.resize(3));
+
+    await(dispatcher.resize(0));
+
+    assertThat(dispatcher.stats()).isEmpty();
+    assertThat(vertx.deploymentIDs()).isEmpty();
+  }
+
+  @Test
+  public void resize_sameSize_isNoOp() {
+    await(dispatcher.resize(2));
+
+    await(dispatcher.resize(2));
+
+    assertThat(vertx.deploymentIDs()).hasSize(2);
+  }
+
+  @Test
+  public void resize_negative_throwsIllegalArgumentException() {
+    assertThatThrownBy(() -> dispatcher.resize(-1)).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  public void request_unknownType_failsWithNoHandler() {
+    await(dispatcher.resize(1));
+
+    assertThatThrownBy(() -> await(dispatcher.request(message(TENANTS.get(0), "unknown"))))
+        .isInstanceOf(CompletionException.class)
+        .cause()
+        .isInstanceOf(ReplyException.class)
+        .extracting(err -> ((ReplyException) err).failureCode())
+        .isEqualTo(TenantShardVerticle.NO_HANDLER);
+  }
+
+  @Test
+  public void request_failingHandler_failsAndReleasesQueue() {
+    await(dispatcher.resize(1));
+
+    assertThatThrownBy(() -> await(dispatcher.request(message(TENANTS.get(0), "fail"))))
+        .cause()
+        .isInstanceOf(ReplyException.class)
+        .hasMessage("refused");
+    assertThat(dispatcher.stats().get(0).queueDepth()).isZero();
+    assertThat(dispatcher.stats().get(0).dispatched()).isEqualTo(1);
+  }
+
+  @Test
+  public void tenantShardsVerticle_deployAndUndeploy_startsAndStopsPool() {
+    String deploymentId =
+        await(vertx.deployVerticle(new TenantShardsVerticle(dispatcher, CONFIGURATION)));
+    assertThat(dispatcher.stats()).hasSize(4);
+
+    await(vertx.undeploy(deploymentId));
+
+    assertThat(dispatcher.stats()).isEmpty();
+    assertThat(vertx.deploymentIDs()).isEmpty();
+  }
+
+  @Test
+  public void tenantShardsVerticle_undeploy_drainsShardsBeforeStopping() {
+    String deploymentId =
+        await(vertx.deployVerticle(new TenantShardsVerticle(dispatcher, CONFIGURATION)));
+    UUID tenant = TENANTS.get(0);
+    Future<Message<String>> pending = dispatcher.request(message(tenant, "hold"));
+    awaitHeld(tenant);
+
+    Future<Void> undeployed = vertx.undeploy(deploymentId);
+    assertThat(undeployed.isComplete()).isFalse();
+    held.get(tenant).complete("released");
+
+    // The shards outlive the verticle that started them, so the held message is answered.
+    assertThat(await(pending).body()).isEqualTo("released");
+    await(undeployed);
+    assertThat(vertx.deploymentIDs()).isEmpty();
+  }
+
+  private Map<UUID, Integer> shards() {
+    Map<UUID, Integer> shards = new ConcurrentHashMap<>();
+    TENANTS.forEach(tenant -> shards.put(tenant, dispatcher.shardOf(tenant)));
+    return shards;
+  }
+
+  private static UUID tenantOn(int shard, int shards) {
+    return TENANTS.stream()
+        .filter(t -> DefaultTenantShardDispatcher.shardOf(t, shards) == shard)
+        .findFirst()
+        .orElseThrow();
+  }
+
+  private void awaitMoving() {
+    // The new shards start before tenants are held back.
+    long deadline = System.nanoTime() + SECONDS.toNanos(5);
+    while (!dispatcher.moving()) {
+      assertThat(System.nanoTime()).isLessThan(deadline);
+      Thread.onSpinWait();
+    }
+  }
+
+  private void awaitHeld(UUID tenant) {
+    long deadline = System.nanoTime() + SECONDS.toNanos(5);
+    while (!held.containsKey(tenant)) {
+      assertThat(System.nanoTime()).isLessThan(deadline);
+      Thread.onSpinWait();
+    }
+  }
+
+  private static TenantMessage message(UUID tenant, String type) {
+    return new TenantMessage(tenant, type, "payload");
+  }
+
+  private static <T> T await(Future<T> future) {
+    return future.toCompletionStage().toCompletableFuture().orTimeout(5, SECONDS).join();
+  }
+}
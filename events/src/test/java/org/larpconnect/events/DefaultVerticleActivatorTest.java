@@ -0,0 +1,353 @@
+package org.larpconnect.events;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.vertx.core.AbstractVerticle;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.Message;
+import io.vertx.core.eventbus.ReplyException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for {@link DefaultVerticleActivator}. */
+public final class DefaultVerticleActivatorTest {
+  private static final String KIND = "studio";
+  private static final ActivationKey STUDIO = new ActivationKey(KIND, UUID.randomUUID());
+  private static final VerticleActivationConfiguration CONFIGURATION =
+      new VerticleActivationConfiguration(Duration.ofMinutes(10), Duration.ofMinutes(1), 4);
+
+  private final AtomicInteger created = new AtomicInteger();
+  private final AtomicInteger stopped = new AtomicInteger();
+  private final Queue<String> handled = new ConcurrentLinkedQueue<>();
+  private volatile Future<Void> startGate = Future.succeededFuture();
+  private Vertx vertx;
+
+  @BeforeEach
+  public void setUp() {
+    vertx = Vertx.vertx();
+    vertx.eventBus().registerDefaultCodec(TenantMessage.class, new TenantMessageCodec());
+  }
+
+  @AfterEach
+  public void tearDown() {
+    await(vertx.close());
+  }
+
+  @Test
+  public void request_beforeAttach_fails() {
+    DefaultVerticleActivator activator = activator(CONFIGURATION);
+
+    assertThatThrownBy(() -> await(activator.request(STUDIO, message("echo"))))
+        .hasCauseInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  public void request_unknownKind_fails() {
+    DefaultVerticleActivator activator = started(CONFIGURATION);
+
+    assertThatThrownBy(
+            () ->
+                await(
+                    activator.request(
+                        new ActivationKey("actor", UUID.randomUUID()), message("echo"))))
+        .hasCauseInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  public void request_whileActivating_buffersAndSendsInOrderToOneVerticle() {
+    Promise<Void> gate = Promise.promise();
+    startGate = gate.future();
+    DefaultVerticleActivator activator = started(CONFIGURATION);
+
+    List<Future<Message<String>>> replies = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      replies.add(activator.request(STUDIO, message("m" + i)));
+    }
+    awaitTrue(() -> created.get() == 1);
+    assertThat(replies).noneMatch(Future::isComplete);
+    gate.complete();
+
+    assertThat(replies)
+        .extracting(reply -> await(reply).body())
+        .containsExactly("m0", "m1", "m2", "m3");
+    assertThat(handled).containsExactly("m0", "m1", "m2", "m3");
+    assertThat(created).hasValue(1);
+    VerticleActivationStats stats = activator.stats().get(0);
+    assertThat(stats.kind()).isEqualTo(KIND);
+    assertThat(stats.live()).isEqualTo(1);
+    assertThat(stats.activations()).isEqualTo(1);
+    assertThat(stats.maxActivationNanos()).isPositive();
+    assertThat(stats.meanActivationNanos()).isEqualTo(stats.activationNanos());
+  }
+
+  @Test
+  public void request_duringActivationCompletion_keepsArrivalOrder() {
+    Promise<Void> gate = Promise.promise();
+    startGate = gate.future();
+    DefaultVerticleActivator activator =
+        started(
+            new VerticleActivationConfiguration(
+                Duration.ofMinutes(10), Duration.ofMinutes(1), 2_000));
+
+    List<Future<Message<String>>> replies = new ArrayList<>();
+    List<String> sent = new ArrayList<>();
+    for (int i = 0; i < 2_000; i++) {
+      if (i == 500) {
+        vertx.runOnContext(v -> gate.complete());
+      }
+      sent.add("m" + i);
+      replies.add(activator.request(STUDIO, message("m" + i)));
+    }
+
+    replies.forEach(DefaultVerticleActivatorTest::await);
+    assertThat(handled).containsExactlyElementsOf(sent);
+  }
+
+  @Test
+  public void request_pastMaxPending_isRefused() {
+    startGate = Promise.<Void>promise().future();
+    DefaultVerticleActivator activator = started(CONFIGURATION);
+    for (int i = 0; i < CONFIGURATION.maxPending(); i++) {
+      activator.request(STUDIO, message("m" + i));
+    }
+
+    assertThatThrownBy(() -> await(activator.request(STUDIO, message("overflow"))))
+        .hasCauseInstanceOf(IllegalStateException.class)
+        .hasMessageContaining("Too many messages");
+  }
+
+  @Test
+  public void request_fullBufferBeforeActivation_refusesOnlyTheOverflow() {
+    Promise<Void> gate = Promise.promise();
+    startGate = gate.future();
+    DefaultVerticleActivator activator = started(CONFIGURATION);
+    List<Future<Message<String>>> replies = new ArrayList<>();
+    for (int i = 0; i < CONFIGURATION.maxPending(); i++) {
+      replies.add(activator.request(STUDIO, message("hold")));
+    }
+
+    assertThatThrownBy(() -> await(activator.request(STUDIO, message("overflow"))))
+        .hasCauseInstanceOf(IllegalStateException.class)
+        .hasMessageContaining("Too many messages");
+    gate.complete();
+
+    // Once deployed, messages in flight on the verticle no longer count against the buffer
+    awaitTrue(() -> handled.size() == CONFIGURATION.maxPending());
+    assertThat(await(activator.<String>request(STUDIO, message("m0"))).body()).isEqualTo("m0");
+    assertThat(replies).noneMatch(Future::isComplete);
+    assertThat(handled).doesNotContain("overflow");
+  }
+
+  @Test
+  public void request_failedActivation_failsWaitingAndActivatesAgainLater() {
+    startGate = Future.failedFuture(new IllegalStateException("no state"));
+    DefaultVerticleActivator activator = started(CONFIGURATION);
+
+    assertThatThrownBy(() -> await(activator.request(STUDIO, message("m0"))))
+        .hasRootCauseMessage("no state");
+
+    startGate = Future.succeededFuture();
+    assertThat(await(activator.<String>request(STUDIO, message("m1"))).body()).isEqualTo("m1");
+    assertThat(created).hasValue(2);
+    assertThat(activator.stats().get(0).activations()).isEqualTo(1);
+  }
+
+  @Test
+  public void request_failingFactory_fails() {
+    DefaultVerticleActivator activator =
+        new DefaultVerticleActivator(
+            Map.of(
+                KIND,
+                (key, address) -> {
+                  throw new IllegalStateException("cannot create");
+                }),
+            CONFIGURATION,
+            new DefaultVerticleInstantiationMonitor(),
+            new DefaultEventLoopMonitor(EventLoopMonitorConfigurationProviderTest.DEFAULTS));
+    await(vertx.deployVerticle(new VerticleActivationsVerticle(activator, CONFIGURATION)));
+
+    assertThatThrownBy(() -> await(activator.request(STUDIO, message("m0"))))
+        .hasRootCauseMessage("cannot create");
+  }
+
+  @Test
+  public void request_failingHandler_failsWithReply() {
+    DefaultVerticleActivator activator = started(CONFIGURATION);
+
+    assertThatThrownBy(() -> await(activator.request(STUDIO, message("fail"))))
+        .cause()
+        .isInstanceOf(ReplyException.class)
+        .hasMessage("refused");
+  }
+
+  @Test
+  public void passivateIdle_pastTimeout_undeploysAndNextMessageActivatesAgain() {
+    DefaultVerticleActivator activator =
+        started(new VerticleActivationConfiguration(Duration.ZERO, Duration.ofMinutes(1), 4));
+    await(activator.request(STUDIO, message("m0")));
+    int deployments = vertx.deploymentIDs().size();
+
+    activator.passivateIdle();
+
+    awaitTrue(() -> stopped.get() == 1);
+    awaitTrue(() -> activator.stats().get(0).live() == 0);
+    assertThat(vertx.deploymentIDs()).hasSize(deployments - 1);
+    assertThat(await(activator.<String>request(STUDIO, message("m1"))).body()).isEqualTo("m1");
+    assertThat(created).hasValue(2);
+    VerticleActivationStats stats = activator.stats().get(0);
+    assertThat(stats.live()).isEqualTo(1);
+    assertThat(stats.activations()).isEqualTo(2);
+    assertThat(stats.passivations()).isEqualTo(1);
+  }
+
+  @Test
+  public void passivateIdle_withinTimeout_keepsVerticle() {
+    DefaultVerticleActivator activator = started(CONFIGURATION);
+    await(activator.request(STUDIO, message("m0")));
+
+    activator.passivateIdle();
+
+    assertThat(activator.stats().get(0).live()).isEqualTo(1);
+    assertThat(stopped).hasValue(0);
+  }
+
+  @Test
+  public void passivateIdle_withMessageInFlight_keepsVerticle() {
+    DefaultVerticleActivator activator =
+        started(new VerticleActivationConfiguration(Duration.ZERO, Duration.ofMinutes(1), 4));
+    Future<Message<String>> pending = activator.request(STUDIO, message("hold"));
+    awaitTrue(() -> handled.contains("hold"));
+
+    activator.passivateIdle();
+
+    assertThat(activator.stats().get(0).live()).isEqualTo(1);
+    assertThat(pending.isComplete()).isFalse();
+  }
+
+  @Test
+  public void passivateIdle_beforeAttach_isNoOp() {
+    DefaultVerticleActivator activator = activator(CONFIGURATION);
+
+    activator.passivateIdle();
+
+    assertThat(activator.stats())
+        .singleElement()
+        .extracting(VerticleActivationStats::live)
+        .isEqualTo(0L);
+  }
+
+  @Test
+  public void undeployOwner_undeploysEveryActivatedVerticle() {
+    DefaultVerticleActivator activator = activator(CONFIGURATION);
+    String owner =
+        await(vertx.deployVerticle(new VerticleActivationsVerticle(activator, CONFIGURATION)));
+    await(activator.request(STUDIO, message("m0")));
+    await(activator.request(new ActivationKey(KIND, UUID.randomUUID()), message("m1")));
+
+    await(vertx.undeploy(owner));
+
+    assertThat(vertx.deploymentIDs()).isEmpty();
+    assertThat(stopped).hasValue(2);
+    assertThat(activator.stats().get(0).live()).isZero();
+    assertThatThrownBy(() -> await(activator.request(STUDIO, message("m2"))))
+        .hasCauseInstanceOf(IllegalStateException.class);
+    assertThat(activator.detach().succeeded()).isTrue();
+  }
+
+  @Test
+  public void activationKey_invalidKind_throwsIllegalArgumentException() {
+    assertThatThrownBy(() -> new ActivationKey("Studio", UUID.randomUUID()))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> new ActivationKey("", UUID.randomUUID()))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  public void meanActivationNanos_withoutActivations_isZero() {
+    assertThat(new VerticleActivationStats(KIND, 0, 0, 0, 0, 0).meanActivationNanos()).isZero();
+  }
+
+  private DefaultVerticleActivator started(VerticleActivationConfiguration configuration) {
+    DefaultVerticleActivator activator = activator(configuration);
+    await(vertx.deployVerticle(new VerticleActivationsVerticle(activator, configuration)));
+    return activator;
+  }
+
+  private DefaultVerticleActivator activator(VerticleActivationConfiguration configuration) {
+    return new DefaultVerticleActivator(
+        Map.of(
+            KIND,
+            (key, address) -> {
+              created.incrementAndGet();
+              return new StudioVerticle(address, startGate);
+            }),
+        configuration,
+        new DefaultVerticleInstantiationMonitor(),
+        new DefaultEventLoopMonitor(EventLoopMonitorConfigurationProviderTest.DEFAULTS));
+  }
+
+  private static TenantMessage message(String payload) {
+    return new TenantMessage(STUDIO.id(), "test", payload);
+  }
+
+  private static void awaitTrue(BooleanSupplier condition) {
+    long deadline = System.nanoTime() + SECONDS.toNanos(5);
+    while (!condition.getAsBoolean()) {
+      assertThat(System.nanoTime()).isLessThan(deadline);
+      Thread.onSpinWait();
+    }
+  }
+
+  private static <T> T await(Future<T> future) {
+    return future.toCompletionStage().toCompletableFuture().orTimeout(5, SECONDS).join();
+  }
+
+  private final class StudioVerticle extends AbstractVerticle {
+    private final String address;
+    private final Future<Void> gate;
+
+    StudioVerticle(String address, Future<Void> gate) {
+      this.address = address;
+      this.gate = gate;
+    }
+
+    @Override
+    public void start(Promise<Void> startPromise) {
+      vertx
+          .eventBus()
+          .<TenantMessage>localConsumer(
+              address,
+              message -> {
+                String payload = message.body().payload();
+                handled.add(payload);
+                if (payload.equals("fail")) {
+                  message.fail(500, "refused");
+                } else if (!payload.equals("hold")) {
+                  message.reply(payload);
+                }
+              })
+          .completion()
+          .compose(ignored -> gate)
+          .onComplete(startPromise);
+    }
+
+    @Override
+    public void stop() {
+      stopped.incrementAndGet();
+    }
+  }
+}
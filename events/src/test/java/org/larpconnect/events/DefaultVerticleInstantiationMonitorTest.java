@@ -0,0 +1,52 @@
+package org.larpconnect.events;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for {@link DefaultVerticleInstantiationMonitor}. */
+public final class DefaultVerticleInstantiationMonitorTest {
+  private final DefaultVerticleInstantiationMonitor monitor =
+      new DefaultVerticleInstantiationMonitor();
+
+  @Test
+  public void stats_beforeInstantiation_isEmpty() {
+    assertThat(monitor.stats()).isEmpty();
+  }
+
+  @Test
+  public void instantiate_returnsInstanceAndCountsIt() {
+    Object first = monitor.instantiate("b", Object::new);
+    monitor.instantiate("b", Object::new);
+    monitor.instantiate("a", Object::new);
+
+    assertThat(first).isNotNull();
+    assertThat(monitor.stats())
+        .extracting(VerticleInstantiationStats::verticle, VerticleInstantiationStats::instances)
+        .containsExactly(tuple("a", 1L), tuple("b", 2L));
+    VerticleInstantiationStats stats = monitor.stats().get(1);
+    assertThat(stats.maxInstantiationNanos()).isBetween(0L, stats.instantiationNanos());
+    assertThat(stats.meanInstantiationNanos()).isEqualTo(stats.instantiationNanos() / 2);
+  }
+
+  @Test
+  public void instantiate_whenFactoryFails_propagatesAndCountsNothing() {
+    assertThatThrownBy(
+            () ->
+                monitor.instantiate(
+                    "broken",
+                    () -> {
+                      throw new IllegalStateException("boom");
+                    }))
+        .isInstanceOf(IllegalStateException.class);
+
+    assertThat(monitor.stats()).isEmpty();
+  }
+
+  @Test
+  public void meanInstantiationNanos_withoutInstances_isZero() {
+    assertThat(new VerticleInstantiationStats("none", 0, 0, 0).meanInstantiationNanos()).isZero();
+  }
+}
@@ -0,0 +1,69 @@
+package org.larpconnect.events;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.larpconnect.common.MapEnvironment;
+
+/** Unit tests for {@link EventLoopMonitorConfigurationProvider}. */
+public final class EventLoopMonitorConfigurationProviderTest {
+  static final EventLoopMonitorConfiguration DEFAULTS =
+      new EventLoopMonitorConfiguration(
+          Duration.ofMillis(100), Duration.ofMillis(50), 32, Duration.ofMinutes(1));
+
+  @Test
+  public void get_withDefaultEnvironment_returnsDefaults() {
+    assertThat(new EventLoopMonitorConfigurationProvider(new MapEnvironment(Map.of())).get())
+        .isEqualTo(DEFAULTS);
+  }
+
+  @Test
+  public void get_withCustomEnvironment_returnsCustomConfiguration() {
+    MapEnvironment environment =
+        new MapEnvironment(
+            Map.of(
+                "EVENT_LOOP_PROBE_INTERVAL_MS", "20",
+                "SLOW_HANDLER_THRESHOLD_MS", "200",
+                "SLOW_HANDLER_SAMPLES", "4",
+                "EVENT_LOOP_REPORT_INTERVAL_MS", "10000"));
+
+    assertThat(new EventLoopMonitorConfigurationProvider(environment).get())
+        .isEqualTo(
+            new EventLoopMonitorConfiguration(
+                Duration.ofMillis(20), Duration.ofMillis(200), 4, Duration.ofSeconds(10)));
+  }
+
+  @Test
+  public void get_withOutOfRangeValues_clamps() {
+    MapEnvironment environment =
+        new MapEnvironment(
+            Map.of(
+                "EVENT_LOOP_PROBE_INTERVAL_MS", "0",
+                "SLOW_HANDLER_THRESHOLD_MS", "-1",
+                "SLOW_HANDLER_SAMPLES", "0",
+                "EVENT_LOOP_REPORT_INTERVAL_MS", "0"));
+
+    Duration oneMilli = Duration.ofMillis(1);
+    assertThat(new EventLoopMonitorConfigurationProvider(environment).get())
+        .isEqualTo(new EventLoopMonitorConfiguration(oneMilli, oneMilli, 1, oneMilli));
+  }
+
+  @Test
+  public void constructor_invalidValues_throwIllegalArgumentException() {
+    Duration oneMilli = Duration.ofMillis(1);
+    assertThatThrownBy(
+            () -> new EventLoopMonitorConfiguration(Duration.ZERO, oneMilli, 1, oneMilli))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(
+            () -> new EventLoopMonitorConfiguration(oneMilli, Duration.ZERO, 1, oneMilli))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> new EventLoopMonitorConfiguration(oneMilli, oneMilli, 0, oneMilli))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(
+            () -> new EventLoopMonitorConfiguration(oneMilli, oneMilli, 1, Duration.ZERO))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
@@ -1,30 +1,146 @@
 package org.larpconnect.events;
 
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import com.google.inject.Guice;
 import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.google.inject.TypeLiteral;
 import io.vertx.core.AbstractVerticle;
 import io.vertx.core.Deployable;
 import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
+import java.time.Duration;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.jupiter.api.Test;
+import org.larpconnect.common.Environment;
+import org.larpconnect.common.MapEnvironment;
+import org.larpconnect.common.MetricRegistry;
+import org.larpconnect.common.ShutdownParticipant;
+import org.larpconnect.common.ShutdownPhase;
 
 /** Unit tests for events infrastructure configuration. */
 public final class EventsModuleTest {
+  private static final Environment EMPTY_ENVIRONMENT = new MapEnvironment(Map.of());
+  private final DefaultVerticleInstantiationMonitor instantiations =
+      new DefaultVerticleInstantiationMonitor();
+  private final DefaultEventLoopMonitor eventLoops =
+      new DefaultEventLoopMonitor(EventLoopMonitorConfigurationProviderTest.DEFAULTS);
+  private final VerticleDeploymentMetrics deployments = new VerticleDeploymentMetrics();
+
   @Test
   public void createInjector_withModule_isNotNull() {
-    Injector injector = Guice.createInjector(new EventsModule());
+    Injector injector = newInjector();
     assertThat(injector).isNotNull();
   }
 
+  @Test
+  public void createInjector_withModule_bindsFutureAdapter() {
+    Injector injector = newInjector();
+    assertThat(injector.getInstance(FutureAdapter.class)).isInstanceOf(DefaultFutureAdapter.class);
+  }
+
+  @Test
+  public void createInjector_withModule_bindsVertxConfigurationFromEnvironment() {
+    Injector injector = newInjector();
+    assertThat(injector.getInstance(VertxConfiguration.class))
+        .isSameAs(injector.getInstance(VertxConfiguration.class))
+        .isEqualTo(new VertxConfigurationProvider(EMPTY_ENVIRONMENT).get());
+  }
+
+  @Test
+  public void createInjector_withModule_bindsSingletonEventBusMonitor() {
+    Injector injector = newInjector();
+    assertThat(injector.getInstance(EventBusMonitor.class))
+        .isSameAs(injector.getInstance(DefaultEventBusMonitor.class));
+  }
+
+  @Test
+  public void createInjector_withModule_bindsTenantMessageCodec() {
+    Injector injector = newInjector();
+    assertThat(injector.getInstance(Key.get(new TypeLiteral<Set<DomainMessageCodec<?>>>() {})))
+        .hasExactlyElementsOfTypes(TenantMessageCodec.class);
+  }
+
+  @Test
+  public void createInjector_withModule_drainsTenantShardsOnShutdown() throws Exception {
+    Injector injector = newInjector();
+    ShutdownParticipant participant =
+        injector.getInstance(Key.get(new TypeLiteral<Set<ShutdownParticipant>>() {})).stream()
+            .filter(p -> p.name().equals("tenant-shards"))
+            .findFirst()
+            .orElseThrow();
+
+    assertThat(participant.phase()).isEqualTo(ShutdownPhase.DRAIN);
+    // No shard is running, so there is nothing to wait for
+    participant.action().run(Duration.ofSeconds(5));
+  }
+
+  @Test
+  public void createInjector_withModule_bindsTenantShards() {
+    Injector injector = newInjector();
+    assertThat(injector.getInstance(TenantShardDispatcher.class))
+        .isSameAs(injector.getInstance(TenantShardDispatcher.class))
+        .isInstanceOf(DefaultTenantShardDispatcher.class);
+    assertThat(injector.getInstance(Key.get(new TypeLiteral<Set<VerticleProvider>>() {})))
+        .filteredOn(provider -> provider.deployment().name().equals("tenant_shards"))
+        .singleElement()
+        .satisfies(
+            provider -> {
+              assertThat(provider.deployment())
+                  .isEqualTo(VerticleDeployment.eventLoop("tenant_shards", 1));
+              assertThat(provider.get()).isInstanceOf(TenantShardsVerticle.class);
+            });
+  }
+
+  @Test
+  public void createInjector_withModule_bindsVerticleActivator() {
+    Injector injector = newInjector();
+    assertThat(injector.getInstance(VerticleActivator.class))
+        .isSameAs(injector.getInstance(DefaultVerticleActivator.class));
+    assertThat(injector.getInstance(VerticleActivator.class).stats()).isEmpty();
+    assertThat(injector.getInstance(Key.get(new TypeLiteral<Set<VerticleProvider>>() {})))
+        .filteredOn(provider -> provider.deployment().name().equals("verticle_activations"))
+        .singleElement()
+        .satisfies(
+            provider -> {
+              assertThat(provider.deployment())
+                  .isEqualTo(VerticleDeployment.eventLoop("verticle_activations", 1));
+              assertThat(provider.get()).isInstanceOf(VerticleActivationsVerticle.class);
+            });
+  }
+
+  @Test
+  public void createInjector_withModule_exposesMetrics() {
+    Injector injector = newInjector();
+    injector.getInstance(DefaultEventLoopMonitor.class).recordLag("loop-0", 1_000_000L);
+    injector.getInstance(VerticleDeploymentMetrics.class).deployed("api", 2, 1_000L);
+
+    String scrape = injector.getInstance(MetricRegistry.class).scrape();
+
+    assertThat(scrape)
+        .contains(
+            "verticle_instances_deployed_total{verticle=\"api\"} 2\n",
+            "# TYPE verticle_deployment_failures_total counter\n",
+            "verticle_deployment_seconds_count 1\n",
+            "vertx_event_loop_lag_seconds_count{event_loop=\"loop-0\"} 1\n",
+            "# TYPE vertx_handler_seconds summary\n",
+            "# TYPE verticle_activations_live gauge\n",
+            "# TYPE verticle_activations_total counter\n",
+            "# TYPE verticle_passivations_total counter\n");
+  }
+
   @Test
   public void mainVerticle_instantiation_isNotNull() {
-    MainVerticle verticle = new MainVerticle(Set.of(), () -> null);
+    MainVerticle verticle =
+        new MainVerticle(
+            Set.of(), () -> null, EMPTY_ENVIRONMENT, instantiations, eventLoops, deployments);
     assertThat(verticle).isNotNull();
   }
 
@@ -32,7 +148,9 @@ public final class EventsModuleTest {
   public void start_withPromise_succeeds() {
     Vertx vertx = Vertx.vertx();
     try {
-      MainVerticle verticle = new MainVerticle(Set.of(), () -> vertx);
+      MainVerticle verticle =
+          new MainVerticle(
+              Set.of(), () -> vertx, EMPTY_ENVIRONMENT, instantiations, eventLoops, deployments);
       verticle.init(vertx, vertx.getOrCreateContext());
       Promise<Void> promise = Promise.promise();
       verticle.start(promise);
@@ -46,8 +164,17 @@ public final class EventsModuleTest {
   public void start_withSucceedingProvider_succeeds() {
     Vertx vertx = Vertx.vertx();
     try {
-      VerticleProvider provider = () -> new TestVerticle(true);
-      MainVerticle verticle = new MainVerticle(Set.of(provider), () -> vertx);
+      VerticleProvider provider =
+          VerticleProvider.of(
+              VerticleDeployment.eventLoop("test", 1), () -> new TestVerticle(true));
+      MainVerticle verticle =
+          new MainVerticle(
+              Set.of(provider),
+              () -> vertx,
+              EMPTY_ENVIRONMENT,
+              instantiations,
+              eventLoops,
+              deployments);
       verticle.init(vertx, vertx.getOrCreateContext());
       Promise<Void> promise = Promise.promise();
       verticle.start(promise);
@@ -60,6 +187,13 @@ public final class EventsModuleTest {
 
       future.orTimeout(5, TimeUnit.SECONDS).join();
       assertThat(promise.future().succeeded()).isTrue();
+      assertThat(instantiations.stats())
+          .singleElement()
+          .extracting(VerticleInstantiationStats::verticle, VerticleInstantiationStats::instances)
+          .containsExactly("test", 1L);
+      assertThat(deployments.instances()).containsExactly(Map.entry("test", 1L));
+      assertThat(deployments.failures()).isEmpty();
+      assertThat(deployments.deployments.snapshot().count()).isEqualTo(1);
     } finally {
       vertx.close();
     }
@@ -69,8 +203,17 @@ public final class EventsModuleTest {
   public void start_withFailingProvider_fails() {
     Vertx vertx = Vertx.vertx();
     try {
-      VerticleProvider provider = () -> new TestVerticle(false);
-      MainVerticle verticle = new MainVerticle(Set.of(provider), () -> vertx);
+      VerticleProvider provider =
+          VerticleProvider.of(
+              VerticleDeployment.eventLoop("test", 1), () -> new TestVerticle(false));
+      MainVerticle verticle =
+          new MainVerticle(
+              Set.of(provider),
+              () -> vertx,
+              EMPTY_ENVIRONMENT,
+              instantiations,
+              eventLoops,
+              deployments);
       verticle.init(vertx, vertx.getOrCreateContext());
       Promise<Void> promise = Promise.promise();
       verticle.start(promise);
@@ -87,6 +230,57 @@ public final class EventsModuleTest {
         // Expected to fail
       }
       assertThat(promise.future().failed()).isTrue();
+      assertThat(deployments.failures()).containsExactly(Map.entry("test", 1L));
+    } finally {
+      vertx.close();
+    }
+  }
+
+  @Test
+  public void start_withInstanceOverride_deploysEveryInstance() {
+    Vertx vertx = Vertx.vertx();
+    try {
+      AtomicInteger started = new AtomicInteger();
+      VerticleProvider provider =
+          VerticleProvider.of(
+              VerticleDeployment.eventLoop("test", 1), () -> new CountingVerticle(started));
+      Environment environment = new MapEnvironment(Map.of("VERTICLE_TEST_INSTANCES", "3"));
+      MainVerticle verticle =
+          new MainVerticle(
+              Set.of(provider), () -> vertx, environment, instantiations, eventLoops, deployments);
+      verticle.init(vertx, vertx.getOrCreateContext());
+      Promise<Void> promise = Promise.promise();
+
+      verticle.start(promise);
+
+      promise.future().toCompletionStage().toCompletableFuture().orTimeout(5, SECONDS).join();
+      assertThat(started).hasValue(3);
+    } finally {
+      vertx.close();
+    }
+  }
+
+  @Test
+  public void start_withWorkerOverride_startsOnNamedWorkerPool() {
+    Vertx vertx = Vertx.vertx();
+    try {
+      CompletableFuture<String> thread = new CompletableFuture<>();
+      VerticleProvider provider =
+          VerticleProvider.of(
+              VerticleDeployment.eventLoop("test", 1), () -> new ThreadRecordingVerticle(thread));
+      Environment environment =
+          new MapEnvironment(
+              Map.of(
+                  "VERTICLE_TEST_THREADING_MODEL", "worker",
+                  "VERTICLE_TEST_WORKER_POOL", "test-pool"));
+      MainVerticle verticle =
+          new MainVerticle(
+              Set.of(provider), () -> vertx, environment, instantiations, eventLoops, deployments);
+      verticle.init(vertx, vertx.getOrCreateContext());
+
+      verticle.start(Promise.promise());
+
+      assertThat(thread.orTimeout(5, SECONDS).join()).startsWith("test-pool");
     } finally {
       vertx.close();
     }
@@ -96,14 +290,16 @@ public final class EventsModuleTest {
 
   @Test
   public void guiceVerticleFactory_prefix_returnsJavaGuice() {
-    GuiceVerticleFactory factory = new GuiceVerticleFactory(() -> null);
+    GuiceVerticleFactory factory =
+        new GuiceVerticleFactory(() -> null, new DefaultVerticleInstantiationMonitor());
     assertThat(factory.prefix()).isEqualTo(GuiceVerticleFactory.PREFIX);
   }
 
   @Test
   public void guiceVerticleFactory_createVerticle_resolvesAndInstantiates() {
-    Injector injector = Guice.createInjector(new EventsModule());
-    GuiceVerticleFactory factory = new GuiceVerticleFactory(() -> injector);
+    Injector injector = newInjector();
+    DefaultVerticleInstantiationMonitor monitor = new DefaultVerticleInstantiationMonitor();
+    GuiceVerticleFactory factory = new GuiceVerticleFactory(() -> injector, monitor);
     Promise<Callable<? extends Deployable>> promise = Promise.promise();
 
     factory.createVerticle2(
@@ -118,11 +314,41 @@ public final class EventsModuleTest {
     } catch (Exception e) {
       throw new AssertionError(e);
     }
+    assertThat(monitor.stats())
+        .singleElement()
+        .satisfies(
+            stats -> {
+              assertThat(stats.verticle()).isEqualTo(MainVerticle.class.getName());
+              assertThat(stats.instances()).isEqualTo(1);
+            });
+  }
+
+  @Test
+  public void guiceVerticleFactory_createVerticle_resolvesEachClassOnce() throws Exception {
+    Injector injector = newInjector();
+    AtomicInteger lookups = new AtomicInteger();
+    GuiceVerticleFactory factory =
+        new GuiceVerticleFactory(
+            () -> {
+              lookups.incrementAndGet();
+              return injector;
+            },
+            new DefaultVerticleInstantiationMonitor());
+    String name = GuiceVerticleFactory.PREFIX + ":" + MainVerticle.class.getName();
+
+    for (int i = 0; i < 3; i++) {
+      Promise<Callable<? extends Deployable>> promise = Promise.promise();
+      factory.createVerticle2(name, getClass().getClassLoader(), promise);
+      assertThat(promise.future().result().call()).isInstanceOf(MainVerticle.class);
+    }
+
+    assertThat(lookups).hasValue(1);
   }
 
   @Test
   public void guiceVerticleFactory_createVerticle_withInvalidClass_fails() {
-    GuiceVerticleFactory factory = new GuiceVerticleFactory(() -> null);
+    GuiceVerticleFactory factory =
+        new GuiceVerticleFactory(() -> null, new DefaultVerticleInstantiationMonitor());
     Promise<Callable<? extends Deployable>> promise = Promise.promise();
 
     factory.createVerticle2(
@@ -131,6 +357,37 @@ public final class EventsModuleTest {
     assertThat(promise.future().failed()).isTrue();
   }
 
+  private static Injector newInjector() {
+    return Guice.createInjector(
+        new EventsModule(), binder -> binder.bind(Environment.class).toInstance(EMPTY_ENVIRONMENT));
+  }
+
+  private static final class CountingVerticle extends AbstractVerticle {
+    private final AtomicInteger started;
+
+    CountingVerticle(AtomicInteger started) {
+      this.started = started;
+    }
+
+    @Override
+    public void start() {
+      started.incrementAndGet();
+    }
+  }
+
+  private static final class ThreadRecordingVerticle extends AbstractVerticle {
+    private final CompletableFuture<String> thread;
+
+    ThreadRecordingVerticle(CompletableFuture<String> thread) {
+      this.thread = thread;
+    }
+
+    @Override
+    public void start() {
+      thread.complete(Thread.currentThread().getName());
+    }
+  }
+
   private static final class TestVerticle extends AbstractVerticle {
     private final boolean shouldSucceed;
 
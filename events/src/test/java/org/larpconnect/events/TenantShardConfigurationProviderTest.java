@@ -0,0 +1,44 @@
+package org.larpconnect.events;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.larpconnect.common.MapEnvironment;
+
+/** Unit tests for {@link TenantShardConfigurationProvider}. */
+public final class TenantShardConfigurationProviderTest {
+  @Test
+  public void get_withDefaultEnvironment_usesOneShardPerCore() {
+    assertThat(new TenantShardConfigurationProvider(new MapEnvironment(Map.of())).get())
+        .isEqualTo(
+            new TenantShardConfiguration(
+                Runtime.getRuntime().availableProcessors(), Duration.ofSeconds(30)));
+  }
+
+  @Test
+  public void get_withCustomEnvironment_returnsCustomConfiguration() {
+    MapEnvironment environment =
+        new MapEnvironment(Map.of("TENANT_SHARDS", "16", "TENANT_SHARD_DRAIN_TIMEOUT_MS", "2500"));
+
+    assertThat(new TenantShardConfigurationProvider(environment).get())
+        .isEqualTo(new TenantShardConfiguration(16, Duration.ofMillis(2_500)));
+  }
+
+  @Test
+  public void get_withOutOfRangeValues_clamps() {
+    MapEnvironment environment =
+        new MapEnvironment(Map.of("TENANT_SHARDS", "0", "TENANT_SHARD_DRAIN_TIMEOUT_MS", "-1"));
+
+    assertThat(new TenantShardConfigurationProvider(environment).get())
+        .isEqualTo(new TenantShardConfiguration(1, Duration.ZERO));
+  }
+
+  @Test
+  public void constructor_noShards_throwsIllegalArgumentException() {
+    assertThatThrownBy(() -> new TenantShardConfiguration(0, Duration.ZERO))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
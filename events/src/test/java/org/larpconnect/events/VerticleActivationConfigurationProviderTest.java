@@ -0,0 +1,56 @@
+package org.larpconnect.events;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.larpconnect.common.MapEnvironment;
+
+/** Unit tests for {@link VerticleActivationConfigurationProvider}. */
+public final class VerticleActivationConfigurationProviderTest {
+  @Test
+  public void get_withDefaultEnvironment_returnsDefaults() {
+    assertThat(new VerticleActivationConfigurationProvider(new MapEnvironment(Map.of())).get())
+        .isEqualTo(
+            new VerticleActivationConfiguration(
+                Duration.ofMinutes(10), Duration.ofSeconds(30), 1_000));
+  }
+
+  @Test
+  public void get_withCustomEnvironment_returnsCustomConfiguration() {
+    MapEnvironment environment =
+        new MapEnvironment(
+            Map.of(
+                "ACTIVATION_IDLE_TIMEOUT_MS", "60000",
+                "ACTIVATION_SWEEP_INTERVAL_MS", "5000",
+                "ACTIVATION_MAX_PENDING", "16"));
+
+    assertThat(new VerticleActivationConfigurationProvider(environment).get())
+        .isEqualTo(
+            new VerticleActivationConfiguration(Duration.ofMinutes(1), Duration.ofSeconds(5), 16));
+  }
+
+  @Test
+  public void get_withOutOfRangeValues_clamps() {
+    MapEnvironment environment =
+        new MapEnvironment(
+            Map.of(
+                "ACTIVATION_IDLE_TIMEOUT_MS", "-1",
+                "ACTIVATION_SWEEP_INTERVAL_MS", "0",
+                "ACTIVATION_MAX_PENDING", "0"));
+
+    assertThat(new VerticleActivationConfigurationProvider(environment).get())
+        .isEqualTo(new VerticleActivationConfiguration(Duration.ZERO, Duration.ofMillis(1), 1));
+  }
+
+  @Test
+  public void constructor_invalidValues_throwIllegalArgumentException() {
+    assertThatThrownBy(() -> new VerticleActivationConfiguration(Duration.ZERO, Duration.ZERO, 1))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(
+            () -> new VerticleActivationConfiguration(Duration.ZERO, Duration.ofMillis(1), 0))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
@@ -0,0 +1,95 @@
+package org.larpconnect.events;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.vertx.core.DeploymentOptions;
+import io.vertx.core.ThreadingModel;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.larpconnect.common.MapEnvironment;
+
+/** Unit tests for {@link VerticleDeployment}. */
+public final class VerticleDeploymentTest {
+  private static final VerticleDeployment DECLARED = VerticleDeployment.eventLoop("api", 2);
+
+  @Test
+  public void eventLoopPerCore_usesAvailableProcessors() {
+    assertThat(VerticleDeployment.eventLoopPerCore("api").instances())
+        .isEqualTo(Runtime.getRuntime().availableProcessors());
+  }
+
+  @Test
+  public void withOverrides_noVariables_keepsDeclaredSettings() {
+    assertThat(DECLARED.withOverrides(new MapEnvironment(Map.of()))).isEqualTo(DECLARED);
+  }
+
+  @Test
+  public void withOverrides_allVariables_appliesThem() {
+    MapEnvironment environment =
+        new MapEnvironment(
+            Map.of(
+                "VERTICLE_API_INSTANCES", "8",
+                "VERTICLE_API_THREADING_MODEL", " virtual_thread ",
+                "VERTICLE_API_WORKER_POOL", "api-blocking"));
+
+    assertThat(DECLARED.withOverrides(environment))
+        .isEqualTo(
+            new VerticleDeployment(
+                "api", 8, ThreadingModel.VIRTUAL_THREAD, Optional.of("api-blocking")));
+  }
+
+  @Test
+  public void withOverrides_invalidVariables_keepsDeclaredSettings() {
+    MapEnvironment environment =
+        new MapEnvironment(
+            Map.of(
+                "VERTICLE_API_INSTANCES", "0",
+                "VERTICLE_API_THREADING_MODEL", "external",
+                "VERTICLE_API_WORKER_POOL", " "));
+
+    assertThat(DECLARED.withOverrides(environment)).isEqualTo(DECLARED);
+  }
+
+  @Test
+  public void withOverrides_unknownThreadingModel_keepsDeclaredModel() {
+    MapEnvironment environment =
+        new MapEnvironment(Map.of("VERTICLE_API_THREADING_MODEL", "green"));
+
+    assertThat(DECLARED.withOverrides(environment).threadingModel())
+        .isEqualTo(ThreadingModel.EVENT_LOOP);
+  }
+
+  @Test
+  public void toDeploymentOptions_copiesSettings() {
+    DeploymentOptions options =
+        new VerticleDeployment("base", 3, ThreadingModel.WORKER, Optional.of("base-pool"))
+            .toDeploymentOptions();
+
+    assertThat(options.getInstances()).isEqualTo(3);
+    assertThat(options.getThreadingModel()).isEqualTo(ThreadingModel.WORKER);
+    assertThat(options.getWorkerPoolName()).isEqualTo("base-pool");
+  }
+
+  @Test
+  public void toDeploymentOptions_noWorkerPool_leavesSharedPool() {
+    assertThat(DECLARED.toDeploymentOptions().getWorkerPoolName()).isNull();
+  }
+
+  @Test
+  public void constructor_invalidSettings_throwsIllegalArgumentException() {
+    assertThatThrownBy(() -> VerticleDeployment.eventLoop("Api", 1))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> VerticleDeployment.eventLoop("", 1))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> VerticleDeployment.eventLoop("api", 0))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(
+            () -> new VerticleDeployment("api", 1, ThreadingModel.EXTERNAL, Optional.empty()))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(
+            () -> new VerticleDeployment("api", 1, ThreadingModel.WORKER, Optional.of(" ")))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
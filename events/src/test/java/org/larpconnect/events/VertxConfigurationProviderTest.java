@@ -0,0 +1,138 @@
+package org.larpconnect.events;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.vertx.core.VertxOptions;
+import io.vertx.core.transport.Transport;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.larpconnect.common.MapEnvironment;
+import org.larpconnect.events.VertxConfiguration.TransportPreference;
+
+/** Unit tests for {@link VertxConfigurationProvider}. */
+public final class VertxConfigurationProviderTest {
+  @Test
+  public void get_withDefaultEnvironment_returnsDefaultConfiguration() {
+    VertxConfigurationProvider provider =
+        new VertxConfigurationProvider(new MapEnvironment(Map.of()));
+
+    assertThat(provider.get())
+        .isEqualTo(
+            new VertxConfiguration(
+                VertxOptions.DEFAULT_EVENT_LOOP_POOL_SIZE,
+                20,
+                20,
+                Duration.ofSeconds(1),
+                Duration.ofSeconds(2),
+                Duration.ofMinutes(1),
+                TransportPreference.AUTO,
+                true));
+  }
+
+  @Test
+  public void get_withCustomEnvironment_returnsCustomConfiguration() {
+    MapEnvironment environment =
+        new MapEnvironment(
+            Map.of(
+                "VERTX_EVENT_LOOP_POOL_SIZE", "4",
+                "VERTX_WORKER_POOL_SIZE", "40",
+                "VERTX_INTERNAL_BLOCKING_POOL_SIZE", "8",
+                "VERTX_BLOCKED_THREAD_CHECK_INTERVAL_MS", "500",
+                "VERTX_MAX_EVENT_LOOP_EXECUTE_TIME_MS", "100",
+                "VERTX_MAX_WORKER_EXECUTE_TIME_MS", "30000",
+                "VERTX_TRANSPORT", " io_uring ",
+                "VERTX_PREFER_NATIVE_TRANSPORT", "false"));
+
+    assertThat(new VertxConfigurationProvider(environment).get())
+        .isEqualTo(
+            new VertxConfiguration(
+                4,
+                40,
+                8,
+                Duration.ofMillis(500),
+                Duration.ofMillis(100),
+                Duration.ofSeconds(30),
+                TransportPreference.IO_URING,
+                false));
+  }
+
+  @Test
+  public void get_withOutOfRangeValues_clampsToValidBounds() {
+    MapEnvironment environment =
+        new MapEnvironment(
+            Map.of(
+                "VERTX_EVENT_LOOP_POOL_SIZE", "0",
+                "VERTX_WORKER_POOL_SIZE", "-3",
+                "VERTX_MAX_EVENT_LOOP_EXECUTE_TIME_MS", "0",
+                "VERTX_TRANSPORT", "carrier-pigeon"));
+
+    VertxConfiguration configuration = new VertxConfigurationProvider(environment).get();
+
+    assertThat(configuration.eventLoopPoolSize()).isEqualTo(1);
+    assertThat(configuration.workerPoolSize()).isEqualTo(1);
+    assertThat(configuration.maxEventLoopExecuteTime()).isEqualTo(Duration.ofMillis(1));
+    assertThat(configuration.transport()).isEqualTo(TransportPreference.AUTO);
+  }
+
+  @Test
+  public void toVertxOptions_copiesSettingsInMilliseconds() {
+    VertxOptions options =
+        new VertxConfiguration(
+                4,
+                40,
+                8,
+                Duration.ofMillis(500),
+                Duration.ofMillis(100),
+                Duration.ofSeconds(30),
+                TransportPreference.EPOLL,
+                false)
+            .toVertxOptions();
+
+    assertThat(options.getEventLoopPoolSize()).isEqualTo(4);
+    assertThat(options.getWorkerPoolSize()).isEqualTo(40);
+    assertThat(options.getInternalBlockingPoolSize()).isEqualTo(8);
+    assertThat(options.getBlockedThreadCheckInterval()).isEqualTo(500L);
+    assertThat(options.getBlockedThreadCheckIntervalUnit()).isEqualTo(TimeUnit.MILLISECONDS);
+    assertThat(options.getMaxEventLoopExecuteTime()).isEqualTo(100L);
+    assertThat(options.getMaxEventLoopExecuteTimeUnit()).isEqualTo(TimeUnit.MILLISECONDS);
+    assertThat(options.getMaxWorkerExecuteTime()).isEqualTo(30_000L);
+    assertThat(options.getMaxWorkerExecuteTimeUnit()).isEqualTo(TimeUnit.MILLISECONDS);
+    assertThat(options.getPreferNativeTransport()).isFalse();
+  }
+
+  @Test
+  public void toTransport_mapsEachPreference() {
+    assertThat(TransportPreference.AUTO.toTransport()).isEmpty();
+    assertThat(TransportPreference.EPOLL.toTransport())
+        .isEqualTo(Optional.ofNullable(Transport.EPOLL));
+    assertThat(TransportPreference.IO_URING.toTransport())
+        .isEqualTo(Optional.ofNullable(Transport.IO_URING));
+    assertThat(TransportPreference.KQUEUE.toTransport())
+        .isEqualTo(Optional.ofNullable(Transport.KQUEUE));
+    assertThat(TransportPreference.NIO.toTransport()).containsSame(Transport.NIO);
+  }
+
+  @Test
+  public void constructor_nonPositivePoolSize_throwsIllegalArgumentException() {
+    assertThatThrownBy(() -> withPoolSizes(0, 1, 1)).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> withPoolSizes(1, 0, 1)).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> withPoolSizes(1, 1, 0)).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private static VertxConfiguration withPoolSizes(
+      int eventLoopPoolSize, int workerPoolSize, int internalBlockingPoolSize) {
+    return new VertxConfiguration(
+        eventLoopPoolSize,
+        workerPoolSize,
+        internalBlockingPoolSize,
+        Duration.ofSeconds(1),
+        Duration.ofSeconds(1),
+        Duration.ofSeconds(1),
+        TransportPreference.AUTO,
+        true);
+  }
+}
@@ -4,22 +4,35 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import io.vertx.core.AbstractVerticle;
+import io.vertx.core.DeploymentOptions;
 import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.MessageConsumer;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 import org.junit.jupiter.api.Test;
+import org.larpconnect.common.MapEnvironment;
 
 /** Unit tests for VertxProvider verifying thread safety and singleton behavior. */
 public final class VertxProviderTest {
+  private static final VertxConfiguration CONFIGURATION =
+      new VertxConfigurationProvider(new MapEnvironment(Map.of())).get();
+
   @Test
   public void get_returnsNonNullInstance() {
     GuiceVerticleFactory factory = mock(GuiceVerticleFactory.class);
     when(factory.prefix()).thenReturn(GuiceVerticleFactory.PREFIX);
 
-    VertxProvider provider = new VertxProvider(() -> factory);
+    VertxProvider provider = newProvider(factory, CONFIGURATION);
     Vertx vertx = provider.get();
     try {
       assertThat(vertx).isNotNull();
@@ -33,7 +46,7 @@ public final class VertxProviderTest {
     GuiceVerticleFactory factory = mock(GuiceVerticleFactory.class);
     when(factory.prefix()).thenReturn(GuiceVerticleFactory.PREFIX);
 
-    VertxProvider provider = new VertxProvider(() -> factory);
+    VertxProvider provider = newProvider(factory, CONFIGURATION);
     Vertx vertx1 = provider.get();
     Vertx vertx2 = provider.get();
     try {
@@ -43,12 +56,75 @@ public final class VertxProviderTest {
     }
   }
 
+  @Test
+  public void get_withConfiguration_appliesEventLoopPoolSizeAndTransport() {
+    GuiceVerticleFactory factory = mock(GuiceVerticleFactory.class);
+    when(factory.prefix()).thenReturn(GuiceVerticleFactory.PREFIX);
+    VertxConfiguration configuration =
+        new VertxConfigurationProvider(
+                new MapEnvironment(
+                    Map.of("VERTX_EVENT_LOOP_POOL_SIZE", "3", "VERTX_TRANSPORT", "nio")))
+            .get();
+
+    Vertx vertx = newProvider(factory, configuration).get();
+    try {
+      // Verticle instances are assigned event loops round-robin, so six instances use all three.
+      Set<String> eventLoops = ConcurrentHashMap.newKeySet();
+      vertx
+          .deployVerticle(
+              () -> new ThreadRecordingVerticle(eventLoops),
+              new DeploymentOptions().setInstances(6))
+          .toCompletionStage()
+          .toCompletableFuture()
+          .orTimeout(5, TimeUnit.SECONDS)
+          .join();
+
+      assertThat(eventLoops).hasSize(3);
+      assertThat(vertx.isNativeTransportEnabled()).isFalse();
+    } finally {
+      vertx.close();
+    }
+  }
+
+  @Test
+  public void get_withoutNativePreference_usesNio() {
+    GuiceVerticleFactory factory = mock(GuiceVerticleFactory.class);
+    when(factory.prefix()).thenReturn(GuiceVerticleFactory.PREFIX);
+    VertxConfiguration configuration =
+        new VertxConfigurationProvider(
+                new MapEnvironment(Map.of("VERTX_PREFER_NATIVE_TRANSPORT", "false")))
+            .get();
+
+    Vertx vertx = newProvider(factory, configuration).get();
+    try {
+      assertThat(vertx.isNativeTransportEnabled()).isFalse();
+    } finally {
+      vertx.close();
+    }
+  }
+
+  @Test
+  public void get_withUnavailableTransport_fallsBackToDefault() {
+    GuiceVerticleFactory factory = mock(GuiceVerticleFactory.class);
+    when(factory.prefix()).thenReturn(GuiceVerticleFactory.PREFIX);
+    VertxConfiguration configuration =
+        new VertxConfigurationProvider(new MapEnvironment(Map.of("VERTX_TRANSPORT", "kqueue")))
+            .get();
+
+    Vertx vertx = newProvider(factory, configuration).get();
+    try {
+      assertThat(vertx).isNotNull();
+    } finally {
+      vertx.close();
+    }
+  }
+
   @Test
   public void get_isThreadSafe() throws InterruptedException {
     GuiceVerticleFactory factory = mock(GuiceVerticleFactory.class);
     when(factory.prefix()).thenReturn(GuiceVerticleFactory.PREFIX);
 
-    VertxProvider provider = new VertxProvider(() -> factory);
+    VertxProvider provider = newProvider(factory, CONFIGURATION);
     int threadCount = 10;
     ExecutorService executor = Executors.newFixedThreadPool(threadCount);
     CountDownLatch latch = new CountDownLatch(1);
@@ -83,4 +159,65 @@ public final class VertxProviderTest {
       expected.close();
     }
   }
+
+  @Test
+  public void get_withDomainCodec_deliversLocalMessagesByReferenceAndCountsThem() {
+    GuiceVerticleFactory factory = mock(GuiceVerticleFactory.class);
+    when(factory.prefix()).thenReturn(GuiceVerticleFactory.PREFIX);
+    DefaultEventBusMonitor monitor = new DefaultEventBusMonitor();
+    TenantMessage sent = new TenantMessage(UUID.randomUUID(), "outbox.create", "{}");
+
+    Vertx vertx =
+        new VertxProvider(
+                () -> factory,
+                CONFIGURATION,
+                Set.of(new TenantMessageCodec()),
+                monitor,
+                new DefaultEventLoopMonitor(EventLoopMonitorConfigurationProviderTest.DEFAULTS))
+            .get();
+    try {
+      CompletableFuture<TenantMessage> received = new CompletableFuture<>();
+      MessageConsumer<TenantMessage> consumer =
+          vertx
+              .eventBus()
+              .localConsumer("tenants.inbox", message -> received.complete(message.body()));
+      consumer.completion().toCompletionStage().toCompletableFuture().join();
+
+      vertx.eventBus().send("tenants.inbox", sent);
+
+      assertThat(received).succeedsWithin(Duration.ofSeconds(5)).isSameAs(sent);
+      assertThat(monitor.stats())
+          .singleElement()
+          .satisfies(
+              stats -> {
+                assertThat(stats.address()).isEqualTo("tenants.inbox");
+                assertThat(stats.sent()).isEqualTo(1);
+              });
+    } finally {
+      vertx.close();
+    }
+  }
+
+  private static VertxProvider newProvider(
+      GuiceVerticleFactory factory, VertxConfiguration configuration) {
+    return new VertxProvider(
+        () -> factory,
+        configuration,
+        Set.of(),
+        new DefaultEventBusMonitor(),
+        new DefaultEventLoopMonitor(EventLoopMonitorConfigurationProviderTest.DEFAULTS));
+  }
+
+  private static final class ThreadRecordingVerticle extends AbstractVerticle {
+    private final Set<String> threads;
+
+    ThreadRecordingVerticle(Set<String> threads) {
+      this.threads = threads;
+    }
+
+    @Override
+    public void start() {
+      threads.add(Thread.currentThread().getName());
+    }
+  }
 }
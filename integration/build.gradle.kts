@@ -22,6 +22,7 @@ dependencies {
     testImplementation(project(":api"))
 
     testImplementation(libs.archunit.junit5)
+    testImplementation(libs.hibernate.core)
     testImplementation(libs.testcontainers)
     testImplementation(libs.testcontainers.postgresql)
     testImplementation(libs.testcontainers.jdbc)
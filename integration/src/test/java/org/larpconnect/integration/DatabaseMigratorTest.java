@@ -6,6 +6,7 @@ import com.google.inject.AbstractModule;
 import com.google.inject.Guice;
 import com.google.inject.Injector;
 import com.google.inject.util.Modules;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
@@ -17,6 +18,7 @@ import org.larpconnect.common.Environment;
 import org.larpconnect.common.MapEnvironment;
 import org.larpconnect.data.DataModule;
 import org.larpconnect.data.DatabaseMigrator;
+import org.larpconnect.data.SchemaMigrationResult;
 import org.larpconnect.data.TestTable;
 import org.larpconnect.data.TestTableDao;
 import org.testcontainers.DockerClientFactory;
@@ -76,4 +78,31 @@ public final class DatabaseMigratorTest {
     Optional<TestTable> retrieved = dao.findById(id);
     assertThat(retrieved).hasValue(entity);
   }
+
+  @Test
+  public void saveAll_withTestcontainers_persistsEveryEntity() {
+    injector.getInstance(DatabaseMigrator.class).migrate();
+
+    TestTableDao dao = injector.getInstance(TestTableDao.class);
+    List<TestTable> entities =
+        List.of(
+            new TestTable(UUID.randomUUID(), "Batch One"),
+            new TestTable(UUID.randomUUID(), "Batch Two"),
+            new TestTable(UUID.randomUUID(), "Batch Three"));
+    dao.saveAll(entities);
+
+    assertThat(entities.stream().map(entity -> dao.findById(entity.getId())))
+        .allSatisfy(retrieved -> assertThat(retrieved).isPresent());
+  }
+
+  @Test
+  public void migrate_withCurrentHistory_skipsFlywayForEverySchema() {
+    DatabaseMigrator migrator = injector.getInstance(DatabaseMigrator.class);
+    migrator.migrate();
+
+    assertThat(migrator.migrate())
+        .allMatch(SchemaMigrationResult::skipped)
+        .extracting(SchemaMigrationResult::schema)
+        .containsExactly("public", "njall_admin", "njall_users");
+  }
 }
@@ -0,0 +1,151 @@
+package org.larpconnect.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.util.Modules;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.larpconnect.common.Environment;
+import org.larpconnect.common.MapEnvironment;
+import org.larpconnect.data.DataModule;
+import org.larpconnect.data.DatabaseMigrator;
+import org.larpconnect.data.OutboxDao;
+import org.larpconnect.data.OutboxMessage;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+/** Integration test for the partitioned transactional outbox on PostgreSQL. */
+public final class OutboxTest {
+  private static final PostgreSQLContainer postgres = new PostgreSQLContainer("postgres:18-alpine");
+  private static final UUID TENANT = UUID.fromString("0190a6f2-3b4c-7d8e-9f00-112233445566");
+
+  private static OutboxDao outbox;
+
+  @BeforeAll
+  public static void setUp() {
+    System.setProperty("api.version", "1.44");
+    Assumptions.assumeTrue(
+        DockerClientFactory.instance().isDockerAvailable(),
+        "Docker is not available. Skipping outbox integration tests.");
+
+    postgres.start();
+
+    MapEnvironment testEnv =
+        new MapEnvironment(
+            Map.of(
+                "DB_HOST", postgres.getHost(),
+                "DB_PORT", String.valueOf(postgres.getMappedPort(5432)),
+                "DB_DATABASE", postgres.getDatabaseName(),
+                "DB_USERNAME", postgres.getUsername(),
+                "DB_PASSWORD", postgres.getPassword()));
+
+    Injector injector =
+        Guice.createInjector(
+            Modules.override(new DataModule())
+                .with(
+                    new AbstractModule() {
+                      @Override
+                      protected void configure() {
+                        bind(Environment.class).toInstance(testEnv);
+                      }
+                    }));
+    injector.getInstance(DatabaseMigrator.class).migrate();
+    outbox = injector.getInstance(OutboxDao.class);
+  }
+
+  @AfterAll
+  public static void tearDown() {
+    postgres.stop();
+  }
+
+  @Test
+  public void relay_appendedMessages_areClaimedInIdOrderOnce() {
+    List<OutboxMessage> messages = messages(20);
+    outbox.append(messages);
+
+    List<OutboxMessage> relayed = new ArrayList<>();
+    assertThat(outbox.relay(15, relayed::addAll)).isEqualTo(15);
+    assertThat(outbox.relay(15, relayed::addAll)).isEqualTo(5);
+    assertThat(outbox.relay(15, relayed::addAll)).isZero();
+
+    assertThat(relayed).containsExactlyElementsOf(messages);
+  }
+
+  @Test
+  public void relay_sinkFails_leavesTheBatchInTheOutbox() {
+    List<OutboxMessage> messages = messages(3);
+    outbox.append(messages);
+
+    assertThatThrownBy(
+            () ->
+                outbox.relay(
+                    10,
+                    batch -> {
+                      throw new IllegalStateException("broker gone");
+                    }))
+        .isInstanceOf(IllegalStateException.class);
+
+    List<OutboxMessage> relayed = new ArrayList<>();
+    outbox.relay(10, relayed::addAll);
+    assertThat(relayed).containsExactlyElementsOf(messages);
+  }
+
+  @Test
+  public void relay_inParallel_claimsEveryMessageExactlyOnce() throws Exception {
+    outbox.append(messages(400));
+    ConcurrentLinkedQueue<OutboxMessage> relayed = new ConcurrentLinkedQueue<>();
+    ExecutorService relays = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<?>> drains = new ArrayList<>();
+      for (int i = 0; i < 4; i++) {
+        drains.add(
+            relays.submit(
+                () -> {
+                  while (outbox.relay(16, relayed::addAll) > 0) {
+                    // Keep draining until this relay finds nothing unclaimed.
+                  }
+                }));
+      }
+      for (Future<?> drain : drains) {
+        drain.get();
+      }
+    } finally {
+      relays.shutdownNow();
+    }
+
+    assertThat(relayed).hasSize(400).doesNotHaveDuplicates();
+  }
+
+  @Test
+  public void partitions_createdAheadAndDroppedOnceDrained() {
+    outbox.createPartitions(3);
+    assertThat(outbox.createPartitions(3)).isZero();
+
+    outbox.relay(Integer.MAX_VALUE, batch -> {});
+    assertThat(outbox.dropPartitions(Instant.now().plus(Duration.ofDays(2)))).isPositive();
+    assertThat(outbox.createPartitions(3)).isPositive();
+  }
+
+  private static List<OutboxMessage> messages(int count) {
+    return IntStream.range(0, count)
+        .mapToObj(i -> OutboxMessage.create(TENANT, "", "studio-events", "{\"n\":" + i + "}"))
+        .toList();
+  }
+}
@@ -0,0 +1,113 @@
+package org.larpconnect.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.util.Modules;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.larpconnect.common.Environment;
+import org.larpconnect.common.MapEnvironment;
+import org.larpconnect.common.TenantRegistry;
+import org.larpconnect.common.TenantResolution;
+import org.larpconnect.data.DataModule;
+import org.larpconnect.data.DatabaseMigrator;
+import org.larpconnect.data.TenantRegistryService;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+/** Integration test for loading and refreshing the tenant registry from PostgreSQL. */
+public final class TenantRegistryTest {
+  private static final PostgreSQLContainer postgres = new PostgreSQLContainer("postgres:18-alpine");
+
+  private static Injector injector;
+
+  @BeforeAll
+  public static void setUp() {
+    System.setProperty("api.version", "1.44");
+    Assumptions.assumeTrue(
+        DockerClientFactory.instance().isDockerAvailable(),
+        "Docker is not available. Skipping tenant registry integration tests.");
+
+    postgres.start();
+
+    MapEnvironment testEnv =
+        new MapEnvironment(
+            Map.of(
+                "DB_HOST", postgres.getHost(),
+                "DB_PORT", String.valueOf(postgres.getMappedPort(5432)),
+                "DB_DATABASE", postgres.getDatabaseName(),
+                "DB_USERNAME", postgres.getUsername(),
+                "DB_PASSWORD", postgres.getPassword(),
+                "DB_TENANT_REFRESH_INTERVAL_MS", "50"));
+
+    injector =
+        Guice.createInjector(
+            Modules.override(new DataModule())
+                .with(
+                    new AbstractModule() {
+                      @Override
+                      protected void configure() {
+                        bind(Environment.class).toInstance(testEnv);
+                      }
+                    }));
+    injector.getInstance(DatabaseMigrator.class).migrate();
+  }
+
+  @AfterAll
+  public static void tearDown() {
+    if (injector != null) {
+      injector.getInstance(TenantRegistryService.class).stopAsync().awaitTerminated();
+    }
+    postgres.stop();
+  }
+
+  @Test
+  public void resolve_afterStartAndRetire_followsDatabase() throws Exception {
+    UUID tenantId = UUID.randomUUID();
+    execute(
+        "INSERT INTO njall_admin.studios (tenant_id, studio_id) VALUES (?, ?)",
+        tenantId,
+        UUID.randomUUID());
+    execute(
+        "INSERT INTO njall_admin.studio_aliases (alias, tenant_id) VALUES ('larp-co', ?)",
+        tenantId);
+
+    injector
+        .getInstance(TenantRegistryService.class)
+        .startAsync()
+        .awaitRunning(30, TimeUnit.SECONDS);
+    TenantRegistry registry = injector.getInstance(TenantRegistry.class);
+    assertThat(registry.resolve("larp-co")).isEqualTo(TenantResolution.active(tenantId));
+
+    execute("UPDATE njall_admin.studio_aliases SET retired = TRUE WHERE alias = 'larp-co'");
+
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+    while (registry.resolve("larp-co").status() != TenantResolution.Status.RETIRED
+        && System.nanoTime() < deadline) {
+      Thread.sleep(20);
+    }
+    assertThat(registry.resolve("larp-co")).isEqualTo(TenantResolution.retired(tenantId));
+  }
+
+  private static void execute(String sql, Object... parameters) throws SQLException {
+    try (Connection connection = injector.getInstance(DataSource.class).getConnection();
+        PreparedStatement statement = connection.prepareStatement(sql)) {
+      for (int i = 0; i < parameters.length; i++) {
+        statement.setObject(i + 1, parameters[i]);
+      }
+      statement.executeUpdate();
+    }
+  }
+}
@@ -0,0 +1,111 @@
+package org.larpconnect.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.util.Modules;
+import java.util.Map;
+import java.util.UUID;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.SharedSessionContract;
+import org.hibernate.StatelessSession;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.larpconnect.common.Environment;
+import org.larpconnect.common.MapEnvironment;
+import org.larpconnect.data.DataModule;
+import org.larpconnect.data.DatabaseMigrator;
+import org.larpconnect.data.TenantSessionFactory;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+/** Integration test for binding pooled connections to a session's tenant. */
+public final class TenantSessionTest {
+  private static final PostgreSQLContainer postgres = new PostgreSQLContainer("postgres:18-alpine");
+  private static final UUID TENANT_A = UUID.fromString("0190a6f2-3b4c-7d8e-9f00-112233445566");
+  private static final UUID TENANT_B = UUID.fromString("0190a6f2-3b4c-7d8e-9f00-665544332211");
+
+  private static TenantSessionFactory tenantSessions;
+  private static SessionFactory sessionFactory;
+
+  @BeforeAll
+  public static void setUp() {
+    System.setProperty("api.version", "1.44");
+    Assumptions.assumeTrue(
+        DockerClientFactory.instance().isDockerAvailable(),
+        "Docker is not available. Skipping tenant session integration tests.");
+
+    postgres.start();
+
+    MapEnvironment testEnv =
+        new MapEnvironment(
+            Map.of(
+                "DB_HOST", postgres.getHost(),
+                "DB_PORT", String.valueOf(postgres.getMappedPort(5432)),
+                "DB_DATABASE", postgres.getDatabaseName(),
+                "DB_USERNAME", postgres.getUsername(),
+                "DB_PASSWORD", postgres.getPassword(),
+                "DB_POOL_MAX_SIZE", "2"));
+
+    Injector injector =
+        Guice.createInjector(
+            Modules.override(new DataModule())
+                .with(
+                    new AbstractModule() {
+                      @Override
+                      protected void configure() {
+                        bind(Environment.class).toInstance(testEnv);
+                      }
+                    }));
+    injector.getInstance(DatabaseMigrator.class).migrate();
+    tenantSessions = injector.getInstance(TenantSessionFactory.class);
+    sessionFactory = injector.getInstance(SessionFactory.class);
+  }
+
+  @AfterAll
+  public static void tearDown() {
+    postgres.stop();
+  }
+
+  @Test
+  public void openSession_alternatingTenants_seesOnlyItsOwnTenant() {
+    for (int round = 0; round < 5; round++) {
+      try (Session session = tenantSessions.openSession(TENANT_A)) {
+        assertThat(currentTenant(session)).isEqualTo(TENANT_A.toString());
+      }
+      try (Session session = tenantSessions.openSession(TENANT_A)) {
+        assertThat(currentTenant(session)).isEqualTo(TENANT_A.toString());
+      }
+      try (StatelessSession session = tenantSessions.openStatelessSession(TENANT_B)) {
+        assertThat(currentTenant(session)).isEqualTo(TENANT_B.toString());
+      }
+      try (Session session = sessionFactory.openSession()) {
+        assertThat(currentTenant(session)).isEmpty();
+      }
+    }
+  }
+
+  @Test
+  public void openSession_rolledBackTransaction_keepsTheTenant() {
+    try (Session session = tenantSessions.openSession(TENANT_A)) {
+      session.beginTransaction();
+      assertThat(currentTenant(session)).isEqualTo(TENANT_A.toString());
+      session.getTransaction().rollback();
+    }
+    try (Session session = tenantSessions.openSession(TENANT_A)) {
+      assertThat(currentTenant(session)).isEqualTo(TENANT_A.toString());
+    }
+  }
+
+  private static String currentTenant(SharedSessionContract session) {
+    return session
+        .createNativeQuery(
+            "SELECT coalesce(current_setting('app.current_tenant_id', true), '')", String.class)
+        .getSingleResult();
+  }
+}
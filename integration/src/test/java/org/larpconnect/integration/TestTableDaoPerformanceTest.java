@@ -0,0 +1,140 @@
+package org.larpconnect.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.util.Modules;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.larpconnect.common.Environment;
+import org.larpconnect.common.MapEnvironment;
+import org.larpconnect.data.DataModule;
+import org.larpconnect.data.DatabaseMigrator;
+import org.larpconnect.data.TestTable;
+import org.larpconnect.data.TestTableDao;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+/**
+ * Compares the round-trips and wall time of the {@code INSERT ... ON CONFLICT} write path against a
+ * {@code Session.merge} write of the same rows.
+ */
+public final class TestTableDaoPerformanceTest {
+  private static final Logger logger = LoggerFactory.getLogger(TestTableDaoPerformanceTest.class);
+  private static final PostgreSQLContainer postgres = new PostgreSQLContainer("postgres:18-alpine");
+  private static final int ROWS = 200;
+
+  private static Injector injector;
+  private static SessionFactory sessionFactory;
+
+  @BeforeAll
+  public static void setUp() {
+    System.setProperty("api.version", "1.44");
+    Assumptions.assumeTrue(
+        DockerClientFactory.instance().isDockerAvailable(),
+        "Docker is not available. Skipping database performance tests.");
+
+    postgres.start();
+
+    MapEnvironment testEnv =
+        new MapEnvironment(
+            Map.of(
+                "DB_HOST", postgres.getHost(),
+                "DB_PORT", String.valueOf(postgres.getMappedPort(5432)),
+                "DB_DATABASE", postgres.getDatabaseName(),
+                "DB_USERNAME", postgres.getUsername(),
+                "DB_PASSWORD", postgres.getPassword()));
+
+    injector =
+        Guice.createInjector(
+            Modules.override(new DataModule())
+                .with(
+                    new AbstractModule() {
+                      @Override
+                      protected void configure() {
+                        bind(Environment.class).toInstance(testEnv);
+                      }
+                    }));
+    injector.getInstance(DatabaseMigrator.class).migrate();
+    sessionFactory = injector.getInstance(SessionFactory.class);
+    sessionFactory.getStatistics().setStatisticsEnabled(true);
+  }
+
+  @AfterAll
+  public static void tearDown() {
+    postgres.stop();
+  }
+
+  @Test
+  public void save_insertAndUpdate_usesHalfTheRoundTripsOfMerge() {
+    TestTableDao dao = injector.getInstance(TestTableDao.class);
+    List<TestTable> mergeRows = newRows();
+    List<TestTable> upsertRows = newRows();
+
+    // Each write runs once as an insert and once as an update of the same row.
+    long mergeStatements = measure("merge", mergeRows, this::merge);
+    long upsertStatements = measure("upsert", upsertRows, dao::save);
+
+    assertThat(upsertStatements).isEqualTo(2L * ROWS);
+    assertThat(mergeStatements).isEqualTo(4L * ROWS);
+  }
+
+  @Test
+  public void saveAll_batchOfRows_usesOneStatementPerBatch() {
+    TestTableDao dao = injector.getInstance(TestTableDao.class);
+    List<TestTable> rows = newRows();
+    Statistics statistics = sessionFactory.getStatistics();
+
+    long before = statistics.getPrepareStatementCount();
+    dao.saveAll(rows);
+    long statements = statistics.getPrepareStatementCount() - before;
+
+    // The default batch size of 50 turns 200 rows into four multi-row statements.
+    assertThat(statements).isEqualTo(4L);
+    assertThat(rows.stream().map(row -> dao.findById(row.getId())))
+        .allSatisfy(found -> assertThat(found).isPresent());
+  }
+
+  private static long measure(String path, List<TestTable> rows, Consumer<TestTable> write) {
+    Statistics statistics = sessionFactory.getStatistics();
+    long before = statistics.getPrepareStatementCount();
+    long start = System.nanoTime();
+    rows.forEach(write);
+    rows.forEach(row -> row.setName(row.getName() + " (updated)"));
+    rows.forEach(write);
+    long elapsedMicros = (System.nanoTime() - start) / 1_000L;
+    long statements = statistics.getPrepareStatementCount() - before;
+    logger.info(
+        "{} path: {} writes, {} statements, {} us/write",
+        path,
+        2 * rows.size(),
+        statements,
+        elapsedMicros / (2L * rows.size()));
+    return statements;
+  }
+
+  private void merge(TestTable entity) {
+    sessionFactory.inTransaction(session -> session.merge(entity));
+  }
+
+  private static List<TestTable> newRows() {
+    List<TestTable> rows = new ArrayList<>(ROWS);
+    for (int i = 0; i < ROWS; i++) {
+      rows.add(new TestTable(UUID.randomUUID(), "Row " + i));
+    }
+    return rows;
+  }
+}
@@ -22,14 +22,19 @@ dependencies {
         api(libs.mug)
         api(libs.vertx.core)
         api(libs.vertx.web)
+        api(libs.vertx.openapi)
+        api(libs.vertx.json.schema)
         api(libs.hibernate.core)
         api(libs.postgresql)
+        api(libs.hikaricp)
         api(libs.caffeine)
         api(libs.rabbitmq.amqp)
         api(libs.slf4j.api)
         api(libs.flyway.core)
         api(libs.flyway.database.postgresql)
         api(libs.jsr305)
+        api(libs.jmh.core)
+        api(libs.jmh.generator.annprocess)
     }
 }
 
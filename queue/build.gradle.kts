@@ -11,7 +11,11 @@ dependencies {
 
     // Grows out of :events
     implementation(project(":events"))
+    // The transactional outbox the relay drains
+    implementation(project(":data"))
 
     // AMQP Client dependency
     implementation(libs.rabbitmq.amqp)
+    implementation(libs.errorprone.annotations)
+    implementation(libs.slf4j.api)
 }
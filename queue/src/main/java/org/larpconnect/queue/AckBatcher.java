@@ -0,0 +1,108 @@
+package org.larpconnect.queue;
+
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.LongConsumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Acknowledges the deliveries of one channel, folding runs of completed deliveries into a single
+ * multiple-ack.
+ *
+ * <p>A multiple-ack settles every outstanding delivery up to its tag, so only the completed run
+ * below the oldest delivery still being handled can be folded. A full flush acknowledges the
+ * completed deliveries above that one individually, so one slow message cannot pin the rest of the
+ * prefetch window. Confined to the consumer's context.
+ */
+final class AckBatcher {
+  /** Sends an acknowledgement to the broker. */
+  @FunctionalInterface
+  interface Acknowledger {
+    void ack(long deliveryTag, boolean multiple);
+  }
+
+  private final int batchSize;
+  private final Acknowledger acknowledger;
+  private final LongSupplier clock;
+  private final LongConsumer latencies;
+  private final NavigableMap<Long, Long> outstanding = new TreeMap<>();
+  private final NavigableSet<Long> completed = new TreeSet<>();
+
+  /**
+   * Creates a batcher.
+   *
+   * @param batchSize How many completed deliveries trigger a flush.
+   * @param acknowledger Sends the acknowledgements.
+   * @param clock The nanosecond clock latencies are measured with.
+   * @param latencies Receives the delivery-to-acknowledgement latency of every delivery.
+   */
+  AckBatcher(int batchSize, Acknowledger acknowledger, LongSupplier clock, LongConsumer latencies) {
+    this.batchSize = batchSize;
+    this.acknowledger = acknowledger;
+    this.clock = clock;
+    this.latencies = latencies;
+  }
+
+  void received(long deliveryTag) {
+    outstanding.put(deliveryTag, clock.getAsLong());
+  }
+
+  /** Marks a delivery as handled; acknowledges the contiguous run once a batch has gathered. */
+  void completed(long deliveryTag) {
+    if (outstanding.containsKey(deliveryTag)) {
+      completed.add(deliveryTag);
+      if (completed.size() >= batchSize) {
+        flush(false);
+      }
+    }
+  }
+
+  /** Forgets a delivery that was settled some other way, such as a reject. */
+  void settled(long deliveryTag) {
+    outstanding.remove(deliveryTag);
+    completed.remove(deliveryTag);
+  }
+
+  /**
+   * Acknowledges completed deliveries.
+   *
+   * @param all Whether to also acknowledge, one by one, those above a delivery still being handled.
+   */
+  void flush(boolean all) {
+    long now = clock.getAsLong();
+    Long upTo = null;
+    for (Long tag : outstanding.keySet()) {
+      if (!completed.contains(tag)) {
+        break;
+      }
+      upTo = tag;
+    }
+    if (upTo != null) {
+      acknowledger.ack(upTo, true);
+      Map<Long, Long> acked = outstanding.headMap(upTo, true);
+      acked.values().forEach(receivedAt -> latencies.accept(now - receivedAt));
+      acked.clear();
+      completed.headSet(upTo, true).clear();
+    }
+    if (all) {
+      for (Long tag : completed) {
+        acknowledger.ack(tag, false);
+        latencies.accept(now - outstanding.remove(tag));
+      }
+      completed.clear();
+    }
+  }
+
+  /** Returns whether every delivery not acknowledged yet has been handled. */
+  boolean allCompleted() {
+    return completed.size() == outstanding.size();
+  }
+
+  /** Returns how many deliveries are not acknowledged yet. */
+  int outstanding() {
+    return outstanding.size();
+  }
+}
@@ -0,0 +1,87 @@
+package org.larpconnect.queue;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.errorprone.annotations.ThreadSafe;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import org.larpconnect.common.LatencyHistogram;
+
+/** Default implementation of {@link QueueConsumerMonitor} fed by the consumer verticles. */
+@ThreadSafe
+final class DefaultQueueConsumerMonitor implements QueueConsumerMonitor {
+  private final Map<String, Counters> counters = new ConcurrentHashMap<>();
+
+  @Override
+  public ImmutableList<QueueConsumerStats> stats() {
+    return counters.entrySet().stream()
+        .map(entry -> entry.getValue().snapshot(entry.getKey()))
+        .sorted(Comparator.comparing(QueueConsumerStats::queue))
+        .collect(ImmutableList.toImmutableList());
+  }
+
+  /** Returns the acknowledgement latencies of every queue, for the metrics scrape. */
+  ImmutableMap<String, LatencyHistogram.Snapshot> ackLatencies() {
+    return counters.entrySet().stream()
+        .collect(
+            ImmutableMap.toImmutableMap(
+                Map.Entry::getKey, entry -> entry.getValue().ackLatency.snapshot()));
+  }
+
+  void delivered(String queue, boolean redelivered) {
+    Counters tracked = countersFor(queue);
+    tracked.delivered.increment();
+    if (redelivered) {
+      tracked.redelivered.increment();
+    }
+  }
+
+  void acked(String queue, long latencyNanos) {
+    Counters tracked = countersFor(queue);
+    tracked.acked.increment();
+    tracked.ackLatency.record(latencyNanos);
+  }
+
+  void retried(String queue) {
+    countersFor(queue).retried.increment();
+  }
+
+  void deadLettered(String queue) {
+    countersFor(queue).deadLettered.increment();
+  }
+
+  void requeued(String queue) {
+    countersFor(queue).requeued.increment();
+  }
+
+  private Counters countersFor(String queue) {
+    // Queues come from consumer definitions, so the table stays small.
+    return counters.computeIfAbsent(queue, unused -> new Counters());
+  }
+
+  private static final class Counters {
+    final LongAdder delivered = new LongAdder();
+    final LongAdder redelivered = new LongAdder();
+    final LongAdder acked = new LongAdder();
+    final LongAdder retried = new LongAdder();
+    final LongAdder deadLettered = new LongAdder();
+    final LongAdder requeued = new LongAdder();
+    final LatencyHistogram ackLatency = new LatencyHistogram();
+
+    QueueConsumerStats snapshot(String queue) {
+      LatencyHistogram.Snapshot latency = ackLatency.snapshot();
+      return new QueueConsumerStats(
+          queue,
+          delivered.sum(),
+          redelivered.sum(),
+          acked.sum(),
+          retried.sum(),
+          deadLettered.sum(),
+          requeued.sum(),
+          latency.sum(),
+          latency.max());
+    }
+  }
+}
@@ -0,0 +1,151 @@
+package org.larpconnect.queue;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.errorprone.annotations.concurrent.GuardedBy;
+import com.google.inject.Inject;
+import com.rabbitmq.client.AMQP;
+import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.Connection;
+import com.rabbitmq.client.ConnectionFactory;
+import com.rabbitmq.client.MessageProperties;
+import io.vertx.core.Future;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import org.larpconnect.events.FutureAdapter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Default implementation of {@link QueuePublisher} over a pool of confirm-mode channels.
+ *
+ * <p>Publishes are spread round-robin over the channels, each drained by its own task on a small
+ * publisher pool, so callers never touch the network. The connection is opened on the first publish
+ * and reopened after it is lost; publishes that were in flight fail rather than being silently
+ * replayed.
+ */
+final class DefaultQueuePublisher implements QueuePublisher, AutoCloseable {
+  private static final String CONNECTION_NAME = "larpconnect-publisher";
+  private static final AMQP.BasicProperties PERSISTENT_JSON =
+      MessageProperties.PERSISTENT_BASIC.builder().contentType("application/json").build();
+  private static final long CONFIRM_POLL_MS = 10L;
+
+  private final Logger logger = LoggerFactory.getLogger(DefaultQueuePublisher.class);
+  private final ConnectionFactory connectionFactory;
+  private final FutureAdapter futureAdapter;
+  private final QueueConfiguration configuration;
+  private final ExecutorService executor;
+  private final ImmutableList<PooledChannel> channels;
+  private final AtomicInteger nextChannel = new AtomicInteger();
+  private final Object connectionLock = new Object();
+
+  @GuardedBy("connectionLock")
+  private Connection connection;
+
+  @GuardedBy("connectionLock")
+  private boolean closed;
+
+  @Inject
+  DefaultQueuePublisher(QueueConfiguration configuration, FutureAdapter futureAdapter) {
+    this.connectionFactory = configuration.toConnectionFactory();
+    this.futureAdapter = futureAdapter;
+    this.configuration = configuration;
+    this.executor =
+        Executors.newFixedThreadPool(
+            configuration.channels(),
+            new ThreadFactoryBuilder().setNameFormat("queue-publisher-%d").setDaemon(true).build());
+    this.channels =
+        IntStream.range(0, configuration.channels())
+            .mapToObj(
+                i ->
+                    new PooledChannel(
+                        this::openChannel, executor, configuration.publishBatchSize()))
+            .collect(ImmutableList.toImmutableList());
+  }
+
+  @Override
+  public Future<Void> publish(
+      String exchange, String routingKey, Map<String, Object> headers, byte[] body) {
+    CompletableFuture<Void> confirmed =
+        new CompletableFuture<Void>()
+            .orTimeout(configuration.confirmTimeout().toMillis(), TimeUnit.MILLISECONDS);
+    PooledChannel channel =
+        channels.get(Math.floorMod(nextChannel.getAndIncrement(), channels.size()));
+    AMQP.BasicProperties properties =
+        headers.isEmpty() ? PERSISTENT_JSON : PERSISTENT_JSON.builder().headers(headers).build();
+    channel.enqueue(new PendingPublish(exchange, routingKey, properties, body, confirmed));
+    return futureAdapter.adapt(
+        confirmed.exceptionallyCompose(
+            err ->
+                CompletableFuture.failedFuture(
+                    err instanceof TimeoutException
+                        ? new QueuePublishException("The broker did not confirm in time", err)
+                        : err)));
+  }
+
+  /**
+   * Returns the number of messages queued or awaiting a confirm, over all channels.
+   *
+   * @return The number of outstanding messages.
+   */
+  int outstanding() {
+    return channels.stream().mapToInt(PooledChannel::outstanding).sum();
+  }
+
+  /**
+   * Waits until every message published so far has been confirmed or has failed.
+   *
+   * @param timeout How long to wait.
+   * @return Whether no message was outstanding any more before the timeout.
+   * @throws InterruptedException if interrupted while waiting.
+   */
+  boolean awaitConfirmed(Duration timeout) throws InterruptedException {
+    long deadline = System.nanoTime() + timeout.toNanos();
+    while (outstanding() > 0) {
+      if (System.nanoTime() - deadline >= 0) {
+        logger.warn("Stopped waiting for {} unconfirmed publishes", outstanding());
+        return false;
+      }
+      Thread.sleep(CONFIRM_POLL_MS);
+    }
+    return true;
+  }
+
+  /** Closes the connection; publishes still awaiting a confirm fail. */
+  @Override
+  public void close() {
+    synchronized (connectionLock) {
+      closed = true;
+      if (connection != null) {
+        connection.abort();
+        connection = null;
+      }
+    }
+    executor.shutdown();
+  }
+
+  private Channel openChannel() throws IOException {
+    synchronized (connectionLock) {
+      if (closed) {
+        throw new IOException("The publisher is closed");
+      }
+      if (connection == null || !connection.isOpen()) {
+        try {
+          connection = connectionFactory.newConnection(CONNECTION_NAME);
+        } catch (TimeoutException e) {
+          throw new IOException("Timed out connecting to the broker", e);
+        }
+        logger.info("Connected to the broker at {}:{}", configuration.host(), configuration.port());
+      }
+      return connection.createChannel();
+    }
+  }
+}
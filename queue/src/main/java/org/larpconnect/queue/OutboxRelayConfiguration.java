@@ -0,0 +1,39 @@
+package org.larpconnect.queue;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.time.Duration;
+
+/**
+ * Represents how the outbox relays drain the transactional outbox to the broker.
+ *
+ * @param batchSize The most messages one relay claims per transaction.
+ * @param pollInterval How long a relay waits after finding fewer than a full batch.
+ * @param publishTimeout How long a relay waits for the broker to confirm a batch before rolling the
+ *     claim back.
+ * @param partitionDaysAhead How many days of outbox partitions to keep created ahead of today.
+ * @param partitionRetention How long after its day ends an empty partition is dropped.
+ */
+public record OutboxRelayConfiguration(
+    int batchSize,
+    Duration pollInterval,
+    Duration publishTimeout,
+    int partitionDaysAhead,
+    Duration partitionRetention) {
+
+  public OutboxRelayConfiguration {
+    checkArgument(batchSize > 0, "batchSize must be positive: %s", batchSize);
+    checkArgument(
+        pollInterval.toMillis() > 0,
+        "pollInterval must be at least a millisecond: %s",
+        pollInterval);
+    checkArgument(
+        publishTimeout.toMillis() > 0,
+        "publishTimeout must be at least a millisecond: %s",
+        publishTimeout);
+    checkArgument(
+        partitionDaysAhead >= 0, "partitionDaysAhead is negative: %s", partitionDaysAhead);
+    checkArgument(
+        !partitionRetention.isNegative(), "partitionRetention is negative: %s", partitionRetention);
+  }
+}
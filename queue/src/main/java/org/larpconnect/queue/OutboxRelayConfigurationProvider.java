@@ -0,0 +1,47 @@
+package org.larpconnect.queue;
+
+import com.google.inject.Inject;
+import com.google.inject.Provider;
+import java.time.Duration;
+import org.larpconnect.common.Environment;
+
+/** Guice provider that compiles the outbox relay configuration from the {@link Environment}. */
+public final class OutboxRelayConfigurationProvider implements Provider<OutboxRelayConfiguration> {
+  private static final int DEFAULT_BATCH_SIZE = 256;
+  private static final long DEFAULT_POLL_INTERVAL_MS = 200L;
+  private static final long DEFAULT_PUBLISH_TIMEOUT_MS = 10_000L;
+  private static final int DEFAULT_PARTITION_DAYS_AHEAD = 7;
+  private static final long DEFAULT_PARTITION_RETENTION_HOURS = 48L;
+
+  private final Environment environment;
+
+  @Inject
+  OutboxRelayConfigurationProvider(Environment environment) {
+    this.environment = environment;
+  }
+
+  @Override
+  public OutboxRelayConfiguration get() {
+    return new OutboxRelayConfiguration(
+        Math.max(1, environment.getIntOrDefault("OUTBOX_RELAY_BATCH_SIZE", DEFAULT_BATCH_SIZE)),
+        Duration.ofMillis(
+            Math.max(
+                1L,
+                environment.getLongOrDefault(
+                    "OUTBOX_RELAY_POLL_INTERVAL_MS", DEFAULT_POLL_INTERVAL_MS))),
+        Duration.ofMillis(
+            Math.max(
+                1L,
+                environment.getLongOrDefault(
+                    "OUTBOX_RELAY_PUBLISH_TIMEOUT_MS", DEFAULT_PUBLISH_TIMEOUT_MS))),
+        Math.max(
+            0,
+            environment.getIntOrDefault(
+                "OUTBOX_PARTITION_DAYS_AHEAD", DEFAULT_PARTITION_DAYS_AHEAD)),
+        Duration.ofHours(
+            Math.max(
+                0L,
+                environment.getLongOrDefault(
+                    "OUTBOX_PARTITION_RETENTION_HOURS", DEFAULT_PARTITION_RETENTION_HOURS))));
+  }
+}
@@ -0,0 +1,174 @@
+package org.larpconnect.queue;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.inject.Inject;
+import io.vertx.core.AbstractVerticle;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.larpconnect.data.AsyncOutboxDao;
+import org.larpconnect.data.OutboxMessage;
+import org.larpconnect.events.FutureAdapter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Drains the transactional outbox to the broker.
+ *
+ * <p>Each instance loops: it claims a batch, publishes it and waits for the broker's confirms while
+ * the claiming transaction is still open, so messages leave the outbox only once the broker has
+ * them. After a full batch it goes again at once; otherwise it waits for the poll interval.
+ * Instances on this and other nodes skip each other's locked rows, so more instances drain faster
+ * rather than contend. Every instance also keeps the daily partitions created ahead and drops the
+ * drained ones, hourly; the database functions tolerate doing so concurrently.
+ *
+ * <p>Delivery is at least once: a batch whose confirms fail or time out is rolled back and relayed
+ * again, including any of its messages the broker did take. Messages carry their outbox id in
+ * {@link QueueHeaders#MESSAGE_ID} for consumers to drop duplicates by. A batch is spread over the
+ * publisher's channels, so its order is not kept on the queue.
+ *
+ * <p>A graceful shutdown {@linkplain #stopRelaying() stops relaying} before it flushes the
+ * publisher and closes the data executor, so no batch is claimed or published after that.
+ */
+final class OutboxRelayVerticle extends AbstractVerticle {
+  static final Duration MAINTENANCE_INTERVAL = Duration.ofHours(1);
+  static final Duration FAILURE_DELAY = Duration.ofSeconds(1);
+
+  private final Logger logger = LoggerFactory.getLogger(OutboxRelayVerticle.class);
+  private final AsyncOutboxDao outbox;
+  private final QueuePublisher publisher;
+  private final FutureAdapter futureAdapter;
+  private final OutboxRelayConfiguration configuration;
+  private final OutboxRelays relays;
+  private Future<?> claim = Future.succeededFuture();
+  private Future<?> maintenance = Future.succeededFuture();
+  private boolean stopped;
+  private long relayTimer = -1;
+  private long maintenanceTimer = -1;
+
+  @Inject
+  OutboxRelayVerticle(
+      AsyncOutboxDao outbox,
+      QueuePublisher publisher,
+      FutureAdapter futureAdapter,
+      OutboxRelayConfiguration configuration,
+      OutboxRelays relays) {
+    this.outbox = outbox;
+    this.publisher = publisher;
+    this.futureAdapter = futureAdapter;
+    this.configuration = configuration;
+    this.relays = relays;
+  }
+
+  @Override
+  public void start() {
+    // Neither loop waits for the database, so a node can start while it is unreachable.
+    maintain();
+    maintenanceTimer = vertx.setPeriodic(MAINTENANCE_INTERVAL.toMillis(), id -> maintain());
+    relay();
+    relays.started(this);
+  }
+
+  @Override
+  public void stop() {
+    relays.stopped(this);
+    halt();
+  }
+
+  /**
+   * Stops claiming batches and waits for the one being relayed, and for any partition maintenance
+   * under way. May be called from any thread.
+   *
+   * @return A future completed once neither is in flight, however they ended.
+   */
+  Future<Void> stopRelaying() {
+    Promise<Void> result = Promise.promise();
+    context.runOnContext(
+        v -> {
+          halt();
+          Future.join(claim, maintenance)
+              .<Void>transform(ignored -> Future.succeededFuture())
+              .onComplete(result);
+        });
+    return result.future();
+  }
+
+  private void halt() {
+    stopped = true;
+    vertx.cancelTimer(relayTimer);
+    vertx.cancelTimer(maintenanceTimer);
+  }
+
+  private void relay() {
+    if (stopped) {
+      return;
+    }
+    Future<Integer> relayed =
+        futureAdapter.adapt(outbox.relay(configuration.batchSize(), this::publish));
+    claim = relayed;
+    relayed.onComplete(
+        result -> {
+          if (stopped) {
+            return;
+          }
+          if (result.succeeded() && result.result() >= configuration.batchSize()) {
+            relay();
+            return;
+          }
+          Duration delay = configuration.pollInterval();
+          if (result.failed()) {
+            logger.warn("Could not relay the outbox", result.cause());
+            delay = delay.compareTo(FAILURE_DELAY) > 0 ? delay : FAILURE_DELAY;
+          }
+          relayTimer = vertx.setTimer(delay.toMillis(), id -> relay());
+        });
+  }
+
+  /** Publishes a claimed batch and waits for its confirms; runs on the data executor. */
+  private void publish(List<OutboxMessage> batch) {
+    List<Future<Void>> confirms = new ArrayList<>(batch.size());
+    for (OutboxMessage message : batch) {
+      confirms.add(
+          publisher.publish(
+              message.exchange(),
+              message.routingKey(),
+              ImmutableMap.of(
+                  QueueHeaders.MESSAGE_ID, message.id().toString(),
+                  QueueHeaders.TENANT_ID, message.tenantId().toString()),
+              message.payload().getBytes(UTF_8)));
+    }
+    try {
+      Future.all(confirms)
+          .toCompletionStage()
+          .toCompletableFuture()
+          .get(configuration.publishTimeout().toMillis(), TimeUnit.MILLISECONDS);
+    } catch (ExecutionException e) {
+      throw new QueuePublishException("The broker did not confirm an outbox batch", e.getCause());
+    } catch (TimeoutException e) {
+      throw new QueuePublishException("Timed out waiting for an outbox batch's confirms", e);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new QueuePublishException("Interrupted while publishing an outbox batch", e);
+    }
+  }
+
+  private void maintain() {
+    maintenance =
+        futureAdapter
+            .adapt(outbox.createPartitions(configuration.partitionDaysAhead()))
+            .compose(
+                created ->
+                    futureAdapter.adapt(
+                        outbox.dropPartitions(
+                            Instant.now().minus(configuration.partitionRetention()))));
+    maintenance.onFailure(err -> logger.warn("Could not maintain the outbox partitions", err));
+  }
+}
@@ -0,0 +1,52 @@
+package org.larpconnect.queue;
+
+import com.google.inject.Inject;
+import io.vertx.core.Future;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/** Tracks the running outbox relay instances, so a graceful shutdown can stop them in its phase. */
+final class OutboxRelays {
+  private final Set<OutboxRelayVerticle> running = ConcurrentHashMap.newKeySet();
+
+  @Inject
+  OutboxRelays() {}
+
+  /**
+   * Records a relay that has started.
+   *
+   * @param relay The relay.
+   */
+  void started(OutboxRelayVerticle relay) {
+    running.add(relay);
+  }
+
+  /**
+   * Forgets a relay that is being undeployed.
+   *
+   * @param relay The relay.
+   */
+  void stopped(OutboxRelayVerticle relay) {
+    running.remove(relay);
+  }
+
+  /**
+   * Stops every running relay from claiming batches and waits for the batches being relayed.
+   *
+   * @param timeout How long to wait.
+   * @throws TimeoutException if a relay is still relaying a batch after the timeout.
+   */
+  void stopRelaying(Duration timeout)
+      throws InterruptedException, ExecutionException, TimeoutException {
+    List<Future<Void>> results = running.stream().map(OutboxRelayVerticle::stopRelaying).toList();
+    Future.join(results)
+        .toCompletionStage()
+        .toCompletableFuture()
+        .get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+  }
+}
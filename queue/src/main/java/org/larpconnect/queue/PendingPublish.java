@@ -0,0 +1,13 @@
+package org.larpconnect.queue;
+
+import com.rabbitmq.client.AMQP;
+import java.util.concurrent.CompletableFuture;
+
+/** A message waiting to be published and the future its confirm completes. */
+@SuppressWarnings("ArrayRecordComponent") // The body is handed over and never compared.
+record PendingPublish(
+    String exchange,
+    String routingKey,
+    AMQP.BasicProperties properties,
+    byte[] body,
+    CompletableFuture<Void> confirmed) {}
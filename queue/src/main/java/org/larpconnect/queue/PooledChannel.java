@@ -0,0 +1,179 @@
+package org.larpconnect.queue;
+
+import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.ShutdownSignalException;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.NavigableMap;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * One confirm-mode channel of the publisher pool and the messages queued for it.
+ *
+ * <p>Callers only enqueue. A single drain task at a time takes the queue and publishes the messages
+ * back to back, up to the batch size, so the channel is never used by two threads and a burst is
+ * written in as few socket writes as the client allows. Confirms arrive asynchronously and usually
+ * acknowledge many messages at once.
+ */
+final class PooledChannel {
+  /** Opens a new channel on the shared connection. */
+  @FunctionalInterface
+  interface ChannelOpener {
+    Channel open() throws IOException;
+  }
+
+  private final ChannelOpener opener;
+  private final Executor executor;
+  private final int batchSize;
+  private final Queue<PendingPublish> pending = new ConcurrentLinkedQueue<>();
+  private final AtomicBoolean draining = new AtomicBoolean();
+  // Only written by the drain task, which never runs twice at once; outstanding() reads confirms
+  // from other threads.
+  private Channel channel;
+  private volatile Confirms confirms;
+
+  PooledChannel(ChannelOpener opener, Executor executor, int batchSize) {
+    this.opener = opener;
+    this.executor = executor;
+    this.batchSize = batchSize;
+  }
+
+  /**
+   * Queues a message for publishing.
+   *
+   * @param publish The message.
+   */
+  void enqueue(PendingPublish publish) {
+    pending.add(publish);
+    scheduleDrain();
+  }
+
+  /**
+   * Returns the number of messages queued or published and not yet confirmed.
+   *
+   * @return The number of outstanding messages.
+   */
+  int outstanding() {
+    Confirms current = confirms;
+    return pending.size() + (current == null ? 0 : current.unconfirmed.size());
+  }
+
+  private void scheduleDrain() {
+    if (!pending.isEmpty() && draining.compareAndSet(false, true)) {
+      try {
+        executor.execute(this::drain);
+      } catch (RejectedExecutionException e) {
+        draining.set(false);
+        failPending(new QueuePublishException("The publisher is closed", e));
+      }
+    }
+  }
+
+  private void failPending(QueuePublishException failure) {
+    PendingPublish next;
+    while ((next = pending.poll()) != null) {
+      next.confirmed().completeExceptionally(failure);
+    }
+  }
+
+  private void drain() {
+    try {
+      PendingPublish next;
+      for (int published = 0; published < batchSize && (next = pending.poll()) != null; ) {
+        // A caller that saw its publish time out may retry it, so it must not go out as well.
+        if (next.confirmed().isCompletedExceptionally()) {
+          continue;
+        }
+        publish(next);
+        published++;
+      }
+    } finally {
+      draining.set(false);
+      // Messages queued while draining, or left over past the batch size, get a new task.
+      scheduleDrain();
+    }
+  }
+
+  private void publish(PendingPublish message) {
+    try {
+      Channel open = openChannel();
+      long sequenceNumber = open.getNextPublishSeqNo();
+      confirms.track(sequenceNumber, message.confirmed());
+      open.basicPublish(
+          message.exchange(), message.routingKey(), message.properties(), message.body());
+    } catch (IOException | RuntimeException e) {
+      message
+          .confirmed()
+          .completeExceptionally(new QueuePublishException("Could not publish the message", e));
+    }
+  }
+
+  private Channel openChannel() throws IOException {
+    if (channel != null && channel.isOpen()) {
+      return channel;
+    }
+    Channel opened = opener.open();
+    Confirms tracker = new Confirms();
+    opened.addConfirmListener(tracker::ack, tracker::nack);
+    opened.addShutdownListener(tracker::fail);
+    opened.confirmSelect();
+    channel = opened;
+    confirms = tracker;
+    return opened;
+  }
+
+  /** The unconfirmed messages of one channel, keyed by publish sequence number. */
+  private static final class Confirms {
+    final NavigableMap<Long, CompletableFuture<Void>> unconfirmed = new ConcurrentSkipListMap<>();
+
+    // The callback only forgets the message; nothing waits on what it returns.
+    @SuppressWarnings("FutureReturnValueIgnored")
+    void track(long sequenceNumber, CompletableFuture<Void> confirmed) {
+      unconfirmed.put(sequenceNumber, confirmed);
+      // A message that times out may never be confirmed, for instance when its channel died.
+      confirmed.whenComplete(
+          (ignored, err) -> {
+            if (err != null) {
+              unconfirmed.remove(sequenceNumber, confirmed);
+            }
+          });
+    }
+
+    void ack(long deliveryTag, boolean multiple) {
+      settle(deliveryTag, multiple, null);
+    }
+
+    void nack(long deliveryTag, boolean multiple) {
+      settle(deliveryTag, multiple, new QueuePublishException("The broker rejected the message"));
+    }
+
+    void fail(ShutdownSignalException cause) {
+      settle(Long.MAX_VALUE, true, new QueuePublishException("The channel closed", cause));
+    }
+
+    private void settle(long deliveryTag, boolean multiple, QueuePublishException failure) {
+      Iterator<CompletableFuture<Void>> settled =
+          (multiple
+                  ? unconfirmed.headMap(deliveryTag, true)
+                  : unconfirmed.subMap(deliveryTag, true, deliveryTag, true))
+              .values()
+              .iterator();
+      while (settled.hasNext()) {
+        CompletableFuture<Void> confirmed = settled.next();
+        // Forget the message first, so whoever it completes never still sees it outstanding.
+        settled.remove();
+        if (failure == null) {
+          confirmed.complete(null);
+        } else {
+          confirmed.completeExceptionally(failure);
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,63 @@
+package org.larpconnect.queue;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.rabbitmq.client.ConnectionFactory;
+import java.time.Duration;
+
+/**
+ * Represents the broker connection and publisher configuration.
+ *
+ * @param host The broker host.
+ * @param port The broker AMQP port.
+ * @param virtualHost The virtual host to connect to.
+ * @param username The user to authenticate as.
+ * @param password The user's password.
+ * @param channels The number of channels publishes are spread over.
+ * @param publishBatchSize The most messages one channel publishes before yielding its thread.
+ * @param confirmTimeout How long a publish may wait for the broker's confirm.
+ */
+public record QueueConfiguration(
+    String host,
+    int port,
+    String virtualHost,
+    String username,
+    String password,
+    int channels,
+    int publishBatchSize,
+    Duration confirmTimeout) {
+
+  public QueueConfiguration {
+    checkArgument(port > 0 && port <= 65_535, "port must be between 1 and 65535: %s", port);
+    checkArgument(channels > 0, "channels must be positive: %s", channels);
+    checkArgument(publishBatchSize > 0, "publishBatchSize must be positive: %s", publishBatchSize);
+  }
+
+  /**
+   * Creates a connection factory for the broker.
+   *
+   * <p>The client does its I/O on Netty, which consolidates the flushes of back-to-back publishes
+   * into fewer socket writes. Automatic recovery is off: the publisher reopens connections and
+   * channels itself and fails the publishes it can no longer confirm, and each consumer reconnects
+   * on its own.
+   *
+   * @return A new connection factory.
+   */
+  public ConnectionFactory toConnectionFactory() {
+    ConnectionFactory factory = new ConnectionFactory();
+    factory.setHost(host);
+    factory.setPort(port);
+    factory.setVirtualHost(virtualHost);
+    factory.setUsername(username);
+    factory.setPassword(password);
+    factory.setAutomaticRecoveryEnabled(false);
+    return factory.netty().connectionFactory();
+  }
+
+  @Override
+  public String toString() {
+    return "QueueConfiguration[host=%s, port=%d, virtualHost=%s, username=%s, channels=%d,"
+            .formatted(host, port, virtualHost, username, channels)
+        + " publishBatchSize=%d, confirmTimeout=%s]".formatted(publishBatchSize, confirmTimeout);
+  }
+}
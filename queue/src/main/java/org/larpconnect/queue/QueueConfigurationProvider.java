@@ -0,0 +1,41 @@
+package org.larpconnect.queue;
+
+import com.google.inject.Inject;
+import com.google.inject.Provider;
+import java.time.Duration;
+import org.larpconnect.common.Environment;
+
+/** Guice provider that compiles the broker configuration from the {@link Environment}. */
+public final class QueueConfigurationProvider implements Provider<QueueConfiguration> {
+  private static final int DEFAULT_PORT = 5_672;
+  private static final int MAX_PORT = 65_535;
+  private static final int DEFAULT_CHANNELS = 4;
+  private static final int DEFAULT_PUBLISH_BATCH_SIZE = 128;
+  private static final long DEFAULT_CONFIRM_TIMEOUT_MS = 5_000L;
+
+  private final Environment environment;
+
+  @Inject
+  QueueConfigurationProvider(Environment environment) {
+    this.environment = environment;
+  }
+
+  @Override
+  public QueueConfiguration get() {
+    int port = environment.getIntOrDefault("AMQP_PORT", DEFAULT_PORT);
+    return new QueueConfiguration(
+        environment.getOrDefault("AMQP_HOST", "localhost"),
+        port > 0 && port <= MAX_PORT ? port : DEFAULT_PORT,
+        environment.getOrDefault("AMQP_VIRTUAL_HOST", "/"),
+        environment.getOrDefault("AMQP_USERNAME", "guest"),
+        environment.getOrDefault("AMQP_PASSWORD", "guest"),
+        Math.max(1, environment.getIntOrDefault("AMQP_PUBLISHER_CHANNELS", DEFAULT_CHANNELS)),
+        Math.max(
+            1, environment.getIntOrDefault("AMQP_PUBLISH_BATCH_SIZE", DEFAULT_PUBLISH_BATCH_SIZE)),
+        Duration.ofMillis(
+            Math.max(
+                1L,
+                environment.getLongOrDefault(
+                    "AMQP_CONFIRM_TIMEOUT_MS", DEFAULT_CONFIRM_TIMEOUT_MS))));
+  }
+}
@@ -0,0 +1,134 @@
+package org.larpconnect.queue;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.common.base.Ascii;
+import com.google.common.base.CharMatcher;
+import java.time.Duration;
+import org.larpconnect.common.Environment;
+import org.larpconnect.events.VerticleDeployment;
+
+/**
+ * How one queue is consumed.
+ *
+ * <p>The numeric settings can be overridden through the {@link Environment} with variables named
+ * after the queue, dots and dashes read as underscores: {@code QUEUE_<NAME>_PREFETCH}, {@code
+ * QUEUE_<NAME>_MAX_IN_FLIGHT_PER_TENANT}, {@code QUEUE_<NAME>_ACK_BATCH_SIZE}, {@code
+ * QUEUE_<NAME>_MAX_ATTEMPTS} and {@code QUEUE_<NAME>_RETRY_BACKOFF_MS}. Absent or invalid values
+ * keep the declared setting. The number of consumers is the deployment's instance count, set with
+ * {@code VERTICLE_QUEUE_<NAME>_INSTANCES}.
+ *
+ * @param queue The queue to consume; lower-case letters, digits, dots, dashes and underscores.
+ * @param prefetch The most unacknowledged messages the broker sends one consumer.
+ * @param maxInFlightPerTenant The most messages of one tenant a consumer handles at once.
+ * @param ackBatchSize How many completed messages a consumer gathers before acknowledging them.
+ * @param ackFlushInterval The longest a completed message waits for its acknowledgement.
+ * @param maxAttempts How often a message is handled before it is dead-lettered.
+ * @param retryBackoff The delay before the second attempt; it doubles with every further attempt.
+ */
+public record QueueConsumerDefinition(
+    String queue,
+    int prefetch,
+    int maxInFlightPerTenant,
+    int ackBatchSize,
+    Duration ackFlushInterval,
+    int maxAttempts,
+    Duration retryBackoff) {
+  /** The longest delay between two attempts, however many have failed. */
+  public static final Duration MAX_RETRY_DELAY = Duration.ofMinutes(1);
+
+  private static final int MAX_PREFETCH = 65_535;
+  private static final CharMatcher QUEUE_CHARACTERS =
+      CharMatcher.inRange('a', 'z').or(CharMatcher.inRange('0', '9')).or(CharMatcher.anyOf("._-"));
+  private static final CharMatcher SEPARATORS = CharMatcher.anyOf(".-");
+
+  public QueueConsumerDefinition {
+    checkArgument(
+        !queue.isEmpty() && QUEUE_CHARACTERS.matchesAllOf(queue),
+        "Queue name must be lower-case letters, digits, dots, dashes and underscores: %s",
+        queue);
+    checkArgument(
+        prefetch > 0 && prefetch <= MAX_PREFETCH,
+        "prefetch must be between 1 and 65535: %s",
+        prefetch);
+    checkArgument(
+        maxInFlightPerTenant > 0,
+        "maxInFlightPerTenant must be positive: %s",
+        maxInFlightPerTenant);
+    checkArgument(ackBatchSize > 0, "ackBatchSize must be positive: %s", ackBatchSize);
+    checkArgument(
+        ackFlushInterval.toMillis() > 0,
+        "ackFlushInterval must be at least a millisecond: %s",
+        ackFlushInterval);
+    checkArgument(maxAttempts > 0, "maxAttempts must be positive: %s", maxAttempts);
+    checkArgument(!retryBackoff.isNegative(), "retryBackoff is negative: %s", retryBackoff);
+  }
+
+  /**
+   * Creates a definition with the default settings: a prefetch of 64, 8 messages in flight per
+   * tenant, acknowledgements batched by 32 or every 50ms, and 5 attempts starting one second apart.
+   *
+   * @param queue The queue to consume.
+   * @return The definition.
+   */
+  public static QueueConsumerDefinition of(String queue) {
+    return new QueueConsumerDefinition(
+        queue, 64, 8, 32, Duration.ofMillis(50), 5, Duration.ofSeconds(1));
+  }
+
+  /**
+   * Returns the queue messages are parked in once they have used up their attempts.
+   *
+   * @return The dead-letter queue name.
+   */
+  public String deadLetterQueue() {
+    return queue + ".dead";
+  }
+
+  /**
+   * Returns the delay before the attempt after a failed one.
+   *
+   * @param failedAttempt The attempt that failed, starting at {@code 1}.
+   * @return The backoff doubled for every earlier failure, capped at {@link #MAX_RETRY_DELAY}.
+   */
+  public Duration retryDelay(int failedAttempt) {
+    int doublings = Math.min(Math.max(failedAttempt - 1, 0), 30);
+    Duration delay = retryBackoff.multipliedBy(1L << doublings);
+    return delay.compareTo(MAX_RETRY_DELAY) > 0 ? MAX_RETRY_DELAY : delay;
+  }
+
+  /**
+   * Returns how the consumers of this queue are deployed: one event-loop instance named {@code
+   * queue_<name>}.
+   *
+   * @return The declared deployment.
+   */
+  public VerticleDeployment deployment() {
+    return VerticleDeployment.eventLoop("queue_" + SEPARATORS.replaceFrom(queue, '_'), 1);
+  }
+
+  /**
+   * Returns this definition with any {@code QUEUE_<NAME>_*} overrides applied.
+   *
+   * @param environment The environment to read the overrides from.
+   * @return The effective definition.
+   */
+  public QueueConsumerDefinition withOverrides(Environment environment) {
+    String prefix = "QUEUE_" + Ascii.toUpperCase(SEPARATORS.replaceFrom(queue, '_')) + "_";
+    int effectivePrefetch = environment.getIntOrDefault(prefix + "PREFETCH", prefetch);
+    int effectiveInFlight =
+        environment.getIntOrDefault(prefix + "MAX_IN_FLIGHT_PER_TENANT", maxInFlightPerTenant);
+    int effectiveBatch = environment.getIntOrDefault(prefix + "ACK_BATCH_SIZE", ackBatchSize);
+    int effectiveAttempts = environment.getIntOrDefault(prefix + "MAX_ATTEMPTS", maxAttempts);
+    long effectiveBackoff =
+        environment.getLongOrDefault(prefix + "RETRY_BACKOFF_MS", retryBackoff.toMillis());
+    return new QueueConsumerDefinition(
+        queue,
+        effectivePrefetch > 0 && effectivePrefetch <= MAX_PREFETCH ? effectivePrefetch : prefetch,
+        effectiveInFlight > 0 ? effectiveInFlight : maxInFlightPerTenant,
+        effectiveBatch > 0 ? effectiveBatch : ackBatchSize,
+        ackFlushInterval,
+        effectiveAttempts > 0 ? effectiveAttempts : maxAttempts,
+        effectiveBackoff >= 0 ? Duration.ofMillis(effectiveBackoff) : retryBackoff);
+  }
+}
@@ -0,0 +1,13 @@
+package org.larpconnect.queue;
+
+import com.google.common.collect.ImmutableList;
+
+/** Reports how the queue consumers of this node are doing. */
+public interface QueueConsumerMonitor {
+  /**
+   * Returns a snapshot of the counters of every consumed queue.
+   *
+   * @return The stats, ordered by queue.
+   */
+  ImmutableList<QueueConsumerStats> stats();
+}
@@ -0,0 +1,37 @@
+package org.larpconnect.queue;
+
+/**
+ * Cumulative view of the consumption of one queue.
+ *
+ * @param queue The queue.
+ * @param delivered Messages the broker delivered.
+ * @param redelivered Deliveries of messages the broker had delivered before, such as those left
+ *     unacknowledged by a consumer that stopped.
+ * @param acked Messages acknowledged after they were handled, retried or dead-lettered.
+ * @param retried Failed messages published back to the queue for another attempt.
+ * @param deadLettered Messages parked in the dead-letter queue after their last attempt.
+ * @param requeued Failed messages handed back to the broker because they could not be retried.
+ * @param ackLatencyNanos Total time from delivery to acknowledgement.
+ * @param maxAckLatencyNanos The longest single time from delivery to acknowledgement.
+ */
+public record QueueConsumerStats(
+    String queue,
+    long delivered,
+    long redelivered,
+    long acked,
+    long retried,
+    long deadLettered,
+    long requeued,
+    long ackLatencyNanos,
+    long maxAckLatencyNanos) {
+
+  /**
+   * Returns the mean time from delivery to acknowledgement.
+   *
+   * @return The mean acknowledgement latency in nanoseconds, or {@code 0} before any
+   *     acknowledgement.
+   */
+  public long meanAckLatencyNanos() {
+    return acked == 0 ? 0 : ackLatencyNanos / acked;
+  }
+}
@@ -0,0 +1,453 @@
+package org.larpconnect.queue;
+
+import com.google.common.base.Throwables;
+import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.Connection;
+import com.rabbitmq.client.ConnectionFactory;
+import com.rabbitmq.client.Delivery;
+import com.rabbitmq.client.ShutdownSignalException;
+import io.vertx.core.AbstractVerticle;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeoutException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Consumes one queue over its own connection and hands the messages to a {@link
+ * QueueMessageHandler}.
+ *
+ * <p>Deliveries hop from the client's thread onto this verticle's context, where all bookkeeping
+ * happens. A failed message is published back to the queue with its attempt incremented after the
+ * backoff, or to the dead-letter queue after its last attempt, and the original is acknowledged
+ * once the broker confirms the copy. This keeps retries and dead-lettering independent of broker
+ * plugins and policies. Anything left unacknowledged when the verticle stops is redelivered by the
+ * broker.
+ *
+ * <p>A graceful shutdown first {@linkplain #stopConsuming() stops consuming}: the consumer is
+ * cancelled, deliveries not yet handed to the handler go back to the broker, and those being
+ * handled are waited for, so the broker only redelivers what this instance never started.
+ *
+ * <p>When the connection or channel is lost, as on a broker restart, a network failure or a channel
+ * error, the consumer reconnects with a growing backoff and consumes again. The broker redelivers
+ * whatever the lost channel left unacknowledged, so the deliveries taken on it are forgotten and
+ * their outcomes dropped once handled.
+ */
+final class QueueConsumerVerticle extends AbstractVerticle {
+  private static final int MAX_ERROR_LENGTH = 1_024;
+  private static final long RECONNECT_INITIAL_MS = 100L;
+  private static final long RECONNECT_MAX_MS = 30_000L;
+
+  private final Logger logger = LoggerFactory.getLogger(QueueConsumerVerticle.class);
+  private final QueueConsumerDefinition definition;
+  private final QueueMessageHandler handler;
+  private final ConnectionFactory connectionFactory;
+  private final QueuePublisher publisher;
+  private final DefaultQueueConsumerMonitor monitor;
+  private final Set<QueueConsumerVerticle> running;
+  private AckBatcher acks;
+  private TenantLimiter<Optional<UUID>, InFlight> limiter;
+  private Connection connection;
+  private Channel channel;
+  private String consumerTag;
+  private long flushTimer = -1;
+  // Bumped whenever the channel is lost; deliveries taken on an older channel are not settled
+  private int generation;
+  private long reconnectDelay = RECONNECT_INITIAL_MS;
+  private boolean closing;
+  // Set once stopping; completed when every delivery taken so far has been handled
+  private Promise<Void> idle;
+  // Set once stopping; completed when the broker no longer delivers to this consumer
+  private Future<Void> cancelled;
+  private Future<Void> stopped;
+
+  QueueConsumerVerticle(
+      QueueConsumerDefinition definition,
+      QueueMessageHandler handler,
+      ConnectionFactory connectionFactory,
+      QueuePublisher publisher,
+      DefaultQueueConsumerMonitor monitor,
+      Set<QueueConsumerVerticle> running) {
+    this.definition = definition;
+    this.handler = handler;
+    this.connectionFactory = connectionFactory;
+    this.publisher = publisher;
+    this.monitor = monitor;
+    this.running = running;
+  }
+
+  @Override
+  public void start(Promise<Void> startPromise) {
+    resetBookkeeping();
+    Context consumerContext = context;
+    vertx
+        .executeBlocking(() -> open(consumerContext, generation))
+        .onSuccess(
+            unused -> {
+              flushTimer =
+                  vertx.setPeriodic(
+                      definition.ackFlushInterval().toMillis(), id -> acks.flush(true));
+              running.add(this);
+            })
+        .<Void>mapEmpty()
+        .onComplete(startPromise);
+  }
+
+  @Override
+  public void stop(Promise<Void> stopPromise) {
+    closing = true;
+    running.remove(this);
+    vertx.cancelTimer(flushTimer);
+    if (connection == null) {
+      stopPromise.complete();
+      return;
+    }
+    acks.flush(true);
+    Connection open = connection;
+    vertx
+        .executeBlocking(
+            () -> {
+              // Already closed when lost and not reconnected yet
+              if (open.isOpen()) {
+                open.close();
+              }
+              return null;
+            })
+        .<Void>mapEmpty()
+        .onComplete(stopPromise);
+  }
+
+  /**
+   * Stops taking deliveries: cancels the consumer, hands the deliveries still waiting for their
+   * tenant back to the broker, and waits for those being handled. May be called from any thread.
+   *
+   * @return A future completed once the consumer is cancelled and every delivery it took has been
+   *     handled.
+   */
+  Future<Void> stopConsuming() {
+    Promise<Void> result = Promise.promise();
+    context.runOnContext(v -> beginStopping().onComplete(result));
+    return result.future();
+  }
+
+  /**
+   * Acknowledges every handled delivery now rather than on the next flush. May be called from any
+   * thread.
+   *
+   * @return A future completed once the acknowledgements have been sent.
+   */
+  Future<Void> flushAcks() {
+    Promise<Void> result = Promise.promise();
+    context.runOnContext(
+        v -> {
+          acks.flush(true);
+          result.complete();
+        });
+    return result.future();
+  }
+
+  private Future<Void> beginStopping() {
+    if (stopped == null) {
+      idle = Promise.promise();
+      cancelled =
+          vertx
+              .executeBlocking(
+                  () -> {
+                    channel.basicCancel(consumerTag);
+                    return null;
+                  })
+              .<Void>mapEmpty()
+              .recover(
+                  err -> {
+                    logger.warn("Could not cancel the consumer of {}", definition.queue(), err);
+                    return Future.succeededFuture();
+                  });
+      stopped =
+          cancelled.compose(
+              ignored -> {
+                // Only now, so the broker cannot deliver them to this consumer again
+                limiter.drainWaiting().forEach(item -> handBack(item.deliveryTag()));
+                checkIdle();
+                return idle.future();
+              });
+    }
+    return stopped;
+  }
+
+  private void checkIdle() {
+    if (idle != null && acks.allCompleted()) {
+      idle.tryComplete();
+    }
+  }
+
+  private Void open(Context consumerContext, int openedGeneration)
+      throws IOException, TimeoutException {
+    String name = "larpconnect-consumer-" + definition.queue();
+    Connection opened = connectionFactory.newConnection(name);
+    try {
+      Channel consuming = opened.createChannel();
+      consuming.queueDeclare(definition.queue(), true, false, false, null);
+      consuming.queueDeclare(definition.deadLetterQueue(), true, false, false, null);
+      consuming.basicQos(definition.prefetch());
+      // Installed before consuming, so the first delivery finds the channel in place
+      consumerContext.runOnContext(v -> install(opened, consuming, name));
+      consuming.basicConsume(
+          definition.queue(),
+          false,
+          name,
+          (tag, delivery) ->
+              consumerContext.runOnContext(v -> onDelivery(openedGeneration, delivery)),
+          tag -> logger.warn("The broker cancelled the consumer of {}", definition.queue()));
+      return null;
+    } catch (IOException | RuntimeException e) {
+      opened.abort();
+      throw e;
+    }
+  }
+
+  private void install(Connection opened, Channel consuming, String tag) {
+    if (closing || idle != null) {
+      // Stopped while reconnecting
+      vertx.executeBlocking(
+          () -> {
+            opened.abort();
+            return null;
+          });
+      return;
+    }
+    connection = opened;
+    channel = consuming;
+    consumerTag = tag;
+    consuming.addShutdownListener(cause -> context.runOnContext(v -> lost(cause)));
+  }
+
+  private void lost(ShutdownSignalException cause) {
+    if (closing) {
+      return;
+    }
+    // The broker redelivers everything the lost channel left unacknowledged
+    generation++;
+    resetBookkeeping();
+    if (idle != null) {
+      checkIdle();
+      return;
+    }
+    logger.warn("Lost the channel of {}; reconnecting", definition.queue(), cause);
+    scheduleReconnect();
+  }
+
+  private void scheduleReconnect() {
+    long delay = reconnectDelay;
+    reconnectDelay = Math.min(delay * 2, RECONNECT_MAX_MS);
+    int reconnecting = generation;
+    vertx.setTimer(delay, id -> reconnect(reconnecting));
+  }
+
+  private void reconnect(int reconnecting) {
+    if (closing || idle != null || reconnecting != generation) {
+      return;
+    }
+    Connection lostConnection = connection;
+    Context consumerContext = context;
+    vertx
+        .executeBlocking(
+            () -> {
+              // A channel error leaves its connection open
+              lostConnection.abort();
+              return open(consumerContext, reconnecting);
+            })
+        .onSuccess(
+            ignored -> {
+              reconnectDelay = RECONNECT_INITIAL_MS;
+              logger.info("Reconnected the consumer of {}", definition.queue());
+            })
+        .onFailure(
+            err -> {
+              logger.warn("Could not reconnect the consumer of {}", definition.queue(), err);
+              // A channel lost after it was installed has scheduled the next attempt already
+              if (reconnecting == generation) {
+                scheduleReconnect();
+              }
+            });
+  }
+
+  private void resetBookkeeping() {
+    acks =
+        new AckBatcher(
+            definition.ackBatchSize(),
+            this::ack,
+            System::nanoTime,
+            latency -> monitor.acked(definition.queue(), latency));
+    limiter = new TenantLimiter<>(definition.maxInFlightPerTenant(), this::dispatch);
+  }
+
+  private void onDelivery(int deliveredGeneration, Delivery message) {
+    if (deliveredGeneration != generation) {
+      // Taken on a lost channel; the broker redelivers it
+      return;
+    }
+    long deliveryTag = message.getEnvelope().getDeliveryTag();
+    if (idle != null) {
+      // Buffered by the client before the consumer was cancelled
+      handBack(deliveryTag);
+      return;
+    }
+    boolean redelivered = message.getEnvelope().isRedeliver();
+    Map<String, Object> headers =
+        message.getProperties().getHeaders() == null
+            ? new HashMap<>()
+            : new HashMap<>(message.getProperties().getHeaders());
+    acks.received(deliveryTag);
+    monitor.delivered(definition.queue(), redelivered);
+    QueueDelivery delivery =
+        new QueueDelivery(
+            definition.queue(),
+            tenantOf(headers),
+            attemptOf(headers),
+            redelivered,
+            message.getBody());
+    limiter.submit(delivery.tenantId(), new InFlight(generation, deliveryTag, headers, delivery));
+  }
+
+  private void dispatch(InFlight item) {
+    Future<Void> handled;
+    try {
+      handled = handler.handle(item.delivery());
+    } catch (RuntimeException e) {
+      handled = Future.failedFuture(e);
+    }
+    // Always settle on a later turn of this context, wherever the handler completed.
+    handled.onComplete(result -> context.runOnContext(v -> settle(item, result.cause())));
+  }
+
+  private void settle(InFlight item, Throwable failure) {
+    if (item.generation() != generation) {
+      return;
+    }
+    limiter.release(item.delivery().tenantId());
+    if (failure == null) {
+      acks.completed(item.deliveryTag());
+      checkIdle();
+      return;
+    }
+    if (idle != null) {
+      // Waiting out a retry delay would hold up the shutdown; the next consumer retries instead,
+      // once this one is cancelled and cannot be handed the delivery straight back
+      cancelled.onComplete(
+          ignored -> {
+            handBack(item.deliveryTag());
+            checkIdle();
+          });
+      return;
+    }
+    int attempt = item.delivery().attempt();
+    if (attempt >= definition.maxAttempts()) {
+      logger.warn(
+          "Dead-lettering a message from {} after {} attempts",
+          definition.queue(),
+          attempt,
+          failure);
+      Map<String, Object> headers = new HashMap<>(item.headers());
+      headers.put(QueueHeaders.LAST_ERROR, describe(failure));
+      republish(item, definition.deadLetterQueue(), headers, monitor::deadLettered);
+      return;
+    }
+    long delay = Math.max(1L, definition.retryDelay(attempt).toMillis());
+    vertx.setTimer(
+        delay,
+        id -> {
+          if (item.generation() != generation) {
+            return;
+          }
+          Map<String, Object> headers = new HashMap<>(item.headers());
+          headers.put(QueueHeaders.ATTEMPT, attempt + 1);
+          republish(item, definition.queue(), headers, monitor::retried);
+        });
+  }
+
+  private void republish(
+      InFlight item, String queue, Map<String, Object> headers, QueueCounter counter) {
+    publisher
+        .publish("", queue, headers, item.delivery().body())
+        .onComplete(
+            result -> context.runOnContext(v -> republished(item, counter, result.cause())));
+  }
+
+  private void republished(InFlight item, QueueCounter counter, Throwable failure) {
+    if (item.generation() != generation) {
+      // The broker redelivers the original, and the lost channel cannot settle it
+      return;
+    }
+    if (failure == null) {
+      counter.increment(definition.queue());
+      acks.completed(item.deliveryTag());
+    } else {
+      logger.warn(
+          "Could not republish a message from {}; requeueing it", definition.queue(), failure);
+      handBack(item.deliveryTag());
+    }
+    checkIdle();
+  }
+
+  /** Returns a delivery to the broker, which redelivers it to this or another consumer. */
+  private void handBack(long deliveryTag) {
+    acks.settled(deliveryTag);
+    monitor.requeued(definition.queue());
+    try {
+      channel.basicNack(deliveryTag, false, true);
+    } catch (IOException | ShutdownSignalException e) {
+      logger.warn("Could not requeue a message from {}", definition.queue(), e);
+    }
+  }
+
+  private void ack(long deliveryTag, boolean multiple) {
+    try {
+      channel.basicAck(deliveryTag, multiple);
+    } catch (IOException | ShutdownSignalException e) {
+      // The broker redelivers whatever a closed channel left unacknowledged.
+      logger.warn("Could not acknowledge messages from {}", definition.queue(), e);
+    }
+  }
+
+  private static Optional<UUID> tenantOf(Map<String, Object> headers) {
+    Object value = headers.get(QueueHeaders.TENANT_ID);
+    if (value == null) {
+      return Optional.empty();
+    }
+    try {
+      return Optional.of(UUID.fromString(value.toString()));
+    } catch (IllegalArgumentException e) {
+      return Optional.empty();
+    }
+  }
+
+  private static int attemptOf(Map<String, Object> headers) {
+    return headers.get(QueueHeaders.ATTEMPT) instanceof Number attempt
+        ? Math.max(1, attempt.intValue())
+        : 1;
+  }
+
+  private static String describe(Throwable failure) {
+    String description = Throwables.getRootCause(failure).toString();
+    return description.length() > MAX_ERROR_LENGTH
+        ? description.substring(0, MAX_ERROR_LENGTH)
+        : description;
+  }
+
+  /** Counts one outcome of a queue. */
+  @FunctionalInterface
+  private interface QueueCounter {
+    void increment(String queue);
+  }
+
+  /** A delivery being handled, with the headers a retry or dead-letter copy carries forward. */
+  private record InFlight(
+      int generation, long deliveryTag, Map<String, Object> headers, QueueDelivery delivery) {}
+}
@@ -0,0 +1,96 @@
+package org.larpconnect.queue;
+
+import com.google.inject.Inject;
+import com.rabbitmq.client.ConnectionFactory;
+import io.vertx.core.Future;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import org.larpconnect.common.Environment;
+import org.larpconnect.events.VerticleProvider;
+
+/**
+ * Builds the verticle providers that plug queue consumers into {@code MainVerticle}.
+ *
+ * <p>A module contributes a consumer with a provider method such as:
+ *
+ * <pre>{@code
+ * @ProvidesIntoSet
+ * VerticleProvider provideOutboxConsumer(QueueConsumers consumers, OutboxHandler handler) {
+ *   return consumers.provider(QueueConsumerDefinition.of("outbox"), handler);
+ * }
+ * }</pre>
+ */
+public final class QueueConsumers {
+  private final QueueConfiguration configuration;
+  private final QueuePublisher publisher;
+  private final DefaultQueueConsumerMonitor monitor;
+  private final Environment environment;
+  private final Set<QueueConsumerVerticle> running = ConcurrentHashMap.newKeySet();
+
+  @Inject
+  QueueConsumers(
+      QueueConfiguration configuration,
+      QueuePublisher publisher,
+      DefaultQueueConsumerMonitor monitor,
+      Environment environment) {
+    this.configuration = configuration;
+    this.publisher = publisher;
+    this.monitor = monitor;
+    this.environment = environment;
+  }
+
+  /**
+   * Creates the provider of a queue's consumers, each with its own connection and channel.
+   *
+   * @param definition The declared consumer settings, before environment overrides.
+   * @param handler Handles the messages; shared by every consumer instance.
+   * @return The provider.
+   */
+  public VerticleProvider provider(
+      QueueConsumerDefinition definition, QueueMessageHandler handler) {
+    QueueConsumerDefinition effective = definition.withOverrides(environment);
+    ConnectionFactory connectionFactory = configuration.toConnectionFactory();
+    return VerticleProvider.of(
+        effective.deployment(),
+        () ->
+            new QueueConsumerVerticle(
+                effective, handler, connectionFactory, publisher, monitor, running));
+  }
+
+  /**
+   * Stops every running consumer from taking deliveries and waits for those it is handling.
+   *
+   * @param timeout How long to wait.
+   * @throws TimeoutException if a consumer is still handling deliveries after the timeout.
+   */
+  void stopConsuming(Duration timeout)
+      throws InterruptedException, ExecutionException, TimeoutException {
+    awaitAll(QueueConsumerVerticle::stopConsuming, timeout);
+  }
+
+  /**
+   * Sends the acknowledgements every running consumer has gathered.
+   *
+   * @param timeout How long to wait.
+   * @throws TimeoutException if a consumer has not flushed after the timeout.
+   */
+  void flushAcks(Duration timeout)
+      throws InterruptedException, ExecutionException, TimeoutException {
+    awaitAll(QueueConsumerVerticle::flushAcks, timeout);
+  }
+
+  private void awaitAll(Function<QueueConsumerVerticle, Future<Void>> action, Duration timeout)
+      throws InterruptedException, ExecutionException, TimeoutException {
+    List<Future<Void>> results = running.stream().map(action).toList();
+    Future.join(results)
+        .toCompletionStage()
+        .toCompletableFuture()
+        .get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+  }
+}
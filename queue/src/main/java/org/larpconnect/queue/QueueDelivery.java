@@ -0,0 +1,17 @@
+package org.larpconnect.queue;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * A message handed to a {@link QueueMessageHandler}.
+ *
+ * @param queue The queue the message was consumed from.
+ * @param tenantId The tenant from the {@link QueueHeaders#TENANT_ID} header, if it has a valid one.
+ * @param attempt The attempt this is, starting at {@code 1}.
+ * @param redelivered Whether the broker delivered the message before without it being acknowledged.
+ * @param body The message body; it must not be modified.
+ */
+@SuppressWarnings("ArrayRecordComponent") // The body is handed over and never compared.
+public record QueueDelivery(
+    String queue, Optional<UUID> tenantId, int attempt, boolean redelivered, byte[] body) {}
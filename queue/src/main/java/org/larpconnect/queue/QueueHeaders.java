@@ -0,0 +1,18 @@
+package org.larpconnect.queue;
+
+/** The message headers the publisher and the consumer framework agree on. */
+public final class QueueHeaders {
+  /** The tenant a message belongs to, as a UUID string; consumers bound work per tenant. */
+  public static final String TENANT_ID = "x-tenant-id";
+
+  /** A unique id of the message, such as its outbox id, for consumers to drop duplicates by. */
+  public static final String MESSAGE_ID = "x-message-id";
+
+  /** The delivery attempt a republished message is on, starting at {@code 1}. */
+  public static final String ATTEMPT = "x-attempt";
+
+  /** Why a dead-lettered message failed its last attempt. */
+  public static final String LAST_ERROR = "x-last-error";
+
+  private QueueHeaders() {}
+}
@@ -0,0 +1,16 @@
+package org.larpconnect.queue;
+
+import io.vertx.core.Future;
+
+/** Handles the messages of one queue on its consumer's event loop. */
+@FunctionalInterface
+public interface QueueMessageHandler {
+  /**
+   * Handles one message. A failed future, or an exception thrown here, schedules a retry; once the
+   * message has used up its attempts it is dead-lettered instead.
+   *
+   * @param delivery The message.
+   * @return A future completed once the message is handled and may be acknowledged.
+   */
+  Future<Void> handle(QueueDelivery delivery);
+}
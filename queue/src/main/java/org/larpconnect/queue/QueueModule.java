@@ -1,11 +1,146 @@
 package org.larpconnect.queue;
 
+import com.google.common.collect.ImmutableMap;
 import com.google.inject.AbstractModule;
+import com.google.inject.Provider;
+import com.google.inject.Singleton;
+import com.google.inject.multibindings.ProvidesIntoSet;
+import java.util.function.ToLongFunction;
+import org.larpconnect.common.Metric;
+import org.larpconnect.common.ShutdownParticipant;
+import org.larpconnect.common.ShutdownPhase;
+import org.larpconnect.events.VerticleDeployment;
+import org.larpconnect.events.VerticleProvider;
 
 /** Exposes bindings for queue/AMQP messaging integrations. */
 public final class QueueModule extends AbstractModule {
   @Override
   protected void configure() {
-    // Bindings for RabbitMQ connection factories, consumers, and producers
+    bind(QueueConfiguration.class).toProvider(QueueConfigurationProvider.class).in(Singleton.class);
+    // The publisher connects lazily, so the broker need not be up when the injector is created
+    bind(DefaultQueuePublisher.class).in(Singleton.class);
+    bind(QueuePublisher.class).to(DefaultQueuePublisher.class);
+    // Consumers are contributed as VerticleProviders built by QueueConsumers and share one monitor
+    bind(QueueConsumers.class).in(Singleton.class);
+    bind(DefaultQueueConsumerMonitor.class).in(Singleton.class);
+    bind(QueueConsumerMonitor.class).to(DefaultQueueConsumerMonitor.class);
+
+    bind(OutboxRelayConfiguration.class)
+        .toProvider(OutboxRelayConfigurationProvider.class)
+        .in(Singleton.class);
+    bind(OutboxRelays.class).in(Singleton.class);
+  }
+
+  @ProvidesIntoSet
+  VerticleProvider provideOutboxRelayVerticle(Provider<OutboxRelayVerticle> verticleProvider) {
+    // Relays skip each other's locked rows, so the instances drain the outbox in parallel.
+    return VerticleProvider.of(
+        VerticleDeployment.eventLoop("outbox_relay", 2), verticleProvider::get);
+  }
+
+  @ProvidesIntoSet
+  ShutdownParticipant provideConsumersStop(QueueConsumers consumers) {
+    return new ShutdownParticipant(
+        "queue-consumers", ShutdownPhase.STOP_CONSUMING, consumers::stopConsuming);
+  }
+
+  @ProvidesIntoSet
+  ShutdownParticipant provideOutboxRelayStop(OutboxRelays relays) {
+    // No batch is claimed or published once the publisher flushes and the data executor closes
+    return new ShutdownParticipant(
+        "outbox-relay", ShutdownPhase.STOP_CONSUMING, relays::stopRelaying);
+  }
+
+  @ProvidesIntoSet
+  ShutdownParticipant provideConsumersFlush(QueueConsumers consumers) {
+    return new ShutdownParticipant("queue-consumers", ShutdownPhase.FLUSH, consumers::flushAcks);
+  }
+
+  @ProvidesIntoSet
+  ShutdownParticipant provideConfirmsFlush(DefaultQueuePublisher publisher) {
+    // Retries and relayed outbox messages still in flight finish before the connection closes
+    return new ShutdownParticipant(
+        "queue-publisher", ShutdownPhase.FLUSH, publisher::awaitConfirmed);
+  }
+
+  @ProvidesIntoSet
+  ShutdownParticipant provideConnectionClose(DefaultQueuePublisher publisher) {
+    return new ShutdownParticipant(
+        "queue-publisher", ShutdownPhase.CLOSE, timeout -> publisher.close());
+  }
+
+  @ProvidesIntoSet
+  Metric provideDelivered(QueueConsumerMonitor monitor) {
+    return consumerCounter(
+        monitor,
+        "queue_delivered_total",
+        "Messages delivered by the broker.",
+        QueueConsumerStats::delivered);
+  }
+
+  @ProvidesIntoSet
+  Metric provideRedelivered(QueueConsumerMonitor monitor) {
+    return consumerCounter(
+        monitor,
+        "queue_redelivered_total",
+        "Deliveries of messages the broker had delivered before.",
+        QueueConsumerStats::redelivered);
+  }
+
+  @ProvidesIntoSet
+  Metric provideAcked(QueueConsumerMonitor monitor) {
+    return consumerCounter(
+        monitor, "queue_acked_total", "Messages acknowledged.", QueueConsumerStats::acked);
+  }
+
+  @ProvidesIntoSet
+  Metric provideRetried(QueueConsumerMonitor monitor) {
+    return consumerCounter(
+        monitor,
+        "queue_retried_total",
+        "Failed messages published back for another attempt.",
+        QueueConsumerStats::retried);
+  }
+
+  @ProvidesIntoSet
+  Metric provideDeadLettered(QueueConsumerMonitor monitor) {
+    return consumerCounter(
+        monitor,
+        "queue_dead_lettered_total",
+        "Messages parked in the dead-letter queue.",
+        QueueConsumerStats::deadLettered);
+  }
+
+  @ProvidesIntoSet
+  Metric provideRequeued(QueueConsumerMonitor monitor) {
+    return consumerCounter(
+        monitor,
+        "queue_requeued_total",
+        "Failed messages handed back to the broker.",
+        QueueConsumerStats::requeued);
+  }
+
+  @ProvidesIntoSet
+  Metric provideAckLatency(DefaultQueueConsumerMonitor monitor) {
+    return Metric.summaries(
+        "queue_ack_seconds",
+        "Time from delivery to acknowledgement.",
+        "queue",
+        monitor::ackLatencies);
+  }
+
+  private static Metric consumerCounter(
+      QueueConsumerMonitor monitor,
+      String name,
+      String help,
+      ToLongFunction<QueueConsumerStats> value) {
+    return Metric.counters(
+        name,
+        help,
+        "queue",
+        () ->
+            monitor.stats().stream()
+                .collect(
+                    ImmutableMap.toImmutableMap(QueueConsumerStats::queue, value::applyAsLong)));
   }
 }
@@ -0,0 +1,19 @@
+package org.larpconnect.queue;
+
+/**
+ * Signals that the broker did not take responsibility for a published message: it rejected the
+ * message, or the channel closed before the message was confirmed.
+ *
+ * <p>The message may or may not have been routed; callers that retry must tolerate duplicates.
+ */
+public final class QueuePublishException extends RuntimeException {
+  private static final long serialVersionUID = 1L;
+
+  QueuePublishException(String message) {
+    super(message);
+  }
+
+  QueuePublishException(String message, Throwable cause) {
+    super(message, cause);
+  }
+}
@@ -0,0 +1,39 @@
+package org.larpconnect.queue;
+
+import com.google.common.collect.ImmutableMap;
+import io.vertx.core.Future;
+import java.util.Map;
+
+/**
+ * Publishes messages to the broker without blocking the caller.
+ *
+ * <p>A publish only succeeds once the broker has confirmed it, i.e. taken responsibility for the
+ * message. Messages are persistent JSON; exchanges and their bindings must already exist.
+ */
+public interface QueuePublisher {
+  /**
+   * Publishes a message.
+   *
+   * @param exchange The exchange to publish to; empty for the default exchange.
+   * @param routingKey The routing key.
+   * @param body The JSON message body; it must not be modified afterwards.
+   * @return A future completed once the broker confirms the message, on the caller's context when
+   *     called from one, or failed with a {@link QueuePublishException} or a timeout.
+   */
+  default Future<Void> publish(String exchange, String routingKey, byte[] body) {
+    return publish(exchange, routingKey, ImmutableMap.of(), body);
+  }
+
+  /**
+   * Publishes a message with headers, such as those in {@link QueueHeaders}.
+   *
+   * @param exchange The exchange to publish to; empty for the default exchange.
+   * @param routingKey The routing key.
+   * @param headers The message headers.
+   * @param body The JSON message body; it must not be modified afterwards.
+   * @return A future completed once the broker confirms the message, on the caller's context when
+   *     called from one, or failed with a {@link QueuePublishException} or a timeout.
+   */
+  Future<Void> publish(
+      String exchange, String routingKey, Map<String, Object> headers, byte[] body);
+}
@@ -0,0 +1,74 @@
+package org.larpconnect.queue;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.function.Consumer;
+
+/**
+ * Bounds how many items of one tenant are dispatched at once, queueing the rest in arrival order.
+ *
+ * <p>The queues need no bound of their own: the broker never sends more than the prefetch. Confined
+ * to the consumer's context.
+ *
+ * @param <K> The tenant key.
+ * @param <T> The item type.
+ */
+final class TenantLimiter<K, T> {
+  private final int maxInFlight;
+  private final Consumer<T> dispatcher;
+  private final Map<K, Lane<T>> lanes = new HashMap<>();
+
+  TenantLimiter(int maxInFlight, Consumer<T> dispatcher) {
+    this.maxInFlight = maxInFlight;
+    this.dispatcher = dispatcher;
+  }
+
+  /** Dispatches an item now if its tenant has room, or once an earlier one is released. */
+  void submit(K tenant, T item) {
+    Lane<T> lane = lanes.computeIfAbsent(tenant, unused -> new Lane<>());
+    if (lane.inFlight < maxInFlight) {
+      lane.inFlight++;
+      dispatcher.accept(item);
+    } else {
+      lane.waiting.add(item);
+    }
+  }
+
+  /** Releases a dispatched item of a tenant, dispatching its next waiting item if any. */
+  void release(K tenant) {
+    Lane<T> lane = lanes.get(tenant);
+    if (lane == null) {
+      return;
+    }
+    T next = lane.waiting.poll();
+    if (next != null) {
+      dispatcher.accept(next);
+    } else if (--lane.inFlight == 0) {
+      lanes.remove(tenant);
+    }
+  }
+
+  /** Removes and returns every waiting item; the dispatched ones are still released as usual. */
+  List<T> drainWaiting() {
+    List<T> drained = new ArrayList<>();
+    for (Lane<T> lane : lanes.values()) {
+      drained.addAll(lane.waiting);
+      lane.waiting.clear();
+    }
+    return drained;
+  }
+
+  /** Returns how many items wait for their tenant to have room. */
+  int waiting() {
+    return lanes.values().stream().mapToInt(lane -> lane.waiting.size()).sum();
+  }
+
+  private static final class Lane<T> {
+    final Queue<T> waiting = new ArrayDeque<>();
+    int inFlight;
+  }
+}
@@ -0,0 +1,110 @@
+package org.larpconnect.queue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for {@link AckBatcher}. */
+public final class AckBatcherTest {
+  private final List<String> acks = new ArrayList<>();
+  private final List<Long> latencies = new ArrayList<>();
+  private long now;
+  private final AckBatcher batcher =
+      new AckBatcher(
+          3, (tag, multiple) -> acks.add(tag + (multiple ? "+" : "")), () -> now, latencies::add);
+
+  @Test
+  public void completed_fullContiguousBatch_sendsOneMultipleAck() {
+    receive(1, 2, 3);
+    now = 7;
+
+    batcher.completed(2);
+    batcher.completed(1);
+    assertThat(acks).isEmpty();
+    batcher.completed(3);
+
+    assertThat(acks).containsExactly("3+");
+    assertThat(latencies).containsExactly(7L, 7L, 7L);
+    assertThat(batcher.outstanding()).isZero();
+  }
+
+  @Test
+  public void completed_batchBehindSlowDelivery_acksOnlyTheRunBelowIt() {
+    receive(1, 2, 3, 4, 5);
+
+    batcher.completed(1);
+    batcher.completed(3);
+    batcher.completed(4);
+
+    assertThat(acks).containsExactly("1+");
+    assertThat(batcher.outstanding()).isEqualTo(4);
+  }
+
+  @Test
+  public void allCompleted_tracksDeliveriesStillBeingHandled() {
+    assertThat(batcher.allCompleted()).isTrue();
+    receive(1, 2);
+    batcher.completed(2);
+
+    assertThat(batcher.allCompleted()).isFalse();
+
+    batcher.settled(1);
+    assertThat(batcher.allCompleted()).isTrue();
+  }
+
+  @Test
+  public void flush_all_acksCompletedDeliveriesAboveSlowOneIndividually() {
+    receive(1, 2, 3, 4);
+    batcher.completed(1);
+    batcher.completed(3);
+
+    batcher.flush(true);
+
+    assertThat(acks).containsExactly("1+", "3");
+    assertThat(batcher.outstanding()).isEqualTo(2);
+
+    batcher.completed(2);
+    batcher.completed(4);
+    batcher.flush(false);
+    assertThat(acks).containsExactly("1+", "3", "4+");
+    assertThat(latencies).hasSize(4);
+  }
+
+  @Test
+  public void flush_nothingCompleted_sendsNothing() {
+    receive(1);
+
+    batcher.flush(true);
+
+    assertThat(acks).isEmpty();
+  }
+
+  @Test
+  public void settled_delivery_isSkippedByLaterMultipleAck() {
+    receive(1, 2, 3);
+    batcher.settled(2);
+
+    batcher.completed(1);
+    batcher.completed(3);
+    batcher.flush(false);
+
+    assertThat(acks).containsExactly("3+");
+    assertThat(latencies).hasSize(2);
+  }
+
+  @Test
+  public void completed_unknownDelivery_isIgnored() {
+    batcher.completed(9);
+    batcher.flush(true);
+
+    assertThat(acks).isEmpty();
+  }
+
+  private void receive(long... tags) {
+    for (long tag : tags) {
+      batcher.received(tag);
+    }
+  }
+}
@@ -0,0 +1,176 @@
+package org.larpconnect.queue;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.Connection;
+import com.rabbitmq.client.GetResponse;
+import io.vertx.core.Future;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.larpconnect.events.FutureAdapter;
+import org.larpconnect.test.EmbeddedAmqpBroker;
+
+/** Unit tests for {@link DefaultQueuePublisher} against an in-process AMQP broker. */
+public final class DefaultQueuePublisherTest {
+  private static final String QUEUE = "outbox";
+  private static final FutureAdapter FUTURE_ADAPTER =
+      new FutureAdapter() {
+        @Override
+        public <T> Future<T> adapt(CompletionStage<T> stage) {
+          return Future.fromCompletionStage(stage);
+        }
+      };
+
+  private static EmbeddedAmqpBroker broker;
+
+  private Connection connection;
+  private Channel inspector;
+  private DefaultQueuePublisher publisher;
+
+  @BeforeAll
+  public static void startBroker() {
+    broker = EmbeddedAmqpBroker.start();
+  }
+
+  @AfterAll
+  public static void stopBroker() {
+    broker.close();
+  }
+
+  @BeforeEach
+  public void setUp() throws IOException, TimeoutException {
+    QueueConfiguration configuration = configuration(broker.port());
+    connection = configuration.toConnectionFactory().newConnection();
+    inspector = connection.createChannel();
+    inspector.queueDeclare(QUEUE, true, false, false, null);
+    inspector.queuePurge(QUEUE);
+    publisher = new DefaultQueuePublisher(configuration, FUTURE_ADAPTER);
+  }
+
+  @AfterEach
+  public void tearDown() throws IOException {
+    publisher.close();
+    connection.close();
+  }
+
+  @Test
+  public void publish_toQueue_isConfirmedAndDeliveredAsPersistentJson() throws IOException {
+    await(publisher.publish("", QUEUE, "{\"type\":\"Create\"}".getBytes(UTF_8)));
+
+    GetResponse response = inspector.basicGet(QUEUE, true);
+    assertThat(new String(response.getBody(), UTF_8)).isEqualTo("{\"type\":\"Create\"}");
+    assertThat(response.getProps().getDeliveryMode()).isEqualTo(2);
+    assertThat(response.getProps().getContentType()).isEqualTo("application/json");
+  }
+
+  @Test
+  public void publish_withHeaders_carriesThemWithTheMessage() throws IOException {
+    await(publisher.publish("", QUEUE, Map.of(QueueHeaders.ATTEMPT, 2), new byte[0]));
+
+    GetResponse response = inspector.basicGet(QUEUE, true);
+    assertThat(response.getProps().getHeaders()).containsEntry(QueueHeaders.ATTEMPT, 2);
+    assertThat(response.getProps().getDeliveryMode()).isEqualTo(2);
+  }
+
+  @Test
+  public void publish_burst_confirmsEveryMessageAcrossChannels() throws IOException {
+    List<Future<Void>> published =
+        IntStream.range(0, 1_000)
+            .mapToObj(i -> publisher.publish("", QUEUE, ("{\"n\":" + i + "}").getBytes(UTF_8)))
+            .toList();
+
+    await(Future.all(published));
+
+    assertThat(inspector.messageCount(QUEUE)).isEqualTo(1_000);
+    assertThat(publisher.outstanding()).isZero();
+  }
+
+  @Test
+  public void awaitConfirmed_afterBurst_returnsOnceEveryMessageIsConfirmed() throws Exception {
+    assertThat(publisher.awaitConfirmed(Duration.ofSeconds(5))).isTrue();
+    IntStream.range(0, 200).forEach(i -> publisher.publish("", QUEUE, new byte[0]));
+
+    assertThat(publisher.awaitConfirmed(Duration.ofSeconds(5))).isTrue();
+    assertThat(publisher.outstanding()).isZero();
+  }
+
+  @Test
+  public void awaitConfirmed_pastTimeout_returnsFalse() throws Exception {
+    IntStream.range(0, 200).forEach(i -> publisher.publish("", QUEUE, new byte[0]));
+
+    assertThat(publisher.awaitConfirmed(Duration.ZERO)).isFalse();
+  }
+
+  @Test
+  public void publish_unknownExchange_failsThenRecoversOnNewChannel() {
+    assertThatThrownBy(() -> await(publisher.publish("missing", QUEUE, new byte[0])))
+        .cause()
+        .isInstanceOf(QueuePublishException.class);
+
+    // Every channel of the pool gets a publish, including the one the broker closed.
+    List<Future<Void>> retried =
+        IntStream.range(0, 8).mapToObj(i -> publisher.publish("", QUEUE, new byte[0])).toList();
+    await(Future.all(retried));
+  }
+
+  @Test
+  public void publish_brokerUnreachable_fails() {
+    DefaultQueuePublisher unreachable =
+        new DefaultQueuePublisher(configuration(freePortWithoutBroker()), FUTURE_ADAPTER);
+    try {
+      assertThatThrownBy(() -> await(unreachable.publish("", QUEUE, new byte[0])))
+          .cause()
+          .isInstanceOf(QueuePublishException.class);
+    } finally {
+      unreachable.close();
+    }
+  }
+
+  @Test
+  public void publish_afterClose_fails() {
+    await(publisher.publish("", QUEUE, new byte[0]));
+    publisher.close();
+
+    assertThatThrownBy(() -> await(publisher.publish("", QUEUE, new byte[0])))
+        .cause()
+        .isInstanceOf(QueuePublishException.class);
+  }
+
+  private static QueueConfiguration configuration(int port) {
+    return new QueueConfiguration(
+        broker.host(),
+        port,
+        "default",
+        EmbeddedAmqpBroker.USERNAME,
+        EmbeddedAmqpBroker.PASSWORD,
+        4,
+        64,
+        Duration.ofSeconds(5));
+  }
+
+  private static int freePortWithoutBroker() {
+    try (java.net.ServerSocket socket = new java.net.ServerSocket(0)) {
+      return socket.getLocalPort();
+    } catch (IOException e) {
+      throw new java.io.UncheckedIOException(e);
+    }
+  }
+
+  private static <T> T await(Future<T> future) {
+    return future.toCompletionStage().toCompletableFuture().orTimeout(10, SECONDS).join();
+  }
+}
@@ -0,0 +1,70 @@
+package org.larpconnect.queue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.larpconnect.common.MapEnvironment;
+
+/** Unit tests for {@link OutboxRelayConfigurationProvider}. */
+public final class OutboxRelayConfigurationProviderTest {
+  @Test
+  public void get_withDefaultEnvironment_returnsDefaultConfiguration() {
+    assertThat(new OutboxRelayConfigurationProvider(new MapEnvironment(Map.of())).get())
+        .isEqualTo(
+            new OutboxRelayConfiguration(
+                256, Duration.ofMillis(200), Duration.ofSeconds(10), 7, Duration.ofDays(2)));
+  }
+
+  @Test
+  public void get_withCustomEnvironment_returnsCustomConfiguration() {
+    MapEnvironment environment =
+        new MapEnvironment(
+            Map.of(
+                "OUTBOX_RELAY_BATCH_SIZE", "64",
+                "OUTBOX_RELAY_POLL_INTERVAL_MS", "50",
+                "OUTBOX_RELAY_PUBLISH_TIMEOUT_MS", "2500",
+                "OUTBOX_PARTITION_DAYS_AHEAD", "3",
+                "OUTBOX_PARTITION_RETENTION_HOURS", "12"));
+
+    assertThat(new OutboxRelayConfigurationProvider(environment).get())
+        .isEqualTo(
+            new OutboxRelayConfiguration(
+                64, Duration.ofMillis(50), Duration.ofMillis(2_500), 3, Duration.ofHours(12)));
+  }
+
+  @Test
+  public void get_withOutOfRangeValues_clamps() {
+    MapEnvironment environment =
+        new MapEnvironment(
+            Map.of(
+                "OUTBOX_RELAY_BATCH_SIZE", "0",
+                "OUTBOX_RELAY_POLL_INTERVAL_MS", "-1",
+                "OUTBOX_RELAY_PUBLISH_TIMEOUT_MS", "0",
+                "OUTBOX_PARTITION_DAYS_AHEAD", "-2",
+                "OUTBOX_PARTITION_RETENTION_HOURS", "-5"));
+
+    assertThat(new OutboxRelayConfigurationProvider(environment).get())
+        .isEqualTo(
+            new OutboxRelayConfiguration(
+                1, Duration.ofMillis(1), Duration.ofMillis(1), 0, Duration.ZERO));
+  }
+
+  @Test
+  public void constructor_invalidValues_throwsIllegalArgumentException() {
+    Duration second = Duration.ofSeconds(1);
+    assertThatThrownBy(() -> new OutboxRelayConfiguration(0, second, second, 1, second))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> new OutboxRelayConfiguration(1, Duration.ZERO, second, 1, second))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> new OutboxRelayConfiguration(1, second, Duration.ZERO, 1, second))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> new OutboxRelayConfiguration(1, second, second, -1, second))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(
+            () -> new OutboxRelayConfiguration(1, second, second, 1, Duration.ofSeconds(-1)))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
@@ -0,0 +1,377 @@
+package org.larpconnect.queue;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.Connection;
+import com.rabbitmq.client.GetResponse;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.larpconnect.common.ShutdownParticipant;
+import org.larpconnect.common.ShutdownPhase;
+import org.larpconnect.data.AsyncOutboxDao;
+import org.larpconnect.data.OutboxMessage;
+import org.larpconnect.data.OutboxSink;
+import org.larpconnect.events.FutureAdapter;
+import org.larpconnect.test.EmbeddedAmqpBroker;
+
+/** Unit tests for {@link OutboxRelayVerticle} against an in-process AMQP broker. */
+public final class OutboxRelayVerticleTest {
+  private static final String QUEUE = "studio-outbox";
+  private static final UUID TENANT = UUID.fromString("0190a6f2-3b4c-7d8e-9f00-112233445566");
+  private static final FutureAdapter FUTURE_ADAPTER =
+      new FutureAdapter() {
+        @Override
+        public <T> Future<T> adapt(CompletionStage<T> stage) {
+          // Completes on the caller's context, as the production adapter does
+          Context context = Vertx.currentContext();
+          return context == null
+              ? Future.fromCompletionStage(stage)
+              : Future.fromCompletionStage(stage, context);
+        }
+      };
+
+  private static EmbeddedAmqpBroker broker;
+
+  private final InMemoryOutbox outbox = new InMemoryOutbox();
+  private final OutboxRelays relays = new OutboxRelays();
+  private Vertx vertx;
+  private Connection connection;
+  private Channel inspector;
+  private DefaultQueuePublisher publisher;
+
+  @BeforeAll
+  public static void startBroker() {
+    broker = EmbeddedAmqpBroker.start();
+  }
+
+  @AfterAll
+  public static void stopBroker() {
+    broker.close();
+  }
+
+  @BeforeEach
+  public void setUp() throws IOException, TimeoutException {
+    vertx = Vertx.vertx();
+    QueueConfiguration configuration =
+        new QueueConfiguration(
+            broker.host(),
+            broker.port(),
+            "default",
+            EmbeddedAmqpBroker.USERNAME,
+            EmbeddedAmqpBroker.PASSWORD,
+            2,
+            64,
+            Duration.ofSeconds(5));
+    connection = configuration.toConnectionFactory().newConnection();
+    inspector = connection.createChannel();
+    inspector.queueDeclare(QUEUE, true, false, false, null);
+    inspector.queuePurge(QUEUE);
+    publisher = new DefaultQueuePublisher(configuration, FUTURE_ADAPTER);
+  }
+
+  @AfterEach
+  public void tearDown() throws IOException {
+    await(vertx.close());
+    outbox.close();
+    publisher.close();
+    connection.close();
+  }
+
+  @Test
+  public void start_pendingMessages_areRelayedWithTheirIdAndTenant() throws IOException {
+    List<OutboxMessage> messages = outbox.add(3);
+    deploy(publisher, configuration(16, Duration.ofMillis(20), Duration.ofSeconds(5)));
+
+    awaitCondition(() -> inspector.messageCount(QUEUE) == 3);
+
+    assertThat(outbox.size()).isZero();
+    Map<String, String> relayed = new HashMap<>();
+    for (int i = 0; i < messages.size(); i++) {
+      GetResponse response = inspector.basicGet(QUEUE, true);
+      Map<String, Object> headers = response.getProps().getHeaders();
+      assertThat(headers.get(QueueHeaders.TENANT_ID).toString()).isEqualTo(TENANT.toString());
+      relayed.put(
+          headers.get(QueueHeaders.MESSAGE_ID).toString(), new String(response.getBody(), UTF_8));
+    }
+    assertThat(relayed)
+        .isEqualTo(
+            messages.stream()
+                .collect(
+                    Collectors.toMap(message -> message.id().toString(), OutboxMessage::payload)));
+  }
+
+  @Test
+  public void relay_fullBatch_drainsAgainWithoutWaitingForThePoll() {
+    outbox.add(7);
+    deploy(publisher, configuration(2, Duration.ofMinutes(10), Duration.ofSeconds(5)));
+
+    awaitCondition(() -> inspector.messageCount(QUEUE) == 7);
+
+    assertThat(outbox.relays()).isEqualTo(4);
+  }
+
+  @Test
+  public void relay_idleOutbox_picksUpLaterMessagesOnThePoll() {
+    deploy(publisher, configuration(16, Duration.ofMillis(20), Duration.ofSeconds(5)));
+    awaitCondition(() -> outbox.relays() > 0);
+
+    outbox.add(2);
+
+    awaitCondition(() -> inspector.messageCount(QUEUE) == 2);
+  }
+
+  @Test
+  public void relay_publishFails_leavesTheBatchInTheOutbox() {
+    outbox.add(2);
+    QueuePublisher failing =
+        (exchange, routingKey, headers, body) ->
+            Future.failedFuture(new IllegalStateException("broker gone"));
+    deploy(failing, configuration(16, Duration.ofMillis(20), Duration.ofSeconds(5)));
+
+    awaitCondition(() -> outbox.failures() > 0);
+
+    assertThat(outbox.size()).isEqualTo(2);
+    assertThat(outbox.lastFailure()).isInstanceOf(QueuePublishException.class);
+  }
+
+  @Test
+  public void relay_confirmsTimeOut_leavesTheBatchInTheOutbox() {
+    outbox.add(1);
+    QueuePublisher silent =
+        (exchange, routingKey, headers, body) -> Promise.<Void>promise().future();
+    deploy(silent, configuration(16, Duration.ofMillis(20), Duration.ofMillis(50)));
+
+    awaitCondition(() -> outbox.failures() > 0);
+
+    assertThat(outbox.size()).isEqualTo(1);
+    assertThat(outbox.lastFailure())
+        .isInstanceOf(QueuePublishException.class)
+        .hasCauseInstanceOf(TimeoutException.class);
+  }
+
+  @Test
+  public void start_maintainsPartitionsAheadAndDropsExpiredOnes() {
+    Instant started = Instant.now();
+    deploy(publisher, configuration(16, Duration.ofMillis(20), Duration.ofSeconds(5)));
+
+    awaitCondition(() -> outbox.droppedBefore() != null);
+
+    assertThat(outbox.daysAhead()).isEqualTo(3);
+    assertThat(outbox.droppedBefore())
+        .isBetween(started.minus(Duration.ofHours(12)), Instant.now().minus(Duration.ofHours(12)));
+  }
+
+  @Test
+  public void stop_whenUndeployed_stopsRelaying() {
+    String deployment =
+        deploy(publisher, configuration(16, Duration.ofMillis(10), Duration.ofSeconds(5)));
+    awaitCondition(() -> outbox.relays() > 0);
+
+    await(vertx.undeploy(deployment));
+    sleep(Duration.ofMillis(50));
+    outbox.add(1);
+    sleep(Duration.ofMillis(100));
+
+    assertThat(outbox.size()).isEqualTo(1);
+  }
+
+  @Test
+  public void shutdown_midBatch_waitsForTheBatchAndStopsClaiming() {
+    outbox.add(1);
+    Promise<Void> confirm = Promise.promise();
+    QueuePublisher holding = (exchange, routingKey, headers, body) -> confirm.future();
+    deploy(holding, configuration(16, Duration.ofMillis(10), Duration.ofSeconds(5)));
+    awaitCondition(() -> outbox.relays() > 0);
+    ShutdownParticipant stop = new QueueModule().provideOutboxRelayStop(relays);
+    assertThat(stop.phase()).isEqualTo(ShutdownPhase.STOP_CONSUMING);
+
+    CompletableFuture<Void> stopped =
+        CompletableFuture.runAsync(
+            () -> {
+              try {
+                stop.action().run(Duration.ofSeconds(5));
+              } catch (Exception e) {
+                throw new IllegalStateException(e);
+              }
+            });
+    sleep(Duration.ofMillis(100));
+    assertThat(stopped).isNotDone();
+    confirm.complete();
+
+    // By the time FLUSH starts the batch has left the outbox and nothing is claimed any more
+    stopped.orTimeout(10, SECONDS).join();
+    assertThat(outbox.size()).isZero();
+    int relayed = outbox.relays();
+    outbox.add(1);
+    sleep(Duration.ofMillis(100));
+    assertThat(outbox.relays()).isEqualTo(relayed);
+    assertThat(outbox.size()).isEqualTo(1);
+  }
+
+  private String deploy(QueuePublisher queuePublisher, OutboxRelayConfiguration configuration) {
+    return await(
+        vertx.deployVerticle(
+            new OutboxRelayVerticle(
+                outbox, queuePublisher, FUTURE_ADAPTER, configuration, relays)));
+  }
+
+  private static OutboxRelayConfiguration configuration(
+      int batchSize, Duration pollInterval, Duration publishTimeout) {
+    return new OutboxRelayConfiguration(
+        batchSize, pollInterval, publishTimeout, 3, Duration.ofHours(12));
+  }
+
+  private static void awaitCondition(Condition condition) {
+    long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+    while (System.nanoTime() < deadline) {
+      try {
+        if (condition.test()) {
+          return;
+        }
+      } catch (IOException e) {
+        throw new AssertionError(e);
+      }
+      sleep(Duration.ofMillis(10));
+    }
+    throw new AssertionError("Condition never held");
+  }
+
+  private static void sleep(Duration duration) {
+    try {
+      Thread.sleep(duration.toMillis());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new AssertionError(e);
+    }
+  }
+
+  private static <T> T await(Future<T> future) {
+    return future.toCompletionStage().toCompletableFuture().orTimeout(10, SECONDS).join();
+  }
+
+  @FunctionalInterface
+  private interface Condition {
+    boolean test() throws IOException;
+  }
+
+  /** Claims like the database: a failed sink puts the batch back. */
+  private static final class InMemoryOutbox implements AsyncOutboxDao {
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final Deque<OutboxMessage> rows = new ArrayDeque<>();
+    private final AtomicInteger relays = new AtomicInteger();
+    private final AtomicInteger failures = new AtomicInteger();
+    private final AtomicReference<RuntimeException> lastFailure = new AtomicReference<>();
+    private final AtomicInteger daysAhead = new AtomicInteger(-1);
+    private final AtomicReference<Instant> droppedBefore = new AtomicReference<>();
+
+    synchronized List<OutboxMessage> add(int count) {
+      List<OutboxMessage> added =
+          IntStream.range(0, count)
+              .mapToObj(i -> OutboxMessage.create(TENANT, "", QUEUE, "{\"n\":" + i + "}"))
+              .toList();
+      rows.addAll(added);
+      return added;
+    }
+
+    synchronized int size() {
+      return rows.size();
+    }
+
+    int relays() {
+      return relays.get();
+    }
+
+    int failures() {
+      return failures.get();
+    }
+
+    RuntimeException lastFailure() {
+      return lastFailure.get();
+    }
+
+    int daysAhead() {
+      return daysAhead.get();
+    }
+
+    Instant droppedBefore() {
+      return droppedBefore.get();
+    }
+
+    void close() {
+      executor.shutdownNow();
+    }
+
+    @Override
+    public CompletionStage<Void> append(Collection<OutboxMessage> messages) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public CompletionStage<Integer> relay(int limit, OutboxSink sink) {
+      return CompletableFuture.supplyAsync(() -> claim(limit, sink), executor);
+    }
+
+    private synchronized int claim(int limit, OutboxSink sink) {
+      relays.incrementAndGet();
+      List<OutboxMessage> batch = new ArrayList<>();
+      while (batch.size() < limit && !rows.isEmpty()) {
+        batch.add(rows.removeFirst());
+      }
+      try {
+        if (!batch.isEmpty()) {
+          sink.deliver(batch);
+        }
+      } catch (RuntimeException e) {
+        for (int i = batch.size() - 1; i >= 0; i--) {
+          rows.addFirst(batch.get(i));
+        }
+        lastFailure.set(e);
+        failures.incrementAndGet();
+        throw e;
+      }
+      return batch.size();
+    }
+
+    @Override
+    public CompletionStage<Integer> createPartitions(int days) {
+      daysAhead.set(days);
+      return CompletableFuture.completedFuture(0);
+    }
+
+    @Override
+    public CompletionStage<Integer> dropPartitions(Instant before) {
+      droppedBefore.set(before);
+      return CompletableFuture.completedFuture(0);
+    }
+  }
+}
@@ -0,0 +1,179 @@
+package org.larpconnect.queue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.rabbitmq.client.AMQP;
+import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.ConfirmCallback;
+import com.rabbitmq.client.ShutdownListener;
+import com.rabbitmq.client.ShutdownSignalException;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+/** Unit tests for {@link PooledChannel} confirm handling. */
+public final class PooledChannelTest {
+  private static final AMQP.BasicProperties PROPERTIES = new AMQP.BasicProperties();
+
+  private final Channel channel = mock(Channel.class);
+  private final List<Runnable> tasks = new ArrayList<>();
+  private final Executor executor = tasks::add;
+  private final AtomicLong sequence = new AtomicLong(1);
+  private PooledChannel pooled;
+
+  @BeforeEach
+  public void setUp() {
+    when(channel.isOpen()).thenReturn(true);
+    when(channel.getNextPublishSeqNo()).thenAnswer(invocation -> sequence.getAndIncrement());
+    pooled = new PooledChannel(() -> channel, executor, 2);
+  }
+
+  @Test
+  public void enqueue_burst_drainsInBatchesOnOneTaskAtATime() {
+    List<CompletableFuture<Void>> confirmed = enqueue(3);
+
+    assertThat(tasks).hasSize(1);
+    runTasks();
+
+    // Two messages per pass, so the third was published by a follow-up task.
+    assertThat(sequence.get()).isEqualTo(4);
+    assertThat(pooled.outstanding()).isEqualTo(3);
+    assertThat(confirmed).noneMatch(CompletableFuture::isDone);
+  }
+
+  @Test
+  public void ack_multiple_confirmsEverythingUpToTag() throws IOException {
+    List<CompletableFuture<Void>> confirmed = enqueue(3);
+    runTasks();
+
+    confirmCallbacks().ack().handle(2, true);
+
+    assertThat(confirmed.get(0)).isCompleted();
+    assertThat(confirmed.get(1)).isCompleted();
+    assertThat(confirmed.get(2)).isNotDone();
+    assertThat(pooled.outstanding()).isEqualTo(1);
+  }
+
+  @Test
+  public void nack_single_failsOnlyThatMessage() throws IOException {
+    List<CompletableFuture<Void>> confirmed = enqueue(2);
+    runTasks();
+
+    confirmCallbacks().nack().handle(1, false);
+
+    assertThat(confirmed.get(0))
+        .failsWithin(Duration.ZERO)
+        .withThrowableOfType(java.util.concurrent.ExecutionException.class)
+        .withCauseInstanceOf(QueuePublishException.class);
+    assertThat(confirmed.get(1)).isNotDone();
+  }
+
+  @Test
+  public void timeout_forgetsUnconfirmedMessage() throws IOException {
+    List<CompletableFuture<Void>> confirmed = enqueue(2);
+    runTasks();
+
+    confirmed.get(0).completeExceptionally(new TimeoutException());
+
+    assertThat(pooled.outstanding()).isEqualTo(1);
+    confirmCallbacks().ack().handle(2, true);
+    assertThat(confirmed.get(1)).isCompleted();
+    assertThat(pooled.outstanding()).isZero();
+  }
+
+  @Test
+  public void timeout_beforeDrain_neverPublishesMessage() throws IOException {
+    List<CompletableFuture<Void>> confirmed = enqueue(2);
+    confirmed.get(0).completeExceptionally(new TimeoutException());
+
+    runTasks();
+
+    // Only the second message reached the channel, under the first sequence number.
+    org.mockito.Mockito.verify(channel)
+        .basicPublish(anyString(), anyString(), any(AMQP.BasicProperties.class), any(byte[].class));
+    assertThat(sequence.get()).isEqualTo(2);
+    assertThat(pooled.outstanding()).isEqualTo(1);
+    confirmCallbacks().ack().handle(1, false);
+    assertThat(confirmed.get(1)).isCompleted();
+  }
+
+  @Test
+  public void shutdown_failsUnconfirmedMessages() {
+    List<CompletableFuture<Void>> confirmed = enqueue(2);
+    runTasks();
+    ArgumentCaptor<ShutdownListener> listener = ArgumentCaptor.forClass(ShutdownListener.class);
+    org.mockito.Mockito.verify(channel).addShutdownListener(listener.capture());
+
+    listener.getValue().shutdownCompleted(mock(ShutdownSignalException.class));
+
+    assertThat(confirmed).allMatch(CompletableFuture::isCompletedExceptionally);
+    assertThat(pooled.outstanding()).isZero();
+  }
+
+  @Test
+  public void publish_ioFailure_failsMessage() throws IOException {
+    doThrow(new IOException("broken pipe"))
+        .when(channel)
+        .basicPublish(anyString(), anyString(), any(AMQP.BasicProperties.class), any(byte[].class));
+
+    List<CompletableFuture<Void>> confirmed = enqueue(1);
+    runTasks();
+
+    assertThat(confirmed.get(0)).isCompletedExceptionally();
+  }
+
+  @Test
+  public void enqueue_executorRejects_failsMessage() {
+    PooledChannel rejecting =
+        new PooledChannel(
+            () -> channel,
+            task -> {
+              throw new java.util.concurrent.RejectedExecutionException("shut down");
+            },
+            2);
+    CompletableFuture<Void> confirmed = new CompletableFuture<>();
+
+    rejecting.enqueue(new PendingPublish("", "outbox", PROPERTIES, new byte[0], confirmed));
+
+    assertThat(confirmed).isCompletedExceptionally();
+    assertThat(rejecting.outstanding()).isZero();
+  }
+
+  private List<CompletableFuture<Void>> enqueue(int count) {
+    List<CompletableFuture<Void>> confirmed = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      CompletableFuture<Void> future = new CompletableFuture<>();
+      confirmed.add(future);
+      pooled.enqueue(new PendingPublish("", "outbox", PROPERTIES, new byte[0], future));
+    }
+    return confirmed;
+  }
+
+  private void runTasks() {
+    while (!tasks.isEmpty()) {
+      tasks.remove(0).run();
+    }
+  }
+
+  private Callbacks confirmCallbacks() {
+    ArgumentCaptor<ConfirmCallback> ack = ArgumentCaptor.forClass(ConfirmCallback.class);
+    ArgumentCaptor<ConfirmCallback> nack = ArgumentCaptor.forClass(ConfirmCallback.class);
+    org.mockito.Mockito.verify(channel).addConfirmListener(ack.capture(), nack.capture());
+    return new Callbacks(ack.getValue(), nack.getValue());
+  }
+
+  private record Callbacks(ConfirmCallback ack, ConfirmCallback nack) {}
+}
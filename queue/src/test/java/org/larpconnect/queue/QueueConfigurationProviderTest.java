@@ -0,0 +1,105 @@
+package org.larpconnect.queue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.rabbitmq.client.ConnectionFactory;
+import java.time.Duration;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.larpconnect.common.MapEnvironment;
+
+/** Unit tests for {@link QueueConfigurationProvider}. */
+public final class QueueConfigurationProviderTest {
+  @Test
+  public void get_withDefaultEnvironment_returnsDefaultConfiguration() {
+    assertThat(new QueueConfigurationProvider(new MapEnvironment(Map.of())).get())
+        .isEqualTo(
+            new QueueConfiguration(
+                "localhost", 5_672, "/", "guest", "guest", 4, 128, Duration.ofSeconds(5)));
+  }
+
+  @Test
+  public void get_withCustomEnvironment_returnsCustomConfiguration() {
+    MapEnvironment environment =
+        new MapEnvironment(
+            Map.of(
+                "AMQP_HOST", "rabbit",
+                "AMQP_PORT", "5673",
+                "AMQP_VIRTUAL_HOST", "larpconnect",
+                "AMQP_USERNAME", "njall",
+                "AMQP_PASSWORD", "secret",
+                "AMQP_PUBLISHER_CHANNELS", "8",
+                "AMQP_PUBLISH_BATCH_SIZE", "32",
+                "AMQP_CONFIRM_TIMEOUT_MS", "750"));
+
+    assertThat(new QueueConfigurationProvider(environment).get())
+        .isEqualTo(
+            new QueueConfiguration(
+                "rabbit", 5_673, "larpconnect", "njall", "secret", 8, 32, Duration.ofMillis(750)));
+  }
+
+  @Test
+  public void get_withOutOfRangeValues_clampsOrFallsBack() {
+    MapEnvironment environment =
+        new MapEnvironment(
+            Map.of(
+                "AMQP_PORT", "0",
+                "AMQP_PUBLISHER_CHANNELS", "0",
+                "AMQP_PUBLISH_BATCH_SIZE", "-3",
+                "AMQP_CONFIRM_TIMEOUT_MS", "0"));
+
+    QueueConfiguration configuration = new QueueConfigurationProvider(environment).get();
+
+    assertThat(configuration.port()).isEqualTo(5_672);
+    assertThat(configuration.channels()).isEqualTo(1);
+    assertThat(configuration.publishBatchSize()).isEqualTo(1);
+    assertThat(configuration.confirmTimeout()).isEqualTo(Duration.ofMillis(1));
+  }
+
+  @Test
+  public void get_withPortAboveRange_fallsBackToDefault() {
+    assertThat(
+            new QueueConfigurationProvider(new MapEnvironment(Map.of("AMQP_PORT", "70000")))
+                .get()
+                .port())
+        .isEqualTo(5_672);
+  }
+
+  @Test
+  public void toConnectionFactory_appliesSettings() {
+    ConnectionFactory factory =
+        new QueueConfiguration(
+                "rabbit", 5_673, "vh", "njall", "secret", 2, 8, Duration.ofSeconds(1))
+            .toConnectionFactory();
+
+    assertThat(factory.getHost()).isEqualTo("rabbit");
+    assertThat(factory.getPort()).isEqualTo(5_673);
+    assertThat(factory.getVirtualHost()).isEqualTo("vh");
+    assertThat(factory.getUsername()).isEqualTo("njall");
+    assertThat(factory.getPassword()).isEqualTo("secret");
+    assertThat(factory.isAutomaticRecoveryEnabled()).isFalse();
+  }
+
+  @Test
+  public void toString_redactsPassword() {
+    assertThat(
+            new QueueConfiguration("rabbit", 5_673, "vh", "njall", "secret", 2, 8, Duration.ZERO)
+                .toString())
+        .contains("njall")
+        .doesNotContain("secret");
+  }
+
+  @Test
+  public void constructor_invalidValues_throwsIllegalArgumentException() {
+    assertThatThrownBy(() -> new QueueConfiguration("h", 0, "/", "u", "p", 1, 1, Duration.ZERO))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(
+            () -> new QueueConfiguration("h", 65_536, "/", "u", "p", 1, 1, Duration.ZERO))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> new QueueConfiguration("h", 1, "/", "u", "p", 0, 1, Duration.ZERO))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> new QueueConfiguration("h", 1, "/", "u", "p", 1, 0, Duration.ZERO))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
@@ -0,0 +1,105 @@
+package org.larpconnect.queue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.larpconnect.common.MapEnvironment;
+
+/** Unit tests for {@link QueueConsumerDefinition}. */
+public final class QueueConsumerDefinitionTest {
+  @Test
+  public void of_queue_usesDefaults() {
+    QueueConsumerDefinition definition = QueueConsumerDefinition.of("studio.events");
+
+    assertThat(definition.prefetch()).isEqualTo(64);
+    assertThat(definition.maxInFlightPerTenant()).isEqualTo(8);
+    assertThat(definition.deadLetterQueue()).isEqualTo("studio.events.dead");
+    assertThat(definition.deployment().name()).isEqualTo("queue_studio_events");
+    assertThat(definition.deployment().instances()).isEqualTo(1);
+  }
+
+  @Test
+  public void retryDelay_doublesPerFailureUpToTheCap() {
+    QueueConsumerDefinition definition = QueueConsumerDefinition.of("outbox");
+
+    assertThat(definition.retryDelay(1)).isEqualTo(Duration.ofSeconds(1));
+    assertThat(definition.retryDelay(3)).isEqualTo(Duration.ofSeconds(4));
+    assertThat(definition.retryDelay(7)).isEqualTo(QueueConsumerDefinition.MAX_RETRY_DELAY);
+    assertThat(definition.retryDelay(1_000)).isEqualTo(QueueConsumerDefinition.MAX_RETRY_DELAY);
+  }
+
+  @Test
+  public void withOverrides_validValues_replaceSettings() {
+    QueueConsumerDefinition definition =
+        QueueConsumerDefinition.of("studio-events")
+            .withOverrides(
+                new MapEnvironment(
+                    Map.of(
+                        "QUEUE_STUDIO_EVENTS_PREFETCH", "10",
+                        "QUEUE_STUDIO_EVENTS_MAX_IN_FLIGHT_PER_TENANT", "1",
+                        "QUEUE_STUDIO_EVENTS_ACK_BATCH_SIZE", "5",
+                        "QUEUE_STUDIO_EVENTS_MAX_ATTEMPTS", "2",
+                        "QUEUE_STUDIO_EVENTS_RETRY_BACKOFF_MS", "0")));
+
+    assertThat(definition)
+        .isEqualTo(
+            new QueueConsumerDefinition(
+                "studio-events", 10, 1, 5, Duration.ofMillis(50), 2, Duration.ZERO));
+  }
+
+  @Test
+  public void withOverrides_invalidValues_keepSettings() {
+    QueueConsumerDefinition declared = QueueConsumerDefinition.of("outbox");
+
+    QueueConsumerDefinition definition =
+        declared.withOverrides(
+            new MapEnvironment(
+                Map.of(
+                    "QUEUE_OUTBOX_PREFETCH", "70000",
+                    "QUEUE_OUTBOX_MAX_IN_FLIGHT_PER_TENANT", "0",
+                    "QUEUE_OUTBOX_ACK_BATCH_SIZE", "-1",
+                    "QUEUE_OUTBOX_MAX_ATTEMPTS", "many",
+                    "QUEUE_OUTBOX_RETRY_BACKOFF_MS", "-5")));
+
+    assertThat(definition).isEqualTo(declared);
+  }
+
+  @Test
+  public void constructor_invalidSettings_throw() {
+    assertThatThrownBy(() -> QueueConsumerDefinition.of("Outbox"))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> QueueConsumerDefinition.of(""))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(
+            () ->
+                new QueueConsumerDefinition(
+                    "outbox", 0, 1, 1, Duration.ofMillis(1), 1, Duration.ZERO))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(
+            () ->
+                new QueueConsumerDefinition(
+                    "outbox", 1, 0, 1, Duration.ofMillis(1), 1, Duration.ZERO))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(
+            () ->
+                new QueueConsumerDefinition(
+                    "outbox", 1, 1, 0, Duration.ofMillis(1), 1, Duration.ZERO))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(
+            () -> new QueueConsumerDefinition("outbox", 1, 1, 1, Duration.ZERO, 1, Duration.ZERO))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(
+            () ->
+                new QueueConsumerDefinition(
+                    "outbox", 1, 1, 1, Duration.ofMillis(1), 0, Duration.ZERO))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(
+            () ->
+                new QueueConsumerDefinition(
+                    "outbox", 1, 1, 1, Duration.ofMillis(1), 1, Duration.ofMillis(-1)))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
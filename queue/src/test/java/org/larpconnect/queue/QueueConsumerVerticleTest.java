@@ -0,0 +1,497 @@
+package org.larpconnect.queue;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.Connection;
+import com.rabbitmq.client.GetResponse;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.larpconnect.events.FutureAdapter;
+import org.larpconnect.test.EmbeddedAmqpBroker;
+
+/** Unit tests for {@link QueueConsumerVerticle} against an in-process AMQP broker. */
+public final class QueueConsumerVerticleTest {
+  private static final String QUEUE = "studio-events";
+  private static final UUID TENANT_A = UUID.fromString("0190a6f2-3b4c-7d8e-9f00-112233445566");
+  private static final UUID TENANT_B = UUID.fromString("0190a6f2-3b4c-7d8e-9f00-665544332211");
+  private static final FutureAdapter FUTURE_ADAPTER =
+      new FutureAdapter() {
+        @Override
+        public <T> Future<T> adapt(CompletionStage<T> stage) {
+          return Future.fromCompletionStage(stage);
+        }
+      };
+
+  private static EmbeddedAmqpBroker broker;
+
+  private final DefaultQueueConsumerMonitor monitor = new DefaultQueueConsumerMonitor();
+  private final Set<QueueConsumerVerticle> running = ConcurrentHashMap.newKeySet();
+  private Vertx vertx;
+  private QueueConfiguration configuration;
+  private Connection connection;
+  private Channel inspector;
+  private DefaultQueuePublisher publisher;
+  private RecordingConnectionFactory connections;
+
+  @BeforeAll
+  public static void startBroker() {
+    broker = EmbeddedAmqpBroker.start();
+  }
+
+  @AfterAll
+  public static void stopBroker() {
+    broker.close();
+  }
+
+  @BeforeEach
+  public void setUp() throws IOException, TimeoutException {
+    vertx = Vertx.vertx();
+    configuration = configuration(broker.port());
+    connection = configuration.toConnectionFactory().newConnection();
+    inspector = connection.createChannel();
+    for (String queue : List.of(QUEUE, QUEUE + ".dead")) {
+      inspector.queueDeclare(queue, true, false, false, null);
+      inspector.queuePurge(queue);
+    }
+    publisher = new DefaultQueuePublisher(configuration, FUTURE_ADAPTER);
+    connections = new RecordingConnectionFactory(configuration);
+  }
+
+  @AfterEach
+  public void tearDown() throws IOException {
+    await(vertx.close());
+    publisher.close();
+    connection.close();
+  }
+
+  @Test
+  public void consume_handledMessages_areAcknowledged() throws IOException {
+    deploy(definition(8, 3), delivery -> Future.succeededFuture());
+
+    publish(TENANT_A, 20);
+
+    QueueConsumerStats stats = awaitStats(current -> current.acked() == 20);
+    assertThat(stats.delivered()).isEqualTo(20);
+    assertThat(stats.redelivered()).isZero();
+    assertThat(stats.maxAckLatencyNanos()).isPositive();
+    await(vertx.close());
+    assertThat(inspector.messageCount(QUEUE)).isZero();
+  }
+
+  @Test
+  public void consume_busyTenant_doesNotExceedItsInFlightLimit() {
+    Map<UUID, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+    Map<UUID, AtomicInteger> peaks = new ConcurrentHashMap<>();
+    deploy(
+        definition(2, 1),
+        delivery -> {
+          UUID tenant = delivery.tenantId().orElseThrow();
+          int current =
+              inFlight.computeIfAbsent(tenant, t -> new AtomicInteger()).incrementAndGet();
+          peaks
+              .computeIfAbsent(tenant, t -> new AtomicInteger())
+              .accumulateAndGet(current, Math::max);
+          Promise<Void> handled = Promise.promise();
+          vertx.setTimer(
+              5,
+              id -> {
+                inFlight.get(tenant).decrementAndGet();
+                handled.complete();
+              });
+          return handled.future();
+        });
+
+    publish(TENANT_A, 6);
+    publish(TENANT_B, 6);
+
+    awaitStats(current -> current.acked() == 12);
+    assertThat(peaks.get(TENANT_A)).hasValue(2);
+    assertThat(peaks.get(TENANT_B)).hasValue(2);
+  }
+
+  @Test
+  public void consume_failedOnce_isRetriedWithTheNextAttempt() {
+    List<Integer> attempts = new CopyOnWriteArrayList<>();
+    deploy(
+        definition(8, 3),
+        delivery -> {
+          attempts.add(delivery.attempt());
+          return delivery.attempt() == 1
+              ? Future.failedFuture(new IllegalStateException("not yet"))
+              : Future.succeededFuture();
+        });
+
+    publish(TENANT_A, 1);
+
+    QueueConsumerStats stats = awaitStats(current -> current.acked() == 2);
+    assertThat(attempts).containsExactly(1, 2);
+    assertThat(stats.retried()).isEqualTo(1);
+    assertThat(stats.deadLettered()).isZero();
+  }
+
+  @Test
+  public void consume_alwaysThrowing_isDeadLetteredAfterLastAttempt() throws IOException {
+    deploy(
+        definition(8, 2),
+        delivery -> {
+          throw new IllegalStateException("boom" + "!".repeat(2_000));
+        });
+
+    publish(TENANT_A, 1);
+
+    QueueConsumerStats stats = awaitStats(current -> current.deadLettered() == 1);
+    assertThat(stats.retried()).isEqualTo(1);
+    GetResponse parked = inspector.basicGet(QUEUE + ".dead", true);
+    assertThat(parked).isNotNull();
+    assertThat(parked.getProps().getHeaders())
+        .containsEntry(QueueHeaders.ATTEMPT, 2)
+        .containsKey(QueueHeaders.TENANT_ID);
+    assertThat(parked.getProps().getHeaders().get(QueueHeaders.LAST_ERROR).toString())
+        .contains("boom")
+        .hasSize(1_024);
+    assertThat(new String(parked.getBody(), UTF_8)).isEqualTo("{\"n\":0}");
+  }
+
+  @Test
+  public void consume_republishFails_requeuesForRedelivery() {
+    QueuePublisher failing =
+        (exchange, routingKey, headers, body) ->
+            Future.failedFuture(new IllegalStateException("broker gone"));
+    deploy(
+        definition(8, 1),
+        failing,
+        delivery -> Future.failedFuture(new IllegalStateException("boom")));
+
+    publish(TENANT_A, 1);
+
+    QueueConsumerStats stats =
+        awaitStats(current -> current.requeued() >= 2 && current.redelivered() >= 1);
+    assertThat(stats.deadLettered()).isZero();
+  }
+
+  @Test
+  public void consume_withoutTenantHeader_isHandledWithoutTenant() {
+    List<Boolean> tenantPresent = new CopyOnWriteArrayList<>();
+    deploy(
+        definition(8, 1),
+        delivery -> {
+          tenantPresent.add(delivery.tenantId().isPresent());
+          return Future.succeededFuture();
+        });
+
+    await(publisher.publish("", QUEUE, Map.of(QueueHeaders.TENANT_ID, "not-a-uuid"), new byte[0]));
+    await(publisher.publish("", QUEUE, new byte[0]));
+
+    awaitStats(current -> current.acked() == 2);
+    assertThat(tenantPresent).containsExactly(false, false);
+  }
+
+  @Test
+  public void stopConsuming_handsBackWaitingAndWaitsForHandledDeliveries() throws IOException {
+    List<Promise<Void>> held = new CopyOnWriteArrayList<>();
+    deploy(
+        definition(2, 1),
+        delivery -> {
+          Promise<Void> handled = Promise.promise();
+          held.add(handled);
+          return handled.future();
+        });
+    publish(TENANT_A, 6);
+    awaitStats(current -> current.delivered() == 6);
+    QueueConsumerVerticle verticle = running.iterator().next();
+
+    Future<Void> stopped = verticle.stopConsuming();
+
+    awaitStats(current -> current.requeued() >= 4);
+    assertThat(stopped.isComplete()).isFalse();
+    held.forEach(Promise::complete);
+    await(stopped);
+    await(verticle.stopConsuming());
+    await(verticle.flushAcks());
+    assertThat(monitor.stats().get(0).acked()).isEqualTo(2);
+    assertThat(held).hasSize(2);
+    // Handed back, and no longer consumed by the cancelled consumer
+    await(vertx.close());
+    assertThat(inspector.messageCount(QUEUE)).isEqualTo(4);
+  }
+
+  @Test
+  public void stopConsuming_failedWhileStopping_isHandedBackWithoutRetryDelay() throws IOException {
+    Promise<Void> held = Promise.promise();
+    deploy(definition(8, 3), delivery -> held.future());
+    publish(TENANT_A, 1);
+    awaitStats(current -> current.delivered() == 1);
+    QueueConsumerVerticle verticle = running.iterator().next();
+
+    Future<Void> stopped = verticle.stopConsuming();
+    held.fail(new IllegalStateException("Simulated handler error"));
+
+    await(stopped);
+    assertThat(monitor.stats().get(0).retried()).isZero();
+    assertThat(monitor.stats().get(0).requeued()).isEqualTo(1);
+    await(vertx.close());
+    assertThat(inspector.messageCount(QUEUE)).isEqualTo(1);
+  }
+
+  @Test
+  public void consume_connectionClosedByBroker_reconnectsAndResumes() throws Exception {
+    deploy(definition(8, 3), delivery -> Future.succeededFuture());
+    publish(TENANT_A, 5);
+    awaitStats(current -> current.acked() == 5);
+
+    closeConnectionsOnBroker();
+    for (int i = 0; i < 5; i++) {
+      inspector.basicPublish("", QUEUE, null, ("{\"n\":" + i + "}").getBytes(UTF_8));
+    }
+
+    QueueConsumerStats stats = awaitStats(current -> current.acked() == 10);
+    assertThat(stats.delivered()).isEqualTo(10);
+    assertThat(connections.opened).hasSize(2);
+  }
+
+  @Test
+  public void consume_reconnectRefused_retriesAfterBackoff() throws Exception {
+    deploy(definition(8, 3), delivery -> Future.succeededFuture());
+    connections.refusals.set(2);
+
+    closeConnectionsOnBroker();
+    inspector.basicPublish("", QUEUE, null, "{}".getBytes(UTF_8));
+
+    awaitStats(current -> current.acked() == 1);
+    assertThat(connections.refusals).hasValue(0);
+    assertThat(connections.opened).hasSize(2);
+  }
+
+  @Test
+  public void consume_handledAcrossReconnect_isSettledOnlyOnceRedelivered() throws Exception {
+    List<Promise<Void>> held = new CopyOnWriteArrayList<>();
+    deploy(
+        definition(8, 3),
+        delivery -> {
+          Promise<Void> handled = Promise.promise();
+          held.add(handled);
+          return handled.future();
+        });
+    publish(TENANT_A, 1);
+    awaitStats(current -> current.delivered() == 1);
+
+    closeConnectionsOnBroker();
+    // The broker redelivers what the lost channel left unacknowledged
+    awaitStats(current -> current.redelivered() == 1);
+    held.get(0).fail(new IllegalStateException("Simulated handler error"));
+    held.get(1).complete();
+
+    QueueConsumerStats stats = awaitStats(current -> current.acked() == 1);
+    assertThat(stats.retried()).isZero();
+    await(vertx.close());
+    assertThat(inspector.messageCount(QUEUE)).isZero();
+  }
+
+  @Test
+  public void consume_retryPendingAcrossReconnect_isLeftToRedelivery() throws Exception {
+    List<Integer> attempts = new CopyOnWriteArrayList<>();
+    deploy(
+        new QueueConsumerDefinition(
+            QUEUE, 16, 8, 4, Duration.ofMillis(10), 3, Duration.ofMillis(200)),
+        delivery -> {
+          attempts.add(delivery.attempt());
+          return attempts.size() == 1
+              ? Future.failedFuture(new IllegalStateException("not yet"))
+              : Future.succeededFuture();
+        });
+    publish(TENANT_A, 1);
+    awaitStats(current -> current.delivered() == 1);
+
+    closeConnectionsOnBroker();
+
+    QueueConsumerStats stats = awaitStats(current -> current.acked() == 1);
+    Thread.sleep(300);
+    assertThat(attempts).containsExactly(1, 1);
+    assertThat(monitor.stats().get(0).retried()).isZero();
+    assertThat(stats.redelivered()).isEqualTo(1);
+  }
+
+  @Test
+  public void consume_republishedAcrossReconnect_isLeftToRedelivery() throws Exception {
+    Promise<Void> republishing = Promise.promise();
+    List<Integer> attempts = new CopyOnWriteArrayList<>();
+    deploy(
+        definition(8, 3),
+        (exchange, routingKey, headers, body) -> republishing.future(),
+        delivery -> {
+          attempts.add(delivery.attempt());
+          return attempts.size() == 1
+              ? Future.failedFuture(new IllegalStateException("not yet"))
+              : Future.succeededFuture();
+        });
+    publish(TENANT_A, 1);
+    awaitStats(current -> current.delivered() == 1);
+
+    closeConnectionsOnBroker();
+    awaitStats(current -> current.acked() == 1);
+    republishing.complete();
+
+    await(vertx.close());
+    assertThat(monitor.stats().get(0).retried()).isZero();
+    assertThat(attempts).containsExactly(1, 1);
+  }
+
+  @Test
+  public void stopConsuming_whileReconnecting_doesNotReconnect() throws Exception {
+    deploy(definition(8, 1), delivery -> Future.succeededFuture());
+    QueueConsumerVerticle verticle = running.iterator().next();
+    connections.refusals.set(Integer.MAX_VALUE);
+
+    closeConnectionsOnBroker();
+    await(verticle.stopConsuming());
+    connections.refusals.set(0);
+    Thread.sleep(500);
+
+    assertThat(connections.opened).hasSize(1);
+  }
+
+  @Test
+  public void stopConsuming_connectionLostWhileStopping_completesWithoutReconnecting()
+      throws Exception {
+    Promise<Void> held = Promise.promise();
+    deploy(definition(8, 3), delivery -> held.future());
+    publish(TENANT_A, 1);
+    awaitStats(current -> current.delivered() == 1);
+    QueueConsumerVerticle verticle = running.iterator().next();
+    Future<Void> stopped = verticle.stopConsuming();
+
+    closeConnectionsOnBroker();
+
+    await(stopped);
+    await(vertx.close());
+    assertThat(connections.opened).hasSize(1);
+    assertThat(inspector.messageCount(QUEUE)).isEqualTo(1);
+  }
+
+  @Test
+  public void stop_afterStart_forgetsTheRunningConsumer() {
+    deploy(definition(8, 1), delivery -> Future.succeededFuture());
+    assertThat(running).hasSize(1);
+
+    await(vertx.close());
+
+    assertThat(running).isEmpty();
+  }
+
+  @Test
+  public void start_brokerUnreachable_failsDeployment() throws IOException {
+    int port;
+    try (java.net.ServerSocket socket = new java.net.ServerSocket(0)) {
+      port = socket.getLocalPort();
+    }
+    QueueConsumerVerticle verticle =
+        new QueueConsumerVerticle(
+            definition(8, 1),
+            delivery -> Future.succeededFuture(),
+            configuration(port).toConnectionFactory(),
+            publisher,
+            monitor,
+            running);
+
+    assertThat(vertx.deployVerticle(verticle).toCompletionStage().toCompletableFuture())
+        .failsWithin(Duration.ofSeconds(10));
+  }
+
+  private void deploy(QueueConsumerDefinition definition, QueueMessageHandler handler) {
+    deploy(definition, publisher, handler);
+  }
+
+  private void deploy(
+      QueueConsumerDefinition definition, QueuePublisher republisher, QueueMessageHandler handler) {
+    await(
+        vertx.deployVerticle(
+            new QueueConsumerVerticle(
+                definition, handler, connections, republisher, monitor, running)));
+  }
+
+  /** Closes every connection on the broker's side and reopens the inspector's own. */
+  private void closeConnectionsOnBroker() throws IOException, TimeoutException {
+    broker.closeConnections();
+    long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+    while (connections.opened.get(0).isOpen() || connection.isOpen()) {
+      assertThat(System.nanoTime()).isLessThan(deadline);
+      Thread.onSpinWait();
+    }
+    connection = configuration.toConnectionFactory().newConnection();
+    inspector = connection.createChannel();
+  }
+
+  private void publish(UUID tenant, int count) {
+    await(
+        Future.all(
+            IntStream.range(0, count)
+                .mapToObj(
+                    i ->
+                        publisher.publish(
+                            "",
+                            QUEUE,
+                            Map.of(QueueHeaders.TENANT_ID, tenant.toString()),
+                            ("{\"n\":" + i + "}").getBytes(UTF_8)))
+                .toList()));
+  }
+
+  private QueueConsumerStats awaitStats(Predicate<QueueConsumerStats> condition) {
+    long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+    while (System.nanoTime() < deadline) {
+      List<QueueConsumerStats> stats = monitor.stats();
+      if (!stats.isEmpty() && condition.test(stats.get(0))) {
+        return stats.get(0);
+      }
+      try {
+        Thread.sleep(10);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new AssertionError(e);
+      }
+    }
+    throw new AssertionError("Consumer stats never matched: " + monitor.stats());
+  }
+
+  private static QueueConsumerDefinition definition(int maxInFlightPerTenant, int maxAttempts) {
+    return new QueueConsumerDefinition(
+        QUEUE, 16, maxInFlightPerTenant, 4, Duration.ofMillis(10), maxAttempts, Duration.ZERO);
+  }
+
+  private static QueueConfiguration configuration(int port) {
+    return new QueueConfiguration(
+        broker.host(),
+        port,
+        "default",
+        EmbeddedAmqpBroker.USERNAME,
+        EmbeddedAmqpBroker.PASSWORD,
+        2,
+        64,
+        Duration.ofSeconds(5));
+  }
+
+  private static <T> T await(Future<T> future) {
+    return future.toCompletionStage().toCompletableFuture().orTimeout(10, SECONDS).join();
+  }
+}
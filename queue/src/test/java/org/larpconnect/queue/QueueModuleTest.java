@@ -1,16 +1,127 @@
 package org.larpconnect.queue;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.mock;
 
 import com.google.inject.Guice;
 import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.google.inject.TypeLiteral;
+import io.vertx.core.Future;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
 import org.junit.jupiter.api.Test;
+import org.larpconnect.common.Environment;
+import org.larpconnect.common.MapEnvironment;
+import org.larpconnect.common.MetricRegistry;
+import org.larpconnect.common.ShutdownParticipant;
+import org.larpconnect.common.ShutdownPhase;
+import org.larpconnect.data.AsyncOutboxDao;
+import org.larpconnect.events.EventsModule;
+import org.larpconnect.events.VerticleProvider;
 
 /** Unit tests for AMQP queue infrastructure. */
 public final class QueueModuleTest {
   @Test
   public void createInjector_withModule_isNotNull() {
-    Injector injector = Guice.createInjector(new QueueModule());
+    Injector injector = newInjector();
     assertThat(injector).isNotNull();
   }
+
+  @Test
+  public void createInjector_withModule_bindsSingletonPublisherWithoutConnecting() {
+    Injector injector = newInjector();
+    assertThat(injector.getInstance(QueuePublisher.class))
+        .isSameAs(injector.getInstance(QueuePublisher.class))
+        .isInstanceOf(DefaultQueuePublisher.class);
+  }
+
+  @Test
+  public void queueConsumers_provider_deploysConsumerVerticles() {
+    Injector injector = newInjector();
+    VerticleProvider provider =
+        injector
+            .getInstance(QueueConsumers.class)
+            .provider(QueueConsumerDefinition.of("outbox"), delivery -> Future.succeededFuture());
+
+    assertThat(provider.deployment().name()).isEqualTo("queue_outbox");
+    assertThat(provider.get()).isInstanceOf(QueueConsumerVerticle.class);
+    assertThat(injector.getInstance(QueueConsumerMonitor.class).stats()).isEmpty();
+  }
+
+  @Test
+  public void createInjector_withModule_exposesConsumerMetrics() {
+    Injector injector = newInjector();
+    DefaultQueueConsumerMonitor monitor = injector.getInstance(DefaultQueueConsumerMonitor.class);
+    monitor.delivered("orders", true);
+    monitor.acked("orders", 2_000_000L);
+    monitor.retried("orders");
+    monitor.deadLettered("orders");
+    monitor.requeued("orders");
+
+    String scrape = injector.getInstance(MetricRegistry.class).scrape();
+
+    assertThat(scrape)
+        .contains(
+            "queue_delivered_total{queue=\"orders\"} 1\n",
+            "queue_redelivered_total{queue=\"orders\"} 1\n",
+            "queue_acked_total{queue=\"orders\"} 1\n",
+            "queue_retried_total{queue=\"orders\"} 1\n",
+            "queue_dead_lettered_total{queue=\"orders\"} 1\n",
+            "queue_requeued_total{queue=\"orders\"} 1\n",
+            "queue_ack_seconds_sum{queue=\"orders\"} 0.002\n");
+    assertThat(monitor.stats())
+        .singleElement()
+        .extracting(QueueConsumerStats::maxAckLatencyNanos)
+        .isEqualTo(2_000_000L);
+  }
+
+  @Test
+  public void createInjector_withModule_contributesOutboxRelayVerticles() {
+    Injector injector = newInjector();
+    VerticleProvider provider =
+        injector.getInstance(Key.get(new TypeLiteral<Set<VerticleProvider>>() {})).stream()
+            .filter(candidate -> candidate.deployment().name().equals("outbox_relay"))
+            .findFirst()
+            .orElseThrow();
+
+    assertThat(provider.deployment().instances()).isEqualTo(2);
+    assertThat(provider.get()).isInstanceOf(OutboxRelayVerticle.class);
+    assertThat(injector.getInstance(OutboxRelayConfiguration.class))
+        .isSameAs(injector.getInstance(OutboxRelayConfiguration.class));
+  }
+
+  @Test
+  public void createInjector_withModule_contributesShutdownParticipants() throws Exception {
+    Injector injector = newInjector();
+    Set<ShutdownParticipant> participants =
+        injector.getInstance(Key.get(new TypeLiteral<Set<ShutdownParticipant>>() {}));
+
+    assertThat(participants)
+        .extracting(ShutdownParticipant::name, ShutdownParticipant::phase)
+        .contains(
+            tuple("queue-consumers", ShutdownPhase.STOP_CONSUMING),
+            tuple("outbox-relay", ShutdownPhase.STOP_CONSUMING),
+            tuple("queue-consumers", ShutdownPhase.FLUSH),
+            tuple("queue-publisher", ShutdownPhase.FLUSH),
+            tuple("queue-publisher", ShutdownPhase.CLOSE));
+    // Nothing was consumed or published, so every phase returns at once
+    for (ShutdownParticipant participant : participants) {
+      participant.action().run(Duration.ofSeconds(1));
+    }
+    assertThat(injector.getInstance(DefaultQueuePublisher.class))
+        .isSameAs(injector.getInstance(QueuePublisher.class));
+  }
+
+  private static Injector newInjector() {
+    return Guice.createInjector(
+        new EventsModule(),
+        new QueueModule(),
+        binder -> {
+          binder.bind(Environment.class).toInstance(new MapEnvironment(Map.of()));
+          binder.bind(AsyncOutboxDao.class).toInstance(mock(AsyncOutboxDao.class));
+        });
+  }
 }
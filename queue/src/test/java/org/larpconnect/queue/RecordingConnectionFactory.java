@@ -0,0 +1,37 @@
+package org.larpconnect.queue;
+
+import com.rabbitmq.client.Connection;
+import com.rabbitmq.client.ConnectionFactory;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/** Opens connections to a test broker, keeping each one and refusing as many as asked to. */
+final class RecordingConnectionFactory extends ConnectionFactory {
+  /** Every connection opened so far, in order. */
+  final List<Connection> opened = new CopyOnWriteArrayList<>();
+
+  /** How many of the next attempts to refuse. */
+  final AtomicInteger refusals = new AtomicInteger();
+
+  RecordingConnectionFactory(QueueConfiguration configuration) {
+    setHost(configuration.host());
+    setPort(configuration.port());
+    setVirtualHost(configuration.virtualHost());
+    setUsername(configuration.username());
+    setPassword(configuration.password());
+    setAutomaticRecoveryEnabled(false);
+  }
+
+  @Override
+  public Connection newConnection(String clientProvidedName) throws IOException, TimeoutException {
+    if (refusals.getAndUpdate(left -> Math.max(0, left - 1)) > 0) {
+      throw new IOException("Simulated connection refusal");
+    }
+    Connection connection = super.newConnection(clientProvidedName);
+    opened.add(connection);
+    return connection;
+  }
+}
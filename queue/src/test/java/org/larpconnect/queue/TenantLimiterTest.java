@@ -0,0 +1,60 @@
+package org.larpconnect.queue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for {@link TenantLimiter}. */
+public final class TenantLimiterTest {
+  private final List<String> dispatched = new ArrayList<>();
+  private final TenantLimiter<String, String> limiter = new TenantLimiter<>(2, dispatched::add);
+
+  @Test
+  public void submit_overTenantLimit_queuesInArrivalOrder() {
+    limiter.submit("a", "a1");
+    limiter.submit("a", "a2");
+    limiter.submit("a", "a3");
+    limiter.submit("a", "a4");
+    limiter.submit("b", "b1");
+
+    assertThat(dispatched).containsExactly("a1", "a2", "b1");
+    assertThat(limiter.waiting()).isEqualTo(2);
+
+    limiter.release("a");
+    limiter.release("a");
+
+    assertThat(dispatched).containsExactly("a1", "a2", "b1", "a3", "a4");
+    assertThat(limiter.waiting()).isZero();
+  }
+
+  @Test
+  public void release_lastInFlight_freesTheTenant() {
+    limiter.submit("a", "a1");
+    limiter.release("a");
+    limiter.release("a");
+
+    limiter.submit("a", "a2");
+    limiter.submit("a", "a3");
+
+    assertThat(dispatched).containsExactly("a1", "a2", "a3");
+  }
+
+  @Test
+  public void drainWaiting_returnsQueuedItemsAndKeepsDispatchedInFlight() {
+    limiter.submit("a", "a1");
+    limiter.submit("a", "a2");
+    limiter.submit("a", "a3");
+    limiter.submit("b", "b1");
+
+    assertThat(limiter.drainWaiting()).containsExactly("a3");
+    assertThat(limiter.waiting()).isZero();
+
+    limiter.release("a");
+    limiter.submit("a", "a4");
+    limiter.submit("a", "a5");
+
+    assertThat(dispatched).containsExactly("a1", "a2", "b1", "a4");
+  }
+}
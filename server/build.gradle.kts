@@ -19,6 +19,12 @@ dependencies {
     implementation(project(":data"))
     implementation(project(":base"))
 
+    // Native transports for Linux hosts; Vert.x falls back to NIO when they cannot load
+    for (platform in listOf("linux-x86_64", "linux-aarch_64")) {
+        runtimeOnly(variantOf(libs.netty.transport.native.epoll) { classifier(platform) })
+        runtimeOnly(variantOf(libs.netty.transport.native.io.uring) { classifier(platform) })
+    }
+
     // Logback runtime logging implementation
     implementation(libs.logback.classic)
 }
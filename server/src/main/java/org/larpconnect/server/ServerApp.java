@@ -3,6 +3,7 @@ package org.larpconnect.server;
 import com.google.inject.Guice;
 import com.google.inject.Injector;
 import com.google.inject.Module;
+import com.google.inject.Stage;
 import com.google.inject.util.Modules;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -48,7 +49,8 @@ public final class ServerApp {
         module = Modules.override(module).with(overrideModule);
       }
 
-      Injector injector = Guice.createInjector(module);
+      // Eagerly builds every singleton up front, except those startup builds concurrently
+      Injector injector = Guice.createInjector(Stage.PRODUCTION, module);
       logger.info("Injector configured successfully.");
 
       ServerService service = injector.getInstance(ServerService.class);
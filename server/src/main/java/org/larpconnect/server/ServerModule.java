@@ -1,10 +1,16 @@
 package org.larpconnect.server;
 
+import com.google.common.collect.ImmutableMap;
 import com.google.inject.AbstractModule;
 import com.google.inject.Singleton;
+import com.google.inject.multibindings.ProvidesIntoSet;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
 import org.larpconnect.api.ApiModule;
 import org.larpconnect.base.BaseModule;
 import org.larpconnect.common.CommonModule;
+import org.larpconnect.common.Metric;
 import org.larpconnect.data.DataModule;
 import org.larpconnect.events.EventsModule;
 import org.larpconnect.queue.QueueModule;
@@ -20,6 +26,43 @@ public final class ServerModule extends AbstractModule {
     install(new BaseModule());
     install(new ApiModule());
 
+    bind(ShutdownConfiguration.class)
+        .toProvider(ShutdownConfigurationProvider.class)
+        .in(Singleton.class);
     bind(ServerService.class).in(Singleton.class);
   }
+
+  @ProvidesIntoSet
+  Metric provideServerUp(ServerService service) {
+    return Metric.gauge(
+        "server_up",
+        "Whether the server has started and not begun stopping.",
+        () -> service.isRunning() ? 1 : 0);
+  }
+
+  @ProvidesIntoSet
+  Metric provideStartupStages(ServerService service) {
+    return Metric.gauges(
+        "server_startup_stage_seconds",
+        "How long each startup stage took.",
+        "stage",
+        () -> seconds(service.getStageTimings()));
+  }
+
+  @ProvidesIntoSet
+  Metric provideShutdownPhases(ServerService service) {
+    return Metric.gauges(
+        "server_shutdown_phase_seconds",
+        "How long each phase of the graceful shutdown took.",
+        "phase",
+        () -> seconds(service.getShutdownTimings()));
+  }
+
+  static ImmutableMap<String, Double> seconds(Map<?, Duration> timings) {
+    return timings.entrySet().stream()
+        .collect(
+            ImmutableMap.toImmutableMap(
+                entry -> entry.getKey().toString().toLowerCase(Locale.ROOT),
+                entry -> entry.getValue().toNanos() / 1e9));
+  }
 }
@@ -1,44 +1,113 @@
 package org.larpconnect.server;
 
 import com.google.common.util.concurrent.AbstractIdleService;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.inject.Inject;
 import com.google.inject.Provider;
 import io.vertx.core.Vertx;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import org.larpconnect.common.ShutdownParticipant;
+import org.larpconnect.common.ShutdownPhase;
 import org.larpconnect.data.DatabaseMigrator;
+import org.larpconnect.data.SessionFactoryInitializer;
+import org.larpconnect.data.TenantRegistryService;
 import org.larpconnect.events.MainVerticle;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-/** Lifecycle service for LarpConnect server using Guava's AbstractIdleService. */
+/**
+ * Lifecycle service for LarpConnect server using Guava's AbstractIdleService.
+ *
+ * <p>Startup runs as a dependency graph of {@link StartupStages}: migrations, the Hibernate session
+ * factory and Vert.x are prepared concurrently, and the service only reports running once every
+ * stage, including that warm-up, has completed.
+ *
+ * <p>Shutdown drains before it closes: the bound {@link ShutdownParticipant}s fail health checks,
+ * wait out a grace period, stop accepting work, finish what is in flight, stop consuming, flush and
+ * close, phase by phase, and only then is Vert.x closed.
+ */
 final class ServerService extends AbstractIdleService {
   private static final Logger logger = LoggerFactory.getLogger(ServerService.class);
+  // The widest level of the startup graph
+  private static final int STARTUP_THREADS = 3;
+
+  static final String MIGRATIONS = "migrations";
+  static final String SESSION_FACTORY = "session-factory";
+  static final String VERTX = "vertx";
+  static final String TENANT_REGISTRY = "tenant-registry";
+  static final String DEPLOYMENT = "deployment";
 
   private final Provider<Vertx> vertxProvider;
   private final Provider<MainVerticle> mainVerticleProvider;
   private final DatabaseMigrator databaseMigrator;
+  private final SessionFactoryInitializer sessionFactoryInitializer;
+  private final TenantRegistryService tenantRegistryService;
+  private final Set<ShutdownParticipant> shutdownParticipants;
+  private final ShutdownConfiguration shutdownConfig;
   private volatile String deploymentId;
+  private volatile Map<String, Duration> stageTimings = Map.of();
+  private volatile Map<ShutdownPhase, Duration> shutdownTimings = Map.of();
 
   @Inject
   ServerService(
       Provider<Vertx> vertxProvider,
       Provider<MainVerticle> mainVerticleProvider,
-      DatabaseMigrator databaseMigrator) {
+      DatabaseMigrator databaseMigrator,
+      SessionFactoryInitializer sessionFactoryInitializer,
+      TenantRegistryService tenantRegistryService,
+      Set<ShutdownParticipant> shutdownParticipants,
+      ShutdownConfiguration shutdownConfig) {
     this.vertxProvider = vertxProvider;
     this.mainVerticleProvider = mainVerticleProvider;
     this.databaseMigrator = databaseMigrator;
+    this.sessionFactoryInitializer = sessionFactoryInitializer;
+    this.tenantRegistryService = tenantRegistryService;
+    this.shutdownParticipants = shutdownParticipants;
+    this.shutdownConfig = shutdownConfig;
   }
 
   @Override
   protected void startUp() throws Exception {
     logger.info("Starting ServerService...");
+    long start = System.nanoTime();
+    ExecutorService executor =
+        Executors.newFixedThreadPool(
+            STARTUP_THREADS,
+            new ThreadFactoryBuilder().setNameFormat("server-startup-%d").setDaemon(true).build());
+    try {
+      stageTimings =
+          new StartupStages(executor)
+              .add(MIGRATIONS, databaseMigrator::migrate)
+              .add(SESSION_FACTORY, sessionFactoryInitializer::initialize)
+              .add(VERTX, vertxProvider::get)
+              // Routing resolves tenants from memory only, so the registry must be loaded before
+              // deployment. Loading it reads through the migrated schema and the session factory.
+              .add(
+                  TENANT_REGISTRY,
+                  () -> tenantRegistryService.startAsync().awaitRunning(30, TimeUnit.SECONDS),
+                  MIGRATIONS,
+                  SESSION_FACTORY)
+              .add(DEPLOYMENT, this::deployMainVerticle, VERTX, TENANT_REGISTRY)
+              .await();
+    } finally {
+      executor.shutdown();
+    }
+    logger.info(
+        "ServerService is ready after {} ms: {}",
+        Duration.ofNanos(System.nanoTime() - start).toMillis(),
+        stageTimings);
+  }
 
-    logger.info("Running database migrations...");
-    databaseMigrator.migrate();
-
+  private void deployMainVerticle()
+      throws InterruptedException, ExecutionException, TimeoutException {
     Vertx vertx = vertxProvider.get();
     MainVerticle mainVerticle = mainVerticleProvider.get();
 
@@ -56,17 +125,15 @@ final class ServerService extends AbstractIdleService {
               future.completeExceptionally(err);
             });
 
-    try {
-      deploymentId = future.get(30, TimeUnit.SECONDS);
-    } catch (InterruptedException | ExecutionException | TimeoutException e) {
-      logger.error("Timeout or failure during MainVerticle deployment", e);
-      throw new RuntimeException("Failed to start server", e);
-    }
+    deploymentId = future.get(30, TimeUnit.SECONDS);
   }
 
   @Override
   protected void shutDown() throws Exception {
     logger.info("Stopping ServerService...");
+    tenantRegistryService.stopAsync().awaitTerminated(30, TimeUnit.SECONDS);
+    drain();
+
     Vertx vertx = vertxProvider.get();
     CompletableFuture<Void> future = new CompletableFuture<>();
     vertx
@@ -90,6 +157,24 @@ final class ServerService extends AbstractIdleService {
     }
   }
 
+  private void drain() {
+    long start = System.nanoTime();
+    ExecutorService executor =
+        Executors.newCachedThreadPool(
+            new ThreadFactoryBuilder().setNameFormat("server-shutdown-%d").setDaemon(true).build());
+    try {
+      shutdownTimings =
+          new ShutdownPhases(executor, shutdownConfig.phaseTimeout(), shutdownConfig.healthGrace())
+              .run(shutdownParticipants);
+    } finally {
+      executor.shutdownNow();
+    }
+    logger.info(
+        "ServerService drained after {} ms: {}",
+        Duration.ofNanos(System.nanoTime() - start).toMillis(),
+        shutdownTimings);
+  }
+
   /**
    * Returns the deployment ID of the MainVerticle.
    *
@@ -98,4 +183,22 @@ final class ServerService extends AbstractIdleService {
   public String getDeploymentId() {
     return deploymentId;
   }
+
+  /**
+   * Returns how long each startup stage took, in the order the stages were declared.
+   *
+   * @return The stage timings, or an empty map if startup has not completed.
+   */
+  Map<String, Duration> getStageTimings() {
+    return stageTimings;
+  }
+
+  /**
+   * Returns how long each phase of the graceful shutdown took, in phase order.
+   *
+   * @return The phase timings, or an empty map if shutdown has not drained yet.
+   */
+  Map<ShutdownPhase, Duration> getShutdownTimings() {
+    return shutdownTimings;
+  }
 }
@@ -0,0 +1,22 @@
+package org.larpconnect.server;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.time.Duration;
+
+/**
+ * Represents how the server drains its work when it stops.
+ *
+ * @param phaseTimeout How long each phase of the shutdown may take before the next one starts.
+ * @param healthGrace How long to wait after health checks start failing before the listeners stop
+ *     accepting connections, so load balancers notice first.
+ */
+public record ShutdownConfiguration(Duration phaseTimeout, Duration healthGrace) {
+  public ShutdownConfiguration {
+    checkArgument(
+        phaseTimeout.compareTo(Duration.ZERO) > 0,
+        "phaseTimeout must be positive: %s",
+        phaseTimeout);
+    checkArgument(!healthGrace.isNegative(), "healthGrace must not be negative: %s", healthGrace);
+  }
+}
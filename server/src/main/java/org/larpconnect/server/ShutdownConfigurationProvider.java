@@ -0,0 +1,31 @@
+package org.larpconnect.server;
+
+import com.google.inject.Inject;
+import com.google.inject.Provider;
+import java.time.Duration;
+import org.larpconnect.common.Environment;
+
+/** Guice provider that compiles the shutdown configuration from the {@link Environment}. */
+public final class ShutdownConfigurationProvider implements Provider<ShutdownConfiguration> {
+  private static final long DEFAULT_PHASE_TIMEOUT_MS = 30_000L;
+  // Long enough for a load balancer checking every few seconds to fail the instance twice
+  private static final long DEFAULT_HEALTH_GRACE_MS = 10_000L;
+
+  private final Environment environment;
+
+  @Inject
+  ShutdownConfigurationProvider(Environment environment) {
+    this.environment = environment;
+  }
+
+  @Override
+  public ShutdownConfiguration get() {
+    long phaseTimeout =
+        environment.getLongOrDefault("SHUTDOWN_PHASE_TIMEOUT_MS", DEFAULT_PHASE_TIMEOUT_MS);
+    long healthGrace =
+        environment.getLongOrDefault("SHUTDOWN_HEALTH_GRACE_MS", DEFAULT_HEALTH_GRACE_MS);
+    return new ShutdownConfiguration(
+        Duration.ofMillis(Math.max(1L, phaseTimeout)),
+        Duration.ofMillis(Math.max(0L, healthGrace)));
+  }
+}
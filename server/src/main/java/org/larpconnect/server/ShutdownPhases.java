@@ -0,0 +1,111 @@
+package org.larpconnect.server;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.larpconnect.common.ShutdownParticipant;
+import org.larpconnect.common.ShutdownPhase;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs the {@link ShutdownParticipant}s of a graceful shutdown phase by phase: the participants of
+ * a phase run concurrently, and the next phase starts once they have all returned or the phase
+ * timeout has passed. Every phase is timed. After {@link ShutdownPhase#FAIL_HEALTH} the health
+ * grace is waited out, and counted in that phase's time.
+ *
+ * <p>A participant that fails or overruns is logged and does not hold back the later phases, so the
+ * pools are closed however the draining went. Not thread safe; run by the stopping thread only.
+ */
+final class ShutdownPhases {
+  private static final Logger logger = LoggerFactory.getLogger(ShutdownPhases.class);
+
+  private final ExecutorService executor;
+  private final Duration timeout;
+  private final Duration healthGrace;
+
+  ShutdownPhases(ExecutorService executor, Duration timeout, Duration healthGrace) {
+    this.executor = executor;
+    this.timeout = timeout;
+    this.healthGrace = healthGrace;
+  }
+
+  /**
+   * Runs every phase that has participants, in phase order.
+   *
+   * @param participants The participants to run.
+   * @return How long each phase took, in phase order; empty phases are left out, as are the phases
+   *     skipped after the stopping thread was interrupted.
+   */
+  Map<ShutdownPhase, Duration> run(Collection<ShutdownParticipant> participants) {
+    Map<ShutdownPhase, Duration> timings = new EnumMap<>(ShutdownPhase.class);
+    for (ShutdownPhase phase : ShutdownPhase.values()) {
+      List<ShutdownParticipant> members =
+          participants.stream().filter(participant -> participant.phase() == phase).toList();
+      if (members.isEmpty()) {
+        continue;
+      }
+      long start = System.nanoTime();
+      try {
+        runPhase(phase, members);
+        if (phase == ShutdownPhase.FAIL_HEALTH) {
+          Thread.sleep(healthGrace.toMillis());
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        logger.warn("Shutdown interrupted during phase {}; skipping the remaining phases.", phase);
+        break;
+      }
+      Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+      logger.info(
+          "Shutdown phase {} completed in {} ms: {}",
+          phase,
+          elapsed.toMillis(),
+          members.stream().map(ShutdownParticipant::name).toList());
+      timings.put(phase, elapsed);
+    }
+    return Collections.unmodifiableMap(timings);
+  }
+
+  private void runPhase(ShutdownPhase phase, List<ShutdownParticipant> members)
+      throws InterruptedException {
+    // invokeAll only notices an interrupt while it waits, which it skips if the tasks finish first
+    if (Thread.interrupted()) {
+      throw new InterruptedException();
+    }
+    List<Callable<Void>> tasks = new ArrayList<>(members.size());
+    for (ShutdownParticipant participant : members) {
+      tasks.add(
+          () -> {
+            participant.action().run(timeout);
+            return null;
+          });
+    }
+    // Cancels, and so interrupts, the participants still running at the deadline
+    List<Future<Void>> results = executor.invokeAll(tasks, timeout.toNanos(), TimeUnit.NANOSECONDS);
+    for (int i = 0; i < results.size(); i++) {
+      String name = members.get(i).name();
+      try {
+        results.get(i).get();
+      } catch (CancellationException e) {
+        logger.warn(
+            "Shutdown participant {} did not finish phase {} within {} ms.",
+            name,
+            phase,
+            timeout.toMillis());
+      } catch (ExecutionException e) {
+        logger.error("Shutdown participant {} failed in phase {}", name, phase, e.getCause());
+      }
+    }
+  }
+}
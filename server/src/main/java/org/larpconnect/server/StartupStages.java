@@ -0,0 +1,104 @@
+package org.larpconnect.server;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs the stages of server startup as a dependency graph: every stage starts as soon as the stages
+ * it depends on have completed, so independent stages overlap. Every stage is timed.
+ *
+ * <p>A stage whose dependency failed never runs. Not thread safe; stages are added and awaited by
+ * the starting thread only.
+ */
+final class StartupStages {
+  private static final Logger logger = LoggerFactory.getLogger(StartupStages.class);
+
+  /** A unit of startup work, which may block until it is done. */
+  @FunctionalInterface
+  interface Stage {
+    void run() throws Exception;
+  }
+
+  private final Executor executor;
+  private final Map<String, CompletableFuture<Duration>> stages = new LinkedHashMap<>();
+
+  StartupStages(Executor executor) {
+    this.executor = executor;
+  }
+
+  /**
+   * Adds a stage that runs once the given stages have completed.
+   *
+   * @param name The unique name of the stage.
+   * @param stage The work of the stage.
+   * @param dependencies The names of previously added stages that must complete first.
+   * @return This instance, for chaining.
+   */
+  StartupStages add(String name, Stage stage, String... dependencies) {
+    checkArgument(!stages.containsKey(name), "Duplicate startup stage: %s", name);
+    CompletableFuture<?>[] before =
+        Arrays.stream(dependencies).map(this::stage).toArray(CompletableFuture<?>[]::new);
+    stages.put(
+        name,
+        CompletableFuture.allOf(before).thenApplyAsync(ignored -> run(name, stage), executor));
+    return this;
+  }
+
+  /**
+   * Waits for every stage, including those independent of a failed one.
+   *
+   * @return How long each stage took, in the order the stages were added.
+   * @throws RuntimeException if any stage failed, with the first failed stage's cause.
+   */
+  Map<String, Duration> await() {
+    Map<String, Duration> timings = new LinkedHashMap<>();
+    Throwable failure = null;
+    for (Map.Entry<String, CompletableFuture<Duration>> stage : stages.entrySet()) {
+      try {
+        timings.put(stage.getKey(), stage.getValue().join());
+      } catch (CompletionException e) {
+        failure = failure == null ? e.getCause() : failure;
+      }
+    }
+    if (failure != null) {
+      throw new RuntimeException("Failed to start server", failure);
+    }
+    return Collections.unmodifiableMap(timings);
+  }
+
+  private CompletableFuture<Duration> stage(String name) {
+    CompletableFuture<Duration> stage = stages.get(name);
+    checkArgument(stage != null, "Unknown startup stage: %s", name);
+    return stage;
+  }
+
+  private static Duration run(String name, Stage stage) {
+    long start = System.nanoTime();
+    try {
+      stage.run();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw failed(name, e);
+    } catch (Exception e) {
+      throw failed(name, e);
+    }
+    Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+    logger.info("Startup stage {} completed in {} ms.", name, elapsed.toMillis());
+    return elapsed;
+  }
+
+  private static CompletionException failed(String name, Exception cause) {
+    logger.error("Startup stage {} failed", name, cause);
+    return new CompletionException(cause);
+  }
+}
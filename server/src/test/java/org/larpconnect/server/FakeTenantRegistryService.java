@@ -0,0 +1,25 @@
+package org.larpconnect.server;
+
+import com.google.common.util.concurrent.AbstractIdleService;
+import org.larpconnect.data.TenantRegistryService;
+
+/** {@link TenantRegistryService} that starts and stops without loading anything. */
+final class FakeTenantRegistryService extends AbstractIdleService implements TenantRegistryService {
+  private final Runnable onStartUp;
+
+  FakeTenantRegistryService() {
+    this(() -> {});
+  }
+
+  FakeTenantRegistryService(Runnable onStartUp) {
+    this.onStartUp = onStartUp;
+  }
+
+  @Override
+  protected void startUp() {
+    onStartUp.run();
+  }
+
+  @Override
+  protected void shutDown() {}
+}
@@ -9,8 +9,15 @@ import com.google.inject.AbstractModule;
 import com.google.inject.Module;
 import io.vertx.core.Future;
 import io.vertx.core.Vertx;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
 import org.junit.jupiter.api.Test;
+import org.larpconnect.common.Environment;
+import org.larpconnect.common.MapEnvironment;
 import org.larpconnect.data.DatabaseMigrator;
+import org.larpconnect.data.SessionFactoryInitializer;
+import org.larpconnect.data.TenantRegistryService;
 import org.larpconnect.events.MainVerticle;
 
 /** Unit tests for ServerApp verifying main method startup. */
@@ -22,6 +29,10 @@ public final class ServerAppTest {
           @Override
           protected void configure() {
             bind(DatabaseMigrator.class).toInstance(mock(DatabaseMigrator.class));
+            bind(SessionFactoryInitializer.class).toInstance(mock(SessionFactoryInitializer.class));
+            bind(TenantRegistryService.class).toInstance(new FakeTenantRegistryService());
+            // Listen on a free port rather than whatever the build host has on 8080.
+            bind(Environment.class).toInstance(new MapEnvironment(Map.of("HTTP_PORT", "0")));
           }
         };
 
@@ -48,7 +59,15 @@ public final class ServerAppTest {
     when(mockVertx.deployVerticle(mockMain)).thenReturn(Future.succeededFuture("deploymentId"));
 
     DatabaseMigrator mockInitializer = mock(DatabaseMigrator.class);
-    ServerService service = new ServerService(() -> mockVertx, () -> mockMain, mockInitializer);
+    ServerService service =
+        new ServerService(
+            () -> mockVertx,
+            () -> mockMain,
+            mockInitializer,
+            mock(SessionFactoryInitializer.class),
+            new FakeTenantRegistryService(),
+            Set.of(),
+            new ShutdownConfiguration(Duration.ofSeconds(5), Duration.ZERO));
     service.startAsync().awaitRunning();
 
     Runnable hook = ServerApp.createShutdownHookRunnable(service);
@@ -66,7 +85,15 @@ public final class ServerAppTest {
     when(mockVertx.deployVerticle(mockMain)).thenReturn(Future.succeededFuture("deploymentId"));
 
     DatabaseMigrator mockInitializer = mock(DatabaseMigrator.class);
-    ServerService service = new ServerService(() -> mockVertx, () -> mockMain, mockInitializer);
+    ServerService service =
+        new ServerService(
+            () -> mockVertx,
+            () -> mockMain,
+            mockInitializer,
+            mock(SessionFactoryInitializer.class),
+            new FakeTenantRegistryService(),
+            Set.of(),
+            new ShutdownConfiguration(Duration.ofSeconds(5), Duration.ZERO));
     service.startAsync().awaitRunning();
 
     Runnable hook = ServerApp.createShutdownHookRunnable(service);
@@ -4,7 +4,14 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import com.google.inject.Guice;
 import com.google.inject.Injector;
+import com.google.inject.util.Modules;
+import java.time.Duration;
+import java.util.Map;
 import org.junit.jupiter.api.Test;
+import org.larpconnect.common.MetricRegistry;
+import org.larpconnect.common.ShutdownPhase;
+import org.larpconnect.data.ConnectionPoolMonitor;
+import org.larpconnect.data.ConnectionPoolStats;
 
 /** Unit tests for the main Server module configuration. */
 public final class ServerModuleTest {
@@ -17,5 +24,44 @@ public final class ServerModuleTest {
     ServerService service2 = injector.getInstance(ServerService.class);
     assertThat(service1).isNotNull();
     assertThat(service1).isSameAs(service2);
+    assertThat(injector.getInstance(ShutdownConfiguration.class))
+        .isSameAs(injector.getInstance(ShutdownConfiguration.class));
+  }
+
+  @Test
+  public void createInjector_withModule_exposesEveryModulesMetricsOnce() {
+    Injector injector =
+        Guice.createInjector(
+            Modules.override(new ServerModule())
+                .with(
+                    binder ->
+                        binder
+                            .bind(ConnectionPoolMonitor.class)
+                            .toInstance(() -> new ConnectionPoolStats(0, 0, 0, 0))));
+
+    String scrape = injector.getInstance(MetricRegistry.class).scrape();
+
+    assertThat(scrape)
+        .contains(
+            "server_up 0\n",
+            "# TYPE server_startup_stage_seconds gauge\n",
+            "# TYPE server_shutdown_phase_seconds gauge\n",
+            "# TYPE data_test_table_reads_total counter\n",
+            "# TYPE verticle_instances_deployed_total counter\n",
+            "# TYPE queue_delivered_total counter\n",
+            "# TYPE http_responses_total counter\n");
+  }
+
+  @Test
+  public void seconds_namesTimingsInLowerCase() {
+    assertThat(
+            ServerModule.seconds(
+                Map.of(
+                    ShutdownPhase.STOP_ACCEPTING,
+                    Duration.ofMillis(1_500),
+                    "deployment",
+                    Duration.ofNanos(250))))
+        .containsEntry("stop_accepting", 1.5)
+        .containsEntry("deployment", 2.5e-7);
   }
 }
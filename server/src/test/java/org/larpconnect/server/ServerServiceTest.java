@@ -2,31 +2,60 @@ package org.larpconnect.server;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.google.common.util.concurrent.Service.State;
 import io.vertx.core.Future;
 import io.vertx.core.Vertx;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.larpconnect.common.ShutdownParticipant;
+import org.larpconnect.common.ShutdownPhase;
 import org.larpconnect.data.DatabaseMigrator;
+import org.larpconnect.data.SessionFactoryInitializer;
 import org.larpconnect.events.MainVerticle;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.stubbing.Answer;
 
 /** Unit tests for the ServerService lifecycle manager. */
 @ExtendWith(MockitoExtension.class)
 public final class ServerServiceTest {
+  private static final ShutdownConfiguration SHUTDOWN_CONFIG =
+      new ShutdownConfiguration(Duration.ofSeconds(5), Duration.ZERO);
+
   @Mock private DatabaseMigrator mockInitializer;
+  @Mock private SessionFactoryInitializer sessionFactoryInitializer;
   @Mock private Vertx vertx;
   @Mock private MainVerticle mainVerticle;
 
+  private FakeTenantRegistryService tenantRegistryService;
   private ServerService service;
 
   @BeforeEach
   public void setUp() {
-    service = new ServerService(() -> vertx, () -> mainVerticle, mockInitializer);
+    tenantRegistryService = new FakeTenantRegistryService();
+    service =
+        new ServerService(
+            () -> vertx,
+            () -> mainVerticle,
+            mockInitializer,
+            sessionFactoryInitializer,
+            tenantRegistryService,
+            Set.of(),
+            SHUTDOWN_CONFIG);
   }
 
   @Test
@@ -40,6 +69,15 @@ public final class ServerServiceTest {
       assertThat(service.getDeploymentId()).isEqualTo("deploymentId");
       verify(vertx).deployVerticle(mainVerticle);
       verify(mockInitializer).migrate();
+      verify(sessionFactoryInitializer).initialize();
+      assertThat(tenantRegistryService.isRunning()).isTrue();
+      assertThat(service.getStageTimings())
+          .containsOnlyKeys(
+              ServerService.MIGRATIONS,
+              ServerService.SESSION_FACTORY,
+              ServerService.VERTX,
+              ServerService.TENANT_REGISTRY,
+              ServerService.DEPLOYMENT);
     } finally {
       service.stopAsync().awaitTerminated();
     }
@@ -54,6 +92,37 @@ public final class ServerServiceTest {
     service.stopAsync().awaitTerminated();
 
     verify(vertx).close();
+    assertThat(tenantRegistryService.state()).isEqualTo(State.TERMINATED);
+  }
+
+  @Test
+  public void shutDown_drainsParticipantsInPhaseOrderBeforeClosingVertx() throws Exception {
+    List<String> events = new CopyOnWriteArrayList<>();
+    when(vertx.deployVerticle(mainVerticle)).thenReturn(Future.succeededFuture("deploymentId"));
+    when(vertx.close())
+        .thenAnswer(
+            invocation -> {
+              events.add("vertx");
+              return Future.succeededFuture();
+            });
+    service =
+        new ServerService(
+            () -> vertx,
+            () -> mainVerticle,
+            mockInitializer,
+            sessionFactoryInitializer,
+            tenantRegistryService,
+            Set.of(
+                new ShutdownParticipant("pools", ShutdownPhase.CLOSE, t -> events.add("pools")),
+                new ShutdownParticipant("http", ShutdownPhase.DRAIN, t -> events.add("http"))),
+            SHUTDOWN_CONFIG);
+
+    service.startAsync().awaitRunning();
+    service.stopAsync().awaitTerminated();
+
+    assertThat(events).containsExactly("http", "pools", "vertx");
+    assertThat(service.getShutdownTimings())
+        .containsOnlyKeys(ShutdownPhase.DRAIN, ShutdownPhase.CLOSE);
   }
 
   @Test
@@ -65,6 +134,61 @@ public final class ServerServiceTest {
         .isInstanceOf(IllegalStateException.class);
   }
 
+  @Test
+  public void startUp_tenantRegistryFails_doesNotDeploy() {
+    service =
+        new ServerService(
+            () -> vertx,
+            () -> mainVerticle,
+            mockInitializer,
+            sessionFactoryInitializer,
+            new FakeTenantRegistryService(
+                () -> {
+                  throw new IllegalStateException("Simulated load error");
+                }),
+            Set.of(),
+            SHUTDOWN_CONFIG);
+
+    assertThatThrownBy(() -> service.startAsync().awaitRunning())
+        .isInstanceOf(IllegalStateException.class);
+    verify(vertx, never()).deployVerticle(mainVerticle);
+  }
+
+  @Test
+  public void startUp_sessionFactoryFails_doesNotLoadRegistryOrDeploy() {
+    doThrow(new IllegalStateException("Simulated metadata error"))
+        .when(sessionFactoryInitializer)
+        .initialize();
+
+    assertThatThrownBy(() -> service.startAsync().awaitRunning())
+        .isInstanceOf(IllegalStateException.class);
+    verify(mockInitializer).migrate();
+    assertThat(tenantRegistryService.state()).isEqualTo(State.NEW);
+    verify(vertx, never()).deployVerticle(mainVerticle);
+    assertThat(service.getStageTimings()).isEmpty();
+  }
+
+  @Test
+  public void startUp_migratesWhileBuildingTheSessionFactory() throws Exception {
+    CountDownLatch bothStarted = new CountDownLatch(2);
+    AtomicBoolean overlapped = new AtomicBoolean();
+    Answer<Object> meet =
+        invocation -> {
+          bothStarted.countDown();
+          overlapped.compareAndSet(false, bothStarted.await(5, TimeUnit.SECONDS));
+          return null;
+        };
+    doAnswer(meet).when(mockInitializer).migrate();
+    doAnswer(meet).when(sessionFactoryInitializer).initialize();
+    when(vertx.deployVerticle(mainVerticle)).thenReturn(Future.succeededFuture("deploymentId"));
+    when(vertx.close()).thenReturn(Future.succeededFuture());
+
+    service.startAsync().awaitRunning();
+    service.stopAsync().awaitTerminated();
+
+    assertThat(overlapped).isTrue();
+  }
+
   @Test
   public void shutDown_failure_throwsException() throws Exception {
     when(vertx.deployVerticle(mainVerticle)).thenReturn(Future.succeededFuture("deploymentId"));
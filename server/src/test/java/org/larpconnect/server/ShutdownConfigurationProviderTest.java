@@ -0,0 +1,51 @@
+package org.larpconnect.server;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.larpconnect.common.MapEnvironment;
+
+/** Unit tests for {@link ShutdownConfigurationProvider}. */
+public final class ShutdownConfigurationProviderTest {
+  @Test
+  public void get_withDefaultEnvironment_returnsDefaults() {
+    ShutdownConfigurationProvider provider =
+        new ShutdownConfigurationProvider(new MapEnvironment(Map.of()));
+
+    assertThat(provider.get())
+        .isEqualTo(new ShutdownConfiguration(Duration.ofSeconds(30), Duration.ofSeconds(10)));
+  }
+
+  @Test
+  public void get_withCustomEnvironment_returnsCustomConfiguration() {
+    MapEnvironment environment =
+        new MapEnvironment(
+            Map.of("SHUTDOWN_PHASE_TIMEOUT_MS", "2500", "SHUTDOWN_HEALTH_GRACE_MS", "750"));
+
+    assertThat(new ShutdownConfigurationProvider(environment).get())
+        .isEqualTo(new ShutdownConfiguration(Duration.ofMillis(2500), Duration.ofMillis(750)));
+  }
+
+  @Test
+  public void get_withNonPositiveTimeout_clampsToOneMillisecond() {
+    MapEnvironment environment =
+        new MapEnvironment(
+            Map.of("SHUTDOWN_PHASE_TIMEOUT_MS", "-5", "SHUTDOWN_HEALTH_GRACE_MS", "-5"));
+
+    ShutdownConfiguration configuration = new ShutdownConfigurationProvider(environment).get();
+    assertThat(configuration.phaseTimeout()).isEqualTo(Duration.ofMillis(1));
+    assertThat(configuration.healthGrace()).isZero();
+  }
+
+  @Test
+  public void constructor_withInvalidTimeout_throwsIllegalArgumentException() {
+    assertThatThrownBy(() -> new ShutdownConfiguration(Duration.ZERO, Duration.ZERO))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(
+            () -> new ShutdownConfiguration(Duration.ofSeconds(1), Duration.ofMillis(-1)))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
@@ -0,0 +1,154 @@
+package org.larpconnect.server;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.larpconnect.common.ShutdownParticipant;
+import org.larpconnect.common.ShutdownPhase;
+
+/** Unit tests for {@link ShutdownPhases}. */
+public final class ShutdownPhasesTest {
+  private ExecutorService executor;
+
+  @BeforeEach
+  public void setUp() {
+    executor = Executors.newCachedThreadPool();
+  }
+
+  @AfterEach
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void run_runsPhasesInOrderAndTimesEachNonEmptyPhase() {
+    List<String> events = new CopyOnWriteArrayList<>();
+
+    Map<ShutdownPhase, Duration> timings =
+        new ShutdownPhases(executor, Duration.ofSeconds(5), Duration.ZERO)
+            .run(
+                List.of(
+                    new ShutdownParticipant("close", ShutdownPhase.CLOSE, t -> events.add("close")),
+                    new ShutdownParticipant("flush", ShutdownPhase.FLUSH, t -> events.add("flush")),
+                    new ShutdownParticipant(
+                        "accept", ShutdownPhase.STOP_ACCEPTING, t -> events.add("accept"))));
+
+    assertThat(events).containsExactly("accept", "flush", "close");
+    assertThat(timings)
+        .containsOnlyKeys(ShutdownPhase.STOP_ACCEPTING, ShutdownPhase.FLUSH, ShutdownPhase.CLOSE);
+  }
+
+  @Test
+  public void run_afterFailingHealth_waitsOutTheGraceBeforeTheNextPhase() {
+    List<String> events = new CopyOnWriteArrayList<>();
+    long[] failedAt = new long[1];
+    long[] stoppedAt = new long[1];
+
+    Map<ShutdownPhase, Duration> timings =
+        new ShutdownPhases(executor, Duration.ofSeconds(5), Duration.ofMillis(200))
+            .run(
+                List.of(
+                    new ShutdownParticipant(
+                        "accept",
+                        ShutdownPhase.STOP_ACCEPTING,
+                        t -> {
+                          stoppedAt[0] = System.nanoTime();
+                          events.add("accept");
+                        }),
+                    new ShutdownParticipant(
+                        "health",
+                        ShutdownPhase.FAIL_HEALTH,
+                        t -> {
+                          failedAt[0] = System.nanoTime();
+                          events.add("health");
+                        })));
+
+    assertThat(events).containsExactly("health", "accept");
+    assertThat(Duration.ofNanos(stoppedAt[0] - failedAt[0]))
+        .isGreaterThanOrEqualTo(Duration.ofMillis(200));
+    assertThat(timings.get(ShutdownPhase.FAIL_HEALTH))
+        .isGreaterThanOrEqualTo(Duration.ofMillis(200));
+  }
+
+  @Test
+  public void run_runsParticipantsOfAPhaseConcurrently() {
+    CountDownLatch bothStarted = new CountDownLatch(2);
+    AtomicBoolean overlapped = new AtomicBoolean();
+    ShutdownParticipant.Action meet =
+        timeout -> {
+          bothStarted.countDown();
+          overlapped.compareAndSet(false, bothStarted.await(5, TimeUnit.SECONDS));
+        };
+
+    new ShutdownPhases(executor, Duration.ofSeconds(10), Duration.ZERO)
+        .run(
+            List.of(
+                new ShutdownParticipant("http", ShutdownPhase.DRAIN, meet),
+                new ShutdownParticipant("events", ShutdownPhase.DRAIN, meet)));
+
+    assertThat(overlapped).isTrue();
+  }
+
+  @Test
+  public void run_withFailingOrOverrunningParticipant_stillRunsLaterPhases() throws Exception {
+    CountDownLatch interrupted = new CountDownLatch(1);
+    AtomicBoolean closed = new AtomicBoolean();
+
+    new ShutdownPhases(executor, Duration.ofMillis(100), Duration.ZERO)
+        .run(
+            List.of(
+                new ShutdownParticipant(
+                    "broken",
+                    ShutdownPhase.DRAIN,
+                    t -> {
+                      throw new IllegalStateException("Simulated drain error");
+                    }),
+                new ShutdownParticipant(
+                    "stuck",
+                    ShutdownPhase.FLUSH,
+                    t -> {
+                      try {
+                        Thread.sleep(10_000);
+                      } catch (InterruptedException e) {
+                        interrupted.countDown();
+                        throw e;
+                      }
+                    }),
+                new ShutdownParticipant("pools", ShutdownPhase.CLOSE, t -> closed.set(true))));
+
+    assertThat(closed).isTrue();
+    assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+  }
+
+  @Test
+  public void run_whenInterrupted_skipsTheRemainingPhases() {
+    AtomicBoolean closed = new AtomicBoolean();
+    Thread.currentThread().interrupt();
+    try {
+      Map<ShutdownPhase, Duration> timings =
+          new ShutdownPhases(executor, Duration.ofSeconds(5), Duration.ZERO)
+              .run(
+                  List.of(
+                      new ShutdownParticipant("http", ShutdownPhase.DRAIN, t -> {}),
+                      new ShutdownParticipant(
+                          "pools", ShutdownPhase.CLOSE, t -> closed.set(true))));
+
+      assertThat(timings).isEmpty();
+      assertThat(closed).isFalse();
+      assertThat(Thread.currentThread().isInterrupted()).isTrue();
+    } finally {
+      Thread.interrupted();
+    }
+  }
+}
@@ -0,0 +1,97 @@
+package org.larpconnect.server;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for {@link StartupStages}. */
+public final class StartupStagesTest {
+  private final ExecutorService executor = Executors.newFixedThreadPool(2);
+  private final List<String> ran = new CopyOnWriteArrayList<>();
+
+  @AfterEach
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void await_runsDependentsAfterTheirDependencies() {
+    assertThat(
+            new StartupStages(executor)
+                .add("a", () -> ran.add("a"))
+                .add("b", () -> ran.add("b"), "a")
+                .add("c", () -> ran.add("c"), "a", "b")
+                .await())
+        .containsOnlyKeys("a", "b", "c")
+        .allSatisfy((name, elapsed) -> assertThat(elapsed).isGreaterThanOrEqualTo(Duration.ZERO));
+    assertThat(ran).containsExactly("a", "b", "c");
+  }
+
+  @Test
+  public void await_overlapsIndependentStages() {
+    CountDownLatch bothStarted = new CountDownLatch(2);
+    StartupStages.Stage meet =
+        () -> {
+          bothStarted.countDown();
+          if (bothStarted.await(5, TimeUnit.SECONDS)) {
+            ran.add("overlapped");
+          }
+        };
+
+    new StartupStages(executor).add("a", meet).add("b", meet).await();
+
+    assertThat(ran).containsExactly("overlapped", "overlapped");
+  }
+
+  @Test
+  public void await_whenAStageFails_skipsItsDependentsOnly() {
+    IllegalStateException failure = new IllegalStateException("Simulated stage error");
+    StartupStages stages =
+        new StartupStages(executor)
+            .add(
+                "a",
+                () -> {
+                  throw failure;
+                })
+            .add("b", () -> ran.add("b"))
+            .add("c", () -> ran.add("c"), "a");
+
+    assertThatThrownBy(stages::await).isInstanceOf(RuntimeException.class).hasCause(failure);
+    assertThat(ran).containsExactly("b");
+  }
+
+  @Test
+  public void await_whenAStageIsInterrupted_keepsTheInterrupt() {
+    List<Boolean> interrupted = new CopyOnWriteArrayList<>();
+    StartupStages stages =
+        new StartupStages(executor)
+            .add(
+                "a",
+                () -> {
+                  throw new InterruptedException("Simulated interrupt");
+                })
+            .add("b", () -> interrupted.add(Thread.currentThread().isInterrupted()), "a");
+
+    assertThatThrownBy(stages::await).hasCauseInstanceOf(InterruptedException.class);
+    assertThat(interrupted).isEmpty();
+  }
+
+  @Test
+  public void add_withUnknownOrDuplicateStage_throwsIllegalArgumentException() {
+    StartupStages stages = new StartupStages(executor).add("a", () -> {});
+
+    assertThatThrownBy(() -> stages.add("a", () -> {}))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> stages.add("b", () -> {}, "missing"))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
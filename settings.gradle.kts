@@ -26,5 +26,6 @@ include(
     "base",
     "api",
     "server",
-    "integration"
+    "integration",
+    "benchmarks"
 )
@@ -19,4 +19,12 @@ dependencies {
     api(libs.assertj.core)
     api(libs.slf4j.api)
     api(libs.logback.classic)
+
+    // In-process AMQP 0-9-1 broker standing in for RabbitMQ
+    implementation(libs.qpid.broker.core)
+    implementation(libs.qpid.broker.amqp.protocol)
+    implementation(libs.qpid.broker.memory.store)
+
+    // The AMQP client the broker is exercised with
+    testImplementation(libs.rabbitmq.amqp)
 }
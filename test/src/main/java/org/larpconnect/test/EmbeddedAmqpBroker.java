@@ -0,0 +1,119 @@
+package org.larpconnect.test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.URL;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+import org.apache.qpid.server.SystemLauncher;
+import org.apache.qpid.server.SystemLauncherListener;
+import org.apache.qpid.server.model.Broker;
+import org.apache.qpid.server.model.SystemConfig;
+
+/**
+ * An in-memory AMQP 0-9-1 broker running inside the test JVM, standing in for RabbitMQ.
+ *
+ * <p>It speaks the same wire protocol as RabbitMQ, including publisher confirms, so the real AMQP
+ * client can be tested without Docker or a live broker. Nothing is persisted; every broker starts
+ * empty with a single virtual host.
+ */
+public final class EmbeddedAmqpBroker implements AutoCloseable {
+  /** The user name accepted by the broker. */
+  public static final String USERNAME = "guest";
+
+  /** The password accepted by the broker. */
+  public static final String PASSWORD = "guest";
+
+  private static final String CONFIGURATION = "embedded-amqp-broker.json";
+
+  private final SystemLauncher launcher;
+  private final Broker<?> broker;
+  private final int port;
+
+  private EmbeddedAmqpBroker(SystemLauncher launcher, Broker<?> broker, int port) {
+    this.launcher = launcher;
+    this.broker = broker;
+    this.port = port;
+  }
+
+  /**
+   * Starts a broker on a free loopback port.
+   *
+   * @return The running broker.
+   */
+  public static EmbeddedAmqpBroker start() {
+    int port = freePort();
+    URL configuration =
+        Objects.requireNonNull(
+            EmbeddedAmqpBroker.class.getClassLoader().getResource(CONFIGURATION), CONFIGURATION);
+    Map<String, String> context = new HashMap<>();
+    context.put("qpid.amqp_port", Integer.toString(port));
+    context.put("qpid.amqp_username", USERNAME);
+    context.put("qpid.amqp_password", PASSWORD);
+    Map<String, Object> attributes = new HashMap<>();
+    attributes.put(SystemConfig.TYPE, "Memory");
+    attributes.put(SystemConfig.INITIAL_CONFIGURATION_LOCATION, configuration.toExternalForm());
+    attributes.put(SystemConfig.STARTUP_LOGGED_TO_SYSTEM_OUT, false);
+    attributes.put(SystemConfig.CONTEXT, context);
+    AtomicReference<SystemConfig<?>> systemConfig = new AtomicReference<>();
+    SystemLauncher launcher =
+        new SystemLauncher(
+            new SystemLauncherListener.DefaultSystemLauncherListener() {
+              @Override
+              public void onContainerResolve(SystemConfig<?> resolved) {
+                systemConfig.set(resolved);
+              }
+            });
+    try {
+      launcher.startup(attributes);
+    } catch (Exception e) {
+      throw new IllegalStateException("Embedded AMQP broker failed to start", e);
+    }
+    return new EmbeddedAmqpBroker(launcher, (Broker<?>) systemConfig.get().getContainer(), port);
+  }
+
+  /**
+   * Returns the port the broker accepts AMQP connections on.
+   *
+   * @return The loopback port.
+   */
+  public int port() {
+    return port;
+  }
+
+  /**
+   * Returns the host the broker accepts AMQP connections on.
+   *
+   * @return The loopback address.
+   */
+  public String host() {
+    return "127.0.0.1";
+  }
+
+  /**
+   * Closes every client connection from the broker's side, as a broker restart or a network failure
+   * would.
+   */
+  public void closeConnections() {
+    broker.getPorts().stream()
+        .flatMap(amqpPort -> amqpPort.getConnections().stream())
+        .forEach(connection -> connection.delete());
+  }
+
+  @Override
+  public void close() {
+    launcher.shutdown();
+  }
+
+  private static int freePort() {
+    try (ServerSocket socket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+      return socket.getLocalPort();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
@@ -0,0 +1,53 @@
+package org.larpconnect.test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.rabbitmq.client.Connection;
+import com.rabbitmq.client.ConnectionFactory;
+import java.io.IOException;
+import java.net.Socket;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for {@link EmbeddedAmqpBroker}. */
+public final class EmbeddedAmqpBrokerTest {
+  @Test
+  public void start_acceptsConnectionsUntilClosed() throws IOException {
+    EmbeddedAmqpBroker broker = EmbeddedAmqpBroker.start();
+    try (Socket socket = new Socket(broker.host(), broker.port())) {
+      assertThat(socket.isConnected()).isTrue();
+    } finally {
+      broker.close();
+    }
+  }
+
+  @Test
+  public void closeConnections_closesClientConnections() throws Exception {
+    try (EmbeddedAmqpBroker broker = EmbeddedAmqpBroker.start()) {
+      ConnectionFactory factory = new ConnectionFactory();
+      factory.setHost(broker.host());
+      factory.setPort(broker.port());
+      factory.setVirtualHost("default");
+      factory.setUsername(EmbeddedAmqpBroker.USERNAME);
+      factory.setPassword(EmbeddedAmqpBroker.PASSWORD);
+      factory.setAutomaticRecoveryEnabled(false);
+      Connection connection = factory.newConnection();
+      CountDownLatch closed = new CountDownLatch(1);
+      connection.addShutdownListener(cause -> closed.countDown());
+
+      broker.closeConnections();
+
+      assertThat(closed.await(10, TimeUnit.SECONDS)).isTrue();
+      assertThat(connection.isOpen()).isFalse();
+    }
+  }
+
+  @Test
+  public void start_twice_usesDistinctPorts() {
+    try (EmbeddedAmqpBroker first = EmbeddedAmqpBroker.start();
+        EmbeddedAmqpBroker second = EmbeddedAmqpBroker.start()) {
+      assertThat(first.port()).isNotEqualTo(second.port());
+    }
+  }
+}